@@ -42,9 +42,11 @@ import org.javacord.api.interaction.SlashCommand;
 import org.javacord.api.interaction.UserContextMenu;
 import org.javacord.api.listener.GloballyAttachableListenerManager;
 import org.javacord.api.util.DiscordRegexPattern;
+import org.javacord.api.util.cache.MessageCacheStatistics;
 import org.javacord.api.util.concurrent.ThreadPool;
 import org.javacord.api.util.ratelimit.LocalRatelimiter;
 import org.javacord.api.util.ratelimit.Ratelimiter;
+import org.javacord.api.util.ratelimit.TokenBucketRatelimiter;
 
 import java.awt.image.BufferedImage;
 import java.io.File;
@@ -53,6 +55,7 @@ import java.net.URL;
 import java.time.Duration;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
@@ -314,8 +317,8 @@ public interface DiscordApi extends GloballyAttachableListenerManager {
      * Gets the current global ratelimiter.
      *
      * <p>**Note:** This method returns an {@code Optional} for historic reasons.
-     * If you did not provide a ratelimiter by yourself, this method will return a {@link LocalRatelimiter}
-     * which is set to {@code 5} requests per {@code 112 ms}, resulting in about 45 requests per second.
+     * If you did not provide a ratelimiter by yourself, this method will return a {@link TokenBucketRatelimiter}
+     * which is set to {@code 1} request per {@code 22 ms}, resulting in about 45 requests per second without bursts.
      * This ratelimiter is shared by every bot with the same token in the same Java program.
      *
      * @return The current global ratelimiter.
@@ -438,6 +441,54 @@ public interface DiscordApi extends GloballyAttachableListenerManager {
      */
     boolean isDefaultAutomaticMessageCacheCleanupEnabled();
 
+    /**
+     * Sets a memory budget for all cached messages of the bot, regardless of the channel.
+     *
+     * <p>If the estimated memory usage of the cached messages exceeds the budget, the least recently used messages are
+     * removed from the cache of their channel, even if the capacity of the channel's message cache is not reached.
+     * Messages which are cached forever are not counted. The memory usage of a message is only an estimate based on
+     * its content, embeds, attachments and reactions. The budget does not keep messages alive, so they can still be
+     * removed earlier if the heap runs low.
+     *
+     * @param bytes The memory budget in bytes, or {@code 0} to not limit the memory usage.
+     */
+    void setMessageCacheMemoryBudget(long bytes);
+
+    /**
+     * Gets the memory budget for all cached messages of the bot.
+     *
+     * @return The memory budget in bytes, or {@code 0} if the memory usage is not limited.
+     */
+    long getMessageCacheMemoryBudget();
+
+    /**
+     * Sets a budget for compressed copies of the messages of the bot.
+     *
+     * <p>If the budget is greater than {@code 0}, every received message is additionally kept in a compressed form,
+     * which needs only a fraction of the memory of a message object. When a message was removed from the cache of its
+     * channel, it is inflated again if it is requested by its id, e.g. by {@link #getCachedMessageById(long)} or to
+     * provide the old content of an edited or deleted message. Messages which are only stored in a compressed form are
+     * not returned by the message caches of the channels. If the compressed messages exceed the budget, the least
+     * recently used ones are dropped.
+     *
+     * @param bytes The budget in bytes, or {@code 0} to not keep compressed messages.
+     */
+    void setCompactMessageCacheBudget(long bytes);
+
+    /**
+     * Gets the budget for compressed copies of the messages of the bot.
+     *
+     * @return The budget in bytes, or {@code 0} if no compressed messages are kept.
+     */
+    long getCompactMessageCacheBudget();
+
+    /**
+     * Gets statistics about the message cache of the bot.
+     *
+     * @return The statistics about the message cache.
+     */
+    MessageCacheStatistics getMessageCacheStatistics();
+
     /**
      * Gets the current shard of the bot, starting with <code>0</code>.
      *
@@ -1122,6 +1173,18 @@ public interface DiscordApi extends GloballyAttachableListenerManager {
                         .collect(Collectors.toSet()));
     }
 
+    /**
+     * Gets the cached users whose name starts with the given prefix.
+     * This method is case-insensitive!
+     *
+     * <p>This method is meant for autocomplete interactions, e.g. to suggest users while their name is typed.
+     *
+     * @param prefix The prefix of the names of the users.
+     * @param limit The maximum amount of users.
+     * @return The users whose name starts with the given prefix, sorted by their name.
+     */
+    List<User> getCachedUsersByNamePrefix(String prefix, int limit);
+
     /**
      * Gets a message set with all currently cached messages.
      *
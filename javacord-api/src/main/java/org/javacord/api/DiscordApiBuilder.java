@@ -9,6 +9,7 @@ import org.javacord.api.util.auth.Authenticator;
 import org.javacord.api.util.internal.DelegateFactory;
 import org.javacord.api.util.ratelimit.LocalRatelimiter;
 import org.javacord.api.util.ratelimit.Ratelimiter;
+import org.javacord.api.util.ratelimit.TokenBucketRatelimiter;
 
 import java.net.Proxy;
 import java.net.ProxySelector;
@@ -69,6 +70,9 @@ public class DiscordApiBuilder implements ChainableGloballyAttachableListenerMan
      * It is invalid to call {@link #setCurrentShard(int)} with
      * anything but {@code 0} before calling this method.
      *
+     * <p>The shards share their thread pool, http client and ratelimits. Entities like servers, channels and users
+     * can be looked up from any of the shards.
+     *
      * @param shards The shards to connect, starting with {@code 0}!
      * @return A list of {@link CompletableFuture}s which contain the {@code DiscordApi}s for the shards.
      */
@@ -80,13 +84,14 @@ public class DiscordApiBuilder implements ChainableGloballyAttachableListenerMan
      * Sets a ratelimiter that can be used to control global ratelimits.
      *
      * <p>If you don't provide a ratelimiter by yourself, Javacord will use a default ratelimiter
-     * which is set to {@code 5} requests per {@code 112 ms}, resulting in about 45 requests per second.
+     * which is set to {@code 1} request per {@code 22 ms}, resulting in about 45 requests per second without bursts.
      * The default ratelimiter will be shared by every bot with the same token in the same Java program.
      *
      * <p>If you provide a custom ratelimiter, you have to make sure to use the exact same ratelimiter instance
      * with all Javacord instances, or otherwise synchronize the global ratelimit across shards.
      *
-     * <p>An easy implementation is available with the {@link LocalRatelimiter}.
+     * <p>Easy implementations are available with the {@link LocalRatelimiter} and the lock-free
+     * {@link TokenBucketRatelimiter}.
      *
      * @param ratelimiter The ratelimiter used to control global ratelimits.
      * @return The current instance in order to chain call methods.
@@ -472,6 +477,145 @@ public class DiscordApiBuilder implements ChainableGloballyAttachableListenerMan
         return delegate.isUserCacheEnabled();
     }
 
+    /**
+     * Sets the amount of lanes that are used to handle incoming packets.
+     *
+     * <p>Packets are assigned to a lane by their server (or by their channel for packets without a server).
+     * Packets of the same server are always handled in the order they were received, while packets of different
+     * servers can be handled in parallel if more than one lane is used. This prevents busy servers from delaying
+     * packets of other servers, e.g. a burst of presence updates delaying interactions which have to be responded to
+     * within a few seconds.
+     *
+     * <p>By default, a single lane is used, so all packets are handled sequentially.
+     *
+     * @param lanes The amount of lanes. Must be at least {@code 1}.
+     * @return The current instance in order to chain call methods.
+     */
+    public DiscordApiBuilder setPacketHandlerLanes(int lanes) {
+        delegate.setPacketHandlerLanes(lanes);
+        return this;
+    }
+
+    /**
+     * Gets the amount of lanes that are used to handle incoming packets.
+     *
+     * @return The amount of lanes that are used to handle incoming packets.
+     * @see #setPacketHandlerLanes(int)
+     */
+    public int getPacketHandlerLanes() {
+        return delegate.getPacketHandlerLanes();
+    }
+
+    /**
+     * Sets whether the concurrent entity cache should be used.
+     *
+     * <p>By default, channels, members, users and presences are cached in immutable structures which are replaced on
+     * every update. This gives every read a consistent snapshot, but every update copies the affected indexes, which
+     * becomes expensive for servers with hundreds of thousands of members.
+     *
+     * <p>The concurrent entity cache updates concurrent maps in place instead. It allocates far less while receiving
+     * members and scales better with many parallel updates, but reads are no longer performed on a consistent
+     * snapshot of the whole cache.
+     *
+     * @param enabled Whether the concurrent entity cache should be used.
+     * @return The current instance in order to chain call methods.
+     */
+    public DiscordApiBuilder setConcurrentEntityCacheEnabled(boolean enabled) {
+        delegate.setConcurrentEntityCacheEnabled(enabled);
+        return this;
+    }
+
+    /**
+     * Gets whether the concurrent entity cache is used.
+     *
+     * @return Whether the concurrent entity cache is used.
+     * @see #setConcurrentEntityCacheEnabled(boolean)
+     */
+    public boolean isConcurrentEntityCacheEnabled() {
+        return delegate.isConcurrentEntityCacheEnabled();
+    }
+
+    /**
+     * Sets whether REST requests should be executed asynchronously.
+     *
+     * <p>By default, every ratelimit bucket with queued requests occupies a thread, which sleeps while the bucket is
+     * ratelimited and waits for the responses of its requests. If requests are sent to thousands of channels at once,
+     * this means thousands of mostly sleeping threads.
+     *
+     * <p>If enabled, ratelimited buckets wait on the scheduler instead, and requests are executed with asynchronous
+     * HTTP calls. The amount of requests in flight is then limited by the HTTP client instead of the thread pool.
+     *
+     * @param enabled Whether REST requests should be executed asynchronously.
+     * @return The current instance in order to chain call methods.
+     */
+    public DiscordApiBuilder setAsyncRestRequestsEnabled(boolean enabled) {
+        delegate.setAsyncRestRequestsEnabled(enabled);
+        return this;
+    }
+
+    /**
+     * Gets whether REST requests are executed asynchronously.
+     *
+     * @return Whether REST requests are executed asynchronously.
+     * @see #setAsyncRestRequestsEnabled(boolean)
+     */
+    public boolean isAsyncRestRequestsEnabled() {
+        return delegate.isAsyncRestRequestsEnabled();
+    }
+
+    /**
+     * Sets whether the gateway should use the Erlang External Term Format (ETF) encoding instead of JSON.
+     *
+     * <p>ETF is a binary format which is smaller and faster to decode than JSON. This can save a noticeable amount of
+     * CPU time for shards which receive tens of thousands of events per second. The encoding does not change anything
+     * about the received events.
+     *
+     * <p>By default, the gateway uses JSON.
+     *
+     * @param enabled Whether the gateway should use the ETF encoding.
+     * @return The current instance in order to chain call methods.
+     */
+    public DiscordApiBuilder setEtfGatewayEncodingEnabled(boolean enabled) {
+        delegate.setEtfGatewayEncodingEnabled(enabled);
+        return this;
+    }
+
+    /**
+     * Gets whether the gateway uses the Erlang External Term Format (ETF) encoding instead of JSON.
+     *
+     * @return Whether the gateway uses the ETF encoding.
+     * @see #setEtfGatewayEncodingEnabled(boolean)
+     */
+    public boolean isEtfGatewayEncodingEnabled() {
+        return delegate.isEtfGatewayEncodingEnabled();
+    }
+
+    /**
+     * Sets the amount of threads that send audio for all audio connections.
+     *
+     * <p>By default, every audio connection uses its own thread, which sleeps between two 20 ms audio frames. For bots
+     * with many audio connections, a small amount of scheduler threads can send the frames of all connections instead,
+     * which saves threads and sends the frames with less jitter. The timing of the sent frames is available with
+     * {@link org.javacord.api.audio.AudioConnection#getSendStatistics()}.
+     *
+     * @param threads The amount of threads, or {@code 0} to use a thread per audio connection.
+     * @return The current instance in order to chain call methods.
+     */
+    public DiscordApiBuilder setAudioSchedulerThreads(int threads) {
+        delegate.setAudioSchedulerThreads(threads);
+        return this;
+    }
+
+    /**
+     * Gets the amount of threads that send audio for all audio connections.
+     *
+     * @return The amount of threads, or {@code 0} if every audio connection uses its own thread.
+     * @see #setAudioSchedulerThreads(int)
+     */
+    public int getAudioSchedulerThreads() {
+        return delegate.getAudioSchedulerThreads();
+    }
+
     /**
      * Retrieves the recommended shards count from the Discord API and sets it in this builder.
      * Sharding allows you to split your bot into several independent instances.
@@ -58,6 +58,27 @@ public interface AudioConnection extends AudioConnectionAttachableListenerManage
      */
     void removeAudioSource();
 
+    /**
+     * Gets the receiver of the audio of the users in the voice channel.
+     *
+     * @return The audio receiver.
+     */
+    Optional<AudioReceiver> getAudioReceiver();
+
+    /**
+     * Sets the receiver of the audio of the users in the voice channel, replacing any current receiver.
+     *
+     * <p>Audio is only received while a receiver is set.
+     *
+     * @param receiver The audio receiver.
+     */
+    void setAudioReceiver(AudioReceiver receiver);
+
+    /**
+     * Removes the audio receiver.
+     */
+    void removeAudioReceiver();
+
     /**
      * Gets the voice channel of the audio connection.
      *
@@ -122,6 +143,13 @@ public interface AudioConnection extends AudioConnectionAttachableListenerManage
      */
     Set<SpeakingFlag> getSpeakingFlags();
 
+    /**
+     * Gets timing statistics about the audio frames sent by this connection.
+     *
+     * @return The send statistics of this connection.
+     */
+    AudioSendStatistics getSendStatistics();
+
     /**
      * Gets the server of the audio connection.
      *
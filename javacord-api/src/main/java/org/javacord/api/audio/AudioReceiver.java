@@ -0,0 +1,41 @@
+package org.javacord.api.audio;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Receives the audio of the users in the voice channel of an audio connection.
+ *
+ * <p>The frames of every user are decrypted, put back in order and then passed to the receiver as opus frames.
+ * Frames which did not arrive in time are reported as lost, so they can be concealed by the opus decoder.
+ *
+ * <p>All frames of an audio connection are passed to the receiver by the same thread. The buffers are reused for the
+ * next frames, so the receiver must copy the data it wants to keep.
+ *
+ * @see AudioConnection#setAudioReceiver(AudioReceiver)
+ */
+public interface AudioReceiver {
+
+    /**
+     * Receives an opus frame.
+     *
+     * @param connection The audio connection which received the frame.
+     * @param userId The id of the speaking user, or {@code 0} if Discord did not tell yet which user is speaking.
+     * @param ssrc The ssrc of the speaking user.
+     * @param timestamp The rtp timestamp of the frame.
+     * @param opusFrame The opus frame between the position and the limit of the buffer. The buffer is only valid
+     *                  during this call.
+     */
+    void receiveFrame(AudioConnection connection, long userId, int ssrc, int timestamp, ByteBuffer opusFrame);
+
+    /**
+     * Receives the information that a frame was lost.
+     *
+     * @param connection The audio connection which lost the frame.
+     * @param userId The id of the speaking user, or {@code 0} if Discord did not tell yet which user is speaking.
+     * @param ssrc The ssrc of the speaking user.
+     * @param timestamp The estimated rtp timestamp of the lost frame.
+     */
+    default void receiveLostFrame(AudioConnection connection, long userId, int ssrc, int timestamp) {
+    }
+
+}
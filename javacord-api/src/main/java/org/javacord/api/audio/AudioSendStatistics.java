@@ -0,0 +1,47 @@
+package org.javacord.api.audio;
+
+import java.time.Duration;
+
+/**
+ * Timing statistics about the audio frames sent by an audio connection.
+ *
+ * <p>Every 20 ms frame has a deadline at which it should be sent. The jitter of a frame is the absolute difference
+ * between its deadline and the time it was actually sent. Listeners hear stutters if frames are late, so these
+ * statistics help to decide how many connections a bot can handle.
+ */
+public interface AudioSendStatistics {
+
+    /**
+     * The time after its deadline at which a frame is considered to be late.
+     */
+    Duration LATE_FRAME_THRESHOLD = Duration.ofMillis(5);
+
+    /**
+     * Gets the amount of sent frames.
+     *
+     * @return The amount of sent frames.
+     */
+    long getSentFrames();
+
+    /**
+     * Gets the amount of frames that were sent more than {@link #LATE_FRAME_THRESHOLD} after their deadline.
+     *
+     * @return The amount of late frames.
+     */
+    long getLateFrames();
+
+    /**
+     * Gets the average jitter of the sent frames.
+     *
+     * @return The average jitter.
+     */
+    Duration getAverageJitter();
+
+    /**
+     * Gets the maximum jitter of the sent frames.
+     *
+     * @return The maximum jitter.
+     */
+    Duration getMaxJitter();
+
+}
@@ -5,6 +5,7 @@ import org.javacord.api.audio.internal.AudioSourceBaseDelegate;
 import org.javacord.api.listener.ObjectAttachableListener;
 import org.javacord.api.listener.audio.AudioSourceAttachableListener;
 import org.javacord.api.listener.audio.AudioSourceFinishedListener;
+import org.javacord.api.listener.audio.AudioSourceUnderrunListener;
 import org.javacord.api.util.event.ListenerManager;
 import org.javacord.api.util.internal.DelegateFactory;
 
@@ -130,6 +131,17 @@ public abstract class AudioSourceBase implements AudioSource {
         return delegate.getAudioSourceFinishedListeners();
     }
 
+    @Override
+    public final ListenerManager<AudioSourceUnderrunListener>
+            addAudioSourceUnderrunListener(AudioSourceUnderrunListener listener) {
+        return delegate.addAudioSourceUnderrunListener(listener);
+    }
+
+    @Override
+    public final List<AudioSourceUnderrunListener> getAudioSourceUnderrunListeners() {
+        return delegate.getAudioSourceUnderrunListeners();
+    }
+
     @Override
     public final <T extends AudioSourceAttachableListener & ObjectAttachableListener> Collection<ListenerManager<T>>
             addAudioSourceAttachableListener(T listener) {
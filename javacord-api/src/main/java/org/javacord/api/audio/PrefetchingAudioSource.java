@@ -0,0 +1,168 @@
+package org.javacord.api.audio;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * An audio source which polls and transforms the frames of another audio source ahead of time.
+ *
+ * <p>The frames of the wrapped source are polled on the executor service of the api and passed through the
+ * transformers of this audio source, and then stored in a bounded ring buffer. The audio connection only takes the
+ * frames from the buffer, so slow decoders or transformers no longer delay sending the audio, as long as they are fast
+ * enough on average.
+ *
+ * <p>If the buffer runs empty while the wrapped source has not finished, the audio connection plays silence and
+ * dispatches an {@link org.javacord.api.event.audio.AudioSourceUnderrunEvent}.
+ *
+ * <p>Prefetching starts with the first call of {@link #hasNextFrame()} or {@link #getNextFrame()}, so transformers
+ * which are added before the source is played also apply to the first frames.
+ */
+public class PrefetchingAudioSource extends AudioSourceBase {
+
+    /**
+     * The default amount of prefetched frames (200 ms of audio).
+     */
+    public static final int DEFAULT_BUFFERED_FRAMES = 10;
+
+    /**
+     * The wrapped audio source. It is only used by the thread which fills the buffer.
+     */
+    private final AudioSource source;
+
+    /**
+     * The prefetched frames.
+     */
+    private final byte[][] frames;
+
+    /**
+     * The amount of frames that were taken from the buffer. Only written by the thread which polls the frames.
+     */
+    private volatile long readCount = 0;
+
+    /**
+     * The amount of frames that were added to the buffer. Only written by the thread which fills the buffer.
+     */
+    private volatile long writeCount = 0;
+
+    /**
+     * Whether the wrapped audio source has finished.
+     */
+    private volatile boolean sourceFinished = false;
+
+    /**
+     * Whether a task is currently filling the buffer.
+     */
+    private final AtomicBoolean filling = new AtomicBoolean();
+
+    /**
+     * Creates a new prefetching audio source which buffers {@value #DEFAULT_BUFFERED_FRAMES} frames.
+     *
+     * @param source The audio source to prefetch.
+     */
+    public PrefetchingAudioSource(AudioSource source) {
+        this(source, DEFAULT_BUFFERED_FRAMES);
+    }
+
+    /**
+     * Creates a new prefetching audio source.
+     *
+     * @param source The audio source to prefetch.
+     * @param bufferedFrames The maximum amount of prefetched frames. Every frame contains 20 ms of audio.
+     */
+    public PrefetchingAudioSource(AudioSource source, int bufferedFrames) {
+        super(source.getApi());
+        if (bufferedFrames < 1) {
+            throw new IllegalArgumentException("bufferedFrames cannot be less than 1!");
+        }
+        this.source = source;
+        frames = new byte[bufferedFrames][];
+    }
+
+    /**
+     * Gets the wrapped audio source.
+     *
+     * @return The wrapped audio source.
+     */
+    public AudioSource getSource() {
+        return source;
+    }
+
+    /**
+     * Gets the amount of frames that are currently prefetched.
+     *
+     * @return The amount of prefetched frames.
+     */
+    public int getBufferedFrames() {
+        return (int) (writeCount - readCount);
+    }
+
+    @Override
+    public byte[] getNextFrame() {
+        long read = readCount;
+        if (read == writeCount) {
+            fill();
+            return null;
+        }
+        int index = (int) (read % frames.length);
+        byte[] frame = frames[index];
+        frames[index] = null;
+        readCount = read + 1;
+        fill();
+        return frame;
+    }
+
+    @Override
+    public boolean hasNextFrame() {
+        if (readCount != writeCount) {
+            return true;
+        }
+        fill();
+        return false;
+    }
+
+    @Override
+    public boolean hasFinished() {
+        return sourceFinished && readCount == writeCount;
+    }
+
+    @Override
+    public AudioSource copy() {
+        return new PrefetchingAudioSource(source.copy(), frames.length);
+    }
+
+    /**
+     * Starts a task which fills the buffer, unless one is already running.
+     */
+    private void fill() {
+        if (sourceFinished || !filling.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            getApi().getThreadPool().getExecutorService().submit(this::fillBuffer);
+        } catch (RejectedExecutionException e) {
+            // The api has been disconnected, so nothing is played anymore
+            filling.set(false);
+        }
+    }
+
+    /**
+     * Polls and transforms frames from the wrapped source until the buffer is full or the source has no frame
+     * available right now.
+     */
+    private void fillBuffer() {
+        try {
+            long write = writeCount;
+            while (write - readCount < frames.length) {
+                if (!source.hasNextFrame()) {
+                    sourceFinished = source.hasFinished();
+                    return;
+                }
+                frames[(int) (write % frames.length)] = applyTransformers(source.getNextFrame());
+                writeCount = ++write;
+            }
+        } finally {
+            filling.set(false);
+        }
+    }
+
+}
@@ -526,6 +526,18 @@ public interface Server extends DiscordEntity, Nameable, UpdatableFromCache<Serv
      */
     void requestMembersChunks();
 
+    /**
+     * Requests the members with the given user ids from Discord.
+     *
+     * <p>Unlike {@link #requestMembersChunks()}, this only requests the given users, so members can be resolved on
+     * demand without caching all members of the server. Members which are already in the cache are not requested
+     * again. The ids are sent in batches of 100 ids per request.
+     *
+     * @param userIds The ids of the users.
+     * @return The members with the given ids. Users which are no member of the server are not included.
+     */
+    CompletableFuture<Set<User>> requestMembers(Collection<Long> userIds);
+
     /**
      * Gets all members of the server.
      *
@@ -695,6 +707,18 @@ public interface Server extends DiscordEntity, Nameable, UpdatableFromCache<Serv
                         .collect(Collectors.toSet()));
     }
 
+    /**
+     * Gets the members of this server whose display name starts with the given prefix.
+     * This method is case-insensitive!
+     *
+     * <p>This method is meant for autocomplete interactions, e.g. to suggest members while their name is typed.
+     *
+     * @param prefix The prefix of the display names of the members.
+     * @param limit  The maximum amount of members.
+     * @return The members whose display name starts with the given prefix, sorted by their display name.
+     */
+    List<User> getMembersByDisplayNamePrefix(String prefix, int limit);
+
     /**
      * Checks if the given user is a member of this server.
      *
@@ -0,0 +1,11 @@
+package org.javacord.api.event.audio;
+
+/**
+ * An audio source underrun event.
+ *
+ * <p>It is dispatched when an audio source which has not finished could not provide a frame in time, e.g. because it
+ * decodes or downloads its audio too slowly.
+ */
+public interface AudioSourceUnderrunEvent extends AudioSourceEvent {
+
+}
@@ -193,6 +193,76 @@ public interface DiscordApiBuilderDelegate {
      */
     boolean isUserCacheEnabled();
 
+    /**
+     * Sets the amount of lanes that are used to handle incoming packets.
+     *
+     * @param lanes The amount of lanes.
+     */
+    void setPacketHandlerLanes(int lanes);
+
+    /**
+     * Gets the amount of lanes that are used to handle incoming packets.
+     *
+     * @return The amount of lanes that are used to handle incoming packets.
+     */
+    int getPacketHandlerLanes();
+
+    /**
+     * Sets whether the concurrent entity cache should be used.
+     *
+     * @param enabled Whether the concurrent entity cache should be used.
+     */
+    void setConcurrentEntityCacheEnabled(boolean enabled);
+
+    /**
+     * Gets whether the concurrent entity cache is used.
+     *
+     * @return Whether the concurrent entity cache is used.
+     */
+    boolean isConcurrentEntityCacheEnabled();
+
+    /**
+     * Sets whether REST requests should be executed asynchronously.
+     *
+     * @param enabled Whether REST requests should be executed asynchronously.
+     */
+    void setAsyncRestRequestsEnabled(boolean enabled);
+
+    /**
+     * Gets whether REST requests are executed asynchronously.
+     *
+     * @return Whether REST requests are executed asynchronously.
+     */
+    boolean isAsyncRestRequestsEnabled();
+
+    /**
+     * Sets whether the gateway should use the ETF encoding instead of JSON.
+     *
+     * @param enabled Whether the gateway should use the ETF encoding.
+     */
+    void setEtfGatewayEncodingEnabled(boolean enabled);
+
+    /**
+     * Gets whether the gateway uses the ETF encoding instead of JSON.
+     *
+     * @return Whether the gateway uses the ETF encoding.
+     */
+    boolean isEtfGatewayEncodingEnabled();
+
+    /**
+     * Sets the amount of threads that send audio for all audio connections.
+     *
+     * @param threads The amount of threads, or {@code 0} to use a thread per audio connection.
+     */
+    void setAudioSchedulerThreads(int threads);
+
+    /**
+     * Gets the amount of threads that send audio for all audio connections.
+     *
+     * @return The amount of threads, or {@code 0} if every audio connection uses its own thread.
+     */
+    int getAudioSchedulerThreads();
+
     /**
      * Logs the bot in.
      *
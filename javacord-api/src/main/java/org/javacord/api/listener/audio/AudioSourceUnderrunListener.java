@@ -0,0 +1,26 @@
+package org.javacord.api.listener.audio;
+
+import org.javacord.api.event.audio.AudioSourceUnderrunEvent;
+import org.javacord.api.listener.GloballyAttachableListener;
+import org.javacord.api.listener.ObjectAttachableListener;
+
+/**
+ * This listener listens to audio sources which could not provide a frame in time.
+ *
+ * <p>It can be used to detect audio sources that cause stutter.
+ */
+@FunctionalInterface
+public interface AudioSourceUnderrunListener extends
+        AudioSourceAttachableListener,
+        AudioConnectionAttachableListener,
+        GloballyAttachableListener,
+        ObjectAttachableListener {
+
+    /**
+     * This method is called every time an audio source stops providing frames while it has not finished yet.
+     *
+     * @param event The event.
+     */
+    void onAudioSourceUnderrun(AudioSourceUnderrunEvent event);
+
+}
@@ -0,0 +1,50 @@
+package org.javacord.api.util.cache;
+
+/**
+ * Statistics about the message cache of the bot.
+ *
+ * <p>Lookups are counted for every access to a cached message by its id, e.g. by
+ * {@link org.javacord.api.DiscordApi#getCachedMessageById(long)} or when a gateway event refers to a message.
+ */
+public interface MessageCacheStatistics {
+
+    /**
+     * Gets the amount of lookups which found the message in the cache.
+     *
+     * @return The amount of hits.
+     */
+    long getHitCount();
+
+    /**
+     * Gets the amount of lookups which did not find the message in the cache.
+     *
+     * @return The amount of misses.
+     */
+    long getMissCount();
+
+    /**
+     * Gets the ratio of lookups which found the message in the cache.
+     *
+     * @return The hit rate between {@code 0} and {@code 1}, or {@code 1} if there were no lookups yet.
+     */
+    default double getHitRate() {
+        long hits = getHitCount();
+        long lookups = hits + getMissCount();
+        return lookups == 0 ? 1 : (double) hits / lookups;
+    }
+
+    /**
+     * Gets the amount of messages which were evicted because the memory budget was exceeded.
+     *
+     * @return The amount of evicted messages.
+     */
+    long getEvictionCount();
+
+    /**
+     * Gets the estimated memory usage of the messages that are counted against the memory budget.
+     *
+     * @return The estimated memory usage in bytes, or {@code 0} if no memory budget is set.
+     */
+    long getEstimatedMemoryUsage();
+
+}
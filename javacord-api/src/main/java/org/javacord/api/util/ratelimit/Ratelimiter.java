@@ -1,5 +1,10 @@
 package org.javacord.api.util.ratelimit;
 
+import org.javacord.api.util.concurrent.ThreadPool;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 /**
  * Can be used to implement ratelimits.
  */
@@ -14,4 +19,25 @@ public interface Ratelimiter {
      */
     void requestQuota() throws InterruptedException;
 
+    /**
+     * Requests a quota without blocking the requesting thread.
+     *
+     * <p>The default implementation blocks a thread of the executor service of the given thread pool in
+     * {@link #requestQuota()}. Implementations that know when the quota becomes available should override it and
+     * schedule the completion instead.
+     *
+     * @param threadPool The thread pool that can be used to wait for the quota.
+     * @return A future that is completed once the quota is available.
+     */
+    default CompletableFuture<Void> requestQuotaAsync(ThreadPool threadPool) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                requestQuota();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            }
+        }, threadPool.getExecutorService());
+    }
+
 }
@@ -0,0 +1,127 @@
+package org.javacord.api.util.ratelimit;
+
+import org.javacord.api.DiscordApiBuilder;
+import org.javacord.api.util.concurrent.ThreadPool;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A lock-free implementation of {@code Ratelimiter} that allows for simple local ratelimits.
+ *
+ * <p>The ratelimiter is a token bucket with a capacity of {@code amount} tokens that refills one token every
+ * {@code bucketDuration / amount}. Requesting a quota atomically reserves the next free token, so requesting threads
+ * never wait for each other, but only for their own reservation.
+ *
+ * <p>Unlike the {@link LocalRatelimiter}, the quota does not reset at once, but is refilled evenly. A full bucket
+ * still allows a burst of {@code amount} requests, and the tokens refilled afterwards can be used in the same
+ * interval, so there can be up to {@code 2 * amount - 1} requests in an interval of the length
+ * {@code bucketDuration}. In the long run, there are at most {@code amount} requests per {@code bucketDuration}.
+ * The same rules for choosing {@code amount} and {@code bucketDuration} apply, as they already account for a full
+ * burst at the start of the real bucket.
+ *
+ * @see DiscordApiBuilder#setGlobalRatelimiter(Ratelimiter)
+ */
+public class TokenBucketRatelimiter implements Ratelimiter {
+
+    /**
+     * The time at which the bucket is full again if no more tokens are taken, using {@link System#nanoTime()}.
+     */
+    private final AtomicLong fullAtNanos;
+
+    private final int amount;
+    private final Duration bucketDuration;
+    private final long bucketDurationNanos;
+    private final long tokenIntervalNanos;
+
+    /**
+     * Creates a new token bucket ratelimiter.
+     *
+     * @param amount The amount available per bucket duration.
+     * @param bucketDuration The time it takes to refill the whole bucket.
+     */
+    public TokenBucketRatelimiter(int amount, Duration bucketDuration) {
+        if (amount < 1) {
+            throw new IllegalArgumentException("amount cannot be less than 1!");
+        }
+        if (bucketDuration.isNegative() || bucketDuration.isZero()) {
+            throw new IllegalArgumentException("bucketDuration must be positive!");
+        }
+        this.amount = amount;
+        this.bucketDuration = bucketDuration;
+        long nanos;
+        try {
+            nanos = bucketDuration.toNanos();
+        } catch (ArithmeticException e) {
+            // Such a value is completely non-sense, but we still don't want an exception.
+            nanos = Long.MAX_VALUE / 2;
+        }
+        bucketDurationNanos = nanos;
+        tokenIntervalNanos = Math.max(1, (nanos + amount - 1) / amount);
+        fullAtNanos = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Gets the amount available per bucket duration.
+     *
+     * @return The amount.
+     */
+    public int getAmount() {
+        return amount;
+    }
+
+    /**
+     * Gets the time it takes to refill the whole bucket.
+     *
+     * @return The time it takes to refill the whole bucket.
+     */
+    public Duration getBucketDuration() {
+        return bucketDuration;
+    }
+
+    @Override
+    public void requestQuota() throws InterruptedException {
+        long availableAtNanos = reserve();
+        long waitNanos;
+        // Parking is unreliable, so we have to loop
+        while ((waitNanos = availableAtNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(this, waitNanos);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> requestQuotaAsync(ThreadPool threadPool) {
+        long waitNanos = reserve() - System.nanoTime();
+        if (waitNanos <= 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        threadPool.getScheduler().schedule(() -> future.complete(null), waitNanos, TimeUnit.NANOSECONDS);
+        return future;
+    }
+
+    /**
+     * Reserves the next free token.
+     *
+     * @return The time at which the reserved token is available, using {@link System#nanoTime()}.
+     */
+    private long reserve() {
+        while (true) {
+            long now = System.nanoTime();
+            long fullAt = fullAtNanos.get();
+            // A full bucket does not get any fuller
+            long newFullAt = Math.max(fullAt, now) + tokenIntervalNanos;
+            if (fullAtNanos.compareAndSet(fullAt, newFullAt)) {
+                // The token is available once it is refilled within one bucket duration
+                return newFullAt - bucketDurationNanos;
+            }
+        }
+    }
+
+}
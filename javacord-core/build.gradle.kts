@@ -3,6 +3,7 @@ import aQute.bnd.version.MavenVersion.parseMavenString
 plugins {
     `java-library`
     id("biz.aQute.bnd.builder") version "6.2.0"
+    id("me.champeau.jmh") version "0.6.6"
 }
 
 repositories {
@@ -31,6 +32,8 @@ dependencies {
 
     // voice encryption
     implementation("com.codahale:xsalsa20poly1305:0.11.0")
+    // the underlying cipher, used directly for allocation-free packet encryption
+    implementation("org.bouncycastle:bcprov-jdk15on:1.60")
 
     // logging
     implementation("org.apache.logging.log4j:log4j-api:2.17.2")
@@ -44,6 +47,11 @@ dependencies {
     compileOnly("javax.annotation:javax.annotation-api:1.3.2")
 }
 
+// Micro benchmarks in src/jmh, run them with "gradlew :javacord-core:jmh"
+jmh {
+    jmhVersion.set("1.35")
+}
+
 java {
     withJavadocJar()
     withSourcesJar()
@@ -0,0 +1,211 @@
+package org.javacord.core.audio;
+
+import org.javacord.core.util.gateway.AudioPacketEncoder;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how accurately audio frames are sent at their 20 ms deadlines, with a thread per connection like the
+ * default audio udp socket and with an {@link AudioSendScheduler}.
+ *
+ * <p>Every invocation sends one second of audio for all connections to a local socket which is never read. The timing
+ * is reported as the secondary results {@code averageJitterMicros}, {@code maxJitterMicros} and
+ * {@code lateFramesPercent}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class AudioSendSchedulerBenchmark {
+
+    private static final int FRAMES = 50;
+    private static final long FRAME_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+    private static final int CHANNELS = 16;
+
+    /**
+     * How the frames are sent.
+     */
+    @Param({"threadPerConnection", "scheduler"})
+    public String mode;
+
+    /**
+     * The amount of audio connections.
+     */
+    @Param({"1", "100", "1000"})
+    public int connections;
+
+    private DatagramChannel sink;
+    private final List<DatagramChannel> channels = new ArrayList<>();
+    private AudioSendScheduler scheduler;
+
+    /**
+     * The timing of the sent frames.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Timing {
+
+        public double averageJitterMicros;
+        public double maxJitterMicros;
+        public double lateFramesPercent;
+
+    }
+
+    /**
+     * Opens the sink and the channels which send to it.
+     *
+     * @throws IOException If a channel could not be opened.
+     */
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        sink = DatagramChannel.open().bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        for (int i = 0; i < CHANNELS; i++) {
+            channels.add(DatagramChannel.open().connect(sink.getLocalAddress()));
+        }
+        if ("scheduler".equals(mode)) {
+            scheduler = new AudioSendScheduler(2);
+        }
+    }
+
+    /**
+     * Closes all channels and shuts down the scheduler.
+     *
+     * @throws IOException If a channel could not be closed.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+        for (DatagramChannel channel : channels) {
+            channel.close();
+        }
+        sink.close();
+    }
+
+    /**
+     * Sends one second of audio for all connections.
+     *
+     * @param timing The timing of the sent frames.
+     * @throws InterruptedException If interrupted while waiting for the connections.
+     */
+    @Benchmark
+    public void sendFrames(Timing timing) throws InterruptedException {
+        List<FakeConnection> fakeConnections = new ArrayList<>();
+        for (int i = 0; i < connections; i++) {
+            fakeConnections.add(new FakeConnection(i, channels.get(i % CHANNELS)));
+        }
+
+        if (scheduler != null) {
+            fakeConnections.forEach(scheduler::add);
+            Thread.sleep(TimeUnit.NANOSECONDS.toMillis(FRAMES * FRAME_NANOS));
+            fakeConnections.forEach(scheduler::remove);
+        } else {
+            List<Thread> threads = new ArrayList<>();
+            for (FakeConnection connection : fakeConnections) {
+                Thread thread = new Thread(connection::runWithOwnThread);
+                thread.start();
+                threads.add(thread);
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        }
+
+        long sentFrames = 0;
+        long lateFrames = 0;
+        long totalJitterNanos = 0;
+        long maxJitterNanos = 0;
+        for (FakeConnection connection : fakeConnections) {
+            AudioSendStatisticsImpl statistics = connection.statistics;
+            sentFrames += statistics.getSentFrames();
+            lateFrames += statistics.getLateFrames();
+            totalJitterNanos += statistics.getAverageJitter().toNanos() * statistics.getSentFrames();
+            maxJitterNanos = Math.max(maxJitterNanos, statistics.getMaxJitter().toNanos());
+        }
+        timing.averageJitterMicros = totalJitterNanos / 1000.0 / sentFrames;
+        timing.maxJitterMicros = maxJitterNanos / 1000.0;
+        timing.lateFramesPercent = 100.0 * lateFrames / sentFrames;
+    }
+
+    /**
+     * A connection which sends random frames.
+     */
+    private static class FakeConnection implements ScheduledAudioSender {
+
+        private final AudioPacketEncoder encoder;
+        private final DatagramChannel channel;
+        private final AudioSendStatisticsImpl statistics = new AudioSendStatisticsImpl();
+        private final byte[] frame = new byte[160];
+        private char sequence;
+
+        private FakeConnection(int ssrc, DatagramChannel channel) {
+            this.channel = channel;
+            Random random = new Random(ssrc);
+            byte[] secretKey = new byte[32];
+            random.nextBytes(secretKey);
+            random.nextBytes(frame);
+            encoder = new AudioPacketEncoder(ssrc);
+            encoder.setSecretKey(secretKey);
+        }
+
+        /**
+         * Sends the frames like the default audio udp socket, sleeping between the frames.
+         */
+        private void runWithOwnThread() {
+            long nextFrameTimestamp = System.nanoTime();
+            try {
+                for (int i = 0; i < FRAMES; i++) {
+                    ByteBuffer packet = pollPacket();
+                    nextFrameTimestamp += FRAME_NANOS;
+                    Thread.sleep(Math.max(0, nextFrameTimestamp - System.nanoTime()) / 1_000_000);
+                    send(packet, nextFrameTimestamp);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public ByteBuffer pollPacket() {
+            sequence++;
+            return encoder.encode(frame, sequence, sequence * 960);
+        }
+
+        @Override
+        public void send(ByteBuffer packet, long deadlineNanos) {
+            try {
+                channel.write(packet);
+            } catch (IOException e) {
+                // The sink is never read, so its buffer can be full
+            }
+            statistics.recordFrame(System.nanoTime() - deadlineNanos);
+        }
+
+    }
+
+}
@@ -0,0 +1,99 @@
+package org.javacord.core.entity.user;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.javacord.api.entity.user.UserFlag;
+import org.javacord.core.DiscordApiImpl;
+import org.javacord.core.entity.server.ServerImpl;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * The fields of the previous member and user implementations, which stored boxed role ids, timestamp strings and one
+ * field per flag. It is only kept as a baseline for {@link MemberMemoryBenchmark}.
+ */
+class LegacyMemberLayout {
+
+    private final DiscordApiImpl api;
+    private final ServerImpl server;
+    private final User user;
+    private final boolean pending;
+    private final String nickname;
+    private final List<Long> roleIds;
+    private final String avatarHash;
+    private final String joinedAt;
+    private final String serverBoostingSince;
+    private final boolean deafened;
+    private final boolean muted;
+    private final boolean selfDeafened;
+    private final boolean selfMuted;
+    private final Instant communicationDisabledUntil;
+
+    /**
+     * Parses a member like the previous member implementation.
+     *
+     * @param api The api instance.
+     * @param server The server of the member.
+     * @param data The json data of the member.
+     */
+    LegacyMemberLayout(DiscordApiImpl api, ServerImpl server, JsonNode data) {
+        this.api = api;
+        this.server = server;
+        this.user = new User(api, data.get("user"), this);
+        nickname = data.hasNonNull("nick") ? data.get("nick").asText() : null;
+        roleIds = new ArrayList<>();
+        for (JsonNode roleIdJson : data.get("roles")) {
+            roleIds.add(roleIdJson.asLong());
+        }
+        roleIds.add(server.getEveryoneRole().getId());
+        avatarHash = data.hasNonNull("avatar") ? data.get("avatar").asText() : null;
+        joinedAt = data.get("joined_at").asText();
+        serverBoostingSince = data.hasNonNull("premium_since") ? data.get("premium_since").asText() : null;
+        pending = data.hasNonNull("pending") && data.get("pending").asBoolean();
+        deafened = data.hasNonNull("deaf") && data.get("deaf").asBoolean();
+        muted = data.hasNonNull("mute") && data.get("mute").asBoolean();
+        selfDeafened = false;
+        selfMuted = false;
+        communicationDisabledUntil = data.hasNonNull("communication_disabled_until")
+                ? OffsetDateTime.parse(data.get("communication_disabled_until").asText()).toInstant()
+                : null;
+    }
+
+    /**
+     * The fields of the previous user implementation.
+     */
+    private static final class User {
+
+        private final DiscordApiImpl api;
+        private final Long id;
+        private final String name;
+        private final String discriminator;
+        private final String avatarHash;
+        private final EnumSet<UserFlag> userFlags = EnumSet.noneOf(UserFlag.class);
+        private final boolean bot;
+        private final LegacyMemberLayout member;
+
+        private User(DiscordApiImpl api, JsonNode data, LegacyMemberLayout member) {
+            this.api = api;
+            this.member = member;
+            id = data.get("id").asLong();
+            name = data.get("username").asText();
+            discriminator = data.get("discriminator").asText();
+            avatarHash = data.hasNonNull("avatar") ? data.get("avatar").asText() : null;
+            if (data.has("public_flags")) {
+                int flags = data.get("public_flags").asInt();
+                for (UserFlag flag : UserFlag.values()) {
+                    if ((flag.asInt() & flags) == flag.asInt()) {
+                        userFlags.add(flag);
+                    }
+                }
+            }
+            bot = data.hasNonNull("bot") && data.get("bot").asBoolean();
+        }
+
+    }
+
+}
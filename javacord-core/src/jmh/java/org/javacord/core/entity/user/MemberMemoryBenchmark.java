@@ -0,0 +1,174 @@
+package org.javacord.core.entity.user;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.javacord.core.DiscordApiImpl;
+import org.javacord.core.entity.server.ServerImpl;
+import org.javacord.core.util.concurrent.ThreadPoolImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the heap which is retained by a cached member and its user, compared to the previous layout.
+ *
+ * <p>The retained bytes per member are measured once per trial and printed as "Retained bytes per member". The
+ * benchmark itself measures parsing a member; run it with {@code -prof gc} to see the allocation per member.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class MemberMemoryBenchmark {
+
+    /**
+     * The amount of members which are created to measure the retained heap.
+     */
+    private static final int MEASURED_MEMBERS = 200_000;
+
+    /**
+     * The amount of different member json objects.
+     */
+    private static final int MEMBER_JSON_COUNT = 1024;
+
+    /**
+     * The member layout.
+     */
+    @Param({"legacy", "compact"})
+    public String layout;
+
+    private DiscordApiImpl api;
+    private ServerImpl server;
+    private ObjectNode[] memberJson;
+    private int nextMember = 0;
+
+    /**
+     * Creates the server and the member json, and measures the retained heap per member.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        api = new DiscordApiImpl("fakeBotToken", null, null, null, null, null, false);
+        server = new ServerImpl(api, createServerJson(1L));
+        memberJson = new ObjectNode[MEASURED_MEMBERS];
+        for (int i = 0; i < MEASURED_MEMBERS; i++) {
+            memberJson[i] = createMemberJson(1_000_000L + i, i);
+        }
+
+        Object[] members = new Object[MEASURED_MEMBERS];
+        long usedBefore = getUsedHeap();
+        for (int i = 0; i < MEASURED_MEMBERS; i++) {
+            members[i] = createMember(memberJson[i]);
+        }
+        long usedAfter = getUsedHeap();
+        System.out.printf("%nRetained bytes per member (%s): %d%n",
+                layout, (usedAfter - usedBefore) / MEASURED_MEMBERS);
+        if (members[MEASURED_MEMBERS - 1] == null) {
+            throw new AssertionError();
+        }
+
+        ObjectNode[] benchmarkJson = new ObjectNode[MEMBER_JSON_COUNT];
+        System.arraycopy(memberJson, 0, benchmarkJson, 0, MEMBER_JSON_COUNT);
+        memberJson = benchmarkJson;
+    }
+
+    /**
+     * Shuts down the thread pool of the api instance.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ((ThreadPoolImpl) api.getThreadPool()).shutdown();
+    }
+
+    /**
+     * Parses a member.
+     *
+     * @return The member, to prevent dead code elimination.
+     */
+    @Benchmark
+    public Object parseMember() {
+        nextMember = (nextMember + 1) & (MEMBER_JSON_COUNT - 1);
+        return createMember(memberJson[nextMember]);
+    }
+
+    private Object createMember(ObjectNode json) {
+        return "compact".equals(layout)
+                ? new MemberImpl(api, server, json, null)
+                : new LegacyMemberLayout(api, server, json);
+    }
+
+    private static long getUsedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static ObjectNode createServerJson(long id) {
+        ObjectNode server = JsonNodeFactory.instance.objectNode()
+                .put("id", String.valueOf(id))
+                .put("name", "Benchmark")
+                .put("region", "europe")
+                .put("large", true)
+                .put("member_count", 0)
+                .put("owner_id", String.valueOf(id))
+                .put("verification_level", 0)
+                .put("explicit_content_filter", 0)
+                .put("default_message_notifications", 0)
+                .put("mfa_level", 0)
+                .put("premium_tier", 0)
+                .put("nsfw_level", 0)
+                .put("preferred_locale", "en-US");
+        server.putArray("roles").addObject()
+                .put("id", String.valueOf(id))
+                .put("name", "@everyone")
+                .put("position", 0)
+                .put("color", 0)
+                .put("hoist", false)
+                .put("mentionable", false)
+                .put("managed", false)
+                .put("permissions", "0");
+        return server;
+    }
+
+    /**
+     * Creates the json of a typical member with a few roles, an avatar and sometimes a nickname.
+     */
+    private static ObjectNode createMemberJson(long userId, int index) {
+        ObjectNode member = JsonNodeFactory.instance.objectNode()
+                .put("joined_at", "2015-04-26T06:26:56.936000+00:00")
+                .put("deaf", false)
+                .put("mute", false)
+                .put("pending", false);
+        if (index % 3 == 0) {
+            member.put("nick", "Nickname " + (index % 100));
+        }
+        member.putObject("user")
+                .put("id", String.valueOf(userId))
+                .put("username", "user" + userId)
+                .put("discriminator", "0")
+                .put("avatar", String.format("%032x", userId))
+                .put("public_flags", 64);
+        ArrayNode roles = member.putArray("roles");
+        for (int i = 0; i < 3; i++) {
+            roles.add(String.valueOf(100 + (index + i) % 20));
+        }
+        return member;
+    }
+
+}
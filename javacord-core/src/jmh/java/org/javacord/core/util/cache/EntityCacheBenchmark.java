@@ -0,0 +1,153 @@
+package org.javacord.core.util.cache;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.javacord.core.DiscordApiImpl;
+import org.javacord.core.entity.server.ServerImpl;
+import org.javacord.core.entity.user.Member;
+import org.javacord.core.entity.user.MemberImpl;
+import org.javacord.core.util.concurrent.ThreadPoolImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures applying a {@code GUILD_MEMBERS_CHUNK} of 1000 members to the entity cache backends.
+ *
+ * <p>Run it with {@code -prof gc} to see the allocation per chunk ({@code gc.alloc.rate.norm}). The server already has
+ * the given amount of cached members, and every invocation replaces the members of the chunk, like it happens when the
+ * members are requested again after a reconnect.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EntityCacheBenchmark {
+
+    /**
+     * The amount of members in a single chunk.
+     */
+    private static final int CHUNK_SIZE = 1000;
+
+    /**
+     * The amount of members of the server which are cached already.
+     */
+    @Param({"0", "100000"})
+    public int cachedMembers;
+
+    /**
+     * The entity cache backend.
+     */
+    @Param({"immutable", "concurrent"})
+    public String backend;
+
+    private DiscordApiImpl api;
+    private EntityCache cache;
+    private List<Member> chunk;
+
+    /**
+     * Creates the server, its cached members and the chunk.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        api = new DiscordApiImpl("fakeBotToken", null, null, null, null, null, false);
+        cache = "concurrent".equals(backend) ? new ConcurrentEntityCache() : new ImmutableEntityCache();
+        ServerImpl server = new ServerImpl(api, createServerJson(1L));
+        for (int i = 0; i < cachedMembers; i++) {
+            cache.addMember(createMember(server, 1_000_000L + i));
+        }
+        chunk = new ArrayList<>(CHUNK_SIZE);
+        for (int i = 0; i < CHUNK_SIZE; i++) {
+            chunk.add(createMember(server, 1_000_000L + cachedMembers + i));
+        }
+    }
+
+    /**
+     * Shuts down the thread pool of the api instance.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ((ThreadPoolImpl) api.getThreadPool()).shutdown();
+    }
+
+    /**
+     * Applies the chunk to the cache member by member.
+     *
+     * @return The cache, to prevent dead code elimination.
+     */
+    @Benchmark
+    public EntityCache applyChunk() {
+        for (Member member : chunk) {
+            cache.addMember(member);
+        }
+        return cache;
+    }
+
+    /**
+     * Applies the chunk to the cache in one batch.
+     *
+     * @return The cache, to prevent dead code elimination.
+     */
+    @Benchmark
+    public EntityCache applyChunkInBatch() {
+        cache.addMembers(chunk);
+        return cache;
+    }
+
+    private static ObjectNode createServerJson(long id) {
+        ObjectNode server = JsonNodeFactory.instance.objectNode()
+                .put("id", String.valueOf(id))
+                .put("name", "Benchmark")
+                .put("region", "europe")
+                .put("large", true)
+                .put("member_count", 0)
+                .put("owner_id", String.valueOf(id))
+                .put("verification_level", 0)
+                .put("explicit_content_filter", 0)
+                .put("default_message_notifications", 0)
+                .put("mfa_level", 0)
+                .put("premium_tier", 0)
+                .put("nsfw_level", 0)
+                .put("preferred_locale", "en-US");
+        server.putArray("roles").addObject()
+                .put("id", String.valueOf(id))
+                .put("name", "@everyone")
+                .put("position", 0)
+                .put("color", 0)
+                .put("hoist", false)
+                .put("mentionable", false)
+                .put("managed", false)
+                .put("permissions", "0");
+        return server;
+    }
+
+    private Member createMember(ServerImpl server, long userId) {
+        ObjectNode member = JsonNodeFactory.instance.objectNode()
+                .put("joined_at", "2015-04-26T06:26:56.936000+00:00");
+        member.putObject("user")
+                .put("id", String.valueOf(userId))
+                .put("username", "User " + userId)
+                .put("discriminator", "0001");
+        ArrayNode roles = member.putArray("roles");
+        roles.add(String.valueOf(server.getId()));
+        return new MemberImpl(api, server, member, null);
+    }
+
+}
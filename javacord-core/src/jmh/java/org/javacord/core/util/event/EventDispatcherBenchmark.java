@@ -0,0 +1,125 @@
+package org.javacord.core.util.event;
+
+import org.javacord.core.DiscordApiImpl;
+import org.javacord.core.util.concurrent.ThreadPoolImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Compares the event dispatch throughput of the {@link EventDispatcherBase} with the previous dispatcher which used a
+ * single manager thread and a global lock.
+ *
+ * <p>Every invocation dispatches a batch of events round-robin over the given amount of servers and waits until all
+ * of them reached their listener.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventDispatcherBenchmark {
+
+    /**
+     * The amount of events dispatched per invocation.
+     */
+    private static final int EVENTS_PER_INVOCATION = 10_000;
+
+    /**
+     * The amount of servers the events are spread over.
+     */
+    @Param({"1", "100", "10000"})
+    public int servers;
+
+    private DiscordApiImpl api;
+    private BenchmarkEventDispatcher dispatcher;
+    private LegacyEventDispatcher legacyDispatcher;
+    private DispatchQueueSelector[] queueSelectors;
+    private volatile CountDownLatch latch;
+    private List<Consumer<Object>> listeners;
+
+    /**
+     * Creates the api instance and the fake servers.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        api = new DiscordApiImpl("fakeBotToken", null, null, null, null, null, false);
+        dispatcher = new BenchmarkEventDispatcher(api);
+        dispatcher.setExecutionTimeCheckingEnabled(false);
+        legacyDispatcher = new LegacyEventDispatcher(api);
+        queueSelectors = new DispatchQueueSelector[servers];
+        for (int i = 0; i < servers; i++) {
+            DispatchQueue queue = new DispatchQueue();
+            queueSelectors[i] = () -> queue;
+        }
+        listeners = Collections.singletonList(event -> latch.countDown());
+    }
+
+    /**
+     * Shuts down the thread pool of the api instance.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ((ThreadPoolImpl) api.getThreadPool()).shutdown();
+    }
+
+    /**
+     * Dispatches the events with the current event dispatcher.
+     *
+     * @throws InterruptedException If the benchmark thread got interrupted.
+     */
+    @Benchmark
+    @OperationsPerInvocation(EVENTS_PER_INVOCATION)
+    public void lockFree() throws InterruptedException {
+        latch = new CountDownLatch(EVENTS_PER_INVOCATION);
+        for (int i = 0; i < EVENTS_PER_INVOCATION; i++) {
+            dispatcher.dispatchEvent(queueSelectors[i % servers], listeners, listener -> listener.accept(null));
+        }
+        latch.await();
+    }
+
+    /**
+     * Dispatches the events with the previous event dispatcher.
+     *
+     * @throws InterruptedException If the benchmark thread got interrupted.
+     */
+    @Benchmark
+    @OperationsPerInvocation(EVENTS_PER_INVOCATION)
+    public void legacy() throws InterruptedException {
+        latch = new CountDownLatch(EVENTS_PER_INVOCATION);
+        for (int i = 0; i < EVENTS_PER_INVOCATION; i++) {
+            legacyDispatcher.dispatchEvent(queueSelectors[i % servers], listeners, listener -> listener.accept(null));
+        }
+        latch.await();
+    }
+
+    /**
+     * An event dispatcher without generated dispatch methods.
+     */
+    private static class BenchmarkEventDispatcher extends EventDispatcherBase {
+
+        private BenchmarkEventDispatcher(DiscordApiImpl api) {
+            super(api);
+        }
+
+    }
+
+}
@@ -0,0 +1,125 @@
+package org.javacord.core.util.event;
+
+import org.javacord.core.DiscordApiImpl;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * The queueing algorithm of the previous event dispatcher, which routed every event through a single manager thread
+ * and a global lock. It is only kept as a baseline for {@link EventDispatcherBenchmark}.
+ */
+class LegacyEventDispatcher {
+
+    /**
+     * The discord api instance.
+     */
+    private final DiscordApiImpl api;
+
+    /**
+     * This map which holds a queue for every object with tasks to call the waiting listeners.
+     */
+    private final Map<DispatchQueueSelector, Queue<Runnable>> queuedListenerTasks =
+            Collections.synchronizedMap(new HashMap<>());
+
+    /**
+     * All objects which currently have a running listener.
+     */
+    private final Set<DispatchQueueSelector> runningListeners = Collections.synchronizedSet(new HashSet<>());
+
+    /**
+     * Creates a new legacy event dispatcher.
+     *
+     * @param api The discord api instance.
+     */
+    LegacyEventDispatcher(DiscordApiImpl api) {
+        this.api = api;
+        queuedListenerTasks.put(null, new ConcurrentLinkedQueue<>());
+    }
+
+    /**
+     * Dispatches an event to the given listeners using the provided consumer.
+     *
+     * @param queueSelector The object which is used to determine in which queue the event should be dispatched.
+     * @param listeners A list with listeners which get consumed by the given consumer.
+     * @param consumer A consumer which consumes all listeners from the given list.
+     * @param <T> The type of the listener.
+     */
+    <T> void dispatchEvent(DispatchQueueSelector queueSelector, List<T> listeners, Consumer<T> consumer) {
+        api.getThreadPool().getSingleThreadExecutorService("Event Dispatch Queues Manager").submit(() -> {
+            if (queueSelector != null) {
+                Queue<Runnable> objectIndependentQueue = queuedListenerTasks.get(null);
+                while (!objectIndependentQueue.isEmpty()) {
+                    try {
+                        synchronized (queuedListenerTasks) {
+                            queuedListenerTasks.wait(5000);
+                        }
+                    } catch (InterruptedException ignored) { }
+                }
+            }
+            if (!listeners.isEmpty()) {
+                synchronized (queuedListenerTasks) {
+                    Queue<Runnable> queue = queuedListenerTasks.computeIfAbsent(
+                            queueSelector, o -> new ConcurrentLinkedQueue<>());
+                    listeners.forEach(listener -> queue.add(() -> consumer.accept(listener)));
+                }
+            }
+            checkRunningListenersAndStartIfPossible(queueSelector);
+        });
+    }
+
+    /**
+     * Checks if there are listeners running for the given object and if not it takes one from the queue for the
+     * object and executes it.
+     *
+     * @param queueSelector The object which is used to determine in which thread the consumer should be executed.
+     */
+    private void checkRunningListenersAndStartIfPossible(DispatchQueueSelector queueSelector) {
+        synchronized (queuedListenerTasks) {
+            Queue<Runnable> queue = queueSelector == null ? null : queuedListenerTasks.get(queueSelector);
+            if (queue == null || queue.isEmpty()) {
+                if (queueSelector != null) {
+                    queuedListenerTasks.remove(queueSelector);
+                }
+                if (queuedListenerTasks.get(null).isEmpty()) {
+                    return;
+                }
+                boolean moreObjectDependentTasks = queuedListenerTasks.entrySet()
+                        .stream()
+                        .filter(entry -> !entry.getValue().isEmpty())
+                        .anyMatch(entry -> entry.getKey() != null);
+                if (moreObjectDependentTasks || !runningListeners.isEmpty()) {
+                    return;
+                }
+                queueSelector = null;
+                queue = queuedListenerTasks.get(null);
+            }
+            DispatchQueueSelector finalQueueSelector = queueSelector;
+            Queue<Runnable> taskQueue = queue;
+            if (!queue.isEmpty() && runningListeners.add(finalQueueSelector)) {
+                api.getThreadPool().getExecutorService().submit(() -> {
+                    taskQueue.poll().run();
+                    runningListeners.remove(finalQueueSelector);
+                    synchronized (queuedListenerTasks) {
+                        if (finalQueueSelector != null) {
+                            Queue<Runnable> remainingQueue = queuedListenerTasks.get(finalQueueSelector);
+                            if (remainingQueue != null && remainingQueue.isEmpty()) {
+                                queuedListenerTasks.remove(finalQueueSelector);
+                            }
+                        }
+                        queuedListenerTasks.notifyAll();
+                    }
+                    checkRunningListenersAndStartIfPossible(finalQueueSelector);
+                });
+            }
+        }
+    }
+
+}
@@ -0,0 +1,76 @@
+package org.javacord.core.util.gateway;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.DatagramPacket;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares creating an encrypted udp packet for every audio frame with encoding it into a reused buffer.
+ *
+ * <p>Run with {@code -prof gc} to see the allocation rate.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AudioPacketBenchmark {
+
+    private final InetSocketAddress address = new InetSocketAddress(0);
+    private final byte[] secretKey = new byte[32];
+    private final AudioPacketEncoder encoder = new AudioPacketEncoder(42);
+    private byte[] frame;
+    private char sequence;
+
+    /**
+     * Creates a frame with the typical size of a 20 ms opus frame.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(42);
+        random.nextBytes(secretKey);
+        frame = new byte[160];
+        random.nextBytes(frame);
+        encoder.setSecretKey(secretKey);
+    }
+
+    /**
+     * Creates an audio packet, encrypts it and creates a datagram packet.
+     *
+     * @return The datagram packet.
+     */
+    @Benchmark
+    public DatagramPacket audioPacket() {
+        sequence++;
+        AudioPacket packet = new AudioPacket(frame, 42, sequence, sequence * 960);
+        packet.encrypt(secretKey);
+        return packet.asUdpPacket(address);
+    }
+
+    /**
+     * Encodes the frame with the reused encoder.
+     *
+     * @return The buffer containing the packet.
+     */
+    @Benchmark
+    public ByteBuffer encoder() {
+        sequence++;
+        return encoder.encode(frame, sequence, sequence * 960);
+    }
+
+}
@@ -0,0 +1,162 @@
+package org.javacord.core.util.gateway;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Compares decoding recorded gateway payloads from JSON with decoding the same payloads from ETF, and with only
+ * reading the envelope of JSON payloads.
+ *
+ * <p>The ETF payloads are created from the recorded JSON payloads the same way Discord encodes them, i.e. with
+ * snowflakes as integers instead of strings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GatewayDecodeBenchmark {
+
+    /**
+     * A pattern that matches snowflakes.
+     */
+    private static final Pattern SNOWFLAKE_PATTERN = Pattern.compile("\\d{17,20}");
+
+    /**
+     * The amount of members in the generated {@code GUILD_MEMBERS_CHUNK} payload.
+     */
+    private static final int CHUNK_SIZE = 1000;
+
+    /**
+     * The payload to decode.
+     */
+    @Param({"message_create", "presence_update", "guild_members_chunk"})
+    public String payload;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private byte[] json;
+    private byte[] etf;
+
+    /**
+     * Loads the recorded payload and encodes it in both formats.
+     *
+     * @throws IOException If the payload could not be loaded.
+     */
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        JsonNode packet;
+        if ("guild_members_chunk".equals(payload)) {
+            packet = createGuildMembersChunk();
+        } else {
+            try (InputStream in = GatewayDecodeBenchmark.class.getResourceAsStream(payload + ".json")) {
+                packet = mapper.readTree(in);
+            }
+        }
+        json = packet.toString().getBytes(StandardCharsets.UTF_8);
+        etf = EtfEncoder.encode(toEtfShape(packet));
+    }
+
+    /**
+     * Decodes the JSON payload.
+     *
+     * @return The decoded payload, to prevent dead code elimination.
+     * @throws IOException If the payload is invalid.
+     */
+    @Benchmark
+    public JsonNode decodeJson() throws IOException {
+        return mapper.readTree(json, 0, json.length);
+    }
+
+    /**
+     * Reads the envelope of the JSON payload and skips its data, like it is done for dispatches without handler.
+     *
+     * @return The read payload, to prevent dead code elimination.
+     * @throws IOException If the payload is invalid.
+     */
+    @Benchmark
+    public GatewayPayload readJsonSkippingData() throws IOException {
+        try (JsonParser parser = mapper.getFactory().createParser(json, 0, json.length)) {
+            return GatewayPayload.read(parser, type -> false);
+        }
+    }
+
+    /**
+     * Decodes the ETF payload.
+     *
+     * @return The decoded payload, to prevent dead code elimination.
+     * @throws IOException If the payload is invalid.
+     */
+    @Benchmark
+    public JsonNode decodeEtf() throws IOException {
+        return EtfDecoder.decode(etf, 0, etf.length);
+    }
+
+    private JsonNode createGuildMembersChunk() throws IOException {
+        ObjectNode packet = JsonNodeFactory.instance.objectNode()
+                .put("t", "GUILD_MEMBERS_CHUNK")
+                .put("s", 42)
+                .put("op", 0);
+        ObjectNode data = packet.putObject("d")
+                .put("guild_id", "151037227802279936")
+                .put("chunk_index", 0)
+                .put("chunk_count", 100);
+        ArrayNode members = data.putArray("members");
+        for (int i = 0; i < CHUNK_SIZE; i++) {
+            String userId = String.valueOf(265928366437810176L + i * 4194304L);
+            members.add(mapper.readTree("{\"user\":{\"username\":\"User " + i + "\",\"public_flags\":0,"
+                    + "\"id\":\"" + userId + "\",\"discriminator\":\"" + (1000 + i % 9000) + "\",\"bot\":false,"
+                    + "\"avatar\":\"0f1e2d3c4b5a69788796a5b4c3d2e1f0\"},\"roles\":[\"378911622383976449\"],"
+                    + "\"premium_since\":null,\"pending\":false,\"nick\":null,\"mute\":false,"
+                    + "\"joined_at\":\"2018-03-12T08:41:22.107000+00:00\",\"flags\":0,\"deaf\":false,"
+                    + "\"communication_disabled_until\":null,\"avatar\":null}"));
+        }
+        return packet;
+    }
+
+    private static JsonNode toEtfShape(JsonNode node) {
+        if (node.isTextual() && SNOWFLAKE_PATTERN.matcher(node.textValue()).matches()) {
+            return JsonNodeFactory.instance.numberNode(Long.parseLong(node.textValue()));
+        }
+        if (node.isObject()) {
+            ObjectNode object = JsonNodeFactory.instance.objectNode();
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                object.set(field.getKey(), toEtfShape(field.getValue()));
+            }
+            return object;
+        }
+        if (node.isArray()) {
+            ArrayNode array = JsonNodeFactory.instance.arrayNode();
+            node.forEach(element -> array.add(toEtfShape(element)));
+            return array;
+        }
+        return node;
+    }
+
+}
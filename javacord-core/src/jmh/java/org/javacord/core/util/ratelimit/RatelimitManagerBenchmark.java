@@ -0,0 +1,118 @@
+package org.javacord.core.util.ratelimit;
+
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.javacord.core.DiscordApiImpl;
+import org.javacord.core.util.concurrent.ThreadPoolImpl;
+import org.javacord.core.util.rest.RestEndpoint;
+import org.javacord.core.util.rest.RestMethod;
+import org.javacord.core.util.rest.RestRequest;
+import org.javacord.core.util.rest.RestRequestResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how many requests per second the {@link RatelimitManager} can queue and complete when the requests are
+ * spread over many channels.
+ *
+ * <p>The requests do not hit the network, but immediately return a fake response with ratelimit headers that never
+ * cause a delay. This way the benchmark only measures the overhead of the bucket lookup and the queue handling.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RatelimitManagerBenchmark {
+
+    /**
+     * The amount of requests queued per invocation.
+     */
+    private static final int REQUESTS_PER_INVOCATION = 10_000;
+
+    /**
+     * The amount of channels the requests are spread over.
+     */
+    @Param({"100", "5000"})
+    public int channels;
+
+    private DiscordApiImpl api;
+    private RatelimitManager ratelimitManager;
+    private Request fakeRequest;
+
+    /**
+     * Creates the api instance and the ratelimit manager.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        api = new DiscordApiImpl("fakeBotToken", null, null, null, null, null, false);
+        ratelimitManager = new RatelimitManager(api);
+        fakeRequest = new Request.Builder().url(RestEndpoint.MESSAGE.getFullUrl("0")).build();
+    }
+
+    /**
+     * Shuts down the thread pool of the api instance.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ((ThreadPoolImpl) api.getThreadPool()).shutdown();
+    }
+
+    /**
+     * Queues the requests round-robin over all channels and waits until all of them are completed.
+     */
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS_PER_INVOCATION)
+    public void queueRequests() {
+        CompletableFuture<?>[] results = new CompletableFuture<?>[REQUESTS_PER_INVOCATION];
+        for (int i = 0; i < REQUESTS_PER_INVOCATION; i++) {
+            RestRequest<?> request = new FakeRestRequest(String.valueOf(i % channels));
+            ratelimitManager.queueRequest(request);
+            results[i] = request.getResult();
+        }
+        CompletableFuture.allOf(results).join();
+    }
+
+    /**
+     * A rest request which does not hit the network.
+     */
+    private class FakeRestRequest extends RestRequest<Void> {
+
+        FakeRestRequest(String channelId) {
+            super(api, RestMethod.POST, RestEndpoint.MESSAGE);
+            setUrlParameters(channelId);
+        }
+
+        @Override
+        public RestRequestResult executeBlocking() throws Exception {
+            Response response = new Response.Builder()
+                    .request(fakeRequest)
+                    .protocol(Protocol.HTTP_1_1)
+                    .code(200)
+                    .message("OK")
+                    .header("X-RateLimit-Bucket", "80c17d2f203122d936070c88c8d10f33")
+                    .header("X-RateLimit-Remaining", "4")
+                    .header("X-RateLimit-Reset", String.valueOf(System.currentTimeMillis() / 1000 + 60))
+                    .build();
+            return new RestRequestResult(this, response);
+        }
+    }
+
+}
@@ -0,0 +1,73 @@
+package org.javacord.core.util.ratelimit;
+
+import org.javacord.api.util.ratelimit.LocalRatelimiter;
+import org.javacord.api.util.ratelimit.Ratelimiter;
+import org.javacord.api.util.ratelimit.TokenBucketRatelimiter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of the ratelimiters with 64 concurrent callers.
+ *
+ * <p>The ratelimit ({@code amount} requests per millisecond) is high enough that the overhead of the ratelimiter
+ * under contention is measured instead of the ratelimit itself.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(64)
+@Fork(1)
+public class RatelimiterBenchmark {
+
+    /**
+     * The ratelimiter implementation.
+     */
+    @Param({"local", "tokenBucket"})
+    public String implementation;
+
+    /**
+     * The amount of requests per millisecond.
+     */
+    @Param({"5", "1000"})
+    public int amount;
+
+    private Ratelimiter ratelimiter;
+
+    /**
+     * Creates the ratelimiter.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        Duration bucketDuration = Duration.ofMillis(1);
+        ratelimiter = "local".equals(implementation)
+                ? new LocalRatelimiter(amount, bucketDuration)
+                : new TokenBucketRatelimiter(amount, bucketDuration);
+    }
+
+    /**
+     * Requests a quota.
+     *
+     * @throws InterruptedException If interrupted while waiting for the quota.
+     */
+    @Benchmark
+    public void requestQuota() throws InterruptedException {
+        ratelimiter.requestQuota();
+    }
+
+}
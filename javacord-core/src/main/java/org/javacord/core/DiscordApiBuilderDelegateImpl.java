@@ -132,6 +132,31 @@ public class DiscordApiBuilderDelegateImpl implements DiscordApiBuilderDelegate
      */
     private boolean userCacheEnabled = true;
 
+    /**
+     * The amount of lanes that are used to handle incoming packets.
+     */
+    private volatile int packetHandlerLanes = 1;
+
+    /**
+     * Whether the concurrent entity cache should be used.
+     */
+    private volatile boolean concurrentEntityCacheEnabled = false;
+
+    /**
+     * Whether REST requests should be executed asynchronously.
+     */
+    private volatile boolean asyncRestRequestsEnabled = false;
+
+    /**
+     * Whether the gateway should use the ETF encoding instead of JSON.
+     */
+    private volatile boolean etfGatewayEncodingEnabled = false;
+
+    /**
+     * The amount of threads that send audio for all audio connections, or {@code 0} for a thread per connection.
+     */
+    private volatile int audioSchedulerThreads = 0;
+
     /**
      * The globally attachable listeners to register for every created DiscordApi instance.
      */
@@ -171,6 +196,11 @@ public class DiscordApiBuilderDelegateImpl implements DiscordApiBuilderDelegate
     private final List<Function<DiscordApi,GloballyAttachableListener>> unspecifiedListenerFunctions
             = new CopyOnWriteArrayList<>();
 
+    /**
+     * The group of shards the next logged in shard should share its resources with, set while logging in shards.
+     */
+    private volatile ShardGroup shardGroup = null;
+
     /**
      * Listener sources for pre-registration, compiled into a single map.
      */
@@ -197,7 +227,9 @@ public class DiscordApiBuilderDelegateImpl implements DiscordApiBuilderDelegate
             new DiscordApiImpl(token, currentShard.get(), totalShards.get(), intents,
                     waitForServersOnStartup, waitForUsersOnStartup, registerShutdownHook, globalRatelimiter,
                     gatewayIdentifyRatelimiter, proxySelector, proxy, proxyAuthenticator, trustAllCertificates,
-                    future, null, preparedListeners, preparedUnspecifiedListeners, userCacheEnabled, dispatchEvents);
+                    future, null, preparedListeners, preparedUnspecifiedListeners, userCacheEnabled, dispatchEvents,
+                    packetHandlerLanes, concurrentEntityCacheEnabled, asyncRestRequestsEnabled,
+                    etfGatewayEncodingEnabled, audioSchedulerThreads, shardGroup);
         }
         return future;
     }
@@ -260,16 +292,24 @@ public class DiscordApiBuilderDelegateImpl implements DiscordApiBuilderDelegate
 
         List<CompletableFuture<DiscordApi>> result = new ArrayList<>(shards.length);
         int currentShard = getCurrentShard();
-        for (int shard : shards) {
-            if (currentShard != 0) {
-                CompletableFuture<DiscordApi> future = new CompletableFuture<>();
-                future.completeExceptionally(new IllegalArgumentException(
-                        "You cannot use loginShards or loginAllShards after setting the current shard!"));
-                result.add(future);
-                continue;
+        // The shards share one thread pool, http client and ratelimit manager
+        ShardGroup group = new ShardGroup(getTotalShards());
+        shardGroup = group;
+        try {
+            for (int shard : shards) {
+                if (currentShard != 0) {
+                    CompletableFuture<DiscordApi> future = new CompletableFuture<>();
+                    future.completeExceptionally(new IllegalArgumentException(
+                            "You cannot use loginShards or loginAllShards after setting the current shard!"));
+                    result.add(future);
+                    continue;
+                }
+                setCurrentShard(shard);
+                result.add(login());
             }
-            setCurrentShard(shard);
-            result.add(login());
+        } finally {
+            shardGroup = null;
+            group.release();
         }
         setCurrentShard(currentShard);
         return result;
@@ -408,6 +448,62 @@ public class DiscordApiBuilderDelegateImpl implements DiscordApiBuilderDelegate
         return userCacheEnabled;
     }
 
+    @Override
+    public void setPacketHandlerLanes(int lanes) {
+        if (lanes < 1) {
+            throw new IllegalArgumentException("lanes cannot be less than 1!");
+        }
+        packetHandlerLanes = lanes;
+    }
+
+    @Override
+    public int getPacketHandlerLanes() {
+        return packetHandlerLanes;
+    }
+
+    @Override
+    public void setConcurrentEntityCacheEnabled(boolean enabled) {
+        concurrentEntityCacheEnabled = enabled;
+    }
+
+    @Override
+    public boolean isConcurrentEntityCacheEnabled() {
+        return concurrentEntityCacheEnabled;
+    }
+
+    @Override
+    public void setAsyncRestRequestsEnabled(boolean enabled) {
+        asyncRestRequestsEnabled = enabled;
+    }
+
+    @Override
+    public boolean isAsyncRestRequestsEnabled() {
+        return asyncRestRequestsEnabled;
+    }
+
+    @Override
+    public void setEtfGatewayEncodingEnabled(boolean enabled) {
+        etfGatewayEncodingEnabled = enabled;
+    }
+
+    @Override
+    public boolean isEtfGatewayEncodingEnabled() {
+        return etfGatewayEncodingEnabled;
+    }
+
+    @Override
+    public void setAudioSchedulerThreads(int threads) {
+        if (threads < 0) {
+            throw new IllegalArgumentException("threads cannot be less than 0!");
+        }
+        audioSchedulerThreads = threads;
+    }
+
+    @Override
+    public int getAudioSchedulerThreads() {
+        return audioSchedulerThreads;
+    }
+
     @Override
     public CompletableFuture<Void> setRecommendedTotalShards() {
         CompletableFuture<Void> future = new CompletableFuture<>();
@@ -431,6 +527,8 @@ public class DiscordApiBuilderDelegateImpl implements DiscordApiBuilderDelegate
                 .thenAccept(resultJson -> {
                     DiscordWebSocketAdapter.setGateway(resultJson.get("url").asText());
                     setTotalShards(resultJson.get("shards").asInt());
+                    api.setMaxIdentifyConcurrency(
+                            resultJson.path("session_start_limit").path("max_concurrency").asInt(1));
                     retryAttempt.set(0);
                     future.complete(null);
                 })
@@ -4,6 +4,8 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import okhttp3.Dispatcher;
 import okhttp3.Dns;
 import okhttp3.OkHttpClient;
 import okhttp3.logging.HttpLoggingInterceptor;
@@ -52,11 +54,14 @@ import org.javacord.api.interaction.UserContextMenu;
 import org.javacord.api.listener.GloballyAttachableListener;
 import org.javacord.api.listener.ObjectAttachableListener;
 import org.javacord.api.util.auth.Authenticator;
+import org.javacord.api.util.cache.MessageCacheStatistics;
 import org.javacord.api.util.concurrent.ThreadPool;
 import org.javacord.api.util.event.ListenerManager;
 import org.javacord.api.util.ratelimit.LocalRatelimiter;
 import org.javacord.api.util.ratelimit.Ratelimiter;
+import org.javacord.api.util.ratelimit.TokenBucketRatelimiter;
 import org.javacord.core.audio.AudioConnectionImpl;
+import org.javacord.core.audio.AudioSendScheduler;
 import org.javacord.core.entity.activity.ActivityImpl;
 import org.javacord.core.entity.activity.ApplicationInfoImpl;
 import org.javacord.core.entity.emoji.CustomEmojiImpl;
@@ -82,12 +87,19 @@ import org.javacord.core.interaction.SlashCommandImpl;
 import org.javacord.core.interaction.UserContextMenuImpl;
 import org.javacord.core.util.ClassHelper;
 import org.javacord.core.util.Cleanupable;
-import org.javacord.core.util.cache.JavacordEntityCache;
+import org.javacord.core.util.cache.CompactMessageStore;
+import org.javacord.core.util.cache.ConcurrentEntityCache;
+import org.javacord.core.util.cache.EntityCache;
+import org.javacord.core.util.cache.GlobalMessageCache;
+import org.javacord.core.util.cache.ImmutableEntityCache;
+import org.javacord.core.util.cache.MessageCacheImpl;
 import org.javacord.core.util.concurrent.ThreadPoolImpl;
+import org.javacord.core.util.event.DispatchQueue;
 import org.javacord.core.util.event.DispatchQueueSelector;
 import org.javacord.core.util.event.EventDispatcher;
 import org.javacord.core.util.event.ListenerManagerImpl;
 import org.javacord.core.util.gateway.DiscordWebSocketAdapter;
+import org.javacord.core.util.gateway.PacketHandlerExecutor;
 import org.javacord.core.util.http.ProxyAuthenticator;
 import org.javacord.core.util.http.TrustAllTrustManager;
 import org.javacord.core.util.logging.LoggerUtil;
@@ -118,6 +130,7 @@ import java.util.WeakHashMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -153,15 +166,27 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
     /**
      * A map with the default gateway identify ratelimiter.
      *
-     * <p>The key is the bot's token (because ratelimits are per account) and the value is the ratelimiter for this
-     * token.
+     * <p>The key is the bot's token (because ratelimits are per account) followed by the ratelimit key of the shard
+     * ({@code shard_id % max_concurrency}) and the value is the ratelimiter for this token and ratelimit key.
      */
     private static final Map<String, Ratelimiter> defaultGatewayIdentifyRatelimiter = new ConcurrentHashMap<>();
 
+    /**
+     * A map with the maximum amount of shards that can identify at the same time.
+     *
+     * <p>The key is the bot's token and the value is the {@code max_concurrency} Discord sent for this token.
+     */
+    private static final Map<String, Integer> maxIdentifyConcurrencies = new ConcurrentHashMap<>();
+
+    /**
+     * The maximum amount of concurrent asynchronous REST calls.
+     */
+    private static final int ASYNC_REST_MAX_REQUESTS = 64;
+
     /**
      * The thread pool which is used internally.
      */
-    private final ThreadPoolImpl threadPool = new ThreadPoolImpl();
+    private final ThreadPoolImpl threadPool;
 
     /**
      * The http client for this instance.
@@ -173,15 +198,31 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
      */
     private final EventDispatcher eventDispatcher;
 
+    /**
+     * The executor which is used to handle asynchronous packets.
+     */
+    private final PacketHandlerExecutor packetHandlerExecutor;
+
+    /**
+     * The queue of events which are dispatched for this instance (server-independent events).
+     */
+    private final DispatchQueue dispatchQueue = new DispatchQueue();
+
     /**
      * The object mapper for this instance.
      */
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ObjectMapper objectMapper;
 
     /**
      * The ratelimit manager for this bot.
      */
-    private final RatelimitManager ratelimitManager = new RatelimitManager(this);
+    private final RatelimitManager ratelimitManager;
+
+    /**
+     * The scheduler which sends the audio frames of all audio connections. {@code null} if every audio connection uses
+     * its own thread.
+     */
+    private final AudioSendScheduler audioSendScheduler;
 
     /**
      * The utility class to interact with uncached messages.
@@ -243,6 +284,11 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
      */
     private final int totalShards;
 
+    /**
+     * The group of shards this shard shares its resources with. Can be {@code null}.
+     */
+    private final ShardGroup shardGroup;
+
     /**
      * The intents to be set.
      */
@@ -321,19 +367,24 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
     private volatile long ownerId = -1;
 
     /**
-     * The time offset between the Discord time and our local time.
+     * A cache with all Javacord entities.
      */
-    private volatile Long timeOffset = null;
+    private final EntityCache entityCache;
 
     /**
-     * An immutable cache with all Javacord entities.
+     * Whether the user cache is enabled or not.
      */
-    private final AtomicReference<JavacordEntityCache> entityCache = new AtomicReference<>(JavacordEntityCache.empty());
+    private final boolean userCacheEnabled;
 
     /**
-     * Whether the user cache is enabled or not.
+     * Whether REST requests are executed asynchronously or not.
      */
-    private final boolean userCacheEnabled;
+    private final boolean asyncRestRequests;
+
+    /**
+     * Whether the gateway uses the ETF encoding instead of JSON or not.
+     */
+    private final boolean etfGatewayEncoding;
 
     /**
      * A map which contains all servers that are ready.
@@ -383,6 +434,16 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
      */
     private final ReentrantLock messageCacheLock = new ReentrantLock();
 
+    /**
+     * Limits the memory usage of the cached messages of all channels.
+     */
+    private final GlobalMessageCache globalMessageCache = new GlobalMessageCache(this::evictMessage);
+
+    /**
+     * Keeps compressed copies of messages which can be inflated after they left the message cache of their channel.
+     */
+    private final CompactMessageStore compactMessageStore;
+
     /**
      * A map to retrieve message IDs by the weak ref that point to the respective
      * message or used to point to it for usage in the messages cleanup,
@@ -416,6 +477,13 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
             Map<ObjectAttachableListener, ListenerManagerImpl<? extends ObjectAttachableListener>>>>>
             objectListeners = Collections.synchronizedMap(new ConcurrentHashMap<>());
 
+    /**
+     * A map which contains the amount of registered listeners for every listener class, no matter whether they are
+     * attached globally, to an object or to a message.
+     * It is used to skip the creation of events if nobody listens to them.
+     */
+    private final Map<Class<?>, AtomicInteger> listenerCounts = new ConcurrentHashMap<>();
+
     /**
      * Creates a new discord api instance that can be used for auto-ratelimited REST calls,
      * but does not connect to the Discord WebSocket.
@@ -479,7 +547,8 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
     ) {
         this(token, currentShard, totalShards, intents, waitForServersOnStartup, waitForUsersOnStartup,
                 true, globalRatelimiter, gatewayIdentifyRatelimiter, proxySelector, proxy, proxyAuthenticator,
-                trustAllCertificates, ready, null, Collections.emptyMap(), Collections.emptyList(), false, true);
+                trustAllCertificates, ready, null, Collections.emptyMap(), Collections.emptyList(), false, true, 1,
+                false, false, false, 0, null);
     }
 
     /**
@@ -524,7 +593,8 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
             Dns dns) {
         this(token, currentShard, totalShards, intents, waitForServersOnStartup, waitForUsersOnStartup,
                 true, globalRatelimiter, gatewayIdentifyRatelimiter, proxySelector, proxy, proxyAuthenticator,
-                trustAllCertificates, ready, dns, Collections.emptyMap(), Collections.emptyList(), false, true);
+                trustAllCertificates, ready, dns, Collections.emptyMap(), Collections.emptyList(), false, true, 1,
+                false, false, false, 0, null);
     }
 
     /**
@@ -556,6 +626,14 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
      * @param unspecifiedListeners       The listeners of unspecified types to pre-register.
      * @param userCacheEnabled           Whether the user cache should be enabled.
      * @param dispatchEvents             Whether events can be dispatched.
+     * @param packetHandlerLanes         The amount of lanes that are used to handle incoming packets.
+     * @param concurrentEntityCache      Whether the concurrent entity cache should be used.
+     * @param asyncRestRequests          Whether REST requests should be executed asynchronously.
+     * @param etfGatewayEncoding         Whether the gateway should use the ETF encoding instead of JSON.
+     * @param audioSchedulerThreads      The amount of threads that send audio for all audio connections, or
+     *                                   {@code 0} to use a thread per audio connection.
+     * @param shardGroup                 The group of shards this shard should share its resources with. Can be
+     *                                   {@code null}.
      */
     @SuppressWarnings("unchecked")
     public DiscordApiImpl(
@@ -579,7 +657,13 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
                     > listenerSourceMap,
             List<Function<DiscordApi, GloballyAttachableListener>> unspecifiedListeners,
             boolean userCacheEnabled,
-            boolean dispatchEvents
+            boolean dispatchEvents,
+            int packetHandlerLanes,
+            boolean concurrentEntityCache,
+            boolean asyncRestRequests,
+            boolean etfGatewayEncoding,
+            int audioSchedulerThreads,
+            ShardGroup shardGroup
     ) {
         this.token = token;
         this.currentShard = currentShard;
@@ -594,6 +678,9 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
         this.trustAllCertificates = trustAllCertificates;
         this.userCacheEnabled = userCacheEnabled;
         this.dispatchEvents = dispatchEvents;
+        this.asyncRestRequests = asyncRestRequests;
+        this.etfGatewayEncoding = etfGatewayEncoding;
+        this.shardGroup = shardGroup;
         this.reconnectDelayProvider = x ->
                 (int) Math.round(Math.pow(x, 1.5) - (1 / (1 / (0.1 * x) + 1)) * Math.pow(x, 1.5));
         //Always add the GUILDS intent unless it is not required anymore for Javacord to be functional.
@@ -607,30 +694,27 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
             throw new IllegalArgumentException("Cannot wait for users when GUILD_MEMBERS intent is not set!");
         }
 
-        OkHttpClient.Builder httpClientBuilder = new OkHttpClient.Builder()
-                .addInterceptor(chain -> chain.proceed(chain.request()
-                        .newBuilder()
-                        .addHeader("User-Agent", Javacord.USER_AGENT)
-                        .build()))
-                .addInterceptor(
-                        new HttpLoggingInterceptor(LoggerUtil.getLogger(OkHttpClient.class)::trace).setLevel(Level.BODY)
-                )
-                .proxyAuthenticator(new ProxyAuthenticator(proxyAuthenticator))
-                .proxy(proxy);
-        if (proxySelector != null) {
-            httpClientBuilder.proxySelector(proxySelector);
-        }
-        if (dns != null) {
-            httpClientBuilder.dns(dns);
-        }
-        if (trustAllCertificates) {
-            logger.warn("All SSL certificates are trusted when connecting to the Discord API and websocket. "
-                    + "This increases the risk of man-in-the-middle attacks!");
-            TrustAllTrustManager trustManager = new TrustAllTrustManager();
-            httpClientBuilder.sslSocketFactory(trustManager.createSslSocketFactory(), trustManager);
+        if (shardGroup == null) {
+            threadPool = new ThreadPoolImpl();
+            objectMapper = new ObjectMapper();
+            httpClient = createHttpClient(proxySelector, proxy, proxyAuthenticator, trustAllCertificates, dns,
+                    asyncRestRequests);
+            ratelimitManager = new RatelimitManager(this);
+            audioSendScheduler = audioSchedulerThreads > 0 ? new AudioSendScheduler(audioSchedulerThreads) : null;
+        } else {
+            threadPool = shardGroup.addShard(this);
+            objectMapper = shardGroup.getObjectMapper();
+            httpClient = shardGroup.getHttpClient(() -> createHttpClient(
+                    proxySelector, proxy, proxyAuthenticator, trustAllCertificates, dns, asyncRestRequests));
+            ratelimitManager = shardGroup.getRatelimitManager(token, asyncRestRequests);
+            audioSendScheduler = audioSchedulerThreads > 0
+                    ? shardGroup.getAudioSendScheduler(() -> new AudioSendScheduler(audioSchedulerThreads))
+                    : null;
         }
-        this.httpClient = httpClientBuilder.build();
+        compactMessageStore = new CompactMessageStore(objectMapper);
         this.eventDispatcher = new EventDispatcher(this);
+        this.packetHandlerExecutor = new PacketHandlerExecutor(threadPool, packetHandlerLanes);
+        this.entityCache = concurrentEntityCache ? new ConcurrentEntityCache() : new ImmutableEntityCache();
 
         if (ready != null) {
             getThreadPool().getExecutorService().submit(() -> {
@@ -709,6 +793,77 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
                         String.format("Javacord - Shutdown Disconnector (%s)", this)));
             }
         }
+
+        // Other shards may only use this shard once it is fully constructed
+        if (shardGroup != null) {
+            shardGroup.publishShard(this, threadPool);
+        }
+    }
+
+    /**
+     * Creates the http client which is used for REST requests.
+     *
+     * @param proxySelector        The proxy selector which should be used to determine the proxies that should be
+     *                             used to connect to the Discord REST API.
+     * @param proxy                The proxy which should be used to connect to the Discord REST API.
+     * @param proxyAuthenticator   The authenticator that should be used to authenticate against proxies that require
+     *                             it.
+     * @param trustAllCertificates Whether to trust all SSL certificates.
+     * @param dns                  The DNS instance to use. Can be {@code null}.
+     * @param asyncRestRequests    Whether REST requests are executed asynchronously.
+     * @return The http client.
+     */
+    private static OkHttpClient createHttpClient(ProxySelector proxySelector, Proxy proxy,
+                                                 Authenticator proxyAuthenticator, boolean trustAllCertificates,
+                                                 Dns dns, boolean asyncRestRequests) {
+        OkHttpClient.Builder httpClientBuilder = new OkHttpClient.Builder()
+                .addInterceptor(chain -> chain.proceed(chain.request()
+                        .newBuilder()
+                        .addHeader("User-Agent", Javacord.USER_AGENT)
+                        .build()))
+                .addInterceptor(
+                        new HttpLoggingInterceptor(LoggerUtil.getLogger(OkHttpClient.class)::trace).setLevel(Level.BODY)
+                )
+                .proxyAuthenticator(new ProxyAuthenticator(proxyAuthenticator))
+                .proxy(proxy);
+        if (proxySelector != null) {
+            httpClientBuilder.proxySelector(proxySelector);
+        }
+        if (dns != null) {
+            httpClientBuilder.dns(dns);
+        }
+        if (asyncRestRequests) {
+            // Asynchronous calls are queued by the dispatcher, which only allows 5 concurrent calls per host by default
+            Dispatcher dispatcher = new Dispatcher();
+            dispatcher.setMaxRequests(ASYNC_REST_MAX_REQUESTS);
+            dispatcher.setMaxRequestsPerHost(ASYNC_REST_MAX_REQUESTS);
+            httpClientBuilder.dispatcher(dispatcher);
+        }
+        if (trustAllCertificates) {
+            logger.warn("All SSL certificates are trusted when connecting to the Discord API and websocket. "
+                    + "This increases the risk of man-in-the-middle attacks!");
+            TrustAllTrustManager trustManager = new TrustAllTrustManager();
+            httpClientBuilder.sslSocketFactory(trustManager.createSslSocketFactory(), trustManager);
+        }
+        return httpClientBuilder.build();
+    }
+
+    /**
+     * Gets the group of shards this shard shares its resources with.
+     *
+     * @return The group of shards.
+     */
+    public Optional<ShardGroup> getShardGroup() {
+        return Optional.ofNullable(shardGroup);
+    }
+
+    /**
+     * Gets the scheduler which sends the audio frames of all audio connections.
+     *
+     * @return The audio send scheduler, if audio connections do not use their own thread.
+     */
+    public Optional<AudioSendScheduler> getAudioSendScheduler() {
+        return Optional.ofNullable(audioSendScheduler);
     }
 
     /**
@@ -716,7 +871,7 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
      *
      * @return The entity cache.
      */
-    public AtomicReference<JavacordEntityCache> getEntityCache() {
+    public EntityCache getEntityCache() {
         return entityCache;
     }
 
@@ -739,6 +894,11 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
         return dispatchEvents;
     }
 
+    @Override
+    public DispatchQueue getDispatchQueue() {
+        return dispatchQueue;
+    }
+
     /**
      * Gets the used {@link OkHttpClient http client} for this api instance.
      *
@@ -760,6 +920,15 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
         return eventDispatcher;
     }
 
+    /**
+     * Gets the executor which is used to handle asynchronous packets.
+     *
+     * @return The executor which is used to handle asynchronous packets.
+     */
+    public PacketHandlerExecutor getPacketHandlerExecutor() {
+        return packetHandlerExecutor;
+    }
+
     /**
      * Gets the ratelimit manager for this bot.
      *
@@ -787,21 +956,22 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
                 .map(Cleanupable.class::cast)
                 .forEach(Cleanupable::cleanup);
         servers.clear();
-        entityCache.get().getChannelCache().getChannels().stream()
+        entityCache.getChannelCache().getChannels().stream()
                 .filter(Cleanupable.class::isInstance)
                 .map(Cleanupable.class::cast)
                 .forEach(Cleanupable::cleanup);
-        entityCache.set(JavacordEntityCache.empty());
+        entityCache.clear();
         unavailableServers.clear();
         customEmojis.clear();
         messageCacheLock.lock();
         try {
             messages.clear();
             messageIdByRef.clear();
+            globalMessageCache.clear();
+            compactMessageStore.clear();
         } finally {
             messageCacheLock.unlock();
         }
-        timeOffset = null;
     }
 
     /**
@@ -925,13 +1095,10 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
      * @param channel The channel to add.
      */
     public void addChannelToCache(Channel channel) {
-        entityCache.getAndUpdate(cache -> {
-            Channel oldChannel = cache.getChannelCache().getChannelById(channel.getId()).orElse(null);
-            if (oldChannel != channel && oldChannel instanceof Cleanupable) {
-                ((Cleanupable) oldChannel).cleanup();
-            }
-            return cache.updateChannelCache(channelCache -> channelCache.addChannel(channel));
-        });
+        Channel oldChannel = entityCache.addChannel(channel).orElse(null);
+        if (oldChannel != channel && oldChannel instanceof Cleanupable) {
+            ((Cleanupable) oldChannel).cleanup();
+        }
     }
 
     /**
@@ -941,12 +1108,7 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
      * @param mapper A function that takes the old user presence (or null) and returns the new user presence.
      */
     public void updateUserPresence(long userId, UnaryOperator<UserPresence> mapper) {
-        entityCache.getAndUpdate(cache -> {
-            UserPresence presence = cache.getUserPresenceCache().getPresenceByUserId(userId)
-                    .orElseGet(() -> new UserPresence(userId, null, null, io.vavr.collection.HashMap.empty()));
-            return cache.updateUserPresenceCache(userPresenceCache ->
-                    userPresenceCache.removeUserPresence(presence).addUserPresence(mapper.apply(presence)));
-        });
+        entityCache.updateUserPresence(userId, mapper);
     }
 
     /**
@@ -955,29 +1117,29 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
      * @param channelId The id of the channel to remove.
      */
     public void removeChannelFromCache(long channelId) {
-        entityCache.getAndUpdate(cache -> {
-            Channel channel = cache.getChannelCache().getChannelById(channelId).orElse(null);
-            if (channel == null) {
-                return cache;
-            }
-
-            //Remove all ServerThreadChannels when the parent channel is removed
-            channel.asServerChannel().ifPresent(serverChannel -> {
-                if (serverChannel.asServerThreadChannel().isPresent()) {
-                    return;
-                }
-
-                serverChannel.getServer().getThreadChannels().stream()
-                        .filter(c -> c.getParent().getId() == serverChannel.getId())
-                        .mapToLong(DiscordEntity::getId)
-                        .forEach(this::removeChannelFromCache);
-            });
+        Channel channel = entityCache.getChannelCache().getChannelById(channelId).orElse(null);
+        if (channel == null) {
+            return;
+        }
 
-            if (channel instanceof Cleanupable) {
-                ((Cleanupable) channel).cleanup();
+        //Remove all ServerThreadChannels when the parent channel is removed
+        channel.asServerChannel().ifPresent(serverChannel -> {
+            if (serverChannel.asServerThreadChannel().isPresent()) {
+                return;
             }
-            return cache.updateChannelCache(channelCache -> channelCache.removeChannel(channel));
+
+            serverChannel.getServer().getThreadChannels().stream()
+                    .filter(c -> c.getParent().getId() == serverChannel.getId())
+                    .mapToLong(DiscordEntity::getId)
+                    .forEach(this::removeChannelFromCache);
         });
+
+        if (channel instanceof Cleanupable) {
+            ((Cleanupable) channel).cleanup();
+        }
+        entityCache.removeChannel(channel);
+        channel.asServerChannel()
+                .ifPresent(serverChannel -> ((ServerImpl) serverChannel.getServer()).invalidateSortedChannels());
     }
 
     /**
@@ -989,12 +1151,19 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
         if (!isUserCacheEnabled()) {
             return;
         }
-        entityCache.getAndUpdate(cache -> {
-            Member oldMember = cache.getMemberCache()
-                    .getMemberByIdAndServer(member.getId(), member.getServer().getId())
-                    .orElse(null);
-            return cache.updateMemberCache(memberCache -> memberCache.removeMember(oldMember).addMember(member));
-        });
+        entityCache.addMember(member);
+    }
+
+    /**
+     * Adds all given members to the cache at once.
+     *
+     * @param members The members to add.
+     */
+    public void addMembersToCacheOrReplaceExisting(Collection<Member> members) {
+        if (!isUserCacheEnabled()) {
+            return;
+        }
+        entityCache.addMembers(members);
     }
 
     /**
@@ -1003,16 +1172,7 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
      * @param user The new user object.
      */
     public void updateUserOfAllMembers(User user) {
-        entityCache.getAndUpdate(cache -> {
-            JavacordEntityCache newCache = cache;
-            for (Member member : cache.getMemberCache().getMembersById(user.getId())) {
-                newCache = newCache.updateMemberCache(memberCache -> memberCache
-                        .removeMember(member)
-                        .addMember(((MemberImpl) member).setUser((UserImpl) user))
-                );
-            }
-            return newCache;
-        });
+        entityCache.updateMembersById(user.getId(), member -> ((MemberImpl) member).setUser((UserImpl) user));
     }
 
     /**
@@ -1022,13 +1182,9 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
      * @param serverId The id of the member's server.
      */
     public void removeMemberFromCache(long memberId, long serverId) {
-        entityCache.getAndUpdate(cache -> {
-            Member member = cache.getMemberCache().getMemberByIdAndServer(memberId, serverId).orElse(null);
-            if (member == null) {
-                return cache;
-            }
-            return cache.updateMemberCache(memberCache -> memberCache.removeMember(member));
-        });
+        entityCache.removeMember(memberId, serverId);
+        getPossiblyUnreadyServerById(serverId)
+                .ifPresent(server -> ((ServerImpl) server).removeCachedPermissions(memberId));
     }
 
     /**
@@ -1083,7 +1239,7 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
      * @return The time offset between the Discord time and our local time.
      */
     public Long getTimeOffset() {
-        return timeOffset;
+        return ratelimitManager.getTimeOffset();
     }
 
     /**
@@ -1092,7 +1248,7 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
      * @param timeOffset The time offset to set.
      */
     public void setTimeOffset(Long timeOffset) {
-        this.timeOffset = timeOffset;
+        ratelimitManager.setTimeOffset(timeOffset);
     }
 
     /**
@@ -1185,7 +1341,27 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
         long id = Long.parseLong(data.get("id").asText());
         messageCacheLock.lock();
         try {
-            return getCachedMessageById(id).orElseGet(() -> new MessageImpl(this, channel, data));
+            Optional<Message> message = Optional.ofNullable(messages.get(id)).map(Reference::get);
+            recordMessageLookup(id, message.isPresent());
+            if (message.isPresent()) {
+                return message.get();
+            }
+        } finally {
+            messageCacheLock.unlock();
+        }
+
+        // Compressing is expensive, so only the finished data is stored while holding the lock
+        byte[] compressedData = compactMessageStore.compress(data);
+        messageCacheLock.lock();
+        try {
+            Optional<Message> message = Optional.ofNullable(messages.get(id)).map(Reference::get);
+            if (message.isPresent()) {
+                return message.get();
+            }
+            if (compressedData != null) {
+                compactMessageStore.store(id, compressedData);
+            }
+            return new MessageImpl(this, channel, data);
         } finally {
             messageCacheLock.unlock();
         }
@@ -1212,6 +1388,42 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
         }
     }
 
+    /**
+     * Estimates the memory usage of a cached message again after its content, embeds or reactions changed.
+     *
+     * @param message The changed message.
+     */
+    public void updateEstimatedMessageSize(Message message) {
+        messageCacheLock.lock();
+        try {
+            // Uncached copies, e.g. from the compact message store, do not count against the budget
+            WeakReference<Message> messageRef = messages.get(message.getId());
+            if (messageRef == null || messageRef.get() != message) {
+                return;
+            }
+            globalMessageCache.update(message);
+        } finally {
+            messageCacheLock.unlock();
+        }
+    }
+
+    /**
+     * Removes a message which was evicted by the global message cache from the cache of its channel.
+     * This method must be called while holding the message cache lock.
+     *
+     * @param messageId The id of the evicted message.
+     * @return Whether the message was removed, i.e. it was not reclaimed yet and is not cached forever.
+     */
+    private boolean evictMessage(long messageId) {
+        WeakReference<Message> messageRef = messages.get(messageId);
+        Message message = messageRef == null ? null : messageRef.get();
+        if (message == null || message.isCachedForever()) {
+            return false;
+        }
+        ((MessageCacheImpl) message.getChannel().getMessageCache()).removeMessage(message);
+        return true;
+    }
+
     /**
      * Removes a message from the cache.
      *
@@ -1224,6 +1436,7 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
             if (messageRef != null) {
                 messageIdByRef.remove(messageRef, messageId);
             }
+            compactMessageStore.remove(messageId);
         } finally {
             messageCacheLock.unlock();
         }
@@ -1250,8 +1463,10 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
                         .computeIfAbsent(objectClass, key -> new ConcurrentHashMap<>())
                         .computeIfAbsent(objectId, key -> new ConcurrentHashMap<>())
                         .computeIfAbsent(listenerClass, c -> Collections.synchronizedMap(new LinkedHashMap<>()));
-        return (ListenerManager<T>) listeners.computeIfAbsent(
-                listener, key -> new ListenerManagerImpl<>(this, listener, listenerClass, objectClass, objectId));
+        return (ListenerManager<T>) listeners.computeIfAbsent(listener, key -> {
+            incrementListenerCount(listenerClass);
+            return new ListenerManagerImpl<>(this, listener, listenerClass, objectClass, objectId);
+        });
     }
 
     /**
@@ -1290,6 +1505,7 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
                 return;
             }
             classListeners.remove(listener);
+            decrementListenerCount(listenerClass, 1);
             listenerManager.removed();
             // Clean it up
             if (classListeners.isEmpty()) {
@@ -1323,6 +1539,8 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
             }
             // Remove all listeners
             objects.computeIfPresent(objectId, (id, listeners) -> {
+                listeners.forEach((listenerClass, classListeners) ->
+                        decrementListenerCount(listenerClass, classListeners.size()));
                 listeners.values().stream()
                         .flatMap(map -> map.values().stream())
                         .forEach(ListenerManagerImpl::removed);
@@ -1387,6 +1605,41 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
                 .orElseGet(ArrayList::new));
     }
 
+    /**
+     * Checks whether there is at least one listener of the given class registered, either globally, to an object or
+     * to a message.
+     * This is a cheap check which is meant to skip the creation of events nobody listens to.
+     *
+     * @param listenerClass The listener class.
+     * @return Whether there is at least one listener of the given class registered.
+     */
+    public boolean hasListeners(Class<?> listenerClass) {
+        AtomicInteger count = listenerCounts.get(listenerClass);
+        return count != null && count.get() > 0;
+    }
+
+    /**
+     * Increments the amount of registered listeners of the given class.
+     *
+     * @param listenerClass The listener class.
+     */
+    private void incrementListenerCount(Class<?> listenerClass) {
+        listenerCounts.computeIfAbsent(listenerClass, key -> new AtomicInteger()).incrementAndGet();
+    }
+
+    /**
+     * Decrements the amount of registered listeners of the given class.
+     *
+     * @param listenerClass The listener class.
+     * @param amount        The amount of removed listeners.
+     */
+    private void decrementListenerCount(Class<?> listenerClass, int amount) {
+        AtomicInteger count = listenerCounts.get(listenerClass);
+        if (count != null) {
+            count.addAndGet(-amount);
+        }
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public <T extends GloballyAttachableListener> Map<T, List<Class<T>>> getListeners() {
@@ -1674,7 +1927,8 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
         if (globalRatelimiter == null) {
             Ratelimiter ratelimiter = defaultGlobalRatelimiter.computeIfAbsent(
                     getToken(),
-                    (token) -> new LocalRatelimiter(5, Duration.ofMillis(112L)));
+                    // Without a burst, there can never be more requests than the global ratelimit allows
+                    (token) -> new TokenBucketRatelimiter(1, Duration.ofMillis(22L)));
             return Optional.of(ratelimiter);
         }
         return Optional.of(globalRatelimiter);
@@ -1683,14 +1937,37 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
     @Override
     public Ratelimiter getGatewayIdentifyRatelimiter() {
         if (gatewayIdentifyRatelimiter == null) {
+            // Shards with different ratelimit keys can identify at the same time
+            int ratelimitKey = currentShard % getMaxIdentifyConcurrency();
             return defaultGatewayIdentifyRatelimiter.computeIfAbsent(
-                    getToken(),
-                    (token) -> new LocalRatelimiter(1, Duration.ofMillis(5500))
+                    getToken() + ":" + ratelimitKey,
+                    (key) -> new LocalRatelimiter(1, Duration.ofMillis(5500))
             );
         }
         return gatewayIdentifyRatelimiter;
     }
 
+    /**
+     * Gets the maximum amount of shards that can identify at the same time.
+     *
+     * @return The maximum amount of shards that can identify at the same time.
+     */
+    public int getMaxIdentifyConcurrency() {
+        return token == null ? 1 : maxIdentifyConcurrencies.getOrDefault(token, 1);
+    }
+
+    /**
+     * Sets the maximum amount of shards that can identify at the same time.
+     * This is the {@code max_concurrency} of the session start limit Discord sends for the token.
+     *
+     * @param maxIdentifyConcurrency The maximum amount of shards that can identify at the same time.
+     */
+    public void setMaxIdentifyConcurrency(int maxIdentifyConcurrency) {
+        if (token != null) {
+            maxIdentifyConcurrencies.put(token, Math.max(1, maxIdentifyConcurrency));
+        }
+    }
+
     @Override
     public Duration getLatestGatewayLatency() {
         return Duration.ofNanos(latestGatewayLatencyNanos);
@@ -1748,6 +2025,54 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
         return defaultAutomaticMessageCacheCleanupEnabled;
     }
 
+    @Override
+    public void setMessageCacheMemoryBudget(long bytes) {
+        messageCacheLock.lock();
+        try {
+            globalMessageCache.setBudget(bytes);
+        } finally {
+            messageCacheLock.unlock();
+        }
+    }
+
+    @Override
+    public long getMessageCacheMemoryBudget() {
+        return globalMessageCache.getBudget();
+    }
+
+    @Override
+    public void setCompactMessageCacheBudget(long bytes) {
+        compactMessageStore.setBudget(bytes);
+    }
+
+    @Override
+    public long getCompactMessageCacheBudget() {
+        return compactMessageStore.getBudget();
+    }
+
+    /**
+     * Gets the store which keeps compressed copies of messages.
+     *
+     * @return The compact message store.
+     */
+    public CompactMessageStore getCompactMessageStore() {
+        return compactMessageStore;
+    }
+
+    @Override
+    public MessageCacheStatistics getMessageCacheStatistics() {
+        return globalMessageCache;
+    }
+
+    /**
+     * Gets the cache which limits the memory usage of the cached messages of all channels.
+     *
+     * @return The global message cache.
+     */
+    public GlobalMessageCache getGlobalMessageCache() {
+        return globalMessageCache;
+    }
+
     @Override
     public int getCurrentShard() {
         return currentShard;
@@ -1909,8 +2234,14 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
                     disconnectFuture.get().complete(null);
                 }, 1, TimeUnit.MINUTES);
             }
-            httpClient.dispatcher().executorService().shutdown();
-            httpClient.connectionPool().evictAll();
+            if (shardGroup == null) {
+                // The http client and audio send scheduler of a shard group are shut down by the group
+                httpClient.dispatcher().executorService().shutdown();
+                httpClient.connectionPool().evictAll();
+                if (audioSendScheduler != null) {
+                    audioSendScheduler.shutdown();
+                }
+            }
         }
         return disconnectFuture.get();
     }
@@ -1974,14 +2305,106 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
         return userCacheEnabled;
     }
 
+    /**
+     * Checks whether REST requests are executed asynchronously.
+     *
+     * <p>If enabled, ratelimited buckets wait on the scheduler and the requests are executed with OkHttp's
+     * asynchronous calls instead of blocking a thread per bucket.
+     *
+     * @return Whether REST requests are executed asynchronously.
+     */
+    public boolean isAsyncRestRequestsEnabled() {
+        return asyncRestRequests;
+    }
+
+    /**
+     * Checks whether the gateway uses the Erlang External Term Format (ETF) encoding instead of JSON.
+     *
+     * @return Whether the gateway uses the ETF encoding.
+     */
+    public boolean isEtfGatewayEncodingEnabled() {
+        return etfGatewayEncoding;
+    }
+
     @Override
     public Set<User> getCachedUsers() {
-        return getEntityCache().get().getMemberCache().getUserCache().getUsers();
+        return getEntityCache().getMemberCache().getUserCache().getUsers();
     }
 
     @Override
     public Optional<User> getCachedUserById(long id) {
-        return getEntityCache().get().getMemberCache().getUserCache().getUserById(id);
+        Optional<User> user = getEntityCache().getMemberCache().getUserCache().getUserById(id);
+        if (user.isPresent() || shardGroup == null) {
+            return user;
+        }
+        return shardGroup.getShards().stream()
+                // Shards which are still being constructed do not have a cache yet
+                .filter(shard -> shard != this && shard.getEntityCache() != null)
+                .map(shard -> shard.getEntityCache().getMemberCache().getUserCache().getUserById(id))
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .findAny();
+    }
+
+    @Override
+    public Set<User> getCachedUsersByName(String name) {
+        return getEntityCache().getMemberCache().getUserCache().getUsersByName(name);
+    }
+
+    @Override
+    public Set<User> getCachedUsersByNameIgnoreCase(String name) {
+        return getEntityCache().getMemberCache().getUserCache().getUsersByNameIgnoreCase(name);
+    }
+
+    @Override
+    public Set<User> getCachedUsersByNickname(String nickname, Server server) {
+        Set<User> users = new HashSet<>();
+        if (server != null) {
+            users.addAll(server.getMembersByNickname(nickname));
+        }
+        return Collections.unmodifiableSet(users);
+    }
+
+    @Override
+    public Set<User> getCachedUsersByNicknameIgnoreCase(String nickname, Server server) {
+        Set<User> users = new HashSet<>();
+        if (server != null) {
+            users.addAll(server.getMembersByNicknameIgnoreCase(nickname));
+        }
+        return Collections.unmodifiableSet(users);
+    }
+
+    @Override
+    public Set<User> getCachedUsersByDisplayName(String displayName, Server server) {
+        Set<User> users = new HashSet<>();
+        if (server != null) {
+            users.addAll(server.getMembersByDisplayName(displayName));
+            // Users which are not a member of the server have their name as display name
+            getCachedUsersByName(displayName).stream()
+                    .filter(user -> !server.isMember(user))
+                    .forEach(users::add);
+        }
+        return Collections.unmodifiableSet(users);
+    }
+
+    @Override
+    public Set<User> getCachedUsersByDisplayNameIgnoreCase(String displayName, Server server) {
+        Set<User> users = new HashSet<>();
+        if (server != null) {
+            users.addAll(server.getMembersByDisplayNameIgnoreCase(displayName));
+            getCachedUsersByNameIgnoreCase(displayName).stream()
+                    .filter(user -> !server.isMember(user))
+                    .forEach(users::add);
+        }
+        return Collections.unmodifiableSet(users);
+    }
+
+    @Override
+    public List<User> getCachedUsersByNamePrefix(String prefix, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit cannot be less than 1!");
+        }
+        return getEntityCache().getMemberCache().getUserCache().getUsersByNamePrefix(prefix, limit);
     }
 
     @Override
@@ -2048,12 +2471,62 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
     public Optional<Message> getCachedMessageById(long id) {
         messageCacheLock.lock();
         try {
-            return Optional.ofNullable(messages.get(id)).map(Reference::get);
+            Optional<Message> message = Optional.ofNullable(messages.get(id)).map(Reference::get);
+            if (message.isPresent()) {
+                recordMessageLookup(id, true);
+                return message;
+            }
+        } finally {
+            messageCacheLock.unlock();
+        }
+
+        // Inflating and parsing is expensive, so it does not happen while holding the lock
+        Optional<Message> message = inflateCompactMessage(id);
+        messageCacheLock.lock();
+        try {
+            recordMessageLookup(id, message.isPresent());
+            return message;
         } finally {
             messageCacheLock.unlock();
         }
     }
 
+    /**
+     * Records a message lookup in the statistics of the global message cache.
+     * This method must be called while holding the message cache lock.
+     *
+     * @param id The id of the message.
+     * @param hit Whether the message was found.
+     */
+    private void recordMessageLookup(long id, boolean hit) {
+        globalMessageCache.recordLookup(hit);
+        if (hit) {
+            globalMessageCache.touch(id);
+        }
+    }
+
+    /**
+     * Inflates a message from the compact message store.
+     *
+     * <p>The inflated message is not added to the message caches again, so looking it up has no side effects. This
+     * method must not be called while holding the message cache lock, as inflating and parsing is expensive.
+     *
+     * @param id The id of the message.
+     * @return The inflated message.
+     */
+    private Optional<Message> inflateCompactMessage(long id) {
+        ObjectNode data = compactMessageStore.load(id);
+        if (data == null) {
+            return Optional.empty();
+        }
+        Optional<TextChannel> channel = getTextChannelById(data.get("channel_id").asLong());
+        if (!channel.isPresent()) {
+            compactMessageStore.remove(id);
+            return Optional.empty();
+        }
+        return Optional.of(MessageImpl.createUncached(this, channel.get(), data));
+    }
+
     @Override
     public Set<Server> getServers() {
         return Collections.unmodifiableSet(new HashSet<>(servers.values()));
@@ -2061,7 +2534,9 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
 
     @Override
     public Optional<Server> getServerById(long id) {
-        return Optional.ofNullable(servers.get(id));
+        // Servers of other shards of the group are looked up on the shard that receives their events
+        DiscordApiImpl shard = shardGroup == null ? this : shardGroup.getShardOfServer(id).orElse(this);
+        return Optional.ofNullable(shard.servers.get(id));
     }
 
     @Override
@@ -2071,7 +2546,14 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
 
     @Override
     public Optional<KnownCustomEmoji> getCustomEmojiById(long id) {
-        return Optional.ofNullable(customEmojis.get(id));
+        KnownCustomEmoji emoji = customEmojis.get(id);
+        if (emoji != null || shardGroup == null) {
+            return Optional.ofNullable(emoji);
+        }
+        return shardGroup.getShards().stream()
+                .map(shard -> shard.customEmojis.get(id))
+                .filter(Objects::nonNull)
+                .findAny();
     }
 
     @Override
@@ -2089,42 +2571,42 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
 
     @Override
     public Set<Channel> getChannels() {
-        return entityCache.get().getChannelCache().getChannels();
+        return entityCache.getChannelCache().getChannels();
     }
 
     @Override
     public Set<PrivateChannel> getPrivateChannels() {
-        return entityCache.get().getChannelCache().getChannelsWithTypes(ChannelType.PRIVATE_CHANNEL);
+        return entityCache.getChannelCache().getChannelsWithTypes(ChannelType.PRIVATE_CHANNEL);
     }
 
     @Override
     public Set<ServerChannel> getServerChannels() {
-        return entityCache.get().getChannelCache().getChannelsWithTypes(ChannelType.getServerChannelTypes());
+        return entityCache.getChannelCache().getChannelsWithTypes(ChannelType.getServerChannelTypes());
     }
 
     @Override
     public Set<RegularServerChannel> getRegularServerChannels() {
-        return entityCache.get().getChannelCache().getChannelsWithTypes(ChannelType.getRegularServerChannelTypes());
+        return entityCache.getChannelCache().getChannelsWithTypes(ChannelType.getRegularServerChannelTypes());
     }
 
     @Override
     public Set<ChannelCategory> getChannelCategories() {
-        return entityCache.get().getChannelCache().getChannelsWithTypes(ChannelType.CHANNEL_CATEGORY);
+        return entityCache.getChannelCache().getChannelsWithTypes(ChannelType.CHANNEL_CATEGORY);
     }
 
     @Override
     public Set<ServerTextChannel> getServerTextChannels() {
-        return entityCache.get().getChannelCache().getChannelsWithTypes(ChannelType.SERVER_TEXT_CHANNEL);
+        return entityCache.getChannelCache().getChannelsWithTypes(ChannelType.SERVER_TEXT_CHANNEL);
     }
 
     @Override
     public Set<ServerForumChannel> getServerForumChannels() {
-        return entityCache.get().getChannelCache().getChannelsWithTypes(ChannelType.SERVER_FORUM_CHANNEL);
+        return entityCache.getChannelCache().getChannelsWithTypes(ChannelType.SERVER_FORUM_CHANNEL);
     }
 
     @Override
     public Set<ServerThreadChannel> getServerThreadChannels() {
-        return entityCache.get().getChannelCache().getChannelsWithTypes(
+        return entityCache.getChannelCache().getChannelsWithTypes(
                 ChannelType.SERVER_PRIVATE_THREAD,
                 ChannelType.SERVER_PUBLIC_THREAD,
                 ChannelType.SERVER_NEWS_THREAD);
@@ -2132,37 +2614,47 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
 
     @Override
     public Set<ServerThreadChannel> getPrivateServerThreadChannels() {
-        return entityCache.get().getChannelCache().getChannelsWithTypes(ChannelType.SERVER_PRIVATE_THREAD);
+        return entityCache.getChannelCache().getChannelsWithTypes(ChannelType.SERVER_PRIVATE_THREAD);
     }
 
     @Override
     public Set<ServerThreadChannel> getPublicServerThreadChannels() {
-        return entityCache.get().getChannelCache().getChannelsWithTypes(ChannelType.SERVER_PUBLIC_THREAD);
+        return entityCache.getChannelCache().getChannelsWithTypes(ChannelType.SERVER_PUBLIC_THREAD);
     }
 
     @Override
     public Set<ServerVoiceChannel> getServerVoiceChannels() {
-        return entityCache.get().getChannelCache().getChannelsWithTypes(ChannelType.SERVER_VOICE_CHANNEL);
+        return entityCache.getChannelCache().getChannelsWithTypes(ChannelType.SERVER_VOICE_CHANNEL);
     }
 
     @Override
     public Set<ServerStageVoiceChannel> getServerStageVoiceChannels() {
-        return entityCache.get().getChannelCache().getChannelsWithTypes(ChannelType.SERVER_STAGE_VOICE_CHANNEL);
+        return entityCache.getChannelCache().getChannelsWithTypes(ChannelType.SERVER_STAGE_VOICE_CHANNEL);
     }
 
     @Override
     public Set<TextChannel> getTextChannels() {
-        return entityCache.get().getChannelCache().getChannelsWithTypes(ChannelType.getTextChannelTypes());
+        return entityCache.getChannelCache().getChannelsWithTypes(ChannelType.getTextChannelTypes());
     }
 
     @Override
     public Set<VoiceChannel> getVoiceChannels() {
-        return entityCache.get().getChannelCache().getChannelsWithTypes(ChannelType.getVoiceChannelTypes());
+        return entityCache.getChannelCache().getChannelsWithTypes(ChannelType.getVoiceChannelTypes());
     }
 
     @Override
     public Optional<Channel> getChannelById(long id) {
-        return entityCache.get().getChannelCache().getChannelById(id);
+        Optional<Channel> channel = entityCache.getChannelCache().getChannelById(id);
+        if (channel.isPresent() || shardGroup == null) {
+            return channel;
+        }
+        return shardGroup.getShards().stream()
+                // Shards which are still being constructed do not have a cache yet
+                .filter(shard -> shard != this && shard.entityCache != null)
+                .map(shard -> shard.entityCache.getChannelCache().getChannelById(id))
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .findAny();
     }
 
     /**
@@ -2191,7 +2683,10 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
     public <T extends GloballyAttachableListener> ListenerManager<T> addListener(Class<T> listenerClass, T listener) {
         return (ListenerManager<T>) listeners
                 .computeIfAbsent(listenerClass, key -> Collections.synchronizedMap(new LinkedHashMap<>()))
-                .computeIfAbsent(listener, key -> new ListenerManagerImpl<>(this, listener, listenerClass));
+                .computeIfAbsent(listener, key -> {
+                    incrementListenerCount(listenerClass);
+                    return new ListenerManagerImpl<>(this, listener, listenerClass);
+                });
     }
 
     @Override
@@ -2207,6 +2702,7 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
                 return;
             }
             classListeners.remove(listener);
+            decrementListenerCount(listenerClass, 1);
             listenerManager.removed();
             // Clean it up
             if (classListeners.isEmpty()) {
@@ -0,0 +1,204 @@
+package org.javacord.core;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import okhttp3.OkHttpClient;
+import org.javacord.core.audio.AudioSendScheduler;
+import org.javacord.core.util.concurrent.ThreadPoolImpl;
+import org.javacord.core.util.ratelimit.RatelimitManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+/**
+ * A group of shards that were logged in together and share their resources.
+ *
+ * <p>All shards of a group share one central thread pool, http client, object mapper, ratelimit manager and audio
+ * send scheduler, so adding shards does not add idle threads or connection pools. The group also knows all its
+ * shards, which is used to look up entities like servers from any shard.
+ *
+ * <p>The shared resources are released once all shards are disconnected and the group itself is released.
+ */
+public class ShardGroup {
+
+    /**
+     * The central thread pool of the group.
+     */
+    private final ThreadPoolImpl threadPool = new ThreadPoolImpl();
+
+    /**
+     * The object mapper of the group.
+     */
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * The shards of the group by shard id.
+     */
+    private final AtomicReferenceArray<DiscordApiImpl> shards;
+
+    /**
+     * The amount of holders of the group, i.e. the connected shards and whoever is still adding shards.
+     */
+    private final AtomicInteger holders = new AtomicInteger(1);
+
+    /**
+     * The http client of the group. Created by the first shard.
+     */
+    private OkHttpClient httpClient;
+
+    /**
+     * The ratelimit manager of the group. Created by the first shard, but only uses the resources of the group.
+     */
+    private RatelimitManager ratelimitManager;
+
+    /**
+     * The audio send scheduler of the group. Created by the first shard that uses one.
+     */
+    private AudioSendScheduler audioSendScheduler;
+
+    /**
+     * Creates a new shard group.
+     * The creator holds the group until it calls {@link #release()}.
+     *
+     * @param totalShards The total amount of shards.
+     */
+    public ShardGroup(int totalShards) {
+        shards = new AtomicReferenceArray<>(totalShards);
+    }
+
+    /**
+     * Adds a shard to the group.
+     *
+     * <p>The shard is not visible to the other shards of the group until it is published with
+     * {@link #publishShard(DiscordApiImpl, ThreadPoolImpl)}, as it is not fully constructed yet.
+     *
+     * @param shard The shard to add.
+     * @return The thread pool the shard should use. It shares the central thread pool of the group and releases the
+     *         shard from the group when it is shut down.
+     */
+    public ThreadPoolImpl addShard(DiscordApiImpl shard) {
+        holders.incrementAndGet();
+        return threadPool.createChild(() -> {
+            shards.compareAndSet(shard.getCurrentShard(), shard, null);
+            release();
+        });
+    }
+
+    /**
+     * Makes a fully constructed shard visible to the other shards of the group.
+     *
+     * @param shard The shard to publish.
+     * @param shardThreadPool The thread pool the group created for the shard in {@link #addShard(DiscordApiImpl)}.
+     */
+    public void publishShard(DiscordApiImpl shard, ThreadPoolImpl shardThreadPool) {
+        shards.set(shard.getCurrentShard(), shard);
+        // The shard may have been shut down while it was constructed, so its shutdown callback did not remove it
+        if (shardThreadPool.isShutdown()) {
+            shards.compareAndSet(shard.getCurrentShard(), shard, null);
+        }
+    }
+
+    /**
+     * Releases the group.
+     * The shared resources are shut down when the last holder releases the group.
+     */
+    public void release() {
+        if (holders.decrementAndGet() != 0) {
+            return;
+        }
+        threadPool.shutdown();
+        synchronized (this) {
+            if (httpClient != null) {
+                httpClient.dispatcher().executorService().shutdown();
+                httpClient.connectionPool().evictAll();
+            }
+            if (audioSendScheduler != null) {
+                audioSendScheduler.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Gets the object mapper of the group.
+     *
+     * @return The object mapper of the group.
+     */
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+    /**
+     * Gets the http client of the group.
+     *
+     * @param httpClientFactory A factory that creates the http client if no shard has created it yet.
+     * @return The http client of the group.
+     */
+    public synchronized OkHttpClient getHttpClient(Supplier<OkHttpClient> httpClientFactory) {
+        if (httpClient == null) {
+            httpClient = httpClientFactory.get();
+        }
+        return httpClient;
+    }
+
+    /**
+     * Gets the ratelimit manager of the group.
+     *
+     * <p>The ratelimit manager uses the central thread pool of the group instead of the thread pool of a shard, so it
+     * keeps working when the shard which created it disconnects.
+     *
+     * @param token The token of the bot.
+     * @param asyncRestRequests Whether REST requests are executed asynchronously.
+     * @return The ratelimit manager of the group.
+     */
+    public synchronized RatelimitManager getRatelimitManager(String token, boolean asyncRestRequests) {
+        if (ratelimitManager == null) {
+            ratelimitManager = new RatelimitManager(threadPool, token, asyncRestRequests);
+        }
+        return ratelimitManager;
+    }
+
+    /**
+     * Gets the audio send scheduler of the group.
+     *
+     * @param audioSendSchedulerFactory A factory that creates the audio send scheduler if no shard has created it yet.
+     * @return The audio send scheduler of the group.
+     */
+    public synchronized AudioSendScheduler getAudioSendScheduler(
+            Supplier<AudioSendScheduler> audioSendSchedulerFactory) {
+        if (audioSendScheduler == null) {
+            audioSendScheduler = audioSendSchedulerFactory.get();
+        }
+        return audioSendScheduler;
+    }
+
+    /**
+     * Gets the connected shards of the group.
+     *
+     * @return The connected shards of the group.
+     */
+    public List<DiscordApiImpl> getShards() {
+        List<DiscordApiImpl> connectedShards = new ArrayList<>(shards.length());
+        for (int i = 0; i < shards.length(); i++) {
+            DiscordApiImpl shard = shards.get(i);
+            if (shard != null) {
+                connectedShards.add(shard);
+            }
+        }
+        return Collections.unmodifiableList(connectedShards);
+    }
+
+    /**
+     * Gets the shard which receives the events of the server with the given id.
+     *
+     * @param serverId The id of the server.
+     * @return The shard of the server, if it is part of this group.
+     */
+    public Optional<DiscordApiImpl> getShardOfServer(long serverId) {
+        return Optional.ofNullable(shards.get((int) ((serverId >>> 22) % shards.length())));
+    }
+
+}
@@ -3,6 +3,7 @@ package org.javacord.core.audio;
 import org.apache.logging.log4j.Logger;
 import org.javacord.api.DiscordApi;
 import org.javacord.api.audio.AudioConnection;
+import org.javacord.api.audio.AudioReceiver;
 import org.javacord.api.audio.AudioSource;
 import org.javacord.api.audio.SpeakingFlag;
 import org.javacord.api.entity.channel.Channel;
@@ -15,9 +16,11 @@ import org.javacord.core.util.gateway.AudioWebSocketAdapter;
 import org.javacord.core.util.logging.LoggerUtil;
 import java.util.Collections;
 import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -63,6 +66,21 @@ public class AudioConnectionImpl implements AudioConnection, InternalAudioConnec
      */
     private final BlockingReference<AudioSource> currentSource = new BlockingReference<>();
 
+    /**
+     * The receiver of the audio of the users in the voice channel.
+     */
+    private volatile AudioReceiver audioReceiver;
+
+    /**
+     * The ids of the users of the ssrcs in the voice channel.
+     */
+    private final ConcurrentHashMap<Integer, Long> userIdsBySsrc = new ConcurrentHashMap<>();
+
+    /**
+     * Timing statistics about the sent audio frames.
+     */
+    private final AudioSendStatisticsImpl sendStatistics = new AudioSendStatisticsImpl();
+
     /**
      * An artificial id for the connection.
      */
@@ -255,6 +273,49 @@ public class AudioConnectionImpl implements AudioConnection, InternalAudioConnec
         return Collections.unmodifiableSet(speakingFlags);
     }
 
+    /**
+     * Sets the id of the user of a ssrc.
+     *
+     * @param ssrc The ssrc.
+     * @param userId The id of the user.
+     */
+    public void setUserIdOfSsrc(int ssrc, long userId) {
+        userIdsBySsrc.put(ssrc, userId);
+    }
+
+    /**
+     * Gets the id of the user of a ssrc.
+     *
+     * @param ssrc The ssrc.
+     * @return The id of the user, or {@code 0} if it is not known.
+     */
+    public long getUserIdOfSsrc(int ssrc) {
+        return userIdsBySsrc.getOrDefault(ssrc, 0L);
+    }
+
+    /**
+     * Removes the ssrcs of a user.
+     *
+     * @param userId The id of the user.
+     * @return The removed ssrcs.
+     */
+    public Set<Integer> removeSsrcsOfUser(long userId) {
+        Set<Integer> ssrcs = new HashSet<>();
+        userIdsBySsrc.entrySet().removeIf(entry -> {
+            if (entry.getValue() == userId) {
+                ssrcs.add(entry.getKey());
+                return true;
+            }
+            return false;
+        });
+        return ssrcs;
+    }
+
+    @Override
+    public AudioSendStatisticsImpl getSendStatistics() {
+        return sendStatistics;
+    }
+
     /**
      * Sets the current speaking flags and sends a speaking packet if they have changed.
      *
@@ -384,6 +445,29 @@ public class AudioConnectionImpl implements AudioConnection, InternalAudioConnec
         currentSource.set(null);
     }
 
+    @Override
+    public Optional<AudioReceiver> getAudioReceiver() {
+        return Optional.ofNullable(audioReceiver);
+    }
+
+    @Override
+    public void setAudioReceiver(AudioReceiver receiver) {
+        audioReceiver = receiver;
+        AudioWebSocketAdapter adapter = websocketAdapter;
+        if (adapter != null) {
+            adapter.startReceiving();
+        }
+    }
+
+    @Override
+    public void removeAudioReceiver() {
+        audioReceiver = null;
+        AudioWebSocketAdapter adapter = websocketAdapter;
+        if (adapter != null) {
+            adapter.stopReceiving();
+        }
+    }
+
     @Override
     public ServerVoiceChannel getChannel() {
         return channel.getCurrentCachedInstance().flatMap(Channel::asServerVoiceChannel).orElse(channel);
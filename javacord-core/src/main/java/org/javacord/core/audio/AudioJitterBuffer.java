@@ -0,0 +1,216 @@
+package org.javacord.core.audio;
+
+import org.javacord.api.audio.AudioConnection;
+import org.javacord.api.audio.AudioReceiver;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+
+/**
+ * A bounded jitter buffer for the received frames of one ssrc.
+ *
+ * <p>Frames are passed to the receiver in the order of their sequence. If a frame is missing, the buffer waits for it
+ * until the buffer is full or the first frame after the gap waited for the maximum delay, and then reports the missing
+ * frame as lost. Frames that arrive after their sequence was already passed are dropped.
+ *
+ * <p>The buffer copies the frames into a fixed set of reused arrays, so adding a frame does not allocate once the
+ * arrays are large enough. A jitter buffer must only be used by one thread at a time.
+ */
+public class AudioJitterBuffer {
+
+    /**
+     * The duration of one frame in rtp timestamp units (48 kHz).
+     */
+    private static final int FRAME_TIMESTAMP_INCREMENT = 960;
+
+    private final AudioConnection connection;
+    private final int ssrc;
+    private final int capacity;
+    private final long maxDelayNanos;
+
+    private final byte[][] frames;
+    private final ByteBuffer[] frameBuffers;
+    private final int[] frameLengths;
+    private final int[] timestamps;
+    private final long[] arrivalNanos;
+    private final boolean[] present;
+
+    /**
+     * The amount of buffered frames.
+     */
+    private int buffered = 0;
+
+    /**
+     * The sequence of the next frame that is passed to the receiver, or {@code -1} before the first frame.
+     */
+    private int nextSequence = -1;
+
+    /**
+     * The timestamp of the last frame that was passed to the receiver.
+     */
+    private int lastTimestamp;
+
+    /**
+     * The id of the user of the ssrc, or {@code 0} if it is not known yet.
+     */
+    private volatile long userId;
+
+    /**
+     * Creates a new jitter buffer.
+     *
+     * @param connection The audio connection which receives the frames.
+     * @param ssrc The ssrc of the frames.
+     * @param capacity The maximum amount of buffered frames. Must be a power of two.
+     * @param maxDelayNanos The maximum time frames wait for a missing frame.
+     */
+    public AudioJitterBuffer(AudioConnection connection, int ssrc, int capacity, long maxDelayNanos) {
+        if (capacity < 1 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of two!");
+        }
+        this.connection = connection;
+        this.ssrc = ssrc;
+        this.capacity = capacity;
+        this.maxDelayNanos = maxDelayNanos;
+        frames = new byte[capacity][0];
+        frameBuffers = new ByteBuffer[capacity];
+        frameLengths = new int[capacity];
+        timestamps = new int[capacity];
+        arrivalNanos = new long[capacity];
+        present = new boolean[capacity];
+        for (int i = 0; i < capacity; i++) {
+            frameBuffers[i] = ByteBuffer.wrap(frames[i]);
+        }
+    }
+
+    /**
+     * Gets the ssrc of the frames.
+     *
+     * @return The ssrc.
+     */
+    public int getSsrc() {
+        return ssrc;
+    }
+
+    /**
+     * Gets the id of the user of the ssrc.
+     *
+     * @return The id of the user, or {@code 0} if it is not known yet.
+     */
+    public long getUserId() {
+        return userId;
+    }
+
+    /**
+     * Sets the id of the user of the ssrc.
+     *
+     * @param userId The id of the user.
+     */
+    public void setUserId(long userId) {
+        this.userId = userId;
+    }
+
+    /**
+     * Adds a received frame and passes all frames that are ready to the receiver.
+     *
+     * @param sequence The sequence of the frame.
+     * @param timestamp The timestamp of the frame.
+     * @param frame The frame between the position and the limit of the buffer. The buffer is not modified.
+     * @param nowNanos The current time, using {@link System#nanoTime()}.
+     * @param receiver The receiver of the frames.
+     */
+    public void add(char sequence, int timestamp, ByteBuffer frame, long nowNanos, AudioReceiver receiver) {
+        if (nextSequence < 0) {
+            nextSequence = sequence;
+            lastTimestamp = timestamp - FRAME_TIMESTAMP_INCREMENT;
+        }
+        int distance = (char) (sequence - nextSequence);
+        if (distance >= Character.MAX_VALUE / 2) {
+            // The frame is late or a duplicate
+            return;
+        }
+        if (distance >= 2 * capacity) {
+            // The stream jumped, so we don't report every missing frame as lost but start over
+            while (buffered > 0) {
+                advance(receiver);
+            }
+            nextSequence = sequence;
+            distance = 0;
+        }
+        while (distance >= capacity) {
+            // The buffer is full, so we stop waiting for the oldest missing frame
+            advance(receiver);
+            distance--;
+        }
+
+        int slot = sequence & (capacity - 1);
+        if (present[slot]) {
+            return;
+        }
+        int length = frame.remaining();
+        if (frames[slot].length < length) {
+            frames[slot] = new byte[length];
+            frameBuffers[slot] = ByteBuffer.wrap(frames[slot]);
+        }
+        frame.duplicate().get(frames[slot], 0, length);
+        frameLengths[slot] = length;
+        timestamps[slot] = timestamp;
+        arrivalNanos[slot] = nowNanos;
+        present[slot] = true;
+        buffered++;
+
+        flush(nowNanos, receiver);
+    }
+
+    /**
+     * Passes all frames that are ready to the receiver, and reports missing frames as lost if the following frames
+     * waited for the maximum delay.
+     *
+     * @param nowNanos The current time, using {@link System#nanoTime()}.
+     * @param receiver The receiver of the frames.
+     */
+    public void flush(long nowNanos, AudioReceiver receiver) {
+        while (buffered > 0) {
+            if (!present[nextSequence & (capacity - 1)] && nowNanos - getLongestWaitingArrivalNanos() < maxDelayNanos) {
+                return;
+            }
+            advance(receiver);
+        }
+    }
+
+    /**
+     * Passes the next frame to the receiver or reports it as lost if it is missing.
+     *
+     * @param receiver The receiver of the frames.
+     */
+    private void advance(AudioReceiver receiver) {
+        int slot = nextSequence & (capacity - 1);
+        nextSequence = (char) (nextSequence + 1);
+        if (!present[slot]) {
+            lastTimestamp += FRAME_TIMESTAMP_INCREMENT;
+            receiver.receiveLostFrame(connection, userId, ssrc, lastTimestamp);
+            return;
+        }
+        present[slot] = false;
+        buffered--;
+        lastTimestamp = timestamps[slot];
+        ByteBuffer frameBuffer = frameBuffers[slot];
+        ((Buffer) frameBuffer).clear().limit(frameLengths[slot]);
+        receiver.receiveFrame(connection, userId, ssrc, lastTimestamp, frameBuffer);
+    }
+
+    /**
+     * Gets the arrival time of the buffered frame which waits the longest.
+     *
+     * @return The arrival time of the buffered frame which waits the longest.
+     */
+    private long getLongestWaitingArrivalNanos() {
+        long arrival = Long.MAX_VALUE;
+        for (int slot = 0; slot < capacity; slot++) {
+            if (present[slot] && arrivalNanos[slot] - arrival < 0) {
+                arrival = arrivalNanos[slot];
+            }
+        }
+        return arrival;
+    }
+
+}
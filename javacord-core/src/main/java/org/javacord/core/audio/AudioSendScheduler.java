@@ -0,0 +1,254 @@
+package org.javacord.core.audio;
+
+import org.apache.logging.log4j.Logger;
+import org.javacord.core.util.concurrent.ThreadFactory;
+import org.javacord.core.util.logging.LoggerUtil;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends the audio frames of many audio connections from a small, fixed set of threads.
+ *
+ * <p>Every thread owns a deadline wheel with one slot for each millisecond of the 20 ms frame cadence. A sender is
+ * added to the least used slot of the least used thread, so the sends are spread evenly over the frame duration.
+ * Every millisecond, a thread wakes up, polls the next packets of all senders in the current slot and then sends them
+ * in one batch, so encoding one packet does not delay sending the others.
+ *
+ * <p>Threads are started when the first sender is added to them and idle while they have no senders.
+ */
+public class AudioSendScheduler {
+
+    /**
+     * The logger of this class.
+     */
+    private static final Logger logger = LoggerUtil.getLogger(AudioSendScheduler.class);
+
+    /**
+     * The duration of one audio frame.
+     */
+    private static final long FRAME_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+
+    /**
+     * The amount of slots of a wheel.
+     */
+    private static final int SLOTS = 20;
+
+    /**
+     * The time between two slots of a wheel.
+     */
+    private static final long TICK_NANOS = FRAME_NANOS / SLOTS;
+
+    private final ThreadFactory threadFactory = new ThreadFactory("Javacord - Audio Send Scheduler - %d", false);
+
+    private final Wheel[] wheels;
+
+    private volatile boolean shutdown = false;
+
+    /**
+     * Creates a new audio send scheduler.
+     *
+     * @param threads The amount of threads that send the frames.
+     */
+    public AudioSendScheduler(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads cannot be less than 1!");
+        }
+        wheels = new Wheel[threads];
+        for (int i = 0; i < threads; i++) {
+            wheels[i] = new Wheel();
+        }
+    }
+
+    /**
+     * Adds a sender which is polled every 20 ms until it is removed.
+     *
+     * @param sender The sender to add.
+     * @throws RejectedExecutionException If the scheduler has been shut down.
+     */
+    public synchronized void add(ScheduledAudioSender sender) {
+        if (shutdown) {
+            throw new RejectedExecutionException("The audio send scheduler has been shut down!");
+        }
+        Wheel leastUsedWheel = wheels[0];
+        for (Wheel wheel : wheels) {
+            if (wheel.size < leastUsedWheel.size) {
+                leastUsedWheel = wheel;
+            }
+        }
+        leastUsedWheel.add(sender);
+    }
+
+    /**
+     * Removes a sender.
+     *
+     * @param sender The sender to remove.
+     */
+    public synchronized void remove(ScheduledAudioSender sender) {
+        for (Wheel wheel : wheels) {
+            if (wheel.remove(sender)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Shuts down the scheduler. All senders are stopped.
+     */
+    public synchronized void shutdown() {
+        shutdown = true;
+        for (Wheel wheel : wheels) {
+            wheel.stop();
+        }
+    }
+
+    /**
+     * A deadline wheel which is driven by one thread.
+     */
+    private class Wheel implements Runnable {
+
+        /**
+         * The senders of each slot. The arrays are copied on write, so the thread can iterate them without locking.
+         */
+        private volatile ScheduledAudioSender[][] slots = new ScheduledAudioSender[SLOTS][0];
+
+        /**
+         * The amount of senders in all slots.
+         */
+        private volatile int size = 0;
+
+        /**
+         * The packets of the current slot, only used by the thread of the wheel.
+         */
+        private ByteBuffer[] packets = new ByteBuffer[0];
+
+        private Thread thread;
+
+        /**
+         * Adds a sender to the least used slot. Must be called while holding the lock of the scheduler.
+         *
+         * @param sender The sender to add.
+         */
+        private void add(ScheduledAudioSender sender) {
+            ScheduledAudioSender[][] newSlots = slots.clone();
+            int slot = 0;
+            for (int i = 1; i < SLOTS; i++) {
+                if (newSlots[i].length < newSlots[slot].length) {
+                    slot = i;
+                }
+            }
+            newSlots[slot] = Arrays.copyOf(newSlots[slot], newSlots[slot].length + 1);
+            newSlots[slot][newSlots[slot].length - 1] = sender;
+            slots = newSlots;
+            size++;
+
+            if (thread == null) {
+                thread = threadFactory.newThread(this);
+                thread.start();
+            } else {
+                LockSupport.unpark(thread);
+            }
+        }
+
+        /**
+         * Removes a sender. Must be called while holding the lock of the scheduler.
+         *
+         * @param sender The sender to remove.
+         * @return Whether the sender was part of this wheel.
+         */
+        private boolean remove(ScheduledAudioSender sender) {
+            ScheduledAudioSender[][] newSlots = slots.clone();
+            for (int slot = 0; slot < SLOTS; slot++) {
+                ScheduledAudioSender[] senders = newSlots[slot];
+                for (int i = 0; i < senders.length; i++) {
+                    if (senders[i] == sender) {
+                        ScheduledAudioSender[] newSenders = new ScheduledAudioSender[senders.length - 1];
+                        System.arraycopy(senders, 0, newSenders, 0, i);
+                        System.arraycopy(senders, i + 1, newSenders, i, senders.length - i - 1);
+                        newSlots[slot] = newSenders;
+                        slots = newSlots;
+                        size--;
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Stops the thread of the wheel. Must be called while holding the lock of the scheduler.
+         */
+        private void stop() {
+            if (thread != null) {
+                thread.interrupt();
+            }
+        }
+
+        @Override
+        public void run() {
+            long deadline = System.nanoTime();
+            int slot = 0;
+            while (!shutdown) {
+                if (size == 0) {
+                    // Nothing to send, so we wait until a sender is added
+                    LockSupport.park(this);
+                    deadline = System.nanoTime();
+                    continue;
+                }
+
+                long waitNanos;
+                // Parking is unreliable, so we have to loop
+                while ((waitNanos = deadline - System.nanoTime()) > 0 && !shutdown) {
+                    LockSupport.parkNanos(this, waitNanos);
+                }
+
+                tick(slots[slot], deadline);
+
+                slot = (slot + 1) % SLOTS;
+                deadline += TICK_NANOS;
+                long now = System.nanoTime();
+                if (now - deadline > FRAME_NANOS) {
+                    // Don't try to catch up after a long pause (e.g. a gc pause), as this would send bursts of frames
+                    logger.debug("Audio send scheduler fell behind by {} ms",
+                            TimeUnit.NANOSECONDS.toMillis(now - deadline));
+                    deadline = now;
+                }
+            }
+        }
+
+        /**
+         * Polls the packets of all senders of a slot and sends them.
+         *
+         * @param senders The senders of the slot.
+         * @param deadline The time at which the packets should be sent.
+         */
+        private void tick(ScheduledAudioSender[] senders, long deadline) {
+            if (packets.length < senders.length) {
+                packets = new ByteBuffer[senders.length];
+            }
+            for (int i = 0; i < senders.length; i++) {
+                try {
+                    packets[i] = senders[i].pollPacket();
+                } catch (Throwable t) {
+                    logger.error("Failed to poll audio packet", t);
+                }
+            }
+            for (int i = 0; i < senders.length; i++) {
+                if (packets[i] == null) {
+                    continue;
+                }
+                try {
+                    senders[i].send(packets[i], deadline);
+                } catch (Throwable t) {
+                    logger.error("Failed to send audio packet", t);
+                }
+                packets[i] = null;
+            }
+        }
+
+    }
+
+}
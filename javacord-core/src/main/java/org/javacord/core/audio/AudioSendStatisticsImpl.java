@@ -0,0 +1,67 @@
+package org.javacord.core.audio;
+
+import org.javacord.api.audio.AudioSendStatistics;
+
+import java.time.Duration;
+
+/**
+ * The implementation of {@link AudioSendStatistics}.
+ *
+ * <p>Frames are only recorded by the thread that sends the frames of a connection, so the counters are plain volatile
+ * fields with a single writer.
+ */
+public class AudioSendStatisticsImpl implements AudioSendStatistics {
+
+    private static final long LATE_FRAME_THRESHOLD_NANOS = LATE_FRAME_THRESHOLD.toNanos();
+
+    private volatile long sentFrames;
+    private volatile long lateFrames;
+    private volatile long totalJitterNanos;
+    private volatile long maxJitterNanos;
+
+    /**
+     * Records a sent frame.
+     *
+     * @param delayNanos The time between the deadline of the frame and the time it was sent, in nanoseconds.
+     *                   Negative if the frame was sent before its deadline.
+     */
+    public void recordFrame(long delayNanos) {
+        long jitterNanos = Math.abs(delayNanos);
+        sentFrames++;
+        if (delayNanos > LATE_FRAME_THRESHOLD_NANOS) {
+            lateFrames++;
+        }
+        totalJitterNanos += jitterNanos;
+        if (jitterNanos > maxJitterNanos) {
+            maxJitterNanos = jitterNanos;
+        }
+    }
+
+    @Override
+    public long getSentFrames() {
+        return sentFrames;
+    }
+
+    @Override
+    public long getLateFrames() {
+        return lateFrames;
+    }
+
+    @Override
+    public Duration getAverageJitter() {
+        long frames = sentFrames;
+        return Duration.ofNanos(frames == 0 ? 0 : totalJitterNanos / frames);
+    }
+
+    @Override
+    public Duration getMaxJitter() {
+        return Duration.ofNanos(maxJitterNanos);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("AudioSendStatistics (sentFrames: %d, lateFrames: %d, averageJitter: %s, maxJitter: %s)",
+                getSentFrames(), getLateFrames(), getAverageJitter(), getMaxJitter());
+    }
+
+}
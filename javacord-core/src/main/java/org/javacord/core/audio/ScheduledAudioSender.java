@@ -0,0 +1,26 @@
+package org.javacord.core.audio;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A sender of audio frames which is driven by an {@link AudioSendScheduler}.
+ */
+public interface ScheduledAudioSender {
+
+    /**
+     * Polls and encodes the next frame without blocking.
+     *
+     * @return The packet to send, or {@code null} if nothing should be sent for this frame. The buffer must stay
+     *         valid until it was passed to {@link #send(ByteBuffer, long)}.
+     */
+    ByteBuffer pollPacket();
+
+    /**
+     * Sends a packet which was returned by {@link #pollPacket()}.
+     *
+     * @param packet The packet to send.
+     * @param deadlineNanos The time at which the packet should have been sent, using {@link System#nanoTime()}.
+     */
+    void send(ByteBuffer packet, long deadlineNanos);
+
+}
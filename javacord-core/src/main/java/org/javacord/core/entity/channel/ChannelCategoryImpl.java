@@ -2,19 +2,13 @@ package org.javacord.core.entity.channel;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import org.javacord.api.entity.DiscordEntity;
-import org.javacord.api.entity.channel.Categorizable;
-import org.javacord.api.entity.channel.Channel;
 import org.javacord.api.entity.channel.ChannelCategory;
 import org.javacord.api.entity.channel.RegularServerChannel;
 import org.javacord.core.DiscordApiImpl;
 import org.javacord.core.entity.server.ServerImpl;
 import org.javacord.core.listener.channel.server.InternalChannelCategoryAttachableListenerManager;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
-import java.util.Optional;
-import java.util.stream.Collectors;
 
 /**
  * The implementation of {@link ChannelCategory}.
@@ -50,19 +44,7 @@ public class ChannelCategoryImpl extends RegularServerChannelImpl
 
     @Override
     public List<RegularServerChannel> getChannels() {
-        return Collections.unmodifiableList(
-                ((ServerImpl) getServer()).getUnorderedChannels().stream()
-                        .filter(channel -> channel.asCategorizable()
-                                .flatMap(Categorizable::getCategory)
-                                .map(this::equals)
-                                .orElse(false))
-                        .map(Channel::asRegularServerChannel)
-                        .filter(Optional::isPresent)
-                        .map(Optional::get)
-                        .sorted(Comparator
-                                .<RegularServerChannel>comparingInt(channel -> channel.getType().getId())
-                                .thenComparing(RegularServerChannelImpl.COMPARE_BY_RAW_POSITION))
-                        .collect(Collectors.toList()));
+        return ((ServerImpl) getServer()).getChannelsOfCategory(getId());
     }
 
     @Override
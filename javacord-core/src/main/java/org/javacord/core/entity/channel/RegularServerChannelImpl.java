@@ -12,8 +12,10 @@ import org.javacord.api.entity.permission.Role;
 import org.javacord.api.entity.server.Server;
 import org.javacord.api.entity.user.User;
 import org.javacord.core.DiscordApiImpl;
+import org.javacord.core.entity.permission.PermissionMasks;
 import org.javacord.core.entity.permission.PermissionsImpl;
 import org.javacord.core.entity.server.ServerImpl;
+import org.javacord.core.entity.user.MemberImpl;
 import org.javacord.core.util.logging.LoggerUtil;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -165,6 +167,64 @@ public class RegularServerChannelImpl extends ServerChannelImpl implements Regul
         return builder.build();
     }
 
+    /**
+     * Gets the bitmask of the effective allowed permissions of a user in this channel.
+     *
+     * <p>This is equivalent to {@link #getEffectiveAllowedPermissions(User)}, but applies the overwrites to the cached
+     * permission bitmask of the user without creating permission objects.
+     *
+     * @param user The user.
+     * @return The bitmask of the effective allowed permissions.
+     */
+    public long getEffectiveAllowedPermissionMask(User user) {
+        ServerImpl server = (ServerImpl) getServer();
+        if (server.isOwner(user)) {
+            return PermissionMasks.ALL_PERMISSIONS;
+        }
+        long allowed = server.getAllowedPermissionMask(user);
+        allowed = PermissionMasks.applyOverwrite(allowed, overwrittenRolePermissions.get(server.getId()));
+
+        MemberImpl member = (MemberImpl) server.getMemberOf(user);
+        if (member != null && !overwrittenRolePermissions.isEmpty()) {
+            long rolesAllowed = 0;
+            long rolesDenied = 0;
+            for (Map.Entry<Long, Permissions> overwrite : overwrittenRolePermissions.entrySet()) {
+                long roleId = overwrite.getKey();
+                if (roleId != server.getId() && member.hasRoleId(roleId) && server.getRoleById(roleId).isPresent()) {
+                    rolesAllowed |= PermissionMasks.getAllowedMask(overwrite.getValue());
+                    rolesDenied |= PermissionMasks.getDeniedMask(overwrite.getValue());
+                }
+            }
+            allowed = (allowed & ~rolesDenied) | rolesAllowed;
+        }
+
+        return PermissionMasks.applyOverwrite(allowed, overwrittenUserPermissions.get(user.getId()));
+    }
+
+    @Override
+    public Permissions getEffectivePermissions(User user) {
+        if (getServer().isOwner(user)) {
+            return getServer().getPermissions(user);
+        }
+        long allowed = getEffectiveAllowedPermissionMask(user);
+        return new PermissionsImpl(allowed, PermissionMasks.ALL_PERMISSIONS & ~allowed);
+    }
+
+    @Override
+    public boolean hasPermissions(User user, PermissionType... type) {
+        return PermissionMasks.containsAll(getEffectiveAllowedPermissionMask(user), type);
+    }
+
+    @Override
+    public boolean hasAnyPermission(User user, PermissionType... type) {
+        return PermissionMasks.containsAny(getEffectiveAllowedPermissionMask(user), type);
+    }
+
+    @Override
+    public boolean hasPermission(User user, PermissionType permission) {
+        return (getEffectiveAllowedPermissionMask(user) & permission.getValue()) != 0;
+    }
+
     @Override
     public int getRawPosition() {
         return rawPosition;
@@ -177,5 +237,6 @@ public class RegularServerChannelImpl extends ServerChannelImpl implements Regul
      */
     public void setRawPosition(int position) {
         this.rawPosition = position;
+        ((ServerImpl) getServer()).invalidateSortedChannels();
     }
 }
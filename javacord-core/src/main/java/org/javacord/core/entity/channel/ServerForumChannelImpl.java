@@ -43,6 +43,7 @@ public class ServerForumChannelImpl extends RegularServerChannelImpl
      */
     public void setParentId(long parentId) {
         this.parentId = parentId;
+        ((ServerImpl) getServer()).invalidateSortedChannels();
     }
 
     @Override
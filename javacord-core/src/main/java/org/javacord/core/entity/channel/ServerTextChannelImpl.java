@@ -105,6 +105,7 @@ public class ServerTextChannelImpl extends RegularServerChannelImpl
      */
     public void setParentId(long parentId) {
         this.parentId = parentId;
+        ((ServerImpl) getServer()).invalidateSortedChannels();
     }
 
     /**
@@ -84,6 +84,7 @@ public class ServerVoiceChannelImpl extends RegularServerChannelImpl
      */
     public void setParentId(long parentId) {
         this.parentId = parentId;
+        ((ServerImpl) getServer()).invalidateSortedChannels();
     }
 
     /**
@@ -165,6 +165,18 @@ public class MessageImpl implements Message, InternalMessageAttachableListenerMa
      * @param data The json data of the message.
      */
     public MessageImpl(DiscordApiImpl api, TextChannel channel, JsonNode data) {
+        this(api, channel, data, true);
+    }
+
+    /**
+     * Creates a new message object.
+     *
+     * @param api The discord api instance.
+     * @param channel The channel of the message.
+     * @param data The json data of the message.
+     * @param cached Whether the message is added to the message cache.
+     */
+    private MessageImpl(DiscordApiImpl api, TextChannel channel, JsonNode data, boolean cached) {
         this.api = api;
         this.channel = channel;
 
@@ -184,9 +196,6 @@ public class MessageImpl implements Message, InternalMessageAttachableListenerMa
         Long webhookId = data.has("webhook_id") ? data.get("webhook_id").asLong() : null;
         author = new MessageAuthorImpl(this, webhookId, data);
 
-        MessageCacheImpl cache = (MessageCacheImpl) channel.getMessageCache();
-        cache.addMessage(this);
-
         if (data.has("embeds")) {
             for (JsonNode embedJson : data.get("embeds")) {
                 Embed embed = new EmbedImpl(embedJson);
@@ -250,7 +259,9 @@ public class MessageImpl implements Message, InternalMessageAttachableListenerMa
         }
 
         if (data.hasNonNull("referenced_message")) {
-            referencedMessage = api.getOrCreateMessage(channel, data.get("referenced_message"));
+            referencedMessage = cached
+                    ? api.getOrCreateMessage(channel, data.get("referenced_message"))
+                    : createUncached(api, channel, data.get("referenced_message"));
         } else {
             referencedMessage = null;
         }
@@ -260,6 +271,25 @@ public class MessageImpl implements Message, InternalMessageAttachableListenerMa
         } else {
             messageReference = null;
         }
+
+        if (cached) {
+            // Cache the message only after it is complete, because the cache estimates its size
+            MessageCacheImpl cache = (MessageCacheImpl) channel.getMessageCache();
+            cache.addMessage(this);
+        }
+    }
+
+    /**
+     * Creates a new message object which is not added to the message cache.
+     * A referenced message is not added to the message cache either.
+     *
+     * @param api The discord api instance.
+     * @param channel The channel of the message.
+     * @param data The json data of the message.
+     * @return The new message.
+     */
+    public static MessageImpl createUncached(DiscordApiImpl api, TextChannel channel, JsonNode data) {
+        return new MessageImpl(api, channel, data, false);
     }
 
     /**
@@ -269,6 +299,7 @@ public class MessageImpl implements Message, InternalMessageAttachableListenerMa
      */
     public void setContent(String content) {
         this.content = content;
+        api.updateEstimatedMessageSize(this);
     }
 
     /**
@@ -306,6 +337,7 @@ public class MessageImpl implements Message, InternalMessageAttachableListenerMa
     public void setEmbeds(List<Embed> embeds) {
         this.embeds.clear();
         this.embeds.addAll(embeds);
+        api.updateEstimatedMessageSize(this);
     }
 
     /**
@@ -328,6 +360,7 @@ public class MessageImpl implements Message, InternalMessageAttachableListenerMa
         reaction.ifPresent(r -> ((ReactionImpl) r).incrementCount(you));
         if (!reaction.isPresent()) {
             reactions.add(new ReactionImpl(this, emoji, 1, you));
+            api.updateEstimatedMessageSize(this);
         }
     }
 
@@ -340,7 +373,9 @@ public class MessageImpl implements Message, InternalMessageAttachableListenerMa
     public void removeReaction(Emoji emoji, boolean you) {
         Optional<Reaction> reaction = reactions.stream().filter(r -> emoji.equalsEmoji(r.getEmoji())).findAny();
         reaction.ifPresent(r -> ((ReactionImpl) r).decrementCount(you));
-        reactions.removeIf(r -> r.getCount() <= 0);
+        if (reactions.removeIf(r -> r.getCount() <= 0)) {
+            api.updateEstimatedMessageSize(this);
+        }
     }
 
     /**
@@ -348,6 +383,7 @@ public class MessageImpl implements Message, InternalMessageAttachableListenerMa
      */
     public void removeAllReactionsFromCache() {
         reactions.clear();
+        api.updateEstimatedMessageSize(this);
     }
 
     @Override
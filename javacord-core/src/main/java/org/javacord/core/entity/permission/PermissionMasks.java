@@ -0,0 +1,117 @@
+package org.javacord.core.entity.permission;
+
+import org.javacord.api.entity.permission.PermissionType;
+import org.javacord.api.entity.permission.Permissions;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Helper methods to calculate permissions with bitmasks instead of sets of permission types.
+ */
+public final class PermissionMasks {
+
+    /**
+     * The bitmask of all known permission types.
+     */
+    public static final long ALL_PERMISSIONS;
+
+    static {
+        long allPermissions = 0;
+        for (PermissionType type : PermissionType.values()) {
+            allPermissions |= type.getValue();
+        }
+        ALL_PERMISSIONS = allPermissions;
+    }
+
+    private PermissionMasks() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Gets the bitmask of the permission types which are allowed.
+     *
+     * @param permissions The permissions.
+     * @return The bitmask of the allowed permission types.
+     */
+    public static long getAllowedMask(Permissions permissions) {
+        return permissions.getAllowedBitmask() & ALL_PERMISSIONS;
+    }
+
+    /**
+     * Gets the bitmask of the permission types which are denied.
+     *
+     * <p>Permission types which are both allowed and denied in the bitmasks count as allowed, like in
+     * {@link Permissions#getState(PermissionType)}.
+     *
+     * @param permissions The permissions.
+     * @return The bitmask of the denied permission types.
+     */
+    public static long getDeniedMask(Permissions permissions) {
+        return permissions.getDeniedBitmask() & ~permissions.getAllowedBitmask() & ALL_PERMISSIONS;
+    }
+
+    /**
+     * Applies a permission overwrite to a bitmask of allowed permission types.
+     *
+     * @param allowed The bitmask of the allowed permission types.
+     * @param overwrite The overwrite, or {@code null} if there is no overwrite.
+     * @return The bitmask of the allowed permission types after applying the overwrite.
+     */
+    public static long applyOverwrite(long allowed, Permissions overwrite) {
+        if (overwrite == null) {
+            return allowed;
+        }
+        return (allowed & ~getDeniedMask(overwrite)) | getAllowedMask(overwrite);
+    }
+
+    /**
+     * Checks if all given permission types are in the bitmask.
+     *
+     * @param mask The bitmask.
+     * @param types The permission types.
+     * @return Whether all permission types are in the bitmask.
+     */
+    public static boolean containsAll(long mask, PermissionType... types) {
+        for (PermissionType type : types) {
+            if ((mask & type.getValue()) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if any of the given permission types is in the bitmask.
+     *
+     * @param mask The bitmask.
+     * @param types The permission types.
+     * @return Whether any permission type is in the bitmask.
+     */
+    public static boolean containsAny(long mask, PermissionType... types) {
+        for (PermissionType type : types) {
+            if ((mask & type.getValue()) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the permission types of a bitmask.
+     *
+     * @param mask The bitmask.
+     * @return The permission types.
+     */
+    public static Set<PermissionType> toSet(long mask) {
+        Set<PermissionType> types = EnumSet.noneOf(PermissionType.class);
+        for (PermissionType type : PermissionType.values()) {
+            if ((mask & type.getValue()) != 0) {
+                types.add(type);
+            }
+        }
+        return Collections.unmodifiableSet(types);
+    }
+
+}
@@ -181,6 +181,7 @@ public class RoleImpl implements Role, InternalRoleAttachableListenerManager {
      */
     public void setPermissions(PermissionsImpl permissions) {
         this.permissions = permissions;
+        server.invalidatePermissionCache();
     }
 
     /**
@@ -190,6 +191,7 @@ public class RoleImpl implements Role, InternalRoleAttachableListenerManager {
      */
     public void setRawPosition(int position) {
         this.rawPosition = position;
+        server.invalidateSortedRoles();
     }
 
     @Override
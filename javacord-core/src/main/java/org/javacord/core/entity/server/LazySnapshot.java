@@ -0,0 +1,78 @@
+package org.javacord.core.entity.server;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * A snapshot which is built on the first access after it was invalidated.
+ *
+ * <p>Accessing a valid snapshot does not allocate. The snapshot remembers the version it was built for, so an
+ * invalidation while the snapshot is built is not lost, but causes another build on the next access.
+ *
+ * @param <T> The type of the snapshot.
+ */
+class LazySnapshot<T> {
+
+    /**
+     * Builds the snapshot.
+     */
+    private final Supplier<T> builder;
+
+    /**
+     * Incremented whenever the snapshot is invalidated.
+     */
+    private final AtomicInteger version = new AtomicInteger();
+
+    /**
+     * The current snapshot, or {@code null} if it was never built.
+     */
+    private volatile Entry<T> entry;
+
+    /**
+     * Creates a new lazy snapshot.
+     *
+     * @param builder Builds the snapshot.
+     */
+    LazySnapshot(Supplier<T> builder) {
+        this.builder = builder;
+    }
+
+    /**
+     * Gets the snapshot, building it if it was invalidated.
+     *
+     * @return The snapshot.
+     */
+    T get() {
+        int currentVersion = version.get();
+        Entry<T> currentEntry = entry;
+        if (currentEntry != null && currentEntry.version == currentVersion) {
+            return currentEntry.snapshot;
+        }
+        T snapshot = builder.get();
+        entry = new Entry<>(currentVersion, snapshot);
+        return snapshot;
+    }
+
+    /**
+     * Invalidates the snapshot.
+     */
+    void invalidate() {
+        version.incrementAndGet();
+    }
+
+    /**
+     * A snapshot with the version it was built for.
+     */
+    private static final class Entry<T> {
+
+        private final int version;
+        private final T snapshot;
+
+        private Entry(int version, T snapshot) {
+            this.version = version;
+            this.snapshot = snapshot;
+        }
+
+    }
+
+}
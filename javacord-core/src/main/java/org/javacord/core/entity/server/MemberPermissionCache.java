@@ -0,0 +1,90 @@
+package org.javacord.core.entity.server;
+
+import org.javacord.core.entity.user.Member;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToLongFunction;
+
+/**
+ * Caches the server-wide permission bitmasks of the members of a server.
+ *
+ * <p>Members are immutable and replaced on every update, so a cached bitmask is only valid for the member object it
+ * was calculated for. Changes of the roles of the server invalidate all bitmasks.
+ */
+class MemberPermissionCache {
+
+    /**
+     * The cached bitmasks by the id of the member.
+     */
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Incremented whenever the roles of the server change.
+     */
+    private final AtomicInteger version = new AtomicInteger();
+
+    /**
+     * Gets the permission bitmask of a member, calculating it if it is not cached.
+     *
+     * @param member The member.
+     * @param calculator Calculates the permission bitmask of a member.
+     * @return The permission bitmask.
+     */
+    long getPermissions(Member member, ToLongFunction<Member> calculator) {
+        int currentVersion = version.get();
+        Entry entry = entries.get(member.getId());
+        if (entry != null && entry.member == member && entry.version == currentVersion) {
+            return entry.permissions;
+        }
+        // A concurrent invalidation increments the version, so a bitmask based on outdated roles is not used again
+        long permissions = calculator.applyAsLong(member);
+        entries.put(member.getId(), new Entry(member, currentVersion, permissions));
+        return permissions;
+    }
+
+    /**
+     * Invalidates the bitmasks of all members.
+     */
+    void invalidate() {
+        version.incrementAndGet();
+        entries.clear();
+    }
+
+    /**
+     * Removes the bitmask of a member.
+     *
+     * @param memberId The id of the member.
+     */
+    void remove(long memberId) {
+        entries.remove(memberId);
+    }
+
+    /**
+     * Gets the amount of cached bitmasks.
+     *
+     * @return The amount of cached bitmasks.
+     */
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * The bitmask of a member.
+     */
+    private static final class Entry {
+
+        private final Member member;
+        private final int version;
+        private final long permissions;
+
+        private Entry(Member member, int version, long permissions) {
+            this.member = member;
+            this.version = version;
+            this.permissions = permissions;
+        }
+
+    }
+
+}
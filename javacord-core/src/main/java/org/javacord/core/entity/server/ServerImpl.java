@@ -16,7 +16,6 @@ import org.javacord.api.entity.activity.Activity;
 import org.javacord.api.entity.auditlog.AuditLog;
 import org.javacord.api.entity.auditlog.AuditLogActionType;
 import org.javacord.api.entity.auditlog.AuditLogEntry;
-import org.javacord.api.entity.channel.Channel;
 import org.javacord.api.entity.channel.ChannelCategory;
 import org.javacord.api.entity.channel.ChannelType;
 import org.javacord.api.entity.channel.RegularServerChannel;
@@ -30,6 +29,8 @@ import org.javacord.api.entity.channel.UnknownRegularServerChannel;
 import org.javacord.api.entity.channel.UnknownServerChannel;
 import org.javacord.api.entity.emoji.KnownCustomEmoji;
 import org.javacord.api.entity.intent.Intent;
+import org.javacord.api.entity.permission.PermissionType;
+import org.javacord.api.entity.permission.Permissions;
 import org.javacord.api.entity.permission.Role;
 import org.javacord.api.entity.server.ActiveThreads;
 import org.javacord.api.entity.server.Ban;
@@ -55,7 +56,6 @@ import org.javacord.core.entity.VanityUrlCodeImpl;
 import org.javacord.core.entity.activity.ActivityImpl;
 import org.javacord.core.entity.auditlog.AuditLogImpl;
 import org.javacord.core.entity.channel.ChannelCategoryImpl;
-import org.javacord.core.entity.channel.RegularServerChannelImpl;
 import org.javacord.core.entity.channel.ServerForumChannelImpl;
 import org.javacord.core.entity.channel.ServerStageVoiceChannelImpl;
 import org.javacord.core.entity.channel.ServerTextChannelImpl;
@@ -63,6 +63,8 @@ import org.javacord.core.entity.channel.ServerThreadChannelImpl;
 import org.javacord.core.entity.channel.ServerVoiceChannelImpl;
 import org.javacord.core.entity.channel.UnknownRegularServerChannelImpl;
 import org.javacord.core.entity.channel.UnknownServerChannelImpl;
+import org.javacord.core.entity.permission.PermissionMasks;
+import org.javacord.core.entity.permission.PermissionsImpl;
 import org.javacord.core.entity.permission.RoleImpl;
 import org.javacord.core.entity.server.invite.InviteImpl;
 import org.javacord.core.entity.sticker.StickerImpl;
@@ -73,6 +75,7 @@ import org.javacord.core.entity.webhook.IncomingWebhookImpl;
 import org.javacord.core.entity.webhook.WebhookImpl;
 import org.javacord.core.listener.server.InternalServerAttachableListenerManager;
 import org.javacord.core.util.Cleanupable;
+import org.javacord.core.util.event.DispatchQueue;
 import org.javacord.core.util.event.DispatchQueueSelector;
 import org.javacord.core.util.logging.LoggerUtil;
 import org.javacord.core.util.rest.RestEndpoint;
@@ -86,12 +89,9 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Comparator;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -212,11 +212,35 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
      */
     private final List<Consumer<Server>> readyConsumers = new ArrayList<>();
 
+    /**
+     * The queue of events which are dispatched for this server.
+     */
+    private final DispatchQueue dispatchQueue = new DispatchQueue();
+
     /**
      * All roles of the server.
      */
     private final ConcurrentHashMap<Long, Role> roles = new ConcurrentHashMap<>();
 
+    /**
+     * The cached permission bitmasks of the members.
+     */
+    private final MemberPermissionCache memberPermissionCache = new MemberPermissionCache();
+
+    /**
+     * The roles of the server, sorted by their position.
+     */
+    private final LazySnapshot<List<Role>> sortedRoles = new LazySnapshot<>(() ->
+            Collections.unmodifiableList(roles.values().stream()
+                    .sorted()
+                    .collect(Collectors.toList())));
+
+    /**
+     * The sorted channels of the server.
+     */
+    private final LazySnapshot<SortedChannels> sortedChannels =
+            new LazySnapshot<>(() -> new SortedChannels(getUnorderedChannels()));
+
     /**
      * All custom emojis from this server.
      */
@@ -555,6 +579,11 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
         return ready;
     }
 
+    @Override
+    public DispatchQueue getDispatchQueue() {
+        return dispatchQueue;
+    }
+
     /**
      * Adds a consumer which will be informed once the server is ready.
      * If the server is already ready, it will immediately call the consumer, otherwise it will be called from the
@@ -705,6 +734,87 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
      */
     public void removeRole(long roleId) {
         roles.remove(roleId);
+        invalidateSortedRoles();
+        invalidatePermissionCache();
+    }
+
+    /**
+     * Invalidates the sorted roles, e.g. after the position of a role changed.
+     */
+    public void invalidateSortedRoles() {
+        sortedRoles.invalidate();
+    }
+
+    /**
+     * Invalidates the sorted channels, e.g. after a channel was added or its position changed.
+     */
+    public void invalidateSortedChannels() {
+        sortedChannels.invalidate();
+    }
+
+    /**
+     * Invalidates the cached permission bitmasks of all members, e.g. after the permissions of a role changed.
+     */
+    public void invalidatePermissionCache() {
+        memberPermissionCache.invalidate();
+    }
+
+    /**
+     * Removes the cached permission bitmask of a member.
+     *
+     * @param memberId The id of the member.
+     */
+    public void removeCachedPermissions(long memberId) {
+        memberPermissionCache.remove(memberId);
+    }
+
+    /**
+     * Gets the member object of a user in this server.
+     *
+     * <p>The member of the user object is preferred, like in {@link #getRoles(User)}.
+     *
+     * @param user The user.
+     * @return The member, or {@code null} if the user is not a member of this server.
+     */
+    public Member getMemberOf(User user) {
+        Optional<MemberImpl> member = ((UserImpl) user).getMember();
+        if (member.isPresent() && member.get().getServer().equals(this)) {
+            return member.get();
+        }
+        return getRealMemberById(user.getId()).orElse(null);
+    }
+
+    /**
+     * Gets the bitmask of the allowed permissions of a user, without any channel overwrites.
+     *
+     * <p>The bitmask of a member is cached until the member or the roles of the server change.
+     *
+     * @param user The user.
+     * @return The bitmask of the allowed permissions.
+     */
+    public long getAllowedPermissionMask(User user) {
+        if (isOwner(user)) {
+            return PermissionMasks.ALL_PERMISSIONS;
+        }
+        Member member = getMemberOf(user);
+        if (member == null) {
+            return 0;
+        }
+        return memberPermissionCache.getPermissions(member, this::calculateAllowedPermissionMask);
+    }
+
+    /**
+     * Calculates the bitmask of the allowed permissions of a member from its roles.
+     *
+     * @param member The member.
+     * @return The bitmask of the allowed permissions.
+     */
+    private long calculateAllowedPermissionMask(Member member) {
+        long allowed = 0;
+        for (Role role : member.getRoles()) {
+            allowed |= PermissionMasks.getAllowedMask(role.getPermissions());
+        }
+        return allowed;
     }
 
     /**
@@ -737,11 +847,28 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
             return getRoleById(id).orElseGet(() -> {
                 Role role = new RoleImpl(api, this, data);
                 this.roles.put(role.getId(), role);
+                invalidateSortedRoles();
+                invalidatePermissionCache();
                 return role;
             });
         }
     }
 
+    /**
+     * Invalidates the sorted channels after a channel was created.
+     *
+     * <p>Channels add themselves to the cache before their constructor has finished, so the sorted channels are
+     * invalidated again once the channel is complete.
+     *
+     * @param channel The created channel.
+     * @param <T> The type of the channel.
+     * @return The created channel.
+     */
+    private <T extends ServerChannel> T channelCreated(T channel) {
+        invalidateSortedChannels();
+        return channel;
+    }
+
     /**
      * Gets or creates a channel category.
      *
@@ -753,7 +880,8 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
         ChannelType type = ChannelType.fromId(data.get("type").asInt());
         synchronized (this) {
             if (type == ChannelType.CHANNEL_CATEGORY) {
-                return getChannelCategoryById(id).orElseGet(() -> new ChannelCategoryImpl(api, this, data));
+                return getChannelCategoryById(id)
+                        .orElseGet(() -> channelCreated(new ChannelCategoryImpl(api, this, data)));
             }
         }
         // Invalid channel type
@@ -773,7 +901,8 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
             switch (type) {
                 case SERVER_TEXT_CHANNEL:
                 case SERVER_NEWS_CHANNEL: // TODO Treat news channels differently
-                    return getTextChannelById(id).orElseGet(() -> new ServerTextChannelImpl(api, this, data));
+                    return getTextChannelById(id)
+                            .orElseGet(() -> channelCreated(new ServerTextChannelImpl(api, this, data)));
                 default:
                     // Invalid channel type
                     return null;
@@ -795,7 +924,8 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
                 case SERVER_PUBLIC_THREAD:
                 case SERVER_PRIVATE_THREAD:
                 case SERVER_NEWS_THREAD:
-                    return getThreadChannelById(id).orElseGet(() -> new ServerThreadChannelImpl(api, this, data));
+                    return getThreadChannelById(id)
+                            .orElseGet(() -> channelCreated(new ServerThreadChannelImpl(api, this, data)));
                 default:
                     // Invalid channel type
                     return null;
@@ -814,7 +944,8 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
         ChannelType type = ChannelType.fromId(data.get("type").asInt());
         synchronized (this) {
             if (type == ChannelType.SERVER_VOICE_CHANNEL) {
-                return getVoiceChannelById(id).orElseGet(() -> new ServerVoiceChannelImpl(api, this, data));
+                return getVoiceChannelById(id)
+                        .orElseGet(() -> channelCreated(new ServerVoiceChannelImpl(api, this, data)));
             }
         }
         // Invalid channel type
@@ -832,7 +963,8 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
         ChannelType type = ChannelType.fromId(data.get("type").asInt());
         synchronized (this) {
             if (type == ChannelType.SERVER_STAGE_VOICE_CHANNEL) {
-                return getStageVoiceChannelById(id).orElseGet(() -> new ServerStageVoiceChannelImpl(api, this, data));
+                return getStageVoiceChannelById(id)
+                        .orElseGet(() -> channelCreated(new ServerStageVoiceChannelImpl(api, this, data)));
             }
         }
         // Invalid channel type
@@ -851,7 +983,8 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
         synchronized (this) {
             switch (type) {
                 case SERVER_FORUM_CHANNEL:
-                    return getForumChannelById(id).orElseGet(() -> new ServerForumChannelImpl(api, this, data));
+                    return getForumChannelById(id)
+                            .orElseGet(() -> channelCreated(new ServerForumChannelImpl(api, this, data)));
                 default:
                     // Invalid channel type
                     return null;
@@ -869,7 +1002,8 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
         long id = Long.parseLong(data.get("id").asText());
         ChannelType type = ChannelType.fromId(data.get("type").asInt());
         synchronized (this) {
-            return getUnknownChannelById(id).orElseGet(() -> new UnknownServerChannelImpl(api, this, data));
+            return getUnknownChannelById(id)
+                    .orElseGet(() -> channelCreated(new UnknownServerChannelImpl(api, this, data)));
         }
     }
 
@@ -884,7 +1018,7 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
         ChannelType type = ChannelType.fromId(data.get("type").asInt());
         synchronized (this) {
             return getUnknownRegularChannelById(id)
-                    .orElseGet(() -> new UnknownRegularServerChannelImpl(api, this, data));
+                    .orElseGet(() -> channelCreated(new UnknownRegularServerChannelImpl(api, this, data)));
         }
     }
 
@@ -913,7 +1047,14 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
     public MemberImpl addMember(JsonNode memberJson) {
         MemberImpl member = new MemberImpl(api, this, memberJson, null);
         api.addMemberToCacheOrReplaceExisting(member);
+        checkReadyAfterMembersAdded();
+        return member;
+    }
 
+    /**
+     * Marks the server as ready if all members are cached now.
+     */
+    private void checkReadyAfterMembersAdded() {
         synchronized (readyConsumers) {
             if (!ready && getRealMembers().size() == getMemberCount()) {
                 ready = true;
@@ -921,7 +1062,6 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
                 readyConsumers.clear();
             }
         }
-        return member;
     }
 
     /**
@@ -937,9 +1077,7 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
      * @param membersJson An array of guild member objects.
      */
     public void addMembers(JsonNode membersJson) {
-        for (JsonNode memberJson : membersJson) {
-            addMember(memberJson);
-        }
+        addAndGetMembers(membersJson);
     }
 
     /**
@@ -949,11 +1087,13 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
      * @return The added members.
      */
     public List<Member> addAndGetMembers(JsonNode membersJson) {
-        List<Member> members = new ArrayList<>();
+        List<Member> members = new ArrayList<>(membersJson.size());
         for (JsonNode memberJson : membersJson) {
-            Member member = addMember(memberJson);
-            members.add(member);
+            members.add(new MemberImpl(api, this, memberJson, null));
         }
+        // Apply the whole chunk at once instead of updating the cache and checking the readiness for every member
+        api.addMembersToCacheOrReplaceExisting(members);
+        checkReadyAfterMembersAdded();
         return members;
     }
 
@@ -1068,7 +1208,7 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
 
     @Override
     public Set<ServerChannel> getUnorderedChannels() {
-        return api.getEntityCache().get().getChannelCache().getChannelsOfServer(getId());
+        return api.getEntityCache().getChannelCache().getChannelsOfServer(getId());
     }
 
     /**
@@ -1413,9 +1553,31 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
         api.getWebSocketAdapter().queueRequestGuildMembers(this);
     }
 
+    @Override
+    public CompletableFuture<Set<User>> requestMembers(Collection<Long> userIds) {
+        Set<User> members = new HashSet<>();
+        List<Long> missingUserIds = new ArrayList<>();
+        for (long userId : userIds) {
+            Optional<User> member = getMemberById(userId);
+            if (member.isPresent()) {
+                members.add(member.get());
+            } else {
+                missingUserIds.add(userId);
+            }
+        }
+        if (missingUserIds.isEmpty()) {
+            return CompletableFuture.completedFuture(members);
+        }
+        return api.getWebSocketAdapter().getGuildMembersRequests().request(getId(), missingUserIds)
+                .thenApply(requestedMembers -> {
+                    requestedMembers.forEach(member -> members.add(member.getUser()));
+                    return members;
+                });
+    }
+
     @Override
     public Set<User> getMembers() {
-        return api.getEntityCache().get().getMemberCache()
+        return api.getEntityCache().getMemberCache()
                 .getMembersByServer(getId())
                 .stream()
                 .map(Member::getUser)
@@ -1428,13 +1590,13 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
      * @return The real members.
      */
     public Set<Member> getRealMembers() {
-        return api.getEntityCache().get().getMemberCache()
+        return api.getEntityCache().getMemberCache()
                 .getMembersByServer(getId());
     }
 
     @Override
     public Optional<User> getMemberById(long id) {
-        return api.getEntityCache().get().getMemberCache()
+        return api.getEntityCache().getMemberCache()
                 .getMemberByIdAndServer(id, getId())
                 .map(Member::getUser);
     }
@@ -1446,24 +1608,97 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
      * @return The real member.
      */
     public Optional<Member> getRealMemberById(long userId) {
-        return api.getEntityCache().get().getMemberCache()
+        return api.getEntityCache().getMemberCache()
                 .getMemberByIdAndServer(userId, getId());
     }
 
     @Override
     public boolean isMember(User user) {
-        return api.getEntityCache().get().getMemberCache()
+        return api.getEntityCache().getMemberCache()
                 .getMemberByIdAndServer(user.getId(), getId())
                 .isPresent();
     }
 
     @Override
-    public List<Role> getRoles() {
-        return Collections.unmodifiableList(roles.values().stream()
-                .sorted()
+    public Set<User> getMembersByName(String name) {
+        return getMembersOf(api.getEntityCache().getMemberCache().getUserCache().getUsersByName(name));
+    }
+
+    @Override
+    public Set<User> getMembersByNameIgnoreCase(String name) {
+        return getMembersOf(api.getEntityCache().getMemberCache().getUserCache().getUsersByNameIgnoreCase(name));
+    }
+
+    @Override
+    public Set<User> getMembersByNickname(String nickname) {
+        return Collections.unmodifiableSet(api.getEntityCache().getMemberCache()
+                .getMembersByNickname(nickname, getId())
+                .stream()
+                .map(Member::getUser)
+                .collect(Collectors.toSet()));
+    }
+
+    @Override
+    public Set<User> getMembersByNicknameIgnoreCase(String nickname) {
+        // Members with a nickname have it as display name
+        return Collections.unmodifiableSet(api.getEntityCache().getMemberCache()
+                .getMembersByDisplayNameIgnoreCase(nickname, getId())
+                .stream()
+                .filter(member -> member.getNickname().map(nickname::equalsIgnoreCase).orElse(false))
+                .map(Member::getUser)
+                .collect(Collectors.toSet()));
+    }
+
+    @Override
+    public Set<User> getMembersByDisplayName(String displayName) {
+        return Collections.unmodifiableSet(api.getEntityCache().getMemberCache()
+                .getMembersByDisplayNameIgnoreCase(displayName, getId())
+                .stream()
+                .filter(member -> member.getDisplayName().equals(displayName))
+                .map(Member::getUser)
+                .collect(Collectors.toSet()));
+    }
+
+    @Override
+    public Set<User> getMembersByDisplayNameIgnoreCase(String displayName) {
+        return Collections.unmodifiableSet(api.getEntityCache().getMemberCache()
+                .getMembersByDisplayNameIgnoreCase(displayName, getId())
+                .stream()
+                .map(Member::getUser)
+                .collect(Collectors.toSet()));
+    }
+
+    @Override
+    public List<User> getMembersByDisplayNamePrefix(String prefix, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit cannot be less than 1!");
+        }
+        return Collections.unmodifiableList(api.getEntityCache().getMemberCache()
+                .getMembersByDisplayNamePrefix(prefix, getId(), limit)
+                .stream()
+                .map(Member::getUser)
                 .collect(Collectors.toList()));
     }
 
+    /**
+     * Gets the members of this server for the given users.
+     *
+     * @param users The users.
+     * @return The members of the users which are a member of this server.
+     */
+    private Set<User> getMembersOf(Collection<User> users) {
+        return Collections.unmodifiableSet(users.stream()
+                .map(user -> getMemberById(user.getId()))
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .collect(Collectors.toSet()));
+    }
+
+    @Override
+    public List<Role> getRoles() {
+        return sortedRoles.get();
+    }
+
     @Override
     public List<Role> getRoles(User user) {
         return ((UserImpl) user).getMember()
@@ -1474,6 +1709,31 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
                                 .map(Member::getRoles).orElseGet(Collections::emptyList));
     }
 
+    @Override
+    public Permissions getPermissions(User user) {
+        return new PermissionsImpl(getAllowedPermissionMask(user), 0);
+    }
+
+    @Override
+    public Set<PermissionType> getAllowedPermissions(User user) {
+        return PermissionMasks.toSet(getAllowedPermissionMask(user));
+    }
+
+    @Override
+    public boolean hasPermissions(User user, PermissionType... type) {
+        return PermissionMasks.containsAll(getAllowedPermissionMask(user), type);
+    }
+
+    @Override
+    public boolean hasAnyPermission(User user, PermissionType... type) {
+        return PermissionMasks.containsAny(getAllowedPermissionMask(user), type);
+    }
+
+    @Override
+    public boolean hasPermission(User user, PermissionType permission) {
+        return (getAllowedPermissionMask(user) & permission.getValue()) != 0;
+    }
+
     @Override
     public Optional<Role> getRoleById(long id) {
         return Optional.ofNullable(roles.get(id));
@@ -1755,115 +2015,59 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
 
     @Override
     public List<ServerChannel> getChannels() {
-        final List<ServerChannel> channels = getUnorderedChannels().stream()
-                .filter(channel -> channel.asCategorizable()
-                        .map(categorizable -> !categorizable.getCategory().isPresent())
-                        .orElse(false))
-                .map(Channel::asRegularServerChannel)
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .sorted(Comparator
-                        .<RegularServerChannel>comparingInt(channel -> channel.getType().getId())
-                        .thenComparing(RegularServerChannelImpl.COMPARE_BY_RAW_POSITION))
-                .collect(Collectors.toList());
-        getChannelCategories().forEach(category -> {
-            channels.add(category);
-            channels.addAll(category.getChannels());
-        });
-
-        final Map<RegularServerChannel, List<ServerThreadChannel>> regularServerChannelThreads = new HashMap<>();
-        getThreadChannels().forEach(serverThreadChannel -> {
-            final RegularServerChannel regularServerChannel = serverThreadChannel.getParent();
-            regularServerChannelThreads.merge(regularServerChannel,
-                    new ArrayList<>(Collections.singletonList(serverThreadChannel)),
-                    (serverThreadChannels, serverThreadChannels2) -> {
-                        serverThreadChannels.addAll(serverThreadChannels2);
-                        return new ArrayList<>(serverThreadChannels);
-                    });
-        });
-        regularServerChannelThreads.forEach(
-                (serverTextChannel, serverThreadChannels) -> channels.addAll(channels.indexOf(serverTextChannel) + 1,
-                        serverThreadChannels));
+        return sortedChannels.get().getChannels();
+    }
 
-        return Collections.unmodifiableList(channels);
+    /**
+     * Gets the channels of the category with the given id, sorted like in the Discord client.
+     *
+     * @param categoryId The id of the category.
+     * @return The channels of the category.
+     */
+    public List<RegularServerChannel> getChannelsOfCategory(long categoryId) {
+        return sortedChannels.get().getChannelsOfCategory(categoryId);
     }
 
     @Override
     public List<RegularServerChannel> getRegularChannels() {
-        return Collections.unmodifiableList(getUnorderedChannels().stream()
-                .filter(RegularServerChannel.class::isInstance)
-                .map(Channel::asRegularServerChannel)
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .sorted(RegularServerChannelImpl.COMPARE_BY_RAW_POSITION)
-                .collect(Collectors.toList()));
+        return sortedChannels.get().getRegularChannels();
     }
 
     @Override
     public List<ChannelCategory> getChannelCategories() {
-        return Collections.unmodifiableList(getUnorderedChannels().stream()
-                .filter(ChannelCategory.class::isInstance)
-                .map(Channel::asChannelCategory)
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .sorted(RegularServerChannelImpl.COMPARE_BY_RAW_POSITION)
-                .collect(Collectors.toList()));
+        return sortedChannels.get().getChannelCategories();
     }
 
     @Override
     public List<ServerTextChannel> getTextChannels() {
-        return Collections.unmodifiableList(getUnorderedChannels().stream()
-                .filter(ServerTextChannel.class::isInstance)
-                .map(Channel::asServerTextChannel)
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .sorted(RegularServerChannelImpl.COMPARE_BY_RAW_POSITION)
-                .collect(Collectors.toList()));
+        return sortedChannels.get().getTextChannels();
     }
 
     @Override
     public List<ServerForumChannel> getForumChannels() {
-        return Collections.unmodifiableList(getUnorderedChannels().stream()
-                .filter(ServerForumChannel.class::isInstance)
-                .map(Channel::asServerForumChannel)
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .sorted(RegularServerChannelImpl.COMPARE_BY_RAW_POSITION)
-                .collect(Collectors.toList()));
+        return sortedChannels.get().getForumChannels();
     }
 
     @Override
     public List<ServerVoiceChannel> getVoiceChannels() {
-        return Collections.unmodifiableList(getUnorderedChannels().stream()
-                .filter(ServerVoiceChannel.class::isInstance)
-                .map(Channel::asServerVoiceChannel)
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .sorted(RegularServerChannelImpl.COMPARE_BY_RAW_POSITION)
-                .collect(Collectors.toList()));
+        return sortedChannels.get().getVoiceChannels();
     }
 
     @Override
     public List<ServerThreadChannel> getThreadChannels() {
-        return Collections.unmodifiableList(getUnorderedChannels().stream()
-                .filter(ServerThreadChannel.class::isInstance)
-                .map(Channel::asServerThreadChannel)
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .sorted(Comparator.comparing(ServerThreadChannel::getArchiveTimestamp))
-                .collect(Collectors.toList()));
+        return sortedChannels.get().getThreadChannels();
     }
 
     @Override
     public Optional<ServerChannel> getChannelById(long id) {
-        return api.getEntityCache().get().getChannelCache().getChannelById(id)
+        return api.getEntityCache().getChannelCache().getChannelById(id)
                 .filter(ServerChannel.class::isInstance)
                 .map(ServerChannel.class::cast);
     }
 
     @Override
     public Optional<RegularServerChannel> getRegularChannelById(long id) {
-        return api.getEntityCache().get().getChannelCache().getChannelById(id)
+        return api.getEntityCache().getChannelCache().getChannelById(id)
                 .filter(RegularServerChannel.class::isInstance)
                 .map(RegularServerChannel.class::cast);
     }
@@ -0,0 +1,189 @@
+package org.javacord.core.entity.server;
+
+import org.javacord.api.entity.channel.Categorizable;
+import org.javacord.api.entity.channel.Channel;
+import org.javacord.api.entity.channel.ChannelCategory;
+import org.javacord.api.entity.channel.RegularServerChannel;
+import org.javacord.api.entity.channel.ServerChannel;
+import org.javacord.api.entity.channel.ServerForumChannel;
+import org.javacord.api.entity.channel.ServerTextChannel;
+import org.javacord.api.entity.channel.ServerThreadChannel;
+import org.javacord.api.entity.channel.ServerVoiceChannel;
+import org.javacord.core.entity.channel.RegularServerChannelImpl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable sorted lists of the channels of a server.
+ */
+final class SortedChannels {
+
+    /**
+     * Sorts channels like the Discord client within a category: text channels before voice channels.
+     */
+    private static final Comparator<RegularServerChannel> COMPARE_BY_TYPE_AND_RAW_POSITION = Comparator
+            .<RegularServerChannel>comparingInt(channel -> channel.getType().getId())
+            .thenComparing(RegularServerChannelImpl.COMPARE_BY_RAW_POSITION);
+
+    private final List<ServerChannel> channels;
+    private final List<RegularServerChannel> regularChannels;
+    private final List<ChannelCategory> channelCategories;
+    private final List<ServerTextChannel> textChannels;
+    private final List<ServerForumChannel> forumChannels;
+    private final List<ServerVoiceChannel> voiceChannels;
+    private final List<ServerThreadChannel> threadChannels;
+
+    /**
+     * The channels of the categories by the id of the category.
+     */
+    private final Map<Long, List<RegularServerChannel>> channelsByCategoryId;
+
+    /**
+     * Sorts the given channels.
+     *
+     * @param unorderedChannels The channels of a server.
+     */
+    SortedChannels(Collection<ServerChannel> unorderedChannels) {
+        regularChannels = sort(unorderedChannels, RegularServerChannel.class, Channel::asRegularServerChannel,
+                RegularServerChannelImpl.COMPARE_BY_RAW_POSITION);
+        channelCategories = sort(unorderedChannels, ChannelCategory.class, Channel::asChannelCategory,
+                RegularServerChannelImpl.COMPARE_BY_RAW_POSITION);
+        textChannels = sort(unorderedChannels, ServerTextChannel.class, Channel::asServerTextChannel,
+                RegularServerChannelImpl.COMPARE_BY_RAW_POSITION);
+        forumChannels = sort(unorderedChannels, ServerForumChannel.class, Channel::asServerForumChannel,
+                RegularServerChannelImpl.COMPARE_BY_RAW_POSITION);
+        voiceChannels = sort(unorderedChannels, ServerVoiceChannel.class, Channel::asServerVoiceChannel,
+                RegularServerChannelImpl.COMPARE_BY_RAW_POSITION);
+        threadChannels = sort(unorderedChannels, ServerThreadChannel.class, Channel::asServerThreadChannel,
+                Comparator.comparing(ServerThreadChannel::getArchiveTimestamp));
+
+        Map<Long, List<RegularServerChannel>> categorizedChannels = new HashMap<>();
+        List<RegularServerChannel> uncategorizedChannels = new ArrayList<>();
+        for (ServerChannel channel : unorderedChannels) {
+            Optional<? extends Categorizable> categorizable = channel.asCategorizable();
+            Optional<RegularServerChannel> regularChannel = channel.asRegularServerChannel();
+            if (!categorizable.isPresent() || !regularChannel.isPresent()) {
+                continue;
+            }
+            Optional<ChannelCategory> category = categorizable.get().getCategory();
+            if (category.isPresent()) {
+                categorizedChannels.computeIfAbsent(category.get().getId(), id -> new ArrayList<>())
+                        .add(regularChannel.get());
+            } else {
+                uncategorizedChannels.add(regularChannel.get());
+            }
+        }
+        categorizedChannels.replaceAll((id, categoryChannels) -> {
+            categoryChannels.sort(COMPARE_BY_TYPE_AND_RAW_POSITION);
+            return Collections.unmodifiableList(categoryChannels);
+        });
+        channelsByCategoryId = categorizedChannels;
+
+        uncategorizedChannels.sort(COMPARE_BY_TYPE_AND_RAW_POSITION);
+        List<ServerChannel> channels = new ArrayList<>(uncategorizedChannels);
+        channelCategories.forEach(category -> {
+            channels.add(category);
+            channels.addAll(getChannelsOfCategory(category.getId()));
+        });
+
+        Map<RegularServerChannel, List<ServerThreadChannel>> threadsByParent = new HashMap<>();
+        threadChannels.forEach(thread ->
+                threadsByParent.computeIfAbsent(thread.getParent(), parent -> new ArrayList<>()).add(thread));
+        threadsByParent.forEach((parent, threads) -> channels.addAll(channels.indexOf(parent) + 1, threads));
+        this.channels = Collections.unmodifiableList(channels);
+    }
+
+    private static <T> List<T> sort(Collection<ServerChannel> channels, Class<T> type,
+                                    Function<Channel, Optional<T>> mapper, Comparator<? super T> comparator) {
+        return Collections.unmodifiableList(channels.stream()
+                .filter(type::isInstance)
+                .map(mapper)
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .sorted(comparator)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Gets all channels, sorted like in the Discord client.
+     *
+     * @return All channels.
+     */
+    List<ServerChannel> getChannels() {
+        return channels;
+    }
+
+    /**
+     * Gets all regular channels, sorted by their raw position.
+     *
+     * @return All regular channels.
+     */
+    List<RegularServerChannel> getRegularChannels() {
+        return regularChannels;
+    }
+
+    /**
+     * Gets all channel categories, sorted by their raw position.
+     *
+     * @return All channel categories.
+     */
+    List<ChannelCategory> getChannelCategories() {
+        return channelCategories;
+    }
+
+    /**
+     * Gets all text channels, sorted by their raw position.
+     *
+     * @return All text channels.
+     */
+    List<ServerTextChannel> getTextChannels() {
+        return textChannels;
+    }
+
+    /**
+     * Gets all forum channels, sorted by their raw position.
+     *
+     * @return All forum channels.
+     */
+    List<ServerForumChannel> getForumChannels() {
+        return forumChannels;
+    }
+
+    /**
+     * Gets all voice channels, sorted by their raw position.
+     *
+     * @return All voice channels.
+     */
+    List<ServerVoiceChannel> getVoiceChannels() {
+        return voiceChannels;
+    }
+
+    /**
+     * Gets all thread channels, sorted by their archive timestamp.
+     *
+     * @return All thread channels.
+     */
+    List<ServerThreadChannel> getThreadChannels() {
+        return threadChannels;
+    }
+
+    /**
+     * Gets the channels of the category with the given id, sorted like in the Discord client.
+     *
+     * @param categoryId The id of the category.
+     * @return The channels of the category.
+     */
+    List<RegularServerChannel> getChannelsOfCategory(long categoryId) {
+        return channelsByCategoryId.getOrDefault(categoryId, Collections.emptyList());
+    }
+
+}
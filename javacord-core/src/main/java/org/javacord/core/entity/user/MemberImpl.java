@@ -16,10 +16,12 @@ import java.net.URL;
 import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 /**
  * Maps a member object.
@@ -30,20 +32,31 @@ public final class MemberImpl implements Member {
 
     private static final int DEFAULT_AVATAR_SIZE = 1024;
 
-    private final DiscordApiImpl api;
+    /**
+     * Marks a missing timestamp.
+     */
+    private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+    private static final byte FLAG_PENDING = 1;
+    private static final byte FLAG_DEAFENED = 1 << 1;
+    private static final byte FLAG_MUTED = 1 << 2;
+    private static final byte FLAG_SELF_DEAFENED = 1 << 3;
+    private static final byte FLAG_SELF_MUTED = 1 << 4;
+
+    private static final long[] NO_ROLE_IDS = new long[0];
+
+    // Servers can have millions of cached members, so the fields are kept as compact as possible: role ids are a
+    // sorted primitive array without the implicit everyone role, strings which are often equal are interned, and
+    // timestamps and flags are packed into primitives.
     private final ServerImpl server;
     private final UserImpl user;
-    private final boolean pending;
     private final String nickname;
-    private final List<Long> roleIds;
+    private final long[] roleIds;
     private final String avatarHash;
-    private final String joinedAt;
-    private final String serverBoostingSince;
-    private final boolean deafened;
-    private final boolean muted;
-    private final boolean selfDeafened;
-    private final boolean selfMuted;
-    private final Instant communicationDisabledUntil;
+    private final long joinedAtMicros;
+    private final long serverBoostingSinceMicros;
+    private final long timeoutMicros;
+    private final byte flags;
 
     /**
      * Creates a new immutable member instance.
@@ -55,10 +68,7 @@ public final class MemberImpl implements Member {
      *               If the json contains a non-null user field, this parameter is ignored.
      */
     public MemberImpl(DiscordApiImpl api, ServerImpl server, JsonNode data, UserImpl user) {
-        this.api = api;
         this.server = server;
-        this.selfMuted = false;
-        this.selfDeafened = false;
 
         if (data.hasNonNull("user")) {
             this.user = new UserImpl(api, data.get("user"), this, null);
@@ -66,66 +76,53 @@ public final class MemberImpl implements Member {
             this.user = user;
         }
 
-        if (data.hasNonNull("nick")) {
-            nickname = data.get("nick").asText();
-        } else {
-            nickname = null;
-        }
+        nickname = data.hasNonNull("nick") ? data.get("nick").asText().intern() : null;
 
-        roleIds = new ArrayList<>();
-        for (JsonNode roleIdJson : data.get("roles")) {
-            roleIds.add(roleIdJson.asLong());
+        JsonNode rolesJson = data.get("roles");
+        long[] roleIds = new long[rolesJson.size()];
+        int roleCount = 0;
+        for (JsonNode roleIdJson : rolesJson) {
+            roleIds[roleCount++] = roleIdJson.asLong();
         }
-        roleIds.add(server.getEveryoneRole().getId());
-
-        avatarHash = data.hasNonNull("avatar") ? data.get("avatar").asText() : null;
-
-        joinedAt = data.get("joined_at").asText();
-        if (data.hasNonNull("premium_since")) {
-            serverBoostingSince = data.get("premium_since").asText();
-        } else {
-            serverBoostingSince = null;
+        this.roleIds = toCompactRoleIds(roleIds, roleCount, server.getId());
+
+        avatarHash = data.hasNonNull("avatar") ? data.get("avatar").asText().intern() : null;
+
+        // Partial member objects, e.g. in member updates, may not have a join date
+        joinedAtMicros = data.hasNonNull("joined_at")
+                ? parseTimestamp(data.get("joined_at").asText())
+                : NO_TIMESTAMP;
+        serverBoostingSinceMicros = data.hasNonNull("premium_since")
+                ? parseTimestamp(data.get("premium_since").asText())
+                : NO_TIMESTAMP;
+        timeoutMicros = data.hasNonNull("communication_disabled_until")
+                ? parseTimestamp(data.get("communication_disabled_until").asText())
+                : NO_TIMESTAMP;
+
+        byte flags = 0;
+        if (data.hasNonNull("pending") && data.get("pending").asBoolean()) {
+            flags |= FLAG_PENDING;
         }
-
-        if (data.hasNonNull("pending")) {
-            pending = data.get("pending").asBoolean();
-        } else {
-            pending = false;
+        if (data.hasNonNull("deaf") && data.get("deaf").asBoolean()) {
+            flags |= FLAG_DEAFENED;
         }
-
-        if (data.hasNonNull("deaf")) {
-            deafened = data.get("deaf").asBoolean();
-        } else {
-            deafened = false;
+        if (data.hasNonNull("mute") && data.get("mute").asBoolean()) {
+            flags |= FLAG_MUTED;
         }
-        if (data.hasNonNull("mute")) {
-            muted = data.get("mute").asBoolean();
-        } else {
-            muted = false;
-        }
-
-        communicationDisabledUntil = data.hasNonNull("communication_disabled_until")
-                ? OffsetDateTime.parse(data.get("communication_disabled_until").asText()).toInstant()
-                : null;
+        this.flags = flags;
     }
 
-    private MemberImpl(DiscordApiImpl api, ServerImpl server, UserImpl user, String nickname, List<Long> roleIds,
-                       String avatarHash, String joinedAt, String serverBoostingSince, boolean deafened, boolean muted,
-                       boolean selfDeafened, boolean selfMuted, boolean pending, Instant communicationDisabledUntil) {
-        this.api = api;
+    private MemberImpl(ServerImpl server, UserImpl user, String nickname, long[] roleIds, String avatarHash,
+                       long joinedAtMicros, long serverBoostingSinceMicros, long timeoutMicros, byte flags) {
         this.server = server;
         this.user = user;
         this.nickname = nickname;
         this.roleIds = roleIds;
         this.avatarHash = avatarHash;
-        this.joinedAt = joinedAt;
-        this.serverBoostingSince = serverBoostingSince;
-        this.muted = muted;
-        this.deafened = deafened;
-        this.selfMuted = selfMuted;
-        this.selfDeafened = selfDeafened;
-        this.pending = pending;
-        this.communicationDisabledUntil = communicationDisabledUntil;
+        this.joinedAtMicros = joinedAtMicros;
+        this.serverBoostingSinceMicros = serverBoostingSinceMicros;
+        this.timeoutMicros = timeoutMicros;
+        this.flags = flags;
     }
 
     /**
@@ -135,8 +132,8 @@ public final class MemberImpl implements Member {
      * @return The new member.
      */
     public MemberImpl setUser(UserImpl user) {
-        return new MemberImpl(api, server, user, nickname, roleIds, avatarHash, joinedAt, serverBoostingSince,
-                deafened, muted, selfDeafened, selfMuted, pending, communicationDisabledUntil);
+        return new MemberImpl(server, user, nickname, roleIds, avatarHash, joinedAtMicros, serverBoostingSinceMicros,
+                timeoutMicros, flags);
     }
 
     /**
@@ -146,9 +143,7 @@ public final class MemberImpl implements Member {
      * @return The new member.
      */
     public MemberImpl setPartialUser(JsonNode partialUserJson) {
-        return new MemberImpl(api, server, user.replacePartialUserData(partialUserJson), nickname, roleIds, avatarHash, 
-                joinedAt, serverBoostingSince, deafened, muted, selfDeafened, selfMuted, pending, 
-                communicationDisabledUntil);
+        return setUser(user.replacePartialUserData(partialUserJson));
     }
 
     /**
@@ -158,17 +153,22 @@ public final class MemberImpl implements Member {
      * @return The new member.
      */
     public MemberImpl setRoleIds(List<Long> roleIds) {
-        roleIds.add(server.getEveryoneRole().getId());
-        return new MemberImpl(api, server, user, nickname, roleIds, avatarHash, joinedAt, serverBoostingSince,
-                deafened, muted, selfDeafened, selfMuted, pending, communicationDisabledUntil);
+        long[] newRoleIds = roleIds.stream().mapToLong(Long::longValue).toArray();
+        return new MemberImpl(server, user, nickname, toCompactRoleIds(newRoleIds, newRoleIds.length, server.getId()),
+                avatarHash, joinedAtMicros, serverBoostingSinceMicros, timeoutMicros, flags);
     }
 
     /**
-     * Gets the member's role ids.
+     * Gets the member's role ids, including the id of the everyone role.
      *
      * @return The member's role ids.
      */
     public List<Long> getRoleIds() {
+        List<Long> roleIds = new ArrayList<>(this.roleIds.length + 1);
+        for (long roleId : this.roleIds) {
+            roleIds.add(roleId);
+        }
+        roleIds.add(server.getId());
         return roleIds;
     }
 
@@ -179,8 +179,8 @@ public final class MemberImpl implements Member {
      * @return The new member.
      */
     public MemberImpl setNickname(String nickname) {
-        return new MemberImpl(api, server, user, nickname, roleIds, avatarHash, joinedAt, serverBoostingSince,
-                deafened, muted, selfDeafened, selfMuted, pending, communicationDisabledUntil);
+        return new MemberImpl(server, user, nickname == null ? null : nickname.intern(), roleIds, avatarHash,
+                joinedAtMicros, serverBoostingSinceMicros, timeoutMicros, flags);
     }
 
     /**
@@ -190,8 +190,8 @@ public final class MemberImpl implements Member {
      * @return The new member.
      */
     public MemberImpl setTimeout(Instant timeout) {
-        return new MemberImpl(api, server, user, nickname, roleIds, avatarHash, joinedAt, serverBoostingSince,
-                deafened, muted, selfDeafened, selfMuted, pending, timeout);
+        return new MemberImpl(server, user, nickname, roleIds, avatarHash, joinedAtMicros, serverBoostingSinceMicros,
+                timeout == null ? NO_TIMESTAMP : toMicros(timeout), flags);
     }
 
     /**
@@ -201,8 +201,9 @@ public final class MemberImpl implements Member {
      * @return The new member.
      */
     public MemberImpl setServerBoostingSince(String serverBoostingSince) {
-        return new MemberImpl(api, server, user, nickname, roleIds, avatarHash, joinedAt, serverBoostingSince,
-                deafened, muted, selfDeafened, selfMuted, pending, communicationDisabledUntil);
+        return new MemberImpl(server, user, nickname, roleIds, avatarHash, joinedAtMicros,
+                serverBoostingSince == null ? NO_TIMESTAMP : parseTimestamp(serverBoostingSince), timeoutMicros,
+                flags);
     }
 
     /**
@@ -211,7 +212,7 @@ public final class MemberImpl implements Member {
      * @return The server boosting since field.
      */
     public String getServerBoostingSince() {
-        return serverBoostingSince;
+        return getServerBoostingSinceTimestamp().map(Instant::toString).orElse(null);
     }
 
     /**
@@ -221,8 +222,7 @@ public final class MemberImpl implements Member {
      * @return The new member.
      */
     public MemberImpl setMuted(boolean muted) {
-        return new MemberImpl(api, server, user, nickname, roleIds, avatarHash, joinedAt, serverBoostingSince,
-                deafened, muted, selfDeafened, selfMuted, pending, communicationDisabledUntil);
+        return setFlag(FLAG_MUTED, muted);
     }
 
     /**
@@ -232,8 +232,7 @@ public final class MemberImpl implements Member {
      * @return The new member.
      */
     public MemberImpl setDeafened(boolean deafened) {
-        return new MemberImpl(api, server, user, nickname, roleIds, avatarHash, joinedAt, serverBoostingSince,
-                deafened, muted, selfDeafened, selfMuted, pending, communicationDisabledUntil);
+        return setFlag(FLAG_DEAFENED, deafened);
     }
 
     /**
@@ -243,8 +242,7 @@ public final class MemberImpl implements Member {
      * @return The new member.
      */
     public MemberImpl setSelfMuted(boolean selfMuted) {
-        return new MemberImpl(api, server, user, nickname, roleIds, avatarHash, joinedAt, serverBoostingSince,
-                deafened, muted, selfDeafened, selfMuted, pending, communicationDisabledUntil);
+        return setFlag(FLAG_SELF_MUTED, selfMuted);
     }
 
     /**
@@ -254,13 +252,82 @@ public final class MemberImpl implements Member {
      * @return The new member.
      */
     public MemberImpl setSelfDeafened(boolean selfDeafened) {
-        return new MemberImpl(api, server, user, nickname, roleIds, avatarHash, joinedAt, serverBoostingSince,
-                deafened, muted, selfDeafened, selfMuted, pending, communicationDisabledUntil);
+        return setFlag(FLAG_SELF_DEAFENED, selfDeafened);
+    }
+
+    /**
+     * Creates a new member object with the given flag set or cleared.
+     *
+     * @param flag The flag.
+     * @param value Whether the flag should be set.
+     * @return The new member.
+     */
+    private MemberImpl setFlag(byte flag, boolean value) {
+        byte newFlags = (byte) (value ? flags | flag : flags & ~flag);
+        return new MemberImpl(server, user, nickname, roleIds, avatarHash, joinedAtMicros, serverBoostingSinceMicros,
+                timeoutMicros, newFlags);
+    }
+
+    /**
+     * Sorts role ids and removes the everyone role and duplicates.
+     *
+     * @param roleIds The role ids. The array may be modified.
+     * @param length The amount of role ids in the array.
+     * @param everyoneRoleId The id of the everyone role, which is the id of the server.
+     * @return The sorted role ids.
+     */
+    private static long[] toCompactRoleIds(long[] roleIds, int length, long everyoneRoleId) {
+        Arrays.sort(roleIds, 0, length);
+        int compactLength = 0;
+        for (int i = 0; i < length; i++) {
+            long roleId = roleIds[i];
+            if (roleId != everyoneRoleId && (compactLength == 0 || roleIds[compactLength - 1] != roleId)) {
+                roleIds[compactLength++] = roleId;
+            }
+        }
+        if (compactLength == 0) {
+            return NO_ROLE_IDS;
+        }
+        return compactLength == roleIds.length ? roleIds : Arrays.copyOf(roleIds, compactLength);
+    }
+
+    /**
+     * Parses an ISO 8601 timestamp.
+     *
+     * @param timestamp The timestamp.
+     * @return The microseconds since the epoch.
+     */
+    private static long parseTimestamp(String timestamp) {
+        return toMicros(OffsetDateTime.parse(timestamp).toInstant());
+    }
+
+    /**
+     * Converts an instant to microseconds since the epoch, which is the precision of Discord's timestamps.
+     *
+     * @param instant The instant.
+     * @return The microseconds since the epoch.
+     */
+    private static long toMicros(Instant instant) {
+        return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000L), instant.getNano() / 1000);
+    }
+
+    /**
+     * Converts microseconds since the epoch to an instant.
+     *
+     * @param micros The microseconds since the epoch, or {@link #NO_TIMESTAMP}.
+     * @return The instant.
+     */
+    private static Optional<Instant> toInstant(long micros) {
+        if (micros == NO_TIMESTAMP) {
+            return Optional.empty();
+        }
+        return Optional.of(Instant.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                Math.floorMod(micros, 1_000_000L) * 1000));
     }
 
     @Override
     public DiscordApi getApi() {
-        return api;
+        return server.getApi();
     }
 
     @Override
@@ -285,8 +352,8 @@ public final class MemberImpl implements Member {
 
     @Override
     public List<Role> getRoles() {
-        return roleIds.stream()
-                .map(server::getRoleById)
+        return LongStream.concat(Arrays.stream(roleIds), LongStream.of(server.getId()))
+                .mapToObj(server::getRoleById)
                 .filter(Optional::isPresent)
                 .map(Optional::get)
                 .sorted()
@@ -295,7 +362,17 @@ public final class MemberImpl implements Member {
 
     @Override
     public boolean hasRole(Role role) {
-        return roleIds.contains(role.getId());
+        return hasRoleId(role.getId());
+    }
+
+    /**
+     * Checks if the member has the role with the given id.
+     *
+     * @param roleId The id of the role.
+     * @return Whether the member has the role.
+     */
+    public boolean hasRoleId(long roleId) {
+        return roleId == server.getId() || Arrays.binarySearch(roleIds, roleId) >= 0;
     }
 
     @Override
@@ -327,7 +404,7 @@ public final class MemberImpl implements Member {
                     .append(avatarHash.startsWith("a_") ? ".gif" : ".png")
                     .append("?size=").append(size);
             try {
-                return Optional.of(new IconImpl(api, new URL(url.toString())));
+                return Optional.of(new IconImpl(getApi(), new URL(url.toString())));
             } catch (MalformedURLException e) {
                 throw new AssertionError("Found a malformed role icon url. Please update to the latest Javacord "
                         + "version or create an issue on GitHub if you are already using the latest one.");
@@ -338,44 +415,43 @@ public final class MemberImpl implements Member {
 
     @Override
     public Instant getJoinedAtTimestamp() {
-        return OffsetDateTime.parse(joinedAt).toInstant();
+        return toInstant(joinedAtMicros)
+                .orElseThrow(() -> new IllegalStateException("Discord did not send the join date of the member"));
     }
 
     @Override
     public Optional<Instant> getServerBoostingSinceTimestamp() {
-        return Optional.ofNullable(serverBoostingSince)
-                .map(OffsetDateTime::parse)
-                .map(OffsetDateTime::toInstant);
+        return toInstant(serverBoostingSinceMicros);
     }
 
     @Override
     public boolean isMuted() {
-        return muted;
+        return (flags & FLAG_MUTED) != 0;
     }
 
     @Override
     public boolean isDeafened() {
-        return deafened;
+        return (flags & FLAG_DEAFENED) != 0;
     }
 
     @Override
     public boolean isSelfMuted() {
-        return selfMuted;
+        return (flags & FLAG_SELF_MUTED) != 0;
     }
 
     @Override
     public boolean isSelfDeafened() {
-        return selfDeafened;
+        return (flags & FLAG_SELF_DEAFENED) != 0;
     }
 
     @Override
     public boolean isPending() {
-        return pending;
+        return (flags & FLAG_PENDING) != 0;
     }
 
     @Override
     public Optional<Instant> getTimeout() {
-        return Optional.ofNullable(communicationDisabledUntil);
+        return toInstant(timeoutMicros);
     }
 
     @Override
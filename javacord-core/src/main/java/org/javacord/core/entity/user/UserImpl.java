@@ -45,11 +45,11 @@ public class UserImpl implements User, InternalUserAttachableListenerManager {
     private static final int DEFAULT_AVATAR_SIZE = 1024;
 
     private final DiscordApiImpl api;
-    private final Long id;
+    private final long id;
     private final String name;
     private final String discriminator;
     private final String avatarHash;
-    private EnumSet<UserFlag> userFlags = EnumSet.noneOf(UserFlag.class);
+    private final int userFlags;
     private final boolean bot;
     private final MemberImpl member;
 
@@ -66,20 +66,13 @@ public class UserImpl implements User, InternalUserAttachableListenerManager {
         this.api = api;
         id = data.get("id").asLong();
         name = data.get("username").asText();
-        discriminator = data.get("discriminator").asText();
+        discriminator = data.get("discriminator").asText().intern();
         if (data.hasNonNull("avatar")) {
             avatarHash = data.get("avatar").asText();
         } else {
             avatarHash = null;
         }
-        if (data.has("public_flags")) {
-            int flags = data.get("public_flags").asInt();
-            for (UserFlag flag : UserFlag.values()) {
-                if ((flag.asInt() & flags) == flag.asInt()) {
-                    userFlags.add(flag);
-                }
-            }
-        }
+        userFlags = data.has("public_flags") ? data.get("public_flags").asInt() : 0;
 
         bot = data.hasNonNull("bot") && data.get("bot").asBoolean();
         if (member == null && data.hasNonNull("member") && server != null) {
@@ -101,31 +94,25 @@ public class UserImpl implements User, InternalUserAttachableListenerManager {
         this.api = api;
         id = data.get("id").asLong();
         name = data.get("username").asText();
-        discriminator = data.get("discriminator").asText();
+        discriminator = data.get("discriminator").asText().intern();
         if (data.hasNonNull("avatar")) {
             avatarHash = data.get("avatar").asText();
         } else {
             avatarHash = null;
         }
-        if (data.has("public_flags")) {
-            int flags = data.get("public_flags").asInt();
-            for (UserFlag flag : UserFlag.values()) {
-                if ((flag.asInt() & flags) == flag.asInt()) {
-                    userFlags.add(flag);
-                }
-            }
-        }
+        userFlags = data.has("public_flags") ? data.get("public_flags").asInt() : 0;
 
         bot = data.hasNonNull("bot") && data.get("bot").asBoolean();
         member = new MemberImpl(api, server, memberJson, this);
     }
 
-    private UserImpl(DiscordApiImpl api, Long id, String name, String discriminator, String avatarHash, boolean bot,
-                     MemberImpl member) {
+    private UserImpl(DiscordApiImpl api, long id, String name, String discriminator, String avatarHash, int userFlags,
+                     boolean bot, MemberImpl member) {
         this.api = api;
         this.id = id;
         this.name = name;
         this.discriminator = discriminator;
+        this.userFlags = userFlags;
         this.avatarHash = avatarHash;
         this.bot = bot;
         this.member = member;
@@ -148,7 +135,7 @@ public class UserImpl implements User, InternalUserAttachableListenerManager {
 
         String discriminator = this.discriminator;
         if (partialUserJson.hasNonNull("discriminator")) {
-            discriminator = partialUserJson.get("discriminator").asText();
+            discriminator = partialUserJson.get("discriminator").asText().intern();
         }
 
         String avatarHash = this.avatarHash;
@@ -156,7 +143,7 @@ public class UserImpl implements User, InternalUserAttachableListenerManager {
             avatarHash = partialUserJson.get("avatar").asText();
         }
 
-        return new UserImpl(api, id, name, discriminator, avatarHash, bot, member);
+        return new UserImpl(api, id, name, discriminator, avatarHash, userFlags, bot, member);
     }
 
     /**
@@ -195,7 +182,13 @@ public class UserImpl implements User, InternalUserAttachableListenerManager {
 
     @Override
     public EnumSet<UserFlag> getUserFlags() {
-        return userFlags;
+        EnumSet<UserFlag> flags = EnumSet.noneOf(UserFlag.class);
+        for (UserFlag flag : UserFlag.values()) {
+            if ((flag.asInt() & userFlags) == flag.asInt()) {
+                flags.add(flag);
+            }
+        }
+        return flags;
     }
 
     /**
@@ -283,7 +276,7 @@ public class UserImpl implements User, InternalUserAttachableListenerManager {
     @Override
     public Set<Server> getMutualServers() {
         if (api.isUserCacheEnabled()) {
-            return api.getEntityCache().get().getMemberCache().getServers(getId());
+            return api.getEntityCache().getMemberCache().getServers(getId());
         }
         return member == null ? Collections.emptySet() : Collections.singleton(member.getServer());
     }
@@ -376,20 +369,20 @@ public class UserImpl implements User, InternalUserAttachableListenerManager {
 
     @Override
     public Set<Activity> getActivities() {
-        return api.getEntityCache().get().getUserPresenceCache().getPresenceByUserId(getId())
+        return api.getEntityCache().getUserPresenceCache().getPresenceByUserId(getId())
                 .map(UserPresence::getActivities).orElse(Collections.emptySet());
     }
 
     @Override
     public UserStatus getStatus() {
-        return api.getEntityCache().get().getUserPresenceCache().getPresenceByUserId(getId())
+        return api.getEntityCache().getUserPresenceCache().getPresenceByUserId(getId())
                 .map(UserPresence::getStatus)
                 .orElse(UserStatus.OFFLINE);
     }
 
     @Override
     public UserStatus getStatusOnClient(DiscordClient client) {
-        return api.getEntityCache().get().getUserPresenceCache().getPresenceByUserId(getId())
+        return api.getEntityCache().getUserPresenceCache().getPresenceByUserId(getId())
                 .map(UserPresence::getClientStatus)
                 .map(clientStatusMap -> clientStatusMap.getOrElse(client, UserStatus.OFFLINE))
                 .orElse(UserStatus.OFFLINE);
@@ -397,7 +390,7 @@ public class UserImpl implements User, InternalUserAttachableListenerManager {
 
     @Override
     public Optional<PrivateChannel> getPrivateChannel() {
-        return api.getEntityCache().get().getChannelCache().getPrivateChannelByUserId(getId());
+        return api.getEntityCache().getChannelCache().getPrivateChannelByUserId(getId());
     }
 
     @Override
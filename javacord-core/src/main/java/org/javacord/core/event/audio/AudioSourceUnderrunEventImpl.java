@@ -0,0 +1,21 @@
+package org.javacord.core.event.audio;
+
+import org.javacord.api.audio.AudioConnection;
+import org.javacord.api.audio.AudioSource;
+import org.javacord.api.event.audio.AudioSourceUnderrunEvent;
+
+/**
+ * The implementation of {@link AudioSourceUnderrunEvent}.
+ */
+public class AudioSourceUnderrunEventImpl extends AudioSourceEventImpl implements AudioSourceUnderrunEvent {
+
+    /**
+     * Creates a new audio source underrun event.
+     *
+     * @param source The audio source of the event.
+     * @param connection The audio connection of the event.
+     */
+    public AudioSourceUnderrunEventImpl(AudioSource source, AudioConnection connection) {
+        super(source, connection);
+    }
+}
@@ -0,0 +1,409 @@
+package org.javacord.core.util.cache;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.logging.log4j.Logger;
+import org.javacord.core.util.logging.LoggerUtil;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Stores the json data of messages as compressed byte arrays.
+ *
+ * <p>A compressed message needs only a fraction of the heap of a message object, so the store can keep far more
+ * messages than the message caches of the channels. If a message is not in the cache of its channel anymore, it is
+ * inflated from the store into a new message object when it is accessed by its id.
+ *
+ * <p>The stored data is kept up to date with message updates and reactions. If the estimated size of all stored
+ * messages exceeds the budget, the least recently used messages are dropped.
+ */
+public class CompactMessageStore {
+
+    /**
+     * The logger of this class.
+     */
+    private static final Logger logger = LoggerUtil.getLogger(CompactMessageStore.class);
+
+    /**
+     * The estimated size of an entry without its data, e.g. the object headers and the map node.
+     */
+    private static final int ENTRY_OVERHEAD = 64;
+
+    /**
+     * The compressed json data of the messages by their id, in least recently used order.
+     */
+    private final LinkedHashMap<Long, byte[]> messages = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * The compressors of the threads, so that compressing and decompressing does not happen under the lock.
+     */
+    private static final ThreadLocal<Codec> codecs = ThreadLocal.withInitial(Codec::new);
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * The budget in bytes, or {@code 0} if the store is disabled.
+     */
+    private volatile long budget = 0;
+
+    /**
+     * The estimated size of all stored messages in bytes.
+     */
+    private volatile long size = 0;
+
+    /**
+     * Creates a new compact message store.
+     *
+     * @param objectMapper The object mapper which is used to serialize the json data.
+     */
+    public CompactMessageStore(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Gets the budget of the store.
+     *
+     * @return The budget in bytes, or {@code 0} if the store is disabled.
+     */
+    public long getBudget() {
+        return budget;
+    }
+
+    /**
+     * Sets the budget of the store and drops messages if the new budget is exceeded.
+     *
+     * @param budget The budget in bytes, or {@code 0} to disable the store.
+     */
+    public synchronized void setBudget(long budget) {
+        if (budget < 0) {
+            throw new IllegalArgumentException("budget cannot be less than 0!");
+        }
+        this.budget = budget;
+        trim();
+    }
+
+    /**
+     * Gets the estimated size of all stored messages.
+     *
+     * @return The estimated size in bytes.
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * Stores the json data of a message, replacing previously stored data.
+     *
+     * <p>Data without a {@code channel_id} field is ignored, as the message could not be inflated without it.
+     *
+     * @param data The json data of the message.
+     */
+    public void store(JsonNode data) {
+        byte[] compressedData = compress(data);
+        if (compressedData != null) {
+            store(data.get("id").asLong(), compressedData);
+        }
+    }
+
+    /**
+     * Stores the data of a message which was compressed with {@link #compress(JsonNode)} before.
+     *
+     * @param messageId The id of the message.
+     * @param compressedData The compressed json data of the message.
+     */
+    public synchronized void store(long messageId, byte[] compressedData) {
+        if (budget != 0) {
+            put(messageId, compressedData);
+        }
+    }
+
+    /**
+     * Compresses the json data of a message, so it can be stored later.
+     *
+     * <p>The store is not locked while compressing, so this is meant to be called before acquiring other locks.
+     *
+     * @param data The json data of the message.
+     * @return The compressed data, or {@code null} if the store is disabled or the data cannot be stored.
+     */
+    public byte[] compress(JsonNode data) {
+        if (budget == 0 || !data.hasNonNull("id") || !data.hasNonNull("channel_id")) {
+            return null;
+        }
+        try {
+            return deflate(data);
+        } catch (IOException e) {
+            logger.debug("Failed to compress message {}", data.get("id"), e);
+            return null;
+        }
+    }
+
+    /**
+     * Loads the json data of a message.
+     *
+     * <p>The store is only locked while looking up the compressed data, not while decompressing it.
+     *
+     * @param messageId The id of the message.
+     * @return The json data of the message, or {@code null} if it is not stored.
+     */
+    public ObjectNode load(long messageId) {
+        byte[] data;
+        synchronized (this) {
+            data = messages.get(messageId);
+        }
+        if (data == null) {
+            return null;
+        }
+        try {
+            return inflate(data);
+        } catch (IOException | DataFormatException e) {
+            logger.debug("Failed to decompress message {}", messageId, e);
+            synchronized (this) {
+                // Only remove the broken data, not data which was stored in the meantime
+                if (messages.get(messageId) == data) {
+                    remove(messageId);
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Updates the stored json data of a message, if it is stored.
+     *
+     * @param messageId The id of the message.
+     * @param updater Modifies the json data.
+     */
+    public synchronized void update(long messageId, Consumer<ObjectNode> updater) {
+        if (!messages.containsKey(messageId)) {
+            return;
+        }
+        ObjectNode data = load(messageId);
+        if (data == null) {
+            return;
+        }
+        updater.accept(data);
+        try {
+            put(messageId, deflate(data));
+        } catch (IOException e) {
+            logger.debug("Failed to compress message {}", messageId, e);
+            remove(messageId);
+        }
+    }
+
+    /**
+     * Applies the fields of a partial message from a message update to the stored message.
+     *
+     * @param messageId The id of the message.
+     * @param partialMessage The partial message.
+     */
+    public void merge(long messageId, JsonNode partialMessage) {
+        if (partialMessage.isObject()) {
+            update(messageId, data -> data.setAll((ObjectNode) partialMessage));
+        }
+    }
+
+    /**
+     * Adds a reaction to the stored message.
+     *
+     * @param messageId The id of the message.
+     * @param emoji The json data of the emoji.
+     * @param you Whether the reaction was added by you.
+     */
+    public void addReaction(long messageId, JsonNode emoji, boolean you) {
+        update(messageId, data -> {
+            ObjectNode reaction = findReaction(data, emoji);
+            if (reaction == null) {
+                reaction = data.withArray("reactions").addObject();
+                reaction.put("count", 0).put("me", false).set("emoji", emoji);
+            }
+            reaction.put("count", reaction.get("count").asInt() + 1);
+            if (you) {
+                reaction.put("me", true);
+            }
+        });
+    }
+
+    /**
+     * Removes a reaction from the stored message.
+     *
+     * @param messageId The id of the message.
+     * @param emoji The json data of the emoji.
+     * @param you Whether the reaction was removed by you.
+     */
+    public void removeReaction(long messageId, JsonNode emoji, boolean you) {
+        update(messageId, data -> {
+            ObjectNode reaction = findReaction(data, emoji);
+            if (reaction == null) {
+                return;
+            }
+            reaction.put("count", reaction.get("count").asInt() - 1);
+            if (you) {
+                reaction.put("me", false);
+            }
+            if (reaction.get("count").asInt() <= 0) {
+                Iterator<JsonNode> reactions = data.get("reactions").elements();
+                while (reactions.hasNext()) {
+                    if (reactions.next() == reaction) {
+                        reactions.remove();
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Removes all reactions from the stored message.
+     *
+     * @param messageId The id of the message.
+     */
+    public void removeAllReactions(long messageId) {
+        update(messageId, data -> data.remove("reactions"));
+    }
+
+    /**
+     * Removes a message.
+     *
+     * @param messageId The id of the message.
+     */
+    public synchronized void remove(long messageId) {
+        byte[] data = messages.remove(messageId);
+        if (data != null) {
+            size -= ENTRY_OVERHEAD + data.length;
+        }
+    }
+
+    /**
+     * Removes all messages.
+     */
+    public synchronized void clear() {
+        messages.clear();
+        size = 0;
+    }
+
+    /**
+     * Stores compressed data and drops the least recently used messages if the budget is exceeded.
+     *
+     * @param messageId The id of the message.
+     * @param data The compressed json data.
+     */
+    private void put(long messageId, byte[] data) {
+        byte[] oldData = messages.put(messageId, data);
+        size += ENTRY_OVERHEAD + data.length;
+        if (oldData != null) {
+            size -= ENTRY_OVERHEAD + oldData.length;
+        }
+        trim();
+    }
+
+    /**
+     * Drops the least recently used messages until the size is within the budget.
+     */
+    private void trim() {
+        Iterator<byte[]> iterator = messages.values().iterator();
+        while (size > budget && iterator.hasNext()) {
+            size -= ENTRY_OVERHEAD + iterator.next().length;
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Finds the reaction with the given emoji.
+     *
+     * @param data The json data of the message.
+     * @param emoji The json data of the emoji.
+     * @return The json data of the reaction, or {@code null} if the message has no reaction with the emoji.
+     */
+    private static ObjectNode findReaction(ObjectNode data, JsonNode emoji) {
+        JsonNode reactions = data.get("reactions");
+        if (!(reactions instanceof ArrayNode)) {
+            return null;
+        }
+        for (JsonNode reaction : reactions) {
+            JsonNode reactionEmoji = reaction.get("emoji");
+            if (reactionEmoji != null && isSameEmoji(reactionEmoji, emoji)) {
+                return (ObjectNode) reaction;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks if two json emojis are the same emoji.
+     *
+     * @param first The first emoji.
+     * @param second The second emoji.
+     * @return Whether the emojis are the same.
+     */
+    private static boolean isSameEmoji(JsonNode first, JsonNode second) {
+        if (first.hasNonNull("id") || second.hasNonNull("id")) {
+            return first.hasNonNull("id") && second.hasNonNull("id")
+                    && first.get("id").asText().equals(second.get("id").asText());
+        }
+        return Objects.equals(first.path("name").asText(null), second.path("name").asText(null));
+    }
+
+    /**
+     * Serializes and compresses json data.
+     *
+     * @param data The json data.
+     * @return The compressed data.
+     * @throws IOException If the data could not be serialized.
+     */
+    private byte[] deflate(JsonNode data) throws IOException {
+        Codec codec = codecs.get();
+        Deflater deflater = codec.deflater;
+        deflater.reset();
+        deflater.setInput(objectMapper.writeValueAsBytes(data));
+        deflater.finish();
+        codec.output.reset();
+        while (!deflater.finished()) {
+            codec.output.write(codec.buffer, 0, deflater.deflate(codec.buffer));
+        }
+        return codec.output.toByteArray();
+    }
+
+    /**
+     * Decompresses and parses json data.
+     *
+     * @param data The compressed data.
+     * @return The json data.
+     * @throws IOException If the data could not be parsed.
+     * @throws DataFormatException If the data could not be decompressed.
+     */
+    private ObjectNode inflate(byte[] data) throws IOException, DataFormatException {
+        Codec codec = codecs.get();
+        Inflater inflater = codec.inflater;
+        inflater.reset();
+        inflater.setInput(data);
+        codec.output.reset();
+        while (!inflater.finished()) {
+            int length = inflater.inflate(codec.buffer);
+            if (length == 0 && inflater.needsInput()) {
+                throw new DataFormatException("Truncated message data");
+            }
+            codec.output.write(codec.buffer, 0, length);
+        }
+        return (ObjectNode) objectMapper.readTree(codec.output.toByteArray());
+    }
+
+    /**
+     * The compressor, decompressor and buffers of a thread.
+     */
+    private static class Codec {
+        private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        private final Inflater inflater = new Inflater();
+        private final byte[] buffer = new byte[4096];
+        private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    }
+
+}
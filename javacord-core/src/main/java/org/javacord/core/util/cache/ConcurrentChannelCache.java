@@ -0,0 +1,188 @@
+package org.javacord.core.util.cache;
+
+import org.javacord.api.entity.channel.Channel;
+import org.javacord.api.entity.channel.ChannelType;
+import org.javacord.api.entity.channel.PrivateChannel;
+import org.javacord.api.entity.channel.ServerChannel;
+import org.javacord.api.entity.user.User;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A mutable, thread-safe cache for all channel entities.
+ *
+ * <p>Modifications of a channel are atomic, because they are performed while holding the lock of the channel's bin in
+ * {@link #channelsById}. The secondary indexes are updated while holding this lock.
+ */
+public class ConcurrentChannelCache implements ChannelCache {
+
+    /**
+     * All channels by their id.
+     */
+    private final Map<Long, Channel> channelsById = new ConcurrentHashMap<>();
+
+    /**
+     * The channels by their type and id.
+     */
+    private final Map<ChannelType, Map<Long, Channel>> channelsByType = new EnumMap<>(ChannelType.class);
+
+    /**
+     * The server channels by the id of their server and their id.
+     */
+    private final Map<Long, Map<Long, ServerChannel>> channelsByServerId = new ConcurrentHashMap<>();
+
+    /**
+     * The private channels by the id of their recipient.
+     */
+    private final Map<Long, PrivateChannel> privateChannelsByUserId = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new concurrent channel cache.
+     */
+    public ConcurrentChannelCache() {
+        // The enum map is never modified after this, so it is safe to read it concurrently
+        for (ChannelType type : ChannelType.values()) {
+            channelsByType.put(type, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Adds a channel to the cache or replaces the channel with the same id.
+     *
+     * @param channel The channel to add.
+     * @return The channel with the same id which was replaced.
+     */
+    Optional<Channel> addChannel(Channel channel) {
+        AtomicReference<Channel> replacedChannel = new AtomicReference<>();
+        channelsById.compute(channel.getId(), (id, oldChannel) -> {
+            if (oldChannel != null) {
+                removeFromIndexes(oldChannel);
+            }
+            addToIndexes(channel);
+            replacedChannel.set(oldChannel);
+            return channel;
+        });
+        return Optional.ofNullable(replacedChannel.get());
+    }
+
+    /**
+     * Removes a channel from the cache.
+     *
+     * @param channel The channel to remove.
+     */
+    void removeChannel(Channel channel) {
+        channelsById.computeIfPresent(channel.getId(), (id, oldChannel) -> {
+            removeFromIndexes(oldChannel);
+            return null;
+        });
+    }
+
+    /**
+     * Removes all channels from the cache.
+     */
+    void clear() {
+        channelsById.clear();
+        channelsByType.values().forEach(Map::clear);
+        channelsByServerId.clear();
+        privateChannelsByUserId.clear();
+    }
+
+    /**
+     * Adds the channel to the secondary indexes.
+     *
+     * @param channel The channel.
+     */
+    private void addToIndexes(Channel channel) {
+        if (channel.getType() != null) {
+            channelsByType.get(channel.getType()).put(channel.getId(), channel);
+        }
+        channel.asServerChannel().ifPresent(serverChannel -> channelsByServerId.compute(
+                serverChannel.getServer().getId(), (serverId, serverChannels) -> {
+                    Map<Long, ServerChannel> newServerChannels =
+                            serverChannels == null ? new ConcurrentHashMap<>() : serverChannels;
+                    newServerChannels.put(serverChannel.getId(), serverChannel);
+                    return newServerChannels;
+                }));
+        channel.asPrivateChannel().ifPresent(privateChannel -> privateChannel.getRecipient()
+                .map(User::getId)
+                .ifPresent(userId -> privateChannelsByUserId.put(userId, privateChannel)));
+    }
+
+    /**
+     * Removes the channel from the secondary indexes.
+     *
+     * @param channel The channel.
+     */
+    private void removeFromIndexes(Channel channel) {
+        if (channel.getType() != null) {
+            channelsByType.get(channel.getType()).remove(channel.getId());
+        }
+        channel.asServerChannel().ifPresent(serverChannel -> channelsByServerId.computeIfPresent(
+                serverChannel.getServer().getId(), (serverId, serverChannels) -> {
+                    serverChannels.remove(serverChannel.getId());
+                    return serverChannels.isEmpty() ? null : serverChannels;
+                }));
+        channel.asPrivateChannel().ifPresent(privateChannel -> privateChannel.getRecipient()
+                .map(User::getId)
+                .ifPresent(userId -> privateChannelsByUserId.remove(userId, privateChannel)));
+    }
+
+    @Override
+    public Set<Channel> getChannels() {
+        return Collections.unmodifiableSet(new HashSet<>(channelsById.values()));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends Channel> Set<T> getChannelsWithTypes(ChannelType... types) {
+        Set<T> channels = new HashSet<>();
+        for (ChannelType type : types) {
+            channels.addAll((Collection<? extends T>) channelsByType.get(type).values());
+        }
+        return Collections.unmodifiableSet(channels);
+    }
+
+    @Override
+    public Set<ServerChannel> getChannelsOfServer(long serverId) {
+        Map<Long, ServerChannel> serverChannels = channelsByServerId.get(serverId);
+        if (serverChannels == null) {
+            return Collections.emptySet();
+        }
+        return Collections.unmodifiableSet(new HashSet<>(serverChannels.values()));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends Channel> Set<T> getChannelsOfServerAndType(long serverId, ChannelType type) {
+        Map<Long, ServerChannel> serverChannels = channelsByServerId.get(serverId);
+        if (serverChannels == null) {
+            return Collections.emptySet();
+        }
+        Set<T> channels = new HashSet<>();
+        for (ServerChannel channel : serverChannels.values()) {
+            if (channel.getType() == type) {
+                channels.add((T) channel);
+            }
+        }
+        return Collections.unmodifiableSet(channels);
+    }
+
+    @Override
+    public Optional<Channel> getChannelById(long id) {
+        return Optional.ofNullable(channelsById.get(id));
+    }
+
+    @Override
+    public Optional<PrivateChannel> getPrivateChannelByUserId(long userId) {
+        return Optional.ofNullable(privateChannelsByUserId.get(userId));
+    }
+
+}
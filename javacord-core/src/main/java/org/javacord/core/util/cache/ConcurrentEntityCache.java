@@ -0,0 +1,81 @@
+package org.javacord.core.util.cache;
+
+import org.javacord.api.entity.channel.Channel;
+import org.javacord.core.entity.user.Member;
+import org.javacord.core.entity.user.UserPresence;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+
+/**
+ * An entity cache which modifies concurrent maps in place.
+ *
+ * <p>In contrast to the {@link ImmutableEntityCache}, modifications do not copy any indexes and modifications of
+ * different entities do not contend with each other. This makes it a better fit for bots in very large servers, at
+ * the cost of queries not being performed on a consistent snapshot of the whole cache.
+ */
+public class ConcurrentEntityCache implements EntityCache {
+
+    private final ConcurrentChannelCache channelCache = new ConcurrentChannelCache();
+    private final ConcurrentMemberCache memberCache = new ConcurrentMemberCache();
+    private final ConcurrentUserPresenceCache userPresenceCache = new ConcurrentUserPresenceCache();
+
+    @Override
+    public ConcurrentChannelCache getChannelCache() {
+        return channelCache;
+    }
+
+    @Override
+    public ConcurrentMemberCache getMemberCache() {
+        return memberCache;
+    }
+
+    @Override
+    public ConcurrentUserPresenceCache getUserPresenceCache() {
+        return userPresenceCache;
+    }
+
+    @Override
+    public Optional<Channel> addChannel(Channel channel) {
+        return channelCache.addChannel(channel);
+    }
+
+    @Override
+    public void removeChannel(Channel channel) {
+        channelCache.removeChannel(channel);
+    }
+
+    @Override
+    public void addMember(Member member) {
+        memberCache.addMember(member);
+    }
+
+    @Override
+    public void addMembers(Collection<Member> members) {
+        members.forEach(memberCache::addMember);
+    }
+
+    @Override
+    public void updateMembersById(long id, UnaryOperator<Member> mapper) {
+        memberCache.updateMembersById(id, mapper);
+    }
+
+    @Override
+    public void removeMember(long id, long serverId) {
+        memberCache.removeMember(id, serverId);
+    }
+
+    @Override
+    public void updateUserPresence(long userId, UnaryOperator<UserPresence> mapper) {
+        userPresenceCache.updateUserPresence(userId, mapper);
+    }
+
+    @Override
+    public void clear() {
+        channelCache.clear();
+        memberCache.clear();
+        userPresenceCache.clear();
+    }
+
+}
@@ -0,0 +1,230 @@
+package org.javacord.core.util.cache;
+
+import org.javacord.api.entity.server.Server;
+import org.javacord.core.entity.user.Member;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * A mutable, thread-safe cache for all member entities.
+ *
+ * <p>Modifications of the members of a user are atomic, because they are performed while holding the lock of the
+ * user's bin in {@link #membersByUserId}. The other indexes are updated while holding this lock, too, so the
+ * indexes never disagree once a modification finished. Modifications of different users run in parallel.
+ */
+public class ConcurrentMemberCache implements MemberCache {
+
+    /**
+     * The members by the id of their user and the id of their server.
+     */
+    private final Map<Long, Map<Long, Member>> membersByUserId = new ConcurrentHashMap<>();
+
+    /**
+     * The members by the id of their server and the id of their user.
+     */
+    private final Map<Long, Map<Long, Member>> membersByServerId = new ConcurrentHashMap<>();
+
+    /**
+     * The members by the id of their server and their nickname.
+     */
+    private final ConcurrentNavigableMap<NameKey, Member> membersByNickname = new ConcurrentSkipListMap<>();
+
+    /**
+     * The members by the id of their server and their display name ignoring case.
+     */
+    private final ConcurrentNavigableMap<NameKey, Member> membersByDisplayName = new ConcurrentSkipListMap<>();
+
+    /**
+     * The underlying user cache.
+     */
+    private final ConcurrentUserCache userCache = new ConcurrentUserCache();
+
+    /**
+     * Adds a member to the cache or replaces the member with the same id in the same server.
+     *
+     * <p>Automatically updates the underlying user cache, too.
+     *
+     * @param member The member to add.
+     */
+    void addMember(Member member) {
+        long serverId = member.getServer().getId();
+        membersByUserId.compute(member.getId(), (id, members) -> {
+            Map<Long, Member> newMembers = members == null ? new ConcurrentHashMap<>(4) : members;
+            removeNameKeys(newMembers.put(serverId, member));
+            putServerMember(serverId, member);
+            userCache.putUser(member.getUser());
+            return newMembers;
+        });
+    }
+
+    /**
+     * Replaces all members with the given id by the result of the given mapper.
+     *
+     * @param id The id of the members.
+     * @param mapper A function that takes the old member and returns the new one with the same id and server.
+     */
+    void updateMembersById(long id, UnaryOperator<Member> mapper) {
+        membersByUserId.computeIfPresent(id, (userId, members) -> {
+            members.replaceAll((serverId, member) -> {
+                Member newMember = mapper.apply(member);
+                removeNameKeys(member);
+                putServerMember(serverId, newMember);
+                userCache.putUser(newMember.getUser());
+                return newMember;
+            });
+            return members;
+        });
+    }
+
+    /**
+     * Removes a member from the cache.
+     *
+     * <p>Automatically removes the user from the underlying user cache if it was the last member of the user.
+     *
+     * @param id The id of the member.
+     * @param serverId The id of the member's server.
+     */
+    void removeMember(long id, long serverId) {
+        membersByUserId.computeIfPresent(id, (userId, members) -> {
+            Member member = members.remove(serverId);
+            if (member != null) {
+                removeNameKeys(member);
+                membersByServerId.computeIfPresent(serverId, (key, serverMembers) -> {
+                    serverMembers.remove(userId);
+                    return serverMembers.isEmpty() ? null : serverMembers;
+                });
+            }
+            if (members.isEmpty()) {
+                userCache.removeUser(userId);
+                return null;
+            }
+            return members;
+        });
+    }
+
+    /**
+     * Adds the member to the index by server and the name indexes.
+     *
+     * @param serverId The id of the member's server.
+     * @param member The member.
+     */
+    private void putServerMember(long serverId, Member member) {
+        membersByServerId.compute(serverId, (key, serverMembers) -> {
+            Map<Long, Member> newServerMembers = serverMembers == null ? new ConcurrentHashMap<>() : serverMembers;
+            newServerMembers.put(member.getId(), member);
+            return newServerMembers;
+        });
+        member.getNickname().ifPresent(nickname ->
+                membersByNickname.put(new NameKey(serverId, nickname, member.getId()), member));
+        membersByDisplayName.put(getDisplayNameKey(member), member);
+    }
+
+    /**
+     * Removes the member from the name indexes.
+     *
+     * @param member The member, may be {@code null}.
+     */
+    private void removeNameKeys(Member member) {
+        if (member == null) {
+            return;
+        }
+        member.getNickname().ifPresent(nickname ->
+                membersByNickname.remove(new NameKey(member.getServer().getId(), nickname, member.getId())));
+        membersByDisplayName.remove(getDisplayNameKey(member));
+    }
+
+    private static NameKey getDisplayNameKey(Member member) {
+        return new NameKey(member.getServer().getId(), NameKey.foldCase(member.getDisplayName()), member.getId());
+    }
+
+    /**
+     * Removes all members from the cache.
+     */
+    void clear() {
+        membersByUserId.clear();
+        membersByServerId.clear();
+        membersByNickname.clear();
+        membersByDisplayName.clear();
+        userCache.clear();
+    }
+
+    @Override
+    public Set<Server> getServers(long userId) {
+        Map<Long, Member> members = membersByUserId.get(userId);
+        if (members == null) {
+            return Collections.emptySet();
+        }
+        return Collections.unmodifiableSet(members.values().stream()
+                .map(Member::getServer)
+                .collect(Collectors.toSet()));
+    }
+
+    @Override
+    public ConcurrentUserCache getUserCache() {
+        return userCache;
+    }
+
+    @Override
+    public Set<Member> getMembers() {
+        Set<Member> members = new HashSet<>();
+        membersByServerId.values().forEach(serverMembers -> members.addAll(serverMembers.values()));
+        return Collections.unmodifiableSet(members);
+    }
+
+    @Override
+    public Set<Member> getMembersById(long id) {
+        return snapshot(membersByUserId.get(id));
+    }
+
+    @Override
+    public Set<Member> getMembersByServer(long serverId) {
+        return snapshot(membersByServerId.get(serverId));
+    }
+
+    @Override
+    public Optional<Member> getMemberByIdAndServer(long id, long serverId) {
+        return Optional.ofNullable(membersByUserId.get(id)).map(members -> members.get(serverId));
+    }
+
+    @Override
+    public Set<Member> getMembersByNickname(String nickname, long serverId) {
+        return Collections.unmodifiableSet(
+                new HashSet<>(NameKey.collect(membersByNickname, serverId, nickname, false, Integer.MAX_VALUE)));
+    }
+
+    @Override
+    public Set<Member> getMembersByDisplayNameIgnoreCase(String displayName, long serverId) {
+        return Collections.unmodifiableSet(new HashSet<>(NameKey.collect(
+                membersByDisplayName, serverId, NameKey.foldCase(displayName), false, Integer.MAX_VALUE)));
+    }
+
+    @Override
+    public List<Member> getMembersByDisplayNamePrefix(String prefix, long serverId, int limit) {
+        return Collections.unmodifiableList(
+                NameKey.collect(membersByDisplayName, serverId, NameKey.foldCase(prefix), true, limit));
+    }
+
+    /**
+     * Creates an unmodifiable snapshot of the members in the given map.
+     *
+     * @param members The members, may be {@code null}.
+     * @return An unmodifiable snapshot of the members.
+     */
+    private static Set<Member> snapshot(Map<Long, Member> members) {
+        if (members == null) {
+            return Collections.emptySet();
+        }
+        return Collections.unmodifiableSet(new HashSet<>(members.values()));
+    }
+
+}
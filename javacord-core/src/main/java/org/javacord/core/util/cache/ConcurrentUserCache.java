@@ -0,0 +1,110 @@
+package org.javacord.core.util.cache;
+
+import org.javacord.api.entity.user.User;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * A mutable, thread-safe cache for all user entities.
+ *
+ * <p>The users are maintained by the {@link ConcurrentMemberCache}, which never modifies the same user concurrently.
+ */
+public class ConcurrentUserCache implements UserCache {
+
+    /**
+     * All users by their id.
+     */
+    private final Map<Long, User> usersById = new ConcurrentHashMap<>();
+
+    /**
+     * All users by their name.
+     */
+    private final ConcurrentNavigableMap<NameKey, User> usersByName = new ConcurrentSkipListMap<>();
+
+    /**
+     * All users by their name ignoring case.
+     */
+    private final ConcurrentNavigableMap<NameKey, User> usersByFoldedName = new ConcurrentSkipListMap<>();
+
+    /**
+     * Adds a user to the cache or replaces the user with the same id.
+     *
+     * @param user The user to add.
+     */
+    void putUser(User user) {
+        User oldUser = usersById.put(user.getId(), user);
+        if (oldUser != null) {
+            usersByName.remove(getNameKey(oldUser));
+            usersByFoldedName.remove(getFoldedNameKey(oldUser));
+        }
+        usersByName.put(getNameKey(user), user);
+        usersByFoldedName.put(getFoldedNameKey(user), user);
+    }
+
+    /**
+     * Removes the user with the given id from the cache.
+     *
+     * @param id The id of the user.
+     */
+    void removeUser(long id) {
+        User oldUser = usersById.remove(id);
+        if (oldUser != null) {
+            usersByName.remove(getNameKey(oldUser));
+            usersByFoldedName.remove(getFoldedNameKey(oldUser));
+        }
+    }
+
+    /**
+     * Removes all users from the cache.
+     */
+    void clear() {
+        usersById.clear();
+        usersByName.clear();
+        usersByFoldedName.clear();
+    }
+
+    private static NameKey getNameKey(User user) {
+        return new NameKey(0, user.getName(), user.getId());
+    }
+
+    private static NameKey getFoldedNameKey(User user) {
+        return new NameKey(0, NameKey.foldCase(user.getName()), user.getId());
+    }
+
+    @Override
+    public Set<User> getUsers() {
+        return Collections.unmodifiableSet(new HashSet<>(usersById.values()));
+    }
+
+    @Override
+    public Optional<User> getUserById(long id) {
+        return Optional.ofNullable(usersById.get(id));
+    }
+
+    @Override
+    public Set<User> getUsersByName(String name) {
+        return Collections.unmodifiableSet(
+                new HashSet<>(NameKey.collect(usersByName, 0, name, false, Integer.MAX_VALUE)));
+    }
+
+    @Override
+    public Set<User> getUsersByNameIgnoreCase(String name) {
+        return Collections.unmodifiableSet(new HashSet<>(
+                NameKey.collect(usersByFoldedName, 0, NameKey.foldCase(name), false, Integer.MAX_VALUE)));
+    }
+
+    @Override
+    public List<User> getUsersByNamePrefix(String prefix, int limit) {
+        return Collections.unmodifiableList(
+                NameKey.collect(usersByFoldedName, 0, NameKey.foldCase(prefix), true, limit));
+    }
+
+}
@@ -0,0 +1,44 @@
+package org.javacord.core.util.cache;
+
+import org.javacord.core.entity.user.UserPresence;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * A mutable, thread-safe cache for all user presences.
+ */
+public class ConcurrentUserPresenceCache implements UserPresenceCache {
+
+    /**
+     * All user presences by the id of their user.
+     */
+    private final Map<Long, UserPresence> presencesByUserId = new ConcurrentHashMap<>();
+
+    /**
+     * Updates the presence for the user with the given id.
+     *
+     * @param userId The id of the user.
+     * @param mapper A function that takes the old user presence and returns the new user presence.
+     */
+    void updateUserPresence(long userId, UnaryOperator<UserPresence> mapper) {
+        presencesByUserId.compute(userId, (id, presence) -> mapper.apply(presence == null
+                ? new UserPresence(userId, null, null, io.vavr.collection.HashMap.empty())
+                : presence));
+    }
+
+    /**
+     * Removes all user presences from the cache.
+     */
+    void clear() {
+        presencesByUserId.clear();
+    }
+
+    @Override
+    public Optional<UserPresence> getPresenceByUserId(long userId) {
+        return Optional.ofNullable(presencesByUserId.get(userId));
+    }
+
+}
@@ -0,0 +1,108 @@
+package org.javacord.core.util.cache;
+
+import org.javacord.api.entity.channel.Channel;
+import org.javacord.core.entity.user.Member;
+import org.javacord.core.entity.user.UserPresence;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+
+/**
+ * A cache with all Javacord entities.
+ *
+ * <p>Implementations must be thread-safe. The query surface is provided by the channel, member and user presence
+ * caches, the modifications are provided by this interface.
+ *
+ * @see ImmutableEntityCache
+ * @see ConcurrentEntityCache
+ */
+public interface EntityCache {
+
+    /**
+     * Gets the channel cache.
+     *
+     * @return The channel cache.
+     */
+    ChannelCache getChannelCache();
+
+    /**
+     * Gets the member cache.
+     *
+     * @return The member cache.
+     */
+    MemberCache getMemberCache();
+
+    /**
+     * Gets the user presence cache.
+     *
+     * @return The user presence cache.
+     */
+    UserPresenceCache getUserPresenceCache();
+
+    /**
+     * Adds a channel to the cache or replaces the channel with the same id.
+     *
+     * @param channel The channel to add.
+     * @return The channel with the same id which was replaced.
+     */
+    Optional<Channel> addChannel(Channel channel);
+
+    /**
+     * Removes a channel from the cache.
+     *
+     * @param channel The channel to remove.
+     */
+    void removeChannel(Channel channel);
+
+    /**
+     * Adds a member to the cache or replaces the member with the same id in the same server.
+     *
+     * <p>Automatically updates the underlying user cache, too.
+     *
+     * @param member The member to add.
+     */
+    void addMember(Member member);
+
+    /**
+     * Adds all given members to the cache or replaces the members with the same id in the same server.
+     *
+     * <p>Automatically updates the underlying user cache, too. The members are added at once, which is a lot cheaper
+     * than adding them one by one, e.g. for a {@code GUILD_MEMBERS_CHUNK}.
+     *
+     * @param members The members to add.
+     */
+    void addMembers(Collection<Member> members);
+
+    /**
+     * Replaces all members with the given id by the result of the given mapper.
+     *
+     * @param id The id of the members.
+     * @param mapper A function that takes the old member and returns the new one with the same id and server.
+     */
+    void updateMembersById(long id, UnaryOperator<Member> mapper);
+
+    /**
+     * Removes a member from the cache.
+     *
+     * <p>Automatically updates the underlying user cache, too.
+     *
+     * @param id The id of the member.
+     * @param serverId The id of the member's server.
+     */
+    void removeMember(long id, long serverId);
+
+    /**
+     * Updates a user presence in the cache.
+     *
+     * @param userId The id of the user.
+     * @param mapper A function that takes the old user presence and returns the new user presence.
+     */
+    void updateUserPresence(long userId, UnaryOperator<UserPresence> mapper);
+
+    /**
+     * Removes all entities from the cache.
+     */
+    void clear();
+
+}
@@ -0,0 +1,262 @@
+package org.javacord.core.util.cache;
+
+import org.javacord.api.entity.message.Message;
+import org.javacord.api.util.cache.MessageCacheStatistics;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongPredicate;
+
+/**
+ * Limits the estimated memory usage of the cached messages of all channels.
+ *
+ * <p>The cache keeps the ids and estimated sizes of the messages in least recently used order. Adding or accessing a
+ * message moves it to the end; if the estimated memory usage exceeds the budget, the messages at the start are
+ * evicted. The ids of evicted messages are passed to an eviction handler, which removes them from the cache of their
+ * channel. The cache does not reference the messages themselves, so they can still be reclaimed by the garbage
+ * collector through the soft references of the channel caches.
+ *
+ * <p>The statistics can be read by any thread. All other methods must be called while holding the message cache lock
+ * of the api.
+ */
+public class GlobalMessageCache implements MessageCacheStatistics {
+
+    /**
+     * The estimated size of a message without its content, e.g. the object headers and the ids it references.
+     */
+    private static final int MESSAGE_BASE_SIZE = 512;
+
+    /**
+     * The estimated size of an embed, excluding its texts.
+     */
+    private static final int EMBED_BASE_SIZE = 1024;
+
+    /**
+     * The estimated size of an attachment.
+     */
+    private static final int ATTACHMENT_SIZE = 256;
+
+    /**
+     * The estimated size of a reaction.
+     */
+    private static final int REACTION_SIZE = 64;
+
+    /**
+     * The estimated sizes of the messages by their id, in least recently used order.
+     */
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Removes evicted messages from the cache of their channel.
+     * Returns {@code false} if the message was already reclaimed or is cached forever.
+     */
+    private final LongPredicate evictionHandler;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private volatile long evictions = 0;
+
+    /**
+     * The memory budget in bytes, or {@code 0} if the memory usage is not limited.
+     */
+    private volatile long budget = 0;
+
+    /**
+     * The estimated memory usage of all messages in bytes.
+     */
+    private volatile long estimatedMemoryUsage = 0;
+
+    /**
+     * Creates a new global message cache.
+     *
+     * @param evictionHandler Removes the evicted message with the given id from the cache of its channel. Returns
+     *                        {@code false} if the message was already reclaimed or is cached forever.
+     */
+    public GlobalMessageCache(LongPredicate evictionHandler) {
+        this.evictionHandler = evictionHandler;
+    }
+
+    /**
+     * Gets the memory budget.
+     *
+     * @return The memory budget in bytes, or {@code 0} if the memory usage is not limited.
+     */
+    public long getBudget() {
+        return budget;
+    }
+
+    /**
+     * Sets the memory budget and evicts messages if the new budget is exceeded.
+     *
+     * @param budget The memory budget in bytes, or {@code 0} to not limit the memory usage.
+     */
+    public void setBudget(long budget) {
+        if (budget < 0) {
+            throw new IllegalArgumentException("budget cannot be less than 0!");
+        }
+        this.budget = budget;
+        if (budget == 0) {
+            clear();
+        } else {
+            evict();
+        }
+    }
+
+    /**
+     * Adds a message, or marks it as used if it is already in the cache.
+     *
+     * <p>Messages which are cached forever are not counted against the budget.
+     *
+     * @param message The message to add.
+     */
+    public void add(Message message) {
+        if (budget == 0) {
+            return;
+        }
+        if (message.isCachedForever()) {
+            remove(message.getId());
+            return;
+        }
+        if (entries.get(message.getId()) != null) {
+            return;
+        }
+        Entry entry = new Entry(estimateSize(message));
+        entries.put(message.getId(), entry);
+        estimatedMemoryUsage += entry.size;
+        evict();
+    }
+
+    /**
+     * Estimates the size of a message again, e.g. after its content or reactions changed.
+     *
+     * <p>Messages which are not in the cache are ignored. The caller has to make sure that the message is the cached
+     * message object and not an uncached copy.
+     *
+     * @param message The changed message.
+     */
+    public void update(Message message) {
+        Entry entry = entries.get(message.getId());
+        if (entry == null) {
+            return;
+        }
+        int size = estimateSize(message);
+        estimatedMemoryUsage += size - entry.size;
+        entry.size = size;
+        evict();
+    }
+
+    /**
+     * Marks a message as used.
+     *
+     * @param messageId The id of the message.
+     */
+    public void touch(long messageId) {
+        if (budget != 0) {
+            entries.get(messageId);
+        }
+    }
+
+    /**
+     * Removes a message without evicting it.
+     *
+     * @param messageId The id of the message.
+     */
+    public void remove(long messageId) {
+        Entry entry = entries.remove(messageId);
+        if (entry != null) {
+            estimatedMemoryUsage -= entry.size;
+        }
+    }
+
+    /**
+     * Removes all messages without evicting them.
+     */
+    public void clear() {
+        entries.clear();
+        estimatedMemoryUsage = 0;
+    }
+
+    /**
+     * Records the result of a lookup.
+     *
+     * @param hit Whether the message was found in the cache.
+     */
+    public void recordLookup(boolean hit) {
+        if (hit) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+    }
+
+    /**
+     * Evicts the least recently used messages until the estimated memory usage is within the budget.
+     */
+    private void evict() {
+        Iterator<Map.Entry<Long, Entry>> iterator = entries.entrySet().iterator();
+        while (estimatedMemoryUsage > budget && iterator.hasNext()) {
+            Map.Entry<Long, Entry> entry = iterator.next();
+            iterator.remove();
+            estimatedMemoryUsage -= entry.getValue().size;
+            if (evictionHandler.test(entry.getKey())) {
+                evictions++;
+                // The handler may remove other entries, so we have to start over
+                iterator = entries.entrySet().iterator();
+            }
+        }
+    }
+
+    /**
+     * Estimates the memory usage of a message.
+     *
+     * @param message The message.
+     * @return The estimated memory usage in bytes.
+     */
+    static int estimateSize(Message message) {
+        int size = MESSAGE_BASE_SIZE + 2 * message.getContent().length();
+        size += message.getEmbeds().stream()
+                .mapToInt(embed -> EMBED_BASE_SIZE
+                        + 2 * embed.getTitle().map(String::length).orElse(0)
+                        + 2 * embed.getDescription().map(String::length).orElse(0))
+                .sum();
+        size += ATTACHMENT_SIZE * message.getAttachments().size();
+        size += REACTION_SIZE * message.getReactions().size();
+        return size;
+    }
+
+    @Override
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return evictions;
+    }
+
+    @Override
+    public long getEstimatedMemoryUsage() {
+        return estimatedMemoryUsage;
+    }
+
+    /**
+     * The estimated size of a message.
+     */
+    private static final class Entry {
+
+        private int size;
+
+        private Entry(int size) {
+            this.size = size;
+        }
+
+    }
+
+}
@@ -0,0 +1,100 @@
+package org.javacord.core.util.cache;
+
+import org.javacord.api.entity.channel.Channel;
+import org.javacord.core.entity.user.Member;
+import org.javacord.core.entity.user.UserPresence;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * An entity cache which keeps an immutable {@link JavacordEntityCache} and replaces it on every modification.
+ *
+ * <p>Reads are always performed on a consistent snapshot, but every modification copies the touched indexes and
+ * retries when another modification happened concurrently.
+ */
+public class ImmutableEntityCache implements EntityCache {
+
+    /**
+     * The current snapshot of the cache.
+     */
+    private final AtomicReference<JavacordEntityCache> cache = new AtomicReference<>(JavacordEntityCache.empty());
+
+    @Override
+    public ImmutableChannelCache getChannelCache() {
+        return cache.get().getChannelCache();
+    }
+
+    @Override
+    public ImmutableMemberCache getMemberCache() {
+        return cache.get().getMemberCache();
+    }
+
+    @Override
+    public ImmutableUserPresenceCache getUserPresenceCache() {
+        return cache.get().getUserPresenceCache();
+    }
+
+    @Override
+    public Optional<Channel> addChannel(Channel channel) {
+        return cache.getAndUpdate(snapshot -> snapshot.updateChannelCache(channelCache -> channelCache
+                        .getChannelById(channel.getId())
+                        .map(channelCache::removeChannel)
+                        .orElse(channelCache)
+                        .addChannel(channel)))
+                .getChannelCache()
+                .getChannelById(channel.getId());
+    }
+
+    @Override
+    public void removeChannel(Channel channel) {
+        cache.getAndUpdate(snapshot -> snapshot
+                .updateChannelCache(channelCache -> channelCache.removeChannel(channel)));
+    }
+
+    @Override
+    public void addMember(Member member) {
+        addMembers(Collections.singletonList(member));
+    }
+
+    @Override
+    public void addMembers(Collection<Member> members) {
+        cache.getAndUpdate(snapshot -> snapshot.updateMemberCache(memberCache -> memberCache.addMembers(members)));
+    }
+
+    @Override
+    public void updateMembersById(long id, UnaryOperator<Member> mapper) {
+        cache.getAndUpdate(snapshot -> snapshot.updateMemberCache(memberCache -> {
+            ImmutableMemberCache newMemberCache = memberCache;
+            for (Member member : memberCache.getMembersById(id)) {
+                newMemberCache = newMemberCache.removeMember(member).addMember(mapper.apply(member));
+            }
+            return newMemberCache;
+        }));
+    }
+
+    @Override
+    public void removeMember(long id, long serverId) {
+        cache.getAndUpdate(snapshot -> snapshot.updateMemberCache(memberCache -> memberCache
+                .removeMember(memberCache.getMemberByIdAndServer(id, serverId).orElse(null))));
+    }
+
+    @Override
+    public void updateUserPresence(long userId, UnaryOperator<UserPresence> mapper) {
+        cache.getAndUpdate(snapshot -> {
+            UserPresence presence = snapshot.getUserPresenceCache().getPresenceByUserId(userId)
+                    .orElseGet(() -> new UserPresence(userId, null, null, io.vavr.collection.HashMap.empty()));
+            return snapshot.updateUserPresenceCache(userPresenceCache ->
+                    userPresenceCache.removeUserPresence(presence).addUserPresence(mapper.apply(presence)));
+        });
+    }
+
+    @Override
+    public void clear() {
+        cache.set(JavacordEntityCache.empty());
+    }
+
+}
@@ -0,0 +1,246 @@
+package org.javacord.core.util.cache;
+
+import io.vavr.Tuple;
+import io.vavr.Tuple2;
+import org.javacord.api.entity.server.Server;
+import org.javacord.api.entity.user.User;
+import org.javacord.core.entity.user.Member;
+import org.javacord.core.util.ImmutableToJavaMapper;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * An immutable cache for all member entities.
+ */
+public class ImmutableMemberCache implements MemberCache {
+
+    private static final String ID_INDEX_NAME = "id";
+    private static final String SERVER_ID_INDEX_NAME = "server-id";
+    private static final String ID_AND_SERVER_ID_INDEX_NAME = "server-id | type";
+    private static final String SERVER_ID_AND_NICKNAME_INDEX_NAME = "server-id | nickname";
+
+    private static final String MEMBER_SERVER_MEMBER_ID_INDEX_NAME = "ms > member-id";
+    private static final String MEMBER_SERVER_MEMBER_ID_SERVER_ID_INDEX_NAME = "ms > member-id | server-id";
+
+    private static final ImmutableMemberCache EMPTY_CACHE = new ImmutableMemberCache(
+            Cache.<Member>empty()
+                    .addIndex(ID_INDEX_NAME, Member::getId)
+                    .addIndex(SERVER_ID_INDEX_NAME, member -> member.getServer().getId())
+                    .addIndex(ID_AND_SERVER_ID_INDEX_NAME,
+                            member -> Tuple.of(member.getId(), member.getServer().getId()))
+                    .addIndex(SERVER_ID_AND_NICKNAME_INDEX_NAME, member -> member.getNickname()
+                            .map(nickname -> Tuple.of(member.getServer().getId(), nickname))
+                            .orElse(null)),
+            new SortedIndex<>(member -> new NameKey(
+                    member.getServer().getId(), NameKey.foldCase(member.getDisplayName()), member.getId())),
+            ImmutableUserCache.empty(),
+            Cache.<Tuple2<Member, Server>>empty()
+                    .addIndex(MEMBER_SERVER_MEMBER_ID_INDEX_NAME, tuple -> tuple._1().getId())
+                    .addIndex(MEMBER_SERVER_MEMBER_ID_SERVER_ID_INDEX_NAME,
+                            tuple -> Tuple.of(tuple._1.getId(), tuple._2.getId()))
+    );
+
+    private final Cache<Tuple2<Member, Server>> memberServerCache;
+    private final Cache<Member> cache;
+    private final ImmutableUserCache userCache;
+
+    /**
+     * The members by the id of their server and their display name ignoring case.
+     */
+    private final SortedIndex<Member> displayNameIndex;
+
+    private ImmutableMemberCache(Cache<Member> cache, SortedIndex<Member> displayNameIndex,
+                                 ImmutableUserCache userCache, Cache<Tuple2<Member, Server>> memberServerCache) {
+        this.cache = cache;
+        this.displayNameIndex = displayNameIndex;
+        this.userCache = userCache;
+        this.memberServerCache = memberServerCache;
+    }
+
+    /**
+     * Gets an empty channel cache.
+     *
+     * @return An empty channel cache.
+     */
+    public static ImmutableMemberCache empty() {
+        return EMPTY_CACHE;
+    }
+
+    /**
+     * Adds a member to the cache.
+     *
+     * <p>Automatically updates the underlying user cache, too.
+     *
+     * @param member The member to add.
+     * @return The new member cache.
+     */
+    public ImmutableMemberCache addMember(Member member) {
+        return new ImmutableMemberCache(
+                cache.addElement(member),
+                displayNameIndex.addElement(member),
+                userCache.getUserById(member.getId())
+                        .map(userCache::removeUser)
+                        .orElse(userCache)
+                        .addUser(member.getUser()),
+                memberServerCache.addElement(Tuple.of(member, member.getServer()))
+        );
+    }
+
+    /**
+     * Adds all given members to the cache or replaces the members with the same id in the same server.
+     *
+     * <p>Automatically updates the underlying user cache, too. In contrast to calling {@link #addMember(Member)} for
+     * every member, no intermediate member caches are created.
+     *
+     * @param members The members to add.
+     * @return The new member cache.
+     */
+    public ImmutableMemberCache addMembers(Iterable<Member> members) {
+        Cache<Member> newCache = cache;
+        SortedIndex<Member> newDisplayNameIndex = displayNameIndex;
+        ImmutableUserCache newUserCache = userCache;
+        Cache<Tuple2<Member, Server>> newMemberServerCache = memberServerCache;
+        for (Member member : members) {
+            Tuple2<Long, Long> key = Tuple.of(member.getId(), member.getServer().getId());
+            Optional<Member> oldMember = newCache.findAnyByIndex(ID_AND_SERVER_ID_INDEX_NAME, key);
+            if (oldMember.isPresent()) {
+                newCache = newCache.removeElement(oldMember.get());
+                newDisplayNameIndex = newDisplayNameIndex.removeElement(oldMember.get());
+                Optional<Tuple2<Member, Server>> oldMemberServerTuple =
+                        newMemberServerCache.findAnyByIndex(MEMBER_SERVER_MEMBER_ID_SERVER_ID_INDEX_NAME, key);
+                if (oldMemberServerTuple.isPresent()) {
+                    newMemberServerCache = newMemberServerCache.removeElement(oldMemberServerTuple.get());
+                }
+            }
+            newCache = newCache.addElement(member);
+            newDisplayNameIndex = newDisplayNameIndex.addElement(member);
+            Optional<User> oldUser = newUserCache.getUserById(member.getId());
+            if (oldUser.isPresent()) {
+                newUserCache = newUserCache.removeUser(oldUser.get());
+            }
+            newUserCache = newUserCache.addUser(member.getUser());
+            newMemberServerCache = newMemberServerCache.addElement(Tuple.of(member, member.getServer()));
+        }
+        return new ImmutableMemberCache(newCache, newDisplayNameIndex, newUserCache, newMemberServerCache);
+    }
+
+    /**
+     * Removes a member from the cache.
+     *
+     * <p>Automatically updates the underlying user cache, too.
+     *
+     * @param member The member to remove.
+     * @return The new member cache.
+     */
+    public ImmutableMemberCache removeMember(Member member) {
+        if (member == null) {
+            return this;
+        }
+        Tuple2<Member, Server> memberServerTuple = memberServerCache
+                .findAnyByIndex(
+                        MEMBER_SERVER_MEMBER_ID_SERVER_ID_INDEX_NAME,
+                        Tuple.of(member.getId(), member.getServer().getId())
+                )
+                .orElse(null);
+
+        return new ImmutableMemberCache(
+                cache.removeElement(member),
+                displayNameIndex.removeElement(member),
+                userCache.getUserById(member.getId())
+                        .filter(user -> getMembersById(user.getId()).size() <= 1)
+                        .map(userCache::removeUser)
+                        .orElse(userCache),
+                memberServerTuple == null ? memberServerCache : memberServerCache.removeElement(memberServerTuple)
+        );
+    }
+
+    /**
+     * Gets all servers that the user with the given id is a member of.
+     *
+     * @param userId The id of the user.
+     * @return All servers that the user with the given id is a member of.
+     */
+    @Override
+    public Set<Server> getServers(long userId) {
+        return ImmutableToJavaMapper.mapToJava(
+                memberServerCache.findByIndex(MEMBER_SERVER_MEMBER_ID_INDEX_NAME, userId)
+                        .map(tuple -> tuple._2)
+        );
+    }
+
+    /**
+     * Gets the underlying user cache.
+     *
+     * @return The underlying user cache.
+     */
+    @Override
+    public ImmutableUserCache getUserCache() {
+        return userCache;
+    }
+
+    /**
+     * Gets all channels in the cache.
+     *
+     * @return All channels.
+     */
+    @Override
+    public Set<Member> getMembers() {
+        return ImmutableToJavaMapper.mapToJava(cache.getAll());
+    }
+
+    /**
+     * Get all members with the given id.
+     *
+     * @param id The id of the member.
+     * @return All member with the given id.
+     */
+    @Override
+    public Set<Member> getMembersById(long id) {
+        return ImmutableToJavaMapper.mapToJava(cache.findByIndex(ID_INDEX_NAME, id));
+    }
+
+    /**
+     * Get all members in the server with the given id.
+     *
+     * @param serverId The server id.
+     * @return All member of the server with the given id.
+     */
+    @Override
+    public Set<Member> getMembersByServer(long serverId) {
+        return ImmutableToJavaMapper.mapToJava(cache.findByIndex(SERVER_ID_INDEX_NAME, serverId));
+    }
+
+    /**
+     * Gets the member with the given id in the server with the given id.
+     *
+     * @param id The id of the member.
+     * @param serverId The server id.
+     * @return The member.
+     */
+    @Override
+    public Optional<Member> getMemberByIdAndServer(long id, long serverId) {
+        return cache.findAnyByIndex(ID_AND_SERVER_ID_INDEX_NAME, Tuple.of(id, serverId));
+    }
+
+    @Override
+    public Set<Member> getMembersByNickname(String nickname, long serverId) {
+        return ImmutableToJavaMapper.mapToJava(
+                cache.findByIndex(SERVER_ID_AND_NICKNAME_INDEX_NAME, Tuple.of(serverId, nickname)));
+    }
+
+    @Override
+    public Set<Member> getMembersByDisplayNameIgnoreCase(String displayName, long serverId) {
+        return Collections.unmodifiableSet(
+                new HashSet<>(displayNameIndex.find(serverId, NameKey.foldCase(displayName))));
+    }
+
+    @Override
+    public List<Member> getMembersByDisplayNamePrefix(String prefix, long serverId, int limit) {
+        return Collections.unmodifiableList(
+                displayNameIndex.findByPrefix(serverId, NameKey.foldCase(prefix), limit));
+    }
+}
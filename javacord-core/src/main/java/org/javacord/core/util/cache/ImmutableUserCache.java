@@ -0,0 +1,103 @@
+package org.javacord.core.util.cache;
+
+import org.javacord.api.entity.user.User;
+import org.javacord.core.util.ImmutableToJavaMapper;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * An immutable cache for all user entities.
+ */
+public class ImmutableUserCache implements UserCache {
+
+    private static final String ID_INDEX_NAME = "id";
+    private static final String NAME_INDEX_NAME = "name";
+
+    private static final ImmutableUserCache EMPTY_CACHE = new ImmutableUserCache(Cache.<User>empty()
+            .addIndex(ID_INDEX_NAME, User::getId)
+            .addIndex(NAME_INDEX_NAME, User::getName),
+            new SortedIndex<>(user -> new NameKey(0, NameKey.foldCase(user.getName()), user.getId()))
+    );
+
+    private final Cache<User> cache;
+
+    /**
+     * The users by their name ignoring case.
+     */
+    private final SortedIndex<User> foldedNameIndex;
+
+    private ImmutableUserCache(Cache<User> cache, SortedIndex<User> foldedNameIndex) {
+        this.cache = cache;
+        this.foldedNameIndex = foldedNameIndex;
+    }
+
+    /**
+     * Gets an empty channel cache.
+     *
+     * @return An empty channel cache.
+     */
+    public static ImmutableUserCache empty() {
+        return EMPTY_CACHE;
+    }
+
+    /**
+     * Adds a user to the cache.
+     *
+     * @param user The user to add.
+     * @return The new user cache.
+     */
+    public ImmutableUserCache addUser(User user) {
+        return new ImmutableUserCache(cache.addElement(user), foldedNameIndex.addElement(user));
+    }
+
+    /**
+     * Removes a user from the cache.
+     *
+     * @param user The user to remove.
+     * @return The new user cache.
+     */
+    public ImmutableUserCache removeUser(User user) {
+        return new ImmutableUserCache(cache.removeElement(user), foldedNameIndex.removeElement(user));
+    }
+
+    /**
+     * Gets all channels in the cache.
+     *
+     * @return All channels.
+     */
+    @Override
+    public Set<User> getUsers() {
+        return ImmutableToJavaMapper.mapToJava(cache.getAll());
+    }
+
+    /**
+     * Get the user with the given id.
+     *
+     * @param id The id of the user.
+     * @return The user with the given id.
+     */
+    @Override
+    public Optional<User> getUserById(long id) {
+        return cache.findAnyByIndex(ID_INDEX_NAME, id);
+    }
+
+    @Override
+    public Set<User> getUsersByName(String name) {
+        return ImmutableToJavaMapper.mapToJava(cache.findByIndex(NAME_INDEX_NAME, name));
+    }
+
+    @Override
+    public Set<User> getUsersByNameIgnoreCase(String name) {
+        return Collections.unmodifiableSet(new HashSet<>(foldedNameIndex.find(0, NameKey.foldCase(name))));
+    }
+
+    @Override
+    public List<User> getUsersByNamePrefix(String prefix, int limit) {
+        return Collections.unmodifiableList(foldedNameIndex.findByPrefix(0, NameKey.foldCase(prefix), limit));
+    }
+
+}
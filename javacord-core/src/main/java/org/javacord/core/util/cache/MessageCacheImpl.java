@@ -9,19 +9,14 @@ import org.javacord.core.util.logging.LoggerUtil;
 
 import java.lang.ref.Reference;
 import java.lang.ref.ReferenceQueue;
-import java.lang.ref.SoftReference;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
-import java.util.Objects;
-import java.util.Optional;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.stream.Collectors;
 
 /**
  * The implementation of {@link MessageCache}.
@@ -34,14 +29,14 @@ public class MessageCacheImpl implements MessageCache, Cleanupable {
     private static final Logger logger = LoggerUtil.getLogger(MessageCacheImpl.class);
 
     /**
-     * All messages.
+     * The queue that is notified if a message became softly-reachable.
      */
-    private final List<Reference<? extends Message>> messages = new ArrayList<>();
+    private final ReferenceQueue<Message> messagesCleanupQueue = new ReferenceQueue<>();
 
     /**
-     * The queue that is notified if a message became softly-reachable.
+     * All messages, ordered by their id.
      */
-    private final ReferenceQueue<Message> messagesCleanupQueue = new ReferenceQueue<>();
+    private final OrderedMessageReferences messages;
 
     /**
      * The messages cleanup future to be cancelled in {@link #cleanup()}.
@@ -84,6 +79,7 @@ public class MessageCacheImpl implements MessageCache, Cleanupable {
     public MessageCacheImpl(DiscordApiImpl api, int capacity, int storageTimeInSeconds,
                             boolean automaticCleanupEnabled) {
         this.api = api;
+        messages = new OrderedMessageReferences(messagesCleanupQueue, api.getGlobalMessageCache()::remove);
         this.capacity = capacity;
         this.storageTimeInSeconds = storageTimeInSeconds;
 
@@ -97,8 +93,9 @@ public class MessageCacheImpl implements MessageCache, Cleanupable {
                 for (Reference<? extends Message> messageRef = messagesCleanupQueue.poll();
                         messageRef != null;
                         messageRef = messagesCleanupQueue.poll()) {
-                    messages.remove(messageRef);
-                    removedMessages++;
+                    if (messages.removeReference(messageRef)) {
+                        removedMessages++;
+                    }
                 }
                 if (removedMessages > 0) {
                     logger.warn("Heap memory was too low to hold all configured messages in the cache. "
@@ -123,17 +120,8 @@ public class MessageCacheImpl implements MessageCache, Cleanupable {
         api.getMessageCacheLock().lock();
         try {
             api.addMessageToCache(message);
-            if (messages.stream().map(Reference::get).anyMatch(message::equals)) {
-                return;
-            }
-            // Add the message in the correct order
-            messages.removeIf(messageRef -> messageRef.get() == null);
-            Reference<Message> messageRef = new SoftReference<>(message, messagesCleanupQueue);
-            int pos = Collections.binarySearch(messages, messageRef, Comparator.comparing(Reference::get));
-            if (pos < 0) {
-                pos = -pos - 1;
-            }
-            messages.add(pos, messageRef);
+            messages.add(message);
+            api.getGlobalMessageCache().add(message);
         } finally {
             api.getMessageCacheLock().unlock();
         }
@@ -165,7 +153,7 @@ public class MessageCacheImpl implements MessageCache, Cleanupable {
     public void removeMessage(Message message) {
         api.getMessageCacheLock().lock();
         try {
-            messages.removeIf(messageRef -> Objects.equals(messageRef.get(), message));
+            messages.remove(message.getId());
         } finally {
             api.getMessageCacheLock().unlock();
         }
@@ -178,20 +166,8 @@ public class MessageCacheImpl implements MessageCache, Cleanupable {
         Instant minAge = Instant.now().minus(storageTimeInSeconds, ChronoUnit.SECONDS);
         api.getMessageCacheLock().lock();
         try {
-            messages.removeIf(messageRef -> Optional.ofNullable(messageRef.get())
-                    .map(message -> !message.isCachedForever() && message.getCreationTimestamp().isBefore(minAge))
-                    .orElse(true));
-            long foreverCachedAmount = messages.stream()
-                    .map(Reference::get)
-                    .filter(Objects::nonNull)
-                    .filter(Message::isCachedForever)
-                    .count();
-            messages.removeAll(messages.stream()
-                    .filter(messageRef -> Optional.ofNullable(messageRef.get())
-                            .map(message -> !message.isCachedForever())
-                            .orElse(true))
-                    .limit(Math.max(0, messages.size() - capacity - foreverCachedAmount))
-                    .collect(Collectors.toList()));
+            messages.removeCreatedBefore(minAge);
+            messages.trimToCapacity(capacity);
         } finally {
             api.getMessageCacheLock().unlock();
         }
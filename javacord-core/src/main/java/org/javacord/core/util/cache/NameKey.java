@@ -0,0 +1,166 @@
+package org.javacord.core.util.cache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+
+/**
+ * The key of an element in a sorted name index.
+ *
+ * <p>Keys are sorted by their scope (e.g. the id of a server), their name and the id of the element. All elements with
+ * the same name or with the same name prefix in a scope are therefore adjacent in the index.
+ */
+final class NameKey implements Comparable<NameKey> {
+
+    /**
+     * The scope of the key, e.g. the id of a server, or {@code 0} for global keys.
+     */
+    private final long scope;
+
+    /**
+     * The name.
+     */
+    private final String name;
+
+    /**
+     * The id of the element.
+     */
+    private final long id;
+
+    /**
+     * Creates a new name key.
+     *
+     * @param scope The scope of the key.
+     * @param name The name.
+     * @param id The id of the element.
+     */
+    NameKey(long scope, String name, long id) {
+        this.scope = scope;
+        this.name = name;
+        this.id = id;
+    }
+
+    /**
+     * Creates a key which is lower than or equal to all keys with the given scope and a name which starts with the
+     * given prefix.
+     *
+     * @param scope The scope.
+     * @param prefix The name prefix.
+     * @return The lowest key.
+     */
+    static NameKey lowest(long scope, String prefix) {
+        return new NameKey(scope, prefix, Long.MIN_VALUE);
+    }
+
+    /**
+     * Folds the case of the given name.
+     *
+     * <p>Two names are equal ignoring case (see {@link String#equalsIgnoreCase(String)}) if and only if their folded
+     * names are equal, and a name starts with a prefix ignoring case if and only if the folded name starts with the
+     * folded prefix.
+     *
+     * @param name The name, may be {@code null}.
+     * @return The folded name, or {@code null} if the name is {@code null}.
+     */
+    static String foldCase(String name) {
+        if (name == null) {
+            return null;
+        }
+        char[] chars = name.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Collects the values of the given index whose key has the given scope and name.
+     *
+     * @param index The index.
+     * @param scope The scope.
+     * @param name The name, or {@code null} to match no value.
+     * @param prefix Whether the name is only a prefix of the names of the collected values.
+     * @param limit The maximum amount of collected values.
+     * @param <E> The type of the values.
+     * @return The collected values, sorted by their key.
+     */
+    static <E> List<E> collect(NavigableMap<NameKey, E> index, long scope, String name, boolean prefix, int limit) {
+        if (name == null) {
+            return Collections.emptyList();
+        }
+        return collect(index.tailMap(lowest(scope, name), true).entrySet().iterator(), scope, name, prefix, limit);
+    }
+
+    /**
+     * Collects the values of the given entries as long as their key has the given scope and name.
+     *
+     * @param entries The entries, starting at {@link #lowest(long, String)} for the given scope and name.
+     * @param scope The scope.
+     * @param name The name.
+     * @param prefix Whether the name is only a prefix of the names of the collected values.
+     * @param limit The maximum amount of collected values.
+     * @param <E> The type of the values.
+     * @return The collected values, sorted by their key.
+     */
+    static <E> List<E> collect(Iterator<? extends Map.Entry<NameKey, E>> entries, long scope, String name,
+                               boolean prefix, int limit) {
+        List<E> values = new ArrayList<>();
+        while (values.size() < limit && entries.hasNext()) {
+            Map.Entry<NameKey, E> entry = entries.next();
+            NameKey key = entry.getKey();
+            if (key.scope != scope || !(prefix ? key.name.startsWith(name) : key.name.equals(name))) {
+                break;
+            }
+            values.add(entry.getValue());
+        }
+        return values.isEmpty() ? Collections.emptyList() : values;
+    }
+
+    @Override
+    public int compareTo(NameKey other) {
+        int result = Long.compare(scope, other.scope);
+        if (result == 0) {
+            result = name.compareTo(other.name);
+        }
+        return result == 0 ? Long.compare(id, other.id) : result;
+    }
+
+    /**
+     * Gets a hash of the scope and the id of this key which is used to balance the {@link SortedIndex}.
+     *
+     * @return The hash.
+     */
+    long mixedHash() {
+        long hash = scope * 0x9E3779B97F4A7C15L + id;
+        hash = (hash ^ (hash >>> 30)) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+        return hash ^ (hash >>> 31);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof NameKey)) {
+            return false;
+        }
+        NameKey other = (NameKey) o;
+        return scope == other.scope && id == other.id && name.equals(other.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(scope, name, id);
+    }
+
+    @Override
+    public String toString() {
+        return scope + "/" + name + "/" + id;
+    }
+
+}
@@ -0,0 +1,248 @@
+package org.javacord.core.util.cache;
+
+import org.javacord.api.entity.message.Message;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongConsumer;
+
+/**
+ * Soft references to the messages of a channel, ordered by their id.
+ *
+ * <p>The references are linked in the order of the message ids, and additionally indexed by the id. Messages are
+ * usually added in ascending order (new messages) or descending order (message history), so both cases are inserted
+ * at one end of the list in constant time. Removing a message by its id or by its cleared reference is done in
+ * constant time, too.
+ *
+ * <p>This class is not thread-safe. The message cache guards it with the message cache lock of the api.
+ */
+class OrderedMessageReferences {
+
+    /**
+     * The references by the id of their message.
+     */
+    private final Map<Long, MessageReference> referencesById = new HashMap<>();
+
+    /**
+     * The queue that is notified if a message became softly-reachable.
+     */
+    private final ReferenceQueue<Message> queue;
+
+    /**
+     * Is notified with the id of every removed message.
+     */
+    private final LongConsumer removalListener;
+
+    /**
+     * The reference of the oldest message.
+     */
+    private MessageReference oldest;
+
+    /**
+     * The reference of the newest message.
+     */
+    private MessageReference newest;
+
+    /**
+     * Creates a new ordered list of message references.
+     *
+     * @param queue The queue that is notified if a message became softly-reachable.
+     * @param removalListener Is notified with the id of every removed message.
+     */
+    OrderedMessageReferences(ReferenceQueue<Message> queue, LongConsumer removalListener) {
+        this.queue = queue;
+        this.removalListener = removalListener;
+    }
+
+    /**
+     * Gets the amount of references, including already cleared ones.
+     *
+     * @return The amount of references.
+     */
+    int size() {
+        return referencesById.size();
+    }
+
+    /**
+     * Adds a message at the position of its id.
+     *
+     * @param message The message to add.
+     * @return Whether the message was added, {@code false} if a message with the same id is already referenced.
+     */
+    boolean add(Message message) {
+        long id = message.getId();
+        MessageReference existing = referencesById.get(id);
+        if (existing != null) {
+            if (existing.get() != null) {
+                return false;
+            }
+            unlink(existing);
+        }
+        MessageReference reference = new MessageReference(message, queue);
+        referencesById.put(id, reference);
+
+        if (newest == null) {
+            oldest = reference;
+            newest = reference;
+        } else if (id > newest.id) {
+            linkAfter(newest, reference);
+        } else if (id < oldest.id) {
+            reference.next = oldest;
+            oldest.previous = reference;
+            oldest = reference;
+        } else {
+            MessageReference previous = newest;
+            while (previous.id > id) {
+                previous = previous.previous;
+            }
+            linkAfter(previous, reference);
+        }
+        return true;
+    }
+
+    /**
+     * Removes the message with the given id.
+     *
+     * @param messageId The id of the message to remove.
+     * @return Whether a message was removed.
+     */
+    boolean remove(long messageId) {
+        MessageReference reference = referencesById.get(messageId);
+        if (reference == null) {
+            return false;
+        }
+        unlink(reference);
+        return true;
+    }
+
+    /**
+     * Removes a reference which was cleared by the garbage collector.
+     *
+     * @param reference The reference from the reference queue.
+     * @return Whether the reference was still part of the list.
+     */
+    boolean removeReference(Reference<? extends Message> reference) {
+        if (!(reference instanceof MessageReference)) {
+            return false;
+        }
+        MessageReference messageReference = (MessageReference) reference;
+        if (referencesById.get(messageReference.id) != messageReference) {
+            return false;
+        }
+        unlink(messageReference);
+        return true;
+    }
+
+    /**
+     * Removes all messages which have been created before the given instant and are not cached forever.
+     *
+     * <p>As the list is ordered by id, only the outdated messages and the first recent message are visited.
+     *
+     * @param minAge The creation time of the oldest message to keep.
+     */
+    void removeCreatedBefore(Instant minAge) {
+        MessageReference reference = oldest;
+        while (reference != null) {
+            MessageReference next = reference.next;
+            Message message = reference.get();
+            if (message == null) {
+                unlink(reference);
+            } else if (!message.getCreationTimestamp().isBefore(minAge)) {
+                return;
+            } else if (!message.isCachedForever()) {
+                unlink(reference);
+            }
+            reference = next;
+        }
+    }
+
+    /**
+     * Removes the oldest messages which are not cached forever, until at most {@code capacity} such messages are left.
+     *
+     * @param capacity The maximum amount of messages which are not cached forever.
+     */
+    void trimToCapacity(int capacity) {
+        if (referencesById.size() <= capacity) {
+            return;
+        }
+        int keptMessages = 0;
+        for (MessageReference reference = oldest; reference != null; reference = reference.next) {
+            Message message = reference.get();
+            if (message != null && !message.isCachedForever()) {
+                keptMessages++;
+            }
+        }
+        MessageReference reference = oldest;
+        while (reference != null && keptMessages > capacity) {
+            MessageReference next = reference.next;
+            Message message = reference.get();
+            if (message == null) {
+                unlink(reference);
+            } else if (!message.isCachedForever()) {
+                unlink(reference);
+                keptMessages--;
+            }
+            reference = next;
+        }
+    }
+
+    /**
+     * Links a reference after another reference.
+     *
+     * @param previous The reference which becomes the predecessor.
+     * @param reference The reference to link.
+     */
+    private void linkAfter(MessageReference previous, MessageReference reference) {
+        reference.previous = previous;
+        reference.next = previous.next;
+        if (previous.next == null) {
+            newest = reference;
+        } else {
+            previous.next.previous = reference;
+        }
+        previous.next = reference;
+    }
+
+    /**
+     * Unlinks a reference and removes it from the index.
+     *
+     * @param reference The reference to remove.
+     */
+    private void unlink(MessageReference reference) {
+        referencesById.remove(reference.id, reference);
+        if (reference.previous == null) {
+            oldest = reference.next;
+        } else {
+            reference.previous.next = reference.next;
+        }
+        if (reference.next == null) {
+            newest = reference.previous;
+        } else {
+            reference.next.previous = reference.previous;
+        }
+        reference.previous = null;
+        reference.next = null;
+        removalListener.accept(reference.id);
+    }
+
+    /**
+     * A soft reference to a message which is also a node of the list.
+     */
+    private static final class MessageReference extends SoftReference<Message> {
+
+        private final long id;
+        private MessageReference previous;
+        private MessageReference next;
+
+        private MessageReference(Message message, ReferenceQueue<Message> queue) {
+            super(message, queue);
+            id = message.getId();
+        }
+
+    }
+
+}
@@ -0,0 +1,283 @@
+package org.javacord.core.util.cache;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * An immutable index which is sorted by the {@link NameKey name key} of its elements.
+ *
+ * <p>In contrast to {@link Index}, it can find all elements with a name prefix. It is a persistent treap, which is
+ * balanced by the hash of the keys, so adding and removing elements has an expected time complexity of
+ * {@code O(log n)} and the new index shares all but {@code O(log n)} nodes with the old index.
+ *
+ * @param <E> The type of the elements.
+ */
+class SortedIndex<E> {
+
+    /**
+     * A function that maps an element to its key.
+     */
+    private final Function<E, NameKey> keyMapper;
+
+    /**
+     * The root node of the treap, or {@code null} if the index is empty.
+     */
+    private final Node<E> root;
+
+    /**
+     * Creates a new sorted index.
+     *
+     * @param keyMapper A function to map elements to their key.
+     *                  The function is allowed to return {@code null} which means that the element will not be
+     *                  included in the index.
+     */
+    SortedIndex(Function<E, NameKey> keyMapper) {
+        this(keyMapper, null);
+    }
+
+    /**
+     * Creates a new sorted index.
+     *
+     * @param keyMapper A function to map elements to their key.
+     * @param root The root node of the treap.
+     */
+    private SortedIndex(Function<E, NameKey> keyMapper, Node<E> root) {
+        this.keyMapper = keyMapper;
+        this.root = root;
+    }
+
+    /**
+     * Adds an element to the index or replaces the element with the same key.
+     *
+     * <p>This method has an expected time complexity of {@code O(log n)}.
+     *
+     * @param element The element to add.
+     * @return The new index with the added element.
+     */
+    SortedIndex<E> addElement(E element) {
+        NameKey key = keyMapper.apply(element);
+        if (key == null) {
+            return this;
+        }
+        return new SortedIndex<>(keyMapper, insert(root, new Node<>(key, element, key.mixedHash(), null, null)));
+    }
+
+    /**
+     * Removes an element from the index.
+     *
+     * <p>This method has an expected time complexity of {@code O(log n)}.
+     *
+     * @param element The element to remove.
+     * @return The new index with the element removed.
+     */
+    SortedIndex<E> removeElement(E element) {
+        NameKey key = keyMapper.apply(element);
+        if (key == null) {
+            return this;
+        }
+        Node<E> newRoot = delete(root, key);
+        return newRoot == root ? this : new SortedIndex<>(keyMapper, newRoot);
+    }
+
+    /**
+     * Gets all elements with the given scope and name.
+     *
+     * <p>This method has an expected time complexity of {@code O(log n + k)} with {@code k} being the amount of found
+     * elements.
+     *
+     * @param scope The scope of the elements.
+     * @param name The name of the elements, or {@code null} to find no elements.
+     * @return The elements, sorted by their key.
+     */
+    List<E> find(long scope, String name) {
+        return collect(scope, name, false, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Gets the elements with the given scope whose name starts with the given prefix.
+     *
+     * <p>This method has an expected time complexity of {@code O(log n + limit)}.
+     *
+     * @param scope The scope of the elements.
+     * @param prefix The name prefix of the elements, or {@code null} to find no elements.
+     * @param limit The maximum amount of elements.
+     * @return The elements, sorted by their key.
+     */
+    List<E> findByPrefix(long scope, String prefix, int limit) {
+        return collect(scope, prefix, true, limit);
+    }
+
+    private List<E> collect(long scope, String name, boolean prefix, int limit) {
+        if (name == null) {
+            return Collections.emptyList();
+        }
+        return NameKey.collect(iterator(NameKey.lowest(scope, name)), scope, name, prefix, limit);
+    }
+
+    /**
+     * Creates an iterator over all nodes with a key greater than or equal to the given key.
+     *
+     * @param from The lowest key.
+     * @return The iterator.
+     */
+    private Iterator<Node<E>> iterator(NameKey from) {
+        Deque<Node<E>> path = new ArrayDeque<>();
+        Node<E> node = root;
+        while (node != null) {
+            if (node.key.compareTo(from) >= 0) {
+                path.push(node);
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        return new Iterator<Node<E>>() {
+            @Override
+            public boolean hasNext() {
+                return !path.isEmpty();
+            }
+
+            @Override
+            public Node<E> next() {
+                if (path.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                Node<E> next = path.pop();
+                for (Node<E> child = next.right; child != null; child = child.left) {
+                    path.push(child);
+                }
+                return next;
+            }
+        };
+    }
+
+    private static <E> Node<E> insert(Node<E> node, Node<E> newNode) {
+        if (node == null) {
+            return newNode;
+        }
+        int comparison = newNode.key.compareTo(node.key);
+        if (comparison == 0) {
+            return new Node<>(node.key, newNode.value, node.priority, node.left, node.right);
+        }
+        if (newNode.priority > node.priority) {
+            Node<E> lower = split(node, newNode.key, true);
+            Node<E> higher = split(node, newNode.key, false);
+            return new Node<>(newNode.key, newNode.value, newNode.priority, lower, higher);
+        }
+        return comparison < 0
+                ? node.withLeft(insert(node.left, newNode))
+                : node.withRight(insert(node.right, newNode));
+    }
+
+    /**
+     * Gets the part of the given treap with keys lower or higher than the given key.
+     *
+     * @param node The root of the treap.
+     * @param key The key.
+     * @param lower Whether to get the part with lower or with higher keys.
+     * @param <E> The type of the elements.
+     * @return The root of the part.
+     */
+    private static <E> Node<E> split(Node<E> node, NameKey key, boolean lower) {
+        if (node == null) {
+            return null;
+        }
+        int comparison = key.compareTo(node.key);
+        if (comparison == 0) {
+            return lower ? node.left : node.right;
+        }
+        if (comparison < 0) {
+            return lower ? split(node.left, key, true) : node.withLeft(split(node.left, key, false));
+        }
+        return lower ? node.withRight(split(node.right, key, true)) : split(node.right, key, false);
+    }
+
+    private static <E> Node<E> delete(Node<E> node, NameKey key) {
+        if (node == null) {
+            return null;
+        }
+        int comparison = key.compareTo(node.key);
+        if (comparison == 0) {
+            return merge(node.left, node.right);
+        }
+        if (comparison < 0) {
+            Node<E> left = delete(node.left, key);
+            return left == node.left ? node : node.withLeft(left);
+        }
+        Node<E> right = delete(node.right, key);
+        return right == node.right ? node : node.withRight(right);
+    }
+
+    /**
+     * Merges two treaps, where all keys of the first treap are lower than the keys of the second treap.
+     *
+     * @param lower The root of the treap with the lower keys.
+     * @param higher The root of the treap with the higher keys.
+     * @param <E> The type of the elements.
+     * @return The root of the merged treap.
+     */
+    private static <E> Node<E> merge(Node<E> lower, Node<E> higher) {
+        if (lower == null) {
+            return higher;
+        }
+        if (higher == null) {
+            return lower;
+        }
+        return lower.priority >= higher.priority
+                ? lower.withRight(merge(lower.right, higher))
+                : higher.withLeft(merge(lower, higher.left));
+    }
+
+    /**
+     * A node of the treap.
+     *
+     * @param <E> The type of the element.
+     */
+    private static final class Node<E> implements Map.Entry<NameKey, E> {
+
+        private final NameKey key;
+        private final E value;
+        private final long priority;
+        private final Node<E> left;
+        private final Node<E> right;
+
+        private Node(NameKey key, E value, long priority, Node<E> left, Node<E> right) {
+            this.key = key;
+            this.value = value;
+            this.priority = priority;
+            this.left = left;
+            this.right = right;
+        }
+
+        private Node<E> withLeft(Node<E> left) {
+            return new Node<>(key, value, priority, left, right);
+        }
+
+        private Node<E> withRight(Node<E> right) {
+            return new Node<>(key, value, priority, left, right);
+        }
+
+        @Override
+        public NameKey getKey() {
+            return key;
+        }
+
+        @Override
+        public E getValue() {
+            return value;
+        }
+
+        @Override
+        public E setValue(E value) {
+            throw new UnsupportedOperationException();
+        }
+
+    }
+
+}
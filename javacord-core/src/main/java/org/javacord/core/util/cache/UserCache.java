@@ -1,74 +1,54 @@
 package org.javacord.core.util.cache;
 
 import org.javacord.api.entity.user.User;
-import org.javacord.core.util.ImmutableToJavaMapper;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
 /**
- * An immutable cache for all user entities.
+ * A cache for all user entities.
  */
-public class UserCache {
-
-    private static final String ID_INDEX_NAME = "id";
-
-    private static final UserCache EMPTY_CACHE = new UserCache(Cache.<User>empty()
-            .addIndex(ID_INDEX_NAME, User::getId)
-    );
-
-    private final Cache<User> cache;
-
-    private UserCache(Cache<User> cache) {
-        this.cache = cache;
-    }
+public interface UserCache {
 
     /**
-     * Gets an empty channel cache.
+     * Gets all users in the cache.
      *
-     * @return An empty channel cache.
+     * @return All users.
      */
-    public static UserCache empty() {
-        return EMPTY_CACHE;
-    }
+    Set<User> getUsers();
 
     /**
-     * Adds a user to the cache.
+     * Get the user with the given id.
      *
-     * @param user The user to add.
-     * @return The new user cache.
+     * @param id The id of the user.
+     * @return The user with the given id.
      */
-    public UserCache addUser(User user) {
-        return new UserCache(cache.addElement(user));
-    }
+    Optional<User> getUserById(long id);
 
     /**
-     * Removes a user from the cache.
+     * Gets all users with the given name.
      *
-     * @param user The user to remove.
-     * @return The new user cache.
+     * @param name The name of the users.
+     * @return All users with the given name.
      */
-    public UserCache removeUser(User user) {
-        return new UserCache(cache.removeElement(user));
-    }
+    Set<User> getUsersByName(String name);
 
     /**
-     * Gets all channels in the cache.
+     * Gets all users with the given name, ignoring case.
      *
-     * @return All channels.
+     * @param name The name of the users.
+     * @return All users with the given name.
      */
-    public Set<User> getUsers() {
-        return ImmutableToJavaMapper.mapToJava(cache.getAll());
-    }
+    Set<User> getUsersByNameIgnoreCase(String name);
 
     /**
-     * Get the user with the given id.
+     * Gets the users whose name starts with the given prefix, ignoring case.
      *
-     * @param id The id of the user.
-     * @return The user with the given id.
+     * @param prefix The name prefix of the users.
+     * @param limit The maximum amount of users.
+     * @return The users, sorted by their name ignoring case.
      */
-    public Optional<User> getUserById(long id) {
-        return cache.findAnyByIndex(ID_INDEX_NAME, id);
-    }
+    List<User> getUsersByNamePrefix(String prefix, int limit);
 
 }
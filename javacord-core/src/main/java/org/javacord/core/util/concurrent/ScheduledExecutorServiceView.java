@@ -0,0 +1,128 @@
+package org.javacord.core.util.concurrent;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A view of a shared scheduled executor service that can be shut down on its own.
+ *
+ * <p>Shutting down the view does not shut down the shared executor service. It rejects new tasks and cancels the
+ * periodic tasks that were scheduled through the view, just like a shut down scheduled executor service would.
+ * Delayed tasks that were already scheduled are still executed.
+ */
+class ScheduledExecutorServiceView extends AbstractExecutorService implements ScheduledExecutorService {
+
+    /**
+     * The minimum amount of tracked periodic tasks before done tasks are removed.
+     */
+    private static final int MIN_PURGE_THRESHOLD = 64;
+
+    private final ScheduledExecutorService delegate;
+    private final Set<Future<?>> periodicTasks = ConcurrentHashMap.newKeySet();
+    private volatile int purgeThreshold = MIN_PURGE_THRESHOLD;
+    private volatile boolean shutdown = false;
+
+    /**
+     * Creates a new view.
+     *
+     * @param delegate The shared executor service.
+     */
+    ScheduledExecutorServiceView(ScheduledExecutorService delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+        checkNotShutdown();
+        return delegate.schedule(command, delay, unit);
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+        checkNotShutdown();
+        return delegate.schedule(callable, delay, unit);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+        checkNotShutdown();
+        return track(delegate.scheduleAtFixedRate(command, initialDelay, period, unit));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+        checkNotShutdown();
+        return track(delegate.scheduleWithFixedDelay(command, initialDelay, delay, unit));
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        checkNotShutdown();
+        delegate.execute(command);
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        periodicTasks.forEach(task -> task.cancel(false));
+        periodicTasks.clear();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown();
+        return Collections.emptyList();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    /**
+     * Checks if the view is terminated.
+     * The view does not own any threads, so it is terminated as soon as it is shut down.
+     *
+     * @return Whether the view is terminated.
+     */
+    @Override
+    public boolean isTerminated() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) {
+        return shutdown;
+    }
+
+    private ScheduledFuture<?> track(ScheduledFuture<?> task) {
+        periodicTasks.add(task);
+        if (shutdown) {
+            // Shut down while the task was scheduled
+            task.cancel(false);
+            periodicTasks.remove(task);
+        }
+        // Remove cancelled tasks from time to time, e.g. of message caches of deleted channels
+        if (periodicTasks.size() >= purgeThreshold) {
+            periodicTasks.removeIf(Future::isDone);
+            purgeThreshold = Math.max(MIN_PURGE_THRESHOLD, periodicTasks.size() * 2);
+        }
+        return task;
+    }
+
+    private void checkNotShutdown() {
+        if (shutdown) {
+            throw new RejectedExecutionException("The scheduler has been shut down");
+        }
+    }
+
+}
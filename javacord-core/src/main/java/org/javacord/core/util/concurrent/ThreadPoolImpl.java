@@ -11,6 +11,7 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * The implementation of {@link ThreadPool}.
@@ -22,24 +23,89 @@ public class ThreadPoolImpl implements ThreadPool {
     private static final int KEEP_ALIVE_TIME = 60;
     private static final TimeUnit TIME_UNIT = TimeUnit.SECONDS;
 
-    private final ExecutorService executorService = new ThreadPoolExecutor(
-            CORE_POOL_SIZE, MAXIMUM_POOL_SIZE, KEEP_ALIVE_TIME, TIME_UNIT, new SynchronousQueue<>(),
-            new ThreadFactory("Javacord - Central ExecutorService - %d", false));
-    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(
-            CORE_POOL_SIZE, new ThreadFactory("Javacord - Central Scheduler - %d", false));
-    private final ScheduledExecutorService daemonScheduler = Executors.newScheduledThreadPool(
-            CORE_POOL_SIZE, new ThreadFactory("Javacord - Central Daemon Scheduler - %d", true));
+    private final ExecutorService executorService;
+    private final ScheduledExecutorService scheduler;
+    private final ScheduledExecutorService daemonScheduler;
     private final ConcurrentHashMap<String, ExecutorService> executorServiceSingleThreads = new ConcurrentHashMap<>();
 
+    /**
+     * Whether this thread pool shares the central executor service and schedulers of another thread pool.
+     */
+    private final boolean child;
+
+    /**
+     * A callback that is run once when this thread pool is shut down. Can be {@code null}.
+     */
+    private final Runnable shutdownCallback;
+
+    private final AtomicBoolean shutDown = new AtomicBoolean();
+
+    /**
+     * Creates a new thread pool.
+     */
+    public ThreadPoolImpl() {
+        executorService = new ThreadPoolExecutor(
+                CORE_POOL_SIZE, MAXIMUM_POOL_SIZE, KEEP_ALIVE_TIME, TIME_UNIT, new SynchronousQueue<>(),
+                new ThreadFactory("Javacord - Central ExecutorService - %d", false));
+        scheduler = Executors.newScheduledThreadPool(
+                CORE_POOL_SIZE, new ThreadFactory("Javacord - Central Scheduler - %d", false));
+        daemonScheduler = Executors.newScheduledThreadPool(
+                CORE_POOL_SIZE, new ThreadFactory("Javacord - Central Daemon Scheduler - %d", true));
+        child = false;
+        shutdownCallback = null;
+    }
+
+    /**
+     * Creates a new thread pool that shares the central executor service and schedulers of the given thread pool.
+     *
+     * @param parent The parent thread pool.
+     * @param shutdownCallback A callback that is run once when the new thread pool is shut down.
+     */
+    private ThreadPoolImpl(ThreadPoolImpl parent, Runnable shutdownCallback) {
+        executorService = parent.executorService;
+        scheduler = new ScheduledExecutorServiceView(parent.scheduler);
+        daemonScheduler = new ScheduledExecutorServiceView(parent.daemonScheduler);
+        child = true;
+        this.shutdownCallback = shutdownCallback;
+    }
+
+    /**
+     * Creates a thread pool that shares the central executor service and schedulers of this thread pool, but has its
+     * own single thread executor services.
+     *
+     * <p>Shutting down the child only shuts down its own single thread executor services and cancels the periodic
+     * tasks that were scheduled through it.
+     *
+     * @param shutdownCallback A callback that is run once when the child is shut down.
+     * @return The child thread pool.
+     */
+    public ThreadPoolImpl createChild(Runnable shutdownCallback) {
+        return new ThreadPoolImpl(this, shutdownCallback);
+    }
+
     /**
      * Shutdowns the thread pool.
      * This method is called automatically after disconnecting.
      */
     public void shutdown() {
-        executorService.shutdown();
+        if (!child) {
+            executorService.shutdown();
+        }
         scheduler.shutdown();
         daemonScheduler.shutdown();
         executorServiceSingleThreads.values().forEach(ExecutorService::shutdown);
+        if (shutDown.compareAndSet(false, true) && shutdownCallback != null) {
+            shutdownCallback.run();
+        }
+    }
+
+    /**
+     * Checks if the thread pool was shut down.
+     *
+     * @return Whether the thread pool was shut down.
+     */
+    public boolean isShutdown() {
+        return shutDown.get();
     }
 
     @Override
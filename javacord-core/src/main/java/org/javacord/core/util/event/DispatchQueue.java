@@ -0,0 +1,79 @@
+package org.javacord.core.util.event;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A queue of events which are waiting to be dispatched for a single {@link DispatchQueueSelector}.
+ *
+ * <p>Any thread can add events to the queue, but only the thread which successfully {@link #tryClaim() claimed} the
+ * queue is allowed to take events from it, until it {@link #release() releases} it again. This guarantees that
+ * events of the same queue are dispatched sequentially without requiring a lock.
+ */
+public final class DispatchQueue {
+
+    /**
+     * The queued events.
+     */
+    private final Queue<QueuedEvent<?>> events = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Whether a thread is currently scheduled to dispatch the events of this queue.
+     */
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    /**
+     * Adds an event to the end of the queue.
+     *
+     * @param event The event to add.
+     */
+    void add(QueuedEvent<?> event) {
+        events.add(event);
+    }
+
+    /**
+     * Gets the first event of the queue without removing it.
+     * Must only be called by the thread which claimed the queue.
+     *
+     * @return The first event of the queue or {@code null} if the queue is empty.
+     */
+    QueuedEvent<?> peek() {
+        return events.peek();
+    }
+
+    /**
+     * Removes the first event of the queue.
+     * Must only be called by the thread which claimed the queue.
+     */
+    void remove() {
+        events.poll();
+    }
+
+    /**
+     * Checks whether the queue is empty.
+     *
+     * @return Whether the queue is empty.
+     */
+    boolean isEmpty() {
+        return events.isEmpty();
+    }
+
+    /**
+     * Tries to claim the queue for dispatching.
+     *
+     * @return Whether the queue was claimed. If {@code false}, another thread already is scheduled to dispatch the
+     *         events of this queue.
+     */
+    boolean tryClaim() {
+        return scheduled.compareAndSet(false, true);
+    }
+
+    /**
+     * Releases the queue after dispatching, so that it can be claimed again.
+     */
+    void release() {
+        scheduled.set(false);
+    }
+
+}
@@ -4,4 +4,14 @@ package org.javacord.core.util.event;
  * This class can be used to identify the event dispatch queue that should be used to dispatch an event.
  */
 public interface DispatchQueueSelector {
+
+    /**
+     * Gets the queue which holds the events that are dispatched with this queue selector.
+     * Implementations must always return the same queue, which lives as long as the queue selector itself, so no
+     * additional cleanup is necessary once the queue selector is no longer used.
+     *
+     * @return The dispatch queue of this queue selector.
+     */
+    DispatchQueue getDispatchQueue();
+
 }
@@ -6,17 +6,15 @@ import org.javacord.core.DiscordApiImpl;
 import org.javacord.core.entity.server.ServerImpl;
 import org.javacord.core.util.logging.LoggerUtil;
 
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Queue;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 
@@ -61,23 +59,39 @@ public abstract class EventDispatcherBase {
     private final DiscordApiImpl api;
 
     /**
-     * This map which holds a queue for every object (usually a server) with tasks to call the waiting listeners.
+     * The queue for events with a {@code null} queue selector.
      */
-    private final Map<DispatchQueueSelector, Queue<Runnable>> queuedListenerTasks =
-            Collections.synchronizedMap(new HashMap<>());
+    private final DispatchQueue objectIndependentQueue = new DispatchQueue();
 
     /**
-     * All objects which currently have a running listener.
+     * The amount of object-dependent events which were queued but are not yet dispatched to all of their listeners.
+     * Object-independent events are only dispatched while this is {@code 0}.
      */
-    private final Set<DispatchQueueSelector> runningListeners = Collections.synchronizedSet(new HashSet<>());
+    private final AtomicInteger pendingObjectDependentEvents = new AtomicInteger();
+
+    /**
+     * The amount of object-independent events which were queued but are not yet dispatched to all of their listeners.
+     * New events are held back while this is not {@code 0}.
+     */
+    private final AtomicInteger pendingObjectIndependentEvents = new AtomicInteger();
+
+    /**
+     * Events which were held back, because they were dispatched while object-independent events were pending.
+     * They are queued in their original order as soon as there are no pending object-independent events anymore.
+     */
+    private final Queue<HeldEvent> heldEvents = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Whether a thread is currently queueing the held back events.
+     */
+    private final AtomicBoolean releasingHeldEvents = new AtomicBoolean();
 
     /**
      * A map with all running listeners as its key. The value contains an array where the first element is a long
      * with the start time of the listener (using {@link System#nanoTime()}) and the second element is the object
      * of the listener (usually a server).
      */
-    private final Map<AtomicReference<Future<?>>, Object[]> activeListeners =
-            Collections.synchronizedMap(new HashMap<>());
+    private final Map<AtomicReference<Future<?>>, Object[]> activeListeners = new ConcurrentHashMap<>();
 
     /**
      * A map with all running listeners that already were canceled as its key. The value is the nano time when there
@@ -92,59 +106,56 @@ public abstract class EventDispatcherBase {
      */
     protected EventDispatcherBase(DiscordApiImpl api) {
         this.api = api;
-        queuedListenerTasks.put(null, new ConcurrentLinkedQueue<>());
         api.getThreadPool().getScheduler().scheduleAtFixedRate(() -> {
             try {
                 if (!executionTimeCheckingEnabled) {
                     return;
                 }
-                synchronized (activeListeners) {
-                    long currentNanoTime = System.nanoTime();
-                    for (Map.Entry<AtomicReference<Future<?>>, Object[]> entry : activeListeners.entrySet()) {
-                        long difference = currentNanoTime - ((long) entry.getValue()[0]);
-                        DispatchQueueSelector queueSelector = (DispatchQueueSelector) entry.getValue()[1];
-                        if ((difference > DEBUG_WARNING_DELAY)
-                                && (difference <= (DEBUG_WARNING_DELAY + EXECUTION_TIME_CHECKING_INTERVAL))) {
-                            logger.debug("Detected {} which is now running for over {} ms ({} ms). This is"
-                                            + " an unusually long execution time for a listener task. Make"
-                                            + " sure to not do any heavy computations in listener threads!",
-                                    () -> getThreadType(queueSelector),
-                                    () -> TimeUnit.NANOSECONDS.toMillis(DEBUG_WARNING_DELAY),
-                                    () -> TimeUnit.NANOSECONDS.toMillis(difference));
-                        }
-                        if ((difference > INFO_WARNING_DELAY)
-                                && (difference <= (INFO_WARNING_DELAY + EXECUTION_TIME_CHECKING_INTERVAL))) {
-                            logger.warn("Detected {} which is now running for over {} seconds ({} ms)."
-                                            + " This is a very unusually long execution time for a listener task. Make"
-                                            + " sure to not do any heavy computations in listener threads!",
-                                    () -> getThreadType(queueSelector),
-                                    () -> TimeUnit.NANOSECONDS.toSeconds(INFO_WARNING_DELAY),
-                                    () -> TimeUnit.NANOSECONDS.toMillis(difference));
-                        }
-                        if (difference > MAX_EXECUTION_TIME) {
-                            AtomicReference<Future<?>> listener = entry.getKey();
-                            alreadyCanceledListeners.compute(listener, (l, lastWarning) -> {
-                                if (lastWarning == null) {
-                                    listener.get().cancel(true);
-                                    logger.error("Interrupted {}, because it was running over {} seconds! "
-                                                    + "This was most likely caused by a deadlock or very heavy "
-                                                    + "computation/blocking operations in the listener thread. "
-                                                    + "Make sure to not block listener threads!",
-                                            () -> getThreadType(queueSelector),
-                                            () -> TimeUnit.NANOSECONDS.toSeconds(MAX_EXECUTION_TIME));
-                                    return currentNanoTime;
-                                } else if (currentNanoTime - lastWarning > INFO_WARNING_DELAY) {
-                                    logger.error("Interrupted {} previously but the listener did not react "
-                                                    + "to being interrupted! This is most likely caused by a deadlock "
-                                                    + "or very heavy computation in the listener thread. "
-                                                    + "Make sure to not block listener threads!",
-                                            () -> getThreadType(queueSelector));
-                                    return currentNanoTime;
-                                } else {
-                                    return lastWarning;
-                                }
-                            });
-                        }
+                long currentNanoTime = System.nanoTime();
+                for (Map.Entry<AtomicReference<Future<?>>, Object[]> entry : activeListeners.entrySet()) {
+                    long difference = currentNanoTime - ((long) entry.getValue()[0]);
+                    DispatchQueueSelector queueSelector = (DispatchQueueSelector) entry.getValue()[1];
+                    if ((difference > DEBUG_WARNING_DELAY)
+                            && (difference <= (DEBUG_WARNING_DELAY + EXECUTION_TIME_CHECKING_INTERVAL))) {
+                        logger.debug("Detected {} which is now running for over {} ms ({} ms). This is"
+                                        + " an unusually long execution time for a listener task. Make"
+                                        + " sure to not do any heavy computations in listener threads!",
+                                () -> getThreadType(queueSelector),
+                                () -> TimeUnit.NANOSECONDS.toMillis(DEBUG_WARNING_DELAY),
+                                () -> TimeUnit.NANOSECONDS.toMillis(difference));
+                    }
+                    if ((difference > INFO_WARNING_DELAY)
+                            && (difference <= (INFO_WARNING_DELAY + EXECUTION_TIME_CHECKING_INTERVAL))) {
+                        logger.warn("Detected {} which is now running for over {} seconds ({} ms)."
+                                        + " This is a very unusually long execution time for a listener task. Make"
+                                        + " sure to not do any heavy computations in listener threads!",
+                                () -> getThreadType(queueSelector),
+                                () -> TimeUnit.NANOSECONDS.toSeconds(INFO_WARNING_DELAY),
+                                () -> TimeUnit.NANOSECONDS.toMillis(difference));
+                    }
+                    if (difference > MAX_EXECUTION_TIME) {
+                        AtomicReference<Future<?>> listener = entry.getKey();
+                        alreadyCanceledListeners.compute(listener, (l, lastWarning) -> {
+                            if (lastWarning == null) {
+                                listener.get().cancel(true);
+                                logger.error("Interrupted {}, because it was running over {} seconds! "
+                                                + "This was most likely caused by a deadlock or very heavy "
+                                                + "computation/blocking operations in the listener thread. "
+                                                + "Make sure to not block listener threads!",
+                                        () -> getThreadType(queueSelector),
+                                        () -> TimeUnit.NANOSECONDS.toSeconds(MAX_EXECUTION_TIME));
+                                return currentNanoTime;
+                            } else if (currentNanoTime - lastWarning > INFO_WARNING_DELAY) {
+                                logger.error("Interrupted {} previously but the listener did not react "
+                                                + "to being interrupted! This is most likely caused by a deadlock "
+                                                + "or very heavy computation in the listener thread. "
+                                                + "Make sure to not block listener threads!",
+                                        () -> getThreadType(queueSelector));
+                                return currentNanoTime;
+                            } else {
+                                return lastWarning;
+                            }
+                        });
                     }
                 }
             } catch (Throwable t) {
@@ -191,122 +202,176 @@ public abstract class EventDispatcherBase {
      * @param <T>           The type of the listener.
      */
     protected <T> void dispatchEvent(DispatchQueueSelector queueSelector, List<T> listeners, Consumer<T> consumer) {
-        if (!api.canDispatchEvents()) {
+        if (!api.canDispatchEvents() || listeners.isEmpty()) {
             return;
         }
 
-        api.getThreadPool().getSingleThreadExecutorService("Event Dispatch Queues Manager").submit(() -> {
-            if (queueSelector != null) { // Object dependent listeners
-                // Don't allow adding of more events while there are unfinished object independent tasks
-                Queue<Runnable> objectIndependentQueue = queuedListenerTasks.get(null);
-                while (!objectIndependentQueue.isEmpty()) {
-                    try {
-                        synchronized (queuedListenerTasks) {
-                            // Just to be on the safe side, we use a timeout of 5 seconds
-                            queuedListenerTasks.wait(5000);
-                        }
-                    } catch (InterruptedException ignored) { }
-                }
+        QueuedEvent<T> event = new QueuedEvent<>(listeners, consumer);
+        if (queueSelector == null) {
+            // Keep the order with events that are already held back
+            if (!heldEvents.isEmpty()) {
+                heldEvents.add(new HeldEvent(null, event));
+                releaseHeldEvents();
+                return;
+            }
+            queueObjectIndependentEvent(event);
+            return;
+        }
+
+        // Announce the event before checking for pending object-independent events, so that either we see them and
+        // hold the event back, or they see the event and wait for it to be dispatched
+        pendingObjectDependentEvents.incrementAndGet();
+        if (pendingObjectIndependentEvents.get() > 0 || !heldEvents.isEmpty()) {
+            if (pendingObjectDependentEvents.decrementAndGet() == 0) {
+                startObjectIndependentEventsIfPossible();
             }
-            if (!listeners.isEmpty()) {
-                synchronized (queuedListenerTasks) {
-                    Queue<Runnable> queue = queuedListenerTasks.computeIfAbsent(
-                            queueSelector, o -> new ConcurrentLinkedQueue<>());
-                    listeners.forEach(listener -> queue.add(() -> consumer.accept(listener)));
+            heldEvents.add(new HeldEvent(queueSelector, event));
+            releaseHeldEvents();
+            return;
+        }
+        DispatchQueue queue = queueSelector.getDispatchQueue();
+        queue.add(event);
+        schedule(queueSelector, queue);
+    }
+
+    /**
+     * Queues an object-independent event.
+     *
+     * @param event The event to queue.
+     */
+    private void queueObjectIndependentEvent(QueuedEvent<?> event) {
+        pendingObjectIndependentEvents.incrementAndGet();
+        objectIndependentQueue.add(event);
+        startObjectIndependentEventsIfPossible();
+    }
+
+    /**
+     * Starts dispatching the object-independent events if there are some and all object-dependent events that were
+     * queued before them are finished.
+     */
+    private void startObjectIndependentEventsIfPossible() {
+        if (pendingObjectIndependentEvents.get() > 0 && pendingObjectDependentEvents.get() == 0) {
+            schedule(null, objectIndependentQueue);
+        }
+    }
+
+    /**
+     * Queues the held back events in their original order, as long as there are no pending object-independent
+     * events.
+     */
+    private void releaseHeldEvents() {
+        while (!heldEvents.isEmpty()
+                && pendingObjectIndependentEvents.get() == 0
+                && releasingHeldEvents.compareAndSet(false, true)) {
+            try {
+                HeldEvent heldEvent;
+                while (pendingObjectIndependentEvents.get() == 0 && (heldEvent = heldEvents.peek()) != null) {
+                    // The held event is only removed after it was queued, so that new events keep being held back
+                    // until all events before them are queued
+                    if (heldEvent.queueSelector == null) {
+                        queueObjectIndependentEvent(heldEvent.event);
+                    } else {
+                        pendingObjectDependentEvents.incrementAndGet();
+                        DispatchQueue queue = heldEvent.queueSelector.getDispatchQueue();
+                        queue.add(heldEvent.event);
+                        schedule(heldEvent.queueSelector, queue);
+                    }
+                    heldEvents.poll();
                 }
+            } finally {
+                releasingHeldEvents.set(false);
             }
-            checkRunningListenersAndStartIfPossible(queueSelector);
-        });
+        }
     }
 
     /**
-     * Checks if there are listeners running for the given object and if
-     * not it takes one from the queue for the object and executes it.
+     * Schedules the dispatching of the given queue, if it is not scheduled already.
      *
-     * <p>If all object-dependent tasks are finished,
-     * object-independent ones will be executed instead
-     * and after all object-independent are finished,
-     * new object-dependent tasks can get queued.
+     * @param queueSelector The queue selector of the queue.
+     * @param queue The queue to dispatch.
+     */
+    private void schedule(DispatchQueueSelector queueSelector, DispatchQueue queue) {
+        if (queue.tryClaim()) {
+            dispatchNextListener(queueSelector, queue);
+        }
+    }
+
+    /**
+     * Dispatches the first event of the claimed queue to its next listener on a thread of the thread pool and
+     * afterwards either continues with the next listener or releases the queue.
      *
-     * @param queueSelector The object which is used to determine in which thread the consumer should be executed.
+     * @param queueSelector The queue selector of the queue.
+     * @param queue The claimed queue.
      */
-    private void checkRunningListenersAndStartIfPossible(DispatchQueueSelector queueSelector) {
-        synchronized (queuedListenerTasks) {
-            // if either
-            // - running for object-independent tasks or
-            // - running for object-dependent tasks, but queue is empty or not present
-            Queue<Runnable> queue = queueSelector == null ? null : queuedListenerTasks.get(queueSelector);
-            if (queue == null || queue.isEmpty()) {
-                if (queueSelector != null) {
-                    // Remove the entry for the queue selector, so that it eventually can be garbage collected
-                    queuedListenerTasks.remove(queueSelector);
-                }
-                // if no object-independent tasks to be processed everything is fine, return
-                if (queuedListenerTasks.get(null).isEmpty()) {
-                    return;
-                }
-                // if object-independent tasks to be processed
-                // check whether there are still queued object-dependent tasks
-                boolean moreObjectDependentTasks = queuedListenerTasks.entrySet()
-                        .stream()
-                        .filter(entry -> !entry.getValue().isEmpty())
-                        .anyMatch(entry -> entry.getKey() != null);
-                // if there are object-dependent tasks scheduled or there are still tasks running => retry later
-                if (moreObjectDependentTasks || !runningListeners.isEmpty()) {
-                    return;
-                }
-                // force object-independent task being handled
-                // after all queued object-dependent tasks are finished
-                // and before new object-dependent tasks will get queued
-                queueSelector = null;
-                queue = queuedListenerTasks.get(null);
+    private void dispatchNextListener(DispatchQueueSelector queueSelector, DispatchQueue queue) {
+        AtomicReference<Future<?>> activeListener = new AtomicReference<>();
+        activeListener.set(api.getThreadPool().getExecutorService().submit(() -> {
+            QueuedEvent<?> event = queue.peek();
+            if (event == null) {
+                releaseAndReschedule(queueSelector, queue);
+                return;
             }
-            DispatchQueueSelector finalQueueSelector = queueSelector;
-            Queue<Runnable> taskQueue = queue;
-            // if there is something to execute and there is task running already
-            if (!queue.isEmpty() && runningListeners.add(finalQueueSelector)) {
-                AtomicReference<Future<?>> activeListener = new AtomicReference<>();
-                activeListener.set(api.getThreadPool().getExecutorService().submit(() -> {
-                    if (finalQueueSelector instanceof ServerImpl) {
-                        Object serverReadyNotifier = new Object();
-                        ((ServerImpl) finalQueueSelector)
-                                .addServerReadyConsumer(s -> {
-                                    synchronized (serverReadyNotifier) {
-                                        serverReadyNotifier.notifyAll();
-                                    }
-                                });
-                        while (!((ServerImpl) finalQueueSelector).isReady()) {
-                            try {
-                                synchronized (serverReadyNotifier) {
-                                    serverReadyNotifier.wait(5000);
-                                }
-                            } catch (InterruptedException ignored) { }
-                        }
-                    }
-                    // Add the future to the list of active listeners
-                    activeListeners.put(activeListener, new Object[]{System.nanoTime(), finalQueueSelector});
-                    try {
-                        taskQueue.poll().run();
-                    } catch (Throwable t) {
-                        logger.error("Unhandled exception in {}!", () -> getThreadType(finalQueueSelector), () -> t);
-                    }
-                    activeListeners.remove(activeListener);
-                    alreadyCanceledListeners.remove(activeListener);
-                    runningListeners.remove(finalQueueSelector);
-                    synchronized (queuedListenerTasks) {
-                        // Remove the entry for the queue selector, so that it eventually can be garbage collected
-                        if (finalQueueSelector != null) {
-                            Queue<Runnable> remainingQueue = queuedListenerTasks.get(finalQueueSelector);
-                            if (remainingQueue != null && remainingQueue.isEmpty()) {
-                                queuedListenerTasks.remove(finalQueueSelector);
+            if (queueSelector instanceof ServerImpl) {
+                Object serverReadyNotifier = new Object();
+                ((ServerImpl) queueSelector)
+                        .addServerReadyConsumer(s -> {
+                            synchronized (serverReadyNotifier) {
+                                serverReadyNotifier.notifyAll();
                             }
+                        });
+                while (!((ServerImpl) queueSelector).isReady()) {
+                    try {
+                        synchronized (serverReadyNotifier) {
+                            serverReadyNotifier.wait(5000);
                         }
-                        // Inform the dispatchEvent method that it maybe can queue new listeners now
-                        queuedListenerTasks.notifyAll();
+                    } catch (InterruptedException ignored) { }
+                }
+            }
+            // Add the future to the list of active listeners
+            activeListeners.put(activeListener, new Object[]{System.nanoTime(), queueSelector});
+            try {
+                event.dispatchToNextListener();
+            } catch (Throwable t) {
+                logger.error("Unhandled exception in {}!", () -> getThreadType(queueSelector), () -> t);
+            }
+            activeListeners.remove(activeListener);
+            alreadyCanceledListeners.remove(activeListener);
+
+            if (event.isDone()) {
+                queue.remove();
+                if (queueSelector == null) {
+                    if (pendingObjectIndependentEvents.decrementAndGet() == 0) {
+                        releaseHeldEvents();
                     }
-                    checkRunningListenersAndStartIfPossible(finalQueueSelector);
-                }));
+                } else if (pendingObjectDependentEvents.decrementAndGet() == 0) {
+                    startObjectIndependentEventsIfPossible();
+                }
+            }
+
+            // Object-independent events must recheck whether they are still allowed to be dispatched
+            if (queueSelector != null && !queue.isEmpty()) {
+                dispatchNextListener(queueSelector, queue);
+            } else {
+                releaseAndReschedule(queueSelector, queue);
             }
+        }));
+    }
+
+    /**
+     * Releases the claimed queue and schedules it again if events were added in the meantime.
+     *
+     * @param queueSelector The queue selector of the queue.
+     * @param queue The claimed queue.
+     */
+    private void releaseAndReschedule(DispatchQueueSelector queueSelector, DispatchQueue queue) {
+        queue.release();
+        if (queue.isEmpty()) {
+            return;
+        }
+        if (queueSelector == null) {
+            startObjectIndependentEventsIfPossible();
+        } else {
+            schedule(queueSelector, queue);
         }
     }
 
@@ -328,4 +393,32 @@ public abstract class EventDispatcherBase {
         return threadType;
     }
 
+    /**
+     * An event which was held back together with its queue selector.
+     */
+    private static class HeldEvent {
+
+        /**
+         * The queue selector of the event.
+         */
+        private final DispatchQueueSelector queueSelector;
+
+        /**
+         * The event.
+         */
+        private final QueuedEvent<?> event;
+
+        /**
+         * Creates a new held event.
+         *
+         * @param queueSelector The queue selector of the event.
+         * @param event The event.
+         */
+        private HeldEvent(DispatchQueueSelector queueSelector, QueuedEvent<?> event) {
+            this.queueSelector = queueSelector;
+            this.event = event;
+        }
+
+    }
+
 }
@@ -0,0 +1,52 @@
+package org.javacord.core.util.event;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * An event which is waiting to be dispatched to its listeners.
+ *
+ * @param <T> The type of the listeners.
+ */
+class QueuedEvent<T> {
+
+    /**
+     * The listeners which did not yet receive the event.
+     */
+    private final Iterator<T> listeners;
+
+    /**
+     * The consumer which calls the {@code onXyz(Event)} method of a listener.
+     */
+    private final Consumer<T> consumer;
+
+    /**
+     * Creates a new queued event.
+     *
+     * @param listeners The listeners of the event. Must not be empty.
+     * @param consumer The consumer which calls the {@code onXyz(Event)} method of a listener.
+     */
+    QueuedEvent(List<T> listeners, Consumer<T> consumer) {
+        this.listeners = listeners.iterator();
+        this.consumer = consumer;
+    }
+
+    /**
+     * Dispatches the event to the next listener.
+     * Must only be called by the thread which claimed the queue of the event.
+     */
+    void dispatchToNextListener() {
+        consumer.accept(listeners.next());
+    }
+
+    /**
+     * Checks whether all listeners received the event.
+     *
+     * @return Whether all listeners received the event.
+     */
+    boolean isDone() {
+        return !listeners.hasNext();
+    }
+
+}
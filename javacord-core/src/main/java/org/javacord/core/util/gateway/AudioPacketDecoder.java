@@ -0,0 +1,162 @@
+package org.javacord.core.util.gateway;
+
+import org.bouncycastle.crypto.macs.Poly1305;
+import org.bouncycastle.crypto.params.KeyParameter;
+import org.bouncycastle.crypto.params.ParametersWithIV;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Decrypts received audio packets in place.
+ *
+ * <p>This is the counterpart of the {@link AudioPacketEncoder}. The decoder keeps its nonce and cipher for its whole
+ * lifetime, so decrypting a packet does not allocate. A decoder must only be used by one thread at a time.
+ *
+ * @see <a href="https://discordapp.com/developers/docs/topics/voice-connections#encrypting-and-sending-voice">
+ *     Discord Docs</a>
+ */
+public class AudioPacketDecoder {
+
+    private static final int RTP_VERSION_MASK = 0xC0;
+    private static final int RTP_VERSION_2 = 0x80;
+    private static final int RTP_PADDING_BIT = 0x20;
+    private static final int RTP_EXTENSION_BIT = 0x10;
+    private static final int RTP_CSRC_COUNT_MASK = 0x0F;
+    private static final int RTP_PAYLOAD_TYPE_MASK = 0x7F;
+    private static final int RTP_PAYLOAD_TYPE_OPUS = 0x78;
+    private static final int RTP_HEADER_LENGTH = 12;
+    private static final int NONCE_LENGTH = 24;
+    private static final int MAC_LENGTH = 16;
+    private static final int MAC_KEY_LENGTH = 32;
+
+    private final ReusableXSalsa20Engine cipher = new ReusableXSalsa20Engine();
+    private final Poly1305 mac = new Poly1305();
+
+    /**
+     * The one-time key of the mac. The backing array is overwritten for every packet.
+     */
+    private final KeyParameter macKey = new KeyParameter(new byte[MAC_KEY_LENGTH]);
+
+    /**
+     * The computed mac of the current packet.
+     */
+    private final byte[] computedMac = new byte[MAC_LENGTH];
+
+    /**
+     * The secret key and nonce of the cipher. The nonce array is overwritten for every packet.
+     */
+    private volatile ParametersWithIV cipherParameters;
+
+    /**
+     * Sets the secret key which is used to decrypt audio packets.
+     *
+     * @param secretKey The secret key.
+     */
+    public void setSecretKey(byte[] secretKey) {
+        cipherParameters = new ParametersWithIV(new KeyParameter(secretKey), new byte[NONCE_LENGTH]);
+    }
+
+    /**
+     * Gets the ssrc of a received packet.
+     *
+     * @param packet The packet, starting at index {@code 0}.
+     * @return The ssrc.
+     */
+    public static int getSsrc(ByteBuffer packet) {
+        return packet.getInt(8);
+    }
+
+    /**
+     * Gets the sequence of a received packet.
+     *
+     * @param packet The packet, starting at index {@code 0}.
+     * @return The sequence.
+     */
+    public static char getSequence(ByteBuffer packet) {
+        return packet.getChar(2);
+    }
+
+    /**
+     * Gets the timestamp of a received packet.
+     *
+     * @param packet The packet, starting at index {@code 0}.
+     * @return The timestamp.
+     */
+    public static int getTimestamp(ByteBuffer packet) {
+        return packet.getInt(4);
+    }
+
+    /**
+     * Decrypts a received packet in place.
+     *
+     * <p>If the packet is an authentic opus packet, its payload is decrypted and the position and limit of the buffer
+     * are set to the opus frame. The rtp header stays untouched.
+     *
+     * @param packet A heap buffer with the packet between index {@code 0} and its limit.
+     * @return Whether the packet is an authentic opus packet.
+     */
+    public boolean decrypt(ByteBuffer packet) {
+        byte[] data = packet.array();
+        int offset = packet.arrayOffset();
+        int length = packet.limit();
+        if (length < RTP_HEADER_LENGTH + MAC_LENGTH
+                || (data[offset] & RTP_VERSION_MASK) != RTP_VERSION_2
+                || (data[offset + 1] & RTP_PAYLOAD_TYPE_MASK) != RTP_PAYLOAD_TYPE_OPUS) {
+            // Not a voice packet, e.g. rtcp
+            return false;
+        }
+        ParametersWithIV parameters = cipherParameters;
+        if (parameters == null) {
+            return false;
+        }
+        int headerLength = RTP_HEADER_LENGTH + 4 * (data[offset] & RTP_CSRC_COUNT_MASK);
+        int payloadOffset = headerLength + MAC_LENGTH;
+        if (length < payloadOffset) {
+            return false;
+        }
+        int payloadLength = length - payloadOffset;
+
+        // The nonce is the rtp header, padded with zeros
+        System.arraycopy(data, offset, parameters.getIV(), 0, RTP_HEADER_LENGTH);
+        cipher.init(false, parameters);
+
+        // The first 32 bytes of the key stream are the one-time key of the mac
+        byte[] macKeyBytes = macKey.getKey();
+        Arrays.fill(macKeyBytes, (byte) 0);
+        cipher.processBytes(macKeyBytes, 0, MAC_KEY_LENGTH, macKeyBytes, 0);
+
+        mac.init(macKey);
+        mac.update(data, offset + payloadOffset, payloadLength);
+        mac.doFinal(computedMac, 0);
+        int difference = 0;
+        for (int i = 0; i < MAC_LENGTH; i++) {
+            difference |= computedMac[i] ^ data[offset + headerLength + i];
+        }
+        if (difference != 0) {
+            return false;
+        }
+
+        cipher.processBytes(data, offset + payloadOffset, payloadLength, data, offset + payloadOffset);
+
+        int frameOffset = payloadOffset;
+        int frameEnd = length;
+        if ((data[offset] & RTP_PADDING_BIT) != 0) {
+            frameEnd -= data[offset + length - 1] & 0xFF;
+        }
+        if ((data[offset] & RTP_EXTENSION_BIT) != 0) {
+            // The extension is encrypted together with the frame, its length is given in 32 bit words
+            if (frameEnd - frameOffset < 4) {
+                return false;
+            }
+            frameOffset += 4 + 4 * packet.getChar(frameOffset + 2);
+        }
+        if (frameOffset > frameEnd) {
+            return false;
+        }
+        ((Buffer) packet).limit(frameEnd).position(frameOffset);
+        return true;
+    }
+
+}
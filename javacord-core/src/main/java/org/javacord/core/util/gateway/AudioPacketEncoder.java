@@ -0,0 +1,130 @@
+package org.javacord.core.util.gateway;
+
+import org.bouncycastle.crypto.macs.Poly1305;
+import org.bouncycastle.crypto.params.KeyParameter;
+import org.bouncycastle.crypto.params.ParametersWithIV;
+import org.javacord.api.audio.SilentAudioSource;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Encodes and encrypts audio packets into a reusable buffer.
+ *
+ * <p>Unlike {@link AudioPacket}, the encoder keeps its packet buffer, nonce and cipher for its whole lifetime, so
+ * encoding a packet does not allocate. The produced packets are identical to encrypted {@code AudioPacket}s.
+ * An encoder must only be used by one thread at a time.
+ *
+ * @see <a href="https://discordapp.com/developers/docs/topics/voice-connections#encrypting-and-sending-voice">
+ *     Discord Docs</a>
+ */
+public class AudioPacketEncoder {
+
+    private static final byte RTP_TYPE = (byte) 0x80;
+    private static final byte RTP_VERSION = (byte) 0x78;
+    private static final int RTP_HEADER_LENGTH = 12;
+    private static final int NONCE_LENGTH = 24;
+    private static final int MAC_LENGTH = 16;
+    private static final int MAC_KEY_LENGTH = 32;
+
+    /**
+     * The maximum size of an opus packet. Larger frames let the buffer grow.
+     */
+    private static final int DEFAULT_MAX_FRAME_LENGTH = 1275;
+
+    private final int ssrc;
+
+    private final ReusableXSalsa20Engine cipher = new ReusableXSalsa20Engine();
+    private final Poly1305 mac = new Poly1305();
+
+    /**
+     * The one-time key of the mac. The backing array is overwritten for every packet.
+     */
+    private final KeyParameter macKey = new KeyParameter(new byte[MAC_KEY_LENGTH]);
+
+    /**
+     * The secret key and nonce of the cipher. The nonce array is overwritten for every packet.
+     */
+    private volatile ParametersWithIV cipherParameters;
+
+    private byte[] packet;
+    private ByteBuffer packetBuffer;
+
+    /**
+     * Creates a new audio packet encoder.
+     *
+     * @param ssrc The ssrc.
+     */
+    public AudioPacketEncoder(int ssrc) {
+        this.ssrc = ssrc;
+        allocatePacket(DEFAULT_MAX_FRAME_LENGTH);
+    }
+
+    /**
+     * Sets the secret key which is used to encrypt audio packets.
+     *
+     * @param secretKey The secret key.
+     */
+    public void setSecretKey(byte[] secretKey) {
+        cipherParameters = new ParametersWithIV(new KeyParameter(secretKey), new byte[NONCE_LENGTH]);
+    }
+
+    /**
+     * Encodes and encrypts an audio packet.
+     *
+     * <p>The returned buffer is only valid until the next packet is encoded.
+     *
+     * @param audioFrame A byte array containing 20ms of audio, or {@code null} for silence.
+     * @param sequence The sequence.
+     * @param timestamp The timestamp.
+     * @return A buffer containing the encrypted packet between its position and limit.
+     */
+    public ByteBuffer encode(byte[] audioFrame, char sequence, int timestamp) {
+        if (audioFrame == null) {
+            audioFrame = SilentAudioSource.SILENCE_FRAME;
+        }
+        int payloadOffset = RTP_HEADER_LENGTH + MAC_LENGTH;
+        if (packet.length < payloadOffset + audioFrame.length) {
+            allocatePacket(audioFrame.length);
+        }
+
+        // See https://discordapp.com/developers/docs/topics/voice-connections#encrypting-and-sending-voice
+        // Cast to Buffer, as ByteBuffer#clear() does not exist in Java 8
+        ((Buffer) packetBuffer).clear();
+        packetBuffer.put(0, RTP_TYPE)
+                .put(1, RTP_VERSION)
+                .putChar(2, sequence)
+                .putInt(4, timestamp)
+                .putInt(8, ssrc);
+
+        // The nonce is the rtp header, padded with zeros
+        ParametersWithIV parameters = cipherParameters;
+        System.arraycopy(packet, 0, parameters.getIV(), 0, RTP_HEADER_LENGTH);
+        cipher.init(true, parameters);
+
+        // The first 32 bytes of the key stream are the one-time key of the mac, see SecretBox#seal(byte[], byte[])
+        byte[] macKeyBytes = macKey.getKey();
+        Arrays.fill(macKeyBytes, (byte) 0);
+        cipher.processBytes(macKeyBytes, 0, MAC_KEY_LENGTH, macKeyBytes, 0);
+        cipher.processBytes(audioFrame, 0, audioFrame.length, packet, payloadOffset);
+
+        mac.init(macKey);
+        mac.update(packet, payloadOffset, audioFrame.length);
+        mac.doFinal(packet, RTP_HEADER_LENGTH);
+
+        ((Buffer) packetBuffer).limit(payloadOffset + audioFrame.length);
+        return packetBuffer;
+    }
+
+    /**
+     * Allocates a packet buffer which is large enough for frames of the given length.
+     *
+     * @param maxFrameLength The maximum length of a frame.
+     */
+    private void allocatePacket(int maxFrameLength) {
+        packet = new byte[RTP_HEADER_LENGTH + MAC_LENGTH + maxFrameLength];
+        packetBuffer = ByteBuffer.wrap(packet);
+    }
+
+}
@@ -1,31 +1,75 @@
 package org.javacord.core.util.gateway;
 
 import org.apache.logging.log4j.Logger;
+import org.javacord.api.audio.AudioReceiver;
 import org.javacord.api.audio.AudioSource;
 import org.javacord.api.audio.AudioSourceBase;
 import org.javacord.core.DiscordApiImpl;
 import org.javacord.core.audio.AudioConnectionImpl;
+import org.javacord.core.audio.AudioJitterBuffer;
+import org.javacord.core.audio.AudioSendScheduler;
+import org.javacord.core.audio.ScheduledAudioSender;
 import org.javacord.core.entity.server.ServerImpl;
 import org.javacord.core.event.audio.AudioSourceFinishedEventImpl;
+import org.javacord.core.event.audio.AudioSourceUnderrunEventImpl;
 import org.javacord.core.util.logging.LoggerUtil;
 
 import java.io.IOException;
 import java.net.DatagramPacket;
-import java.net.DatagramSocket;
 import java.net.InetSocketAddress;
-import java.net.SocketException;
+import java.net.SocketAddress;
+import java.nio.Buffer;
 import java.nio.ByteBuffer;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 
-public class AudioUdpSocket {
+public class AudioUdpSocket implements ScheduledAudioSender {
 
     /**
      * The logger of this class.
      */
     private static final Logger logger = LoggerUtil.getLogger(AudioUdpSocket.class);
 
-    private final DatagramSocket socket;
+    /**
+     * The maximum amount of frames that are buffered for each ssrc.
+     */
+    private static final int JITTER_BUFFER_CAPACITY = 8;
+
+    /**
+     * The maximum time received frames wait for a missing frame.
+     */
+    private static final long JITTER_BUFFER_MAX_DELAY_NANOS = TimeUnit.MILLISECONDS.toNanos(40);
+
+    /**
+     * The maximum time the receive thread waits for packets before it flushes the jitter buffers.
+     */
+    private static final long RECEIVE_SELECT_TIMEOUT_MILLIS = 20;
+
+    /**
+     * The maximum time a packet waits for space in the send buffer of the socket before it is dropped.
+     * The wait is short, as the send scheduler sends the packets of other connections on the same thread.
+     */
+    private static final long SEND_BUFFER_MAX_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    /**
+     * The time between two attempts to write a packet to a full send buffer.
+     */
+    private static final long SEND_BUFFER_RETRY_NANOS = TimeUnit.MICROSECONDS.toNanos(500);
+
+    private volatile DatagramChannel channel;
+    private SocketAddress localAddress;
     private final String threadName;
+    private final String receiveThreadName;
 
     private final AudioConnectionImpl connection;
     private final InetSocketAddress address;
@@ -34,40 +78,92 @@ public class AudioUdpSocket {
     private volatile boolean shouldSend = false;
 
     /**
-     * The secret key used to encrypt audio packets.
+     * The encoder of the sent packets. It is reused for every packet and holds the secret key.
+     */
+    private final AudioPacketEncoder encoder;
+
+    /**
+     * The decoder of the received packets. It is only used by the receive thread.
+     */
+    private final AudioPacketDecoder decoder = new AudioPacketDecoder();
+
+    /**
+     * The selector of the running receive loop, or {@code null} if audio is not received.
+     */
+    private volatile Selector receiveSelector;
+
+    /**
+     * The jitter buffers of the received ssrcs. They are only used by the receive thread.
+     */
+    private final List<AudioJitterBuffer> jitterBuffers = new ArrayList<>();
+
+    /**
+     * The ssrcs whose jitter buffers should be removed by the receive thread.
      */
-    private byte[] secretKey;
+    private final Queue<Integer> removedSsrcs = new ConcurrentLinkedQueue<>();
 
     /**
      * Gets incremented for every packet sent.
      */
     private char sequence = (char) 0;
 
+    /**
+     * Whether the socket is currently sending audio frames (in contrast to frames of silence).
+     */
+    private boolean speaking = false;
+
+    /**
+     * The amount of frames of silence to send before the socket stops sending.
+     */
+    private int framesOfSilenceToPlay = 5;
+
     /**
      * Creates a new audio udp socket.
      *
      * @param connection The audio connection that uses the socket.
      * @param address The address to connect to.
      * @param ssrc The ssrc.
-     * @throws SocketException If the socket could not be opened,
-     *                         or the socket could not bind to the specified local port.
+     * @throws IOException If the socket could not be opened or connected.
      */
-    public AudioUdpSocket(AudioConnectionImpl connection, InetSocketAddress address, int ssrc) throws SocketException {
+    public AudioUdpSocket(AudioConnectionImpl connection, InetSocketAddress address, int ssrc) throws IOException {
         this.connection = connection;
         this.address = address;
         this.ssrc = ssrc;
 
-        socket = new DatagramSocket();
+        encoder = new AudioPacketEncoder(ssrc);
+        channel = openChannel(null);
         threadName = String.format("Javacord Audio Send Thread (%#s)", connection.getServer());
+        receiveThreadName = String.format("Javacord Audio Receive Thread (%#s)", connection.getServer());
     }
 
     /**
-     * Sets the secret key which is used to encrypt audio packets.
+     * Sets the secret key which is used to encrypt and decrypt audio packets.
      *
      * @param secretKey The secret key.
      */
     public void setSecretKey(byte[] secretKey) {
-        this.secretKey = secretKey;
+        encoder.setSecretKey(secretKey);
+        decoder.setSecretKey(secretKey);
+    }
+
+    /**
+     * Opens a new channel which is connected to the voice server.
+     *
+     * @param localAddress The local address to bind to, or {@code null} for any free port.
+     * @return The opened channel.
+     * @throws IOException If the channel could not be opened or connected.
+     */
+    private DatagramChannel openChannel(SocketAddress localAddress) throws IOException {
+        DatagramChannel newChannel = DatagramChannel.open();
+        try {
+            newChannel.bind(localAddress);
+            newChannel.connect(address);
+            this.localAddress = newChannel.getLocalAddress();
+        } catch (IOException e) {
+            newChannel.close();
+            throw e;
+        }
+        return newChannel;
     }
 
     /**
@@ -82,10 +178,10 @@ public class AudioUdpSocket {
         byte[] buffer = new byte[70];
         ByteBuffer.wrap(buffer).putInt(0, ssrc);
         // send the byte array which contains the ssrc
-        socket.send(new DatagramPacket(buffer, buffer.length, address));
+        channel.socket().send(new DatagramPacket(buffer, buffer.length, address));
         // create a new buffer which is used to receive data from discord
         buffer = new byte[70];
-        socket.receive(new DatagramPacket(buffer, buffer.length));
+        channel.socket().receive(new DatagramPacket(buffer, buffer.length));
         // gets the ip of the packet
         String ip = new String(Arrays.copyOfRange(buffer, 3, buffer.length - 2)).trim();
         // gets the port (last two bytes) which is a little endian unsigned short
@@ -96,20 +192,39 @@ public class AudioUdpSocket {
 
     /**
      * Starts polling frames from the audio connection and sending them through the socket.
+     *
+     * <p>The packets are encoded into a reused buffer and written to the channel directly, so sending does not
+     * allocate anything per frame. If the api has an {@link AudioSendScheduler}, the frames are sent by the scheduler,
+     * otherwise the socket uses its own thread.
      */
     public void startSending() {
         if (shouldSend) {
             return;
         }
+        if (!channel.isOpen()) {
+            // The channel gets closed if the send thread is interrupted while writing a packet.
+            // The discovered external address depends on the local port, so we have to bind to the same port again.
+            try {
+                channel = openChannel(localAddress);
+            } catch (IOException e) {
+                logger.error("Failed to reopen the udp socket for {}", connection, e);
+                return;
+            }
+        }
+        speaking = false;
+        framesOfSilenceToPlay = 5;
         shouldSend = true;
 
         DiscordApiImpl api = (DiscordApiImpl) connection.getChannel().getApi();
+        Optional<AudioSendScheduler> scheduler = api.getAudioSendScheduler();
+        if (scheduler.isPresent()) {
+            scheduler.get().add(this);
+            return;
+        }
         api.getThreadPool().getSingleThreadExecutorService(threadName).submit(() -> {
             try {
                 long nextFrameTimestamp = System.nanoTime();
                 boolean dontSleep = true;
-                boolean speaking = false;
-                long framesOfSilenceToPlay = 5;
                 while (shouldSend) {
                     // Get the current audio source. If none is available, it will block the thread
                     AudioSource source = connection.getCurrentAudioSourceBlocking();
@@ -119,67 +234,29 @@ public class AudioUdpSocket {
                     }
 
                     if (source.hasFinished()) {
-                        connection.removeAudioSource();
+                        finishAudioSource(source);
                         dontSleep = true;
-
-                        // Dispatch AudioSourceFinishedEvent AFTER removing the source.
-                        // Otherwise, AudioSourceFinishedEvent#getNextSource() won't work
-                        api.getEventDispatcher().dispatchAudioSourceFinishedEvent(
-                                (ServerImpl) connection.getServer(),
-                                connection,
-                                ((AudioSourceBase) source).getDelegate(),
-                                new AudioSourceFinishedEventImpl(source, connection));
                         continue;
                     }
 
-                    AudioPacket packet = null;
-                    byte[] frame = source.hasNextFrame() ? source.getNextFrame() : null;
-
-                    // If the source is muted, replace the frame with a muted frame
-                    if (source.isMuted()) {
-                        frame = null;
-                    }
-
-                    if (frame != null || framesOfSilenceToPlay > 0) {
-                        if (!speaking && frame != null) {
-                            speaking = true;
-                            connection.setSpeaking(true);
-                        }
-                        packet = new AudioPacket(frame, ssrc, sequence, ((int) sequence) * 960);
-                        // We can stop sending frames of silence after 5 frames
-                        if (frame == null) {
-                            framesOfSilenceToPlay--;
-                            if (framesOfSilenceToPlay == 0) {
-                                speaking = false;
-                                connection.setSpeaking(false);
-                            }
-                        } else {
-                            framesOfSilenceToPlay = 5;
-                        }
-                    }
+                    ByteBuffer packet = encodeNextFrame(source);
 
                     nextFrameTimestamp = nextFrameTimestamp + 20_000_000;
 
-                    sequence++;
-
-                    if (packet != null) {
-                        packet.encrypt(secretKey);
-                    }
-                    try {
-                        if (dontSleep) {
-                            nextFrameTimestamp = System.nanoTime() + 20_000_000;
-                            dontSleep = false;
-                        } else {
-                            Thread.sleep(Math.max(0, nextFrameTimestamp - System.nanoTime()) / 1_000_000);
+                    if (dontSleep) {
+                        nextFrameTimestamp = System.nanoTime() + 20_000_000;
+                        dontSleep = false;
+                        if (packet != null) {
+                            sendPacket(packet, System.nanoTime());
                         }
+                    } else {
+                        Thread.sleep(Math.max(0, nextFrameTimestamp - System.nanoTime()) / 1_000_000);
                         if (packet != null) {
-                            socket.send(packet.asUdpPacket(address));
+                            sendPacket(packet, nextFrameTimestamp);
                         }
-                    } catch (IOException e) {
-                        logger.error("Failed to send audio packet for {}", connection);
                     }
                 }
-            } catch (InterruptedException e) {
+            } catch (InterruptedException | ClosedByInterruptException e) {
                 if (shouldSend) {
                     logger.debug("Got interrupted unexpectedly while waiting for next audio source packet");
                 }
@@ -192,10 +269,290 @@ public class AudioUdpSocket {
      */
     public void stopSending() {
         shouldSend = false;
-        connection.getChannel()
-                .getApi()
-                .getThreadPool()
-                .removeAndShutdownSingleThreadExecutorService(threadName);
+        DiscordApiImpl api = (DiscordApiImpl) connection.getChannel().getApi();
+        Optional<AudioSendScheduler> scheduler = api.getAudioSendScheduler();
+        if (scheduler.isPresent()) {
+            scheduler.get().remove(this);
+            return;
+        }
+        api.getThreadPool().removeAndShutdownSingleThreadExecutorService(threadName);
+    }
+
+    /**
+     * Starts receiving audio packets and passing their frames to the audio receiver of the connection.
+     *
+     * <p>The packets are read by a separate thread which waits on a selector, so it can flush the jitter buffers even
+     * if no packets arrive. Each ssrc has its own {@link AudioJitterBuffer}, which reorders the frames and reports
+     * lost frames to the receiver.
+     */
+    public synchronized void startReceiving() {
+        if (receiveSelector != null) {
+            return;
+        }
+        Selector selector;
+        try {
+            selector = Selector.open();
+        } catch (IOException e) {
+            logger.error("Failed to open a selector to receive audio for {}", connection, e);
+            return;
+        }
+        receiveSelector = selector;
+        DiscordApiImpl api = (DiscordApiImpl) connection.getChannel().getApi();
+        api.getThreadPool().getSingleThreadExecutorService(receiveThreadName).submit(() -> receive(selector));
+    }
+
+    /**
+     * Stops receiving audio packets.
+     */
+    public synchronized void stopReceiving() {
+        Selector selector = receiveSelector;
+        if (selector == null) {
+            return;
+        }
+        receiveSelector = null;
+        selector.wakeup();
+        DiscordApiImpl api = (DiscordApiImpl) connection.getChannel().getApi();
+        api.getThreadPool().removeAndShutdownSingleThreadExecutorService(receiveThreadName);
+    }
+
+    /**
+     * Removes the jitter buffer of a ssrc, e.g. because its user left the voice channel.
+     *
+     * @param ssrc The ssrc.
+     */
+    public void removeReceiveStream(int ssrc) {
+        removedSsrcs.add(ssrc);
+    }
+
+    @Override
+    public ByteBuffer pollPacket() {
+        AudioSource source;
+        try {
+            source = connection.getCurrentAudioSourceBlocking(0, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        if (!shouldSend || source == null) {
+            return null;
+        }
+        if (source.hasFinished()) {
+            finishAudioSource(source);
+            return null;
+        }
+        return encodeNextFrame(source);
+    }
+
+    @Override
+    public void send(ByteBuffer packet, long deadlineNanos) {
+        try {
+            sendPacket(packet, deadlineNanos);
+        } catch (ClosedByInterruptException e) {
+            logger.debug("Got interrupted while sending audio packet for {}", connection);
+        }
+    }
+
+    /**
+     * Polls the next frame of the given audio source and encodes it.
+     *
+     * <p>After the source stopped providing frames, 5 frames of silence are sent to avoid unintended interpolation.
+     * If the source stopped providing frames without being finished, an audio source underrun event is dispatched.
+     *
+     * @param source The audio source.
+     * @return The packet to send, or {@code null} if nothing should be sent for this frame.
+     */
+    private ByteBuffer encodeNextFrame(AudioSource source) {
+        ByteBuffer packet = null;
+        boolean hasNextFrame = source.hasNextFrame();
+        byte[] frame = hasNextFrame ? source.getNextFrame() : null;
+
+        if (!hasNextFrame && speaking && framesOfSilenceToPlay == 5) {
+            // The source has not finished, but it could not provide the frame after an audio frame in time
+            dispatchAudioSourceUnderrunEvent(source);
+        }
+
+        // If the source is muted, replace the frame with a muted frame
+        if (source.isMuted()) {
+            frame = null;
+        }
+
+        if (frame != null || framesOfSilenceToPlay > 0) {
+            if (!speaking && frame != null) {
+                speaking = true;
+                connection.setSpeaking(true);
+            }
+            packet = encoder.encode(frame, sequence, ((int) sequence) * 960);
+            // We can stop sending frames of silence after 5 frames
+            if (frame == null) {
+                framesOfSilenceToPlay--;
+                if (framesOfSilenceToPlay == 0) {
+                    speaking = false;
+                    connection.setSpeaking(false);
+                }
+            } else {
+                framesOfSilenceToPlay = 5;
+            }
+        }
+
+        sequence++;
+        return packet;
+    }
+
+    /**
+     * Removes a finished audio source from the connection and dispatches an audio source finished event.
+     *
+     * @param source The finished audio source.
+     */
+    private void finishAudioSource(AudioSource source) {
+        connection.removeAudioSource();
+
+        // Dispatch AudioSourceFinishedEvent AFTER removing the source.
+        // Otherwise, AudioSourceFinishedEvent#getNextSource() won't work
+        DiscordApiImpl api = (DiscordApiImpl) connection.getChannel().getApi();
+        api.getEventDispatcher().dispatchAudioSourceFinishedEvent(
+                (ServerImpl) connection.getServer(),
+                connection,
+                ((AudioSourceBase) source).getDelegate(),
+                new AudioSourceFinishedEventImpl(source, connection));
+    }
+
+    /**
+     * Dispatches an audio source underrun event.
+     *
+     * @param source The audio source which could not provide a frame.
+     */
+    private void dispatchAudioSourceUnderrunEvent(AudioSource source) {
+        DiscordApiImpl api = (DiscordApiImpl) connection.getChannel().getApi();
+        api.getEventDispatcher().dispatchAudioSourceUnderrunEvent(
+                (ServerImpl) connection.getServer(),
+                connection,
+                ((AudioSourceBase) source).getDelegate(),
+                new AudioSourceUnderrunEventImpl(source, connection));
+    }
+
+    /**
+     * Writes a packet to the channel and records its timing.
+     *
+     * @param packet The packet to send.
+     * @param deadlineNanos The time at which the packet should have been sent, using {@link System#nanoTime()}.
+     * @throws ClosedByInterruptException If the thread got interrupted while writing the packet.
+     */
+    private void sendPacket(ByteBuffer packet, long deadlineNanos) throws ClosedByInterruptException {
+        try {
+            DatagramChannel currentChannel = channel;
+            // The receive thread puts the channel into non-blocking mode, so writing to a full send buffer does not
+            // block, but sends nothing. We retry until the packet fits or it is too late to send it.
+            long giveUpNanos = System.nanoTime() + SEND_BUFFER_MAX_WAIT_NANOS;
+            while (currentChannel.write(packet) == 0) {
+                if (System.nanoTime() - giveUpNanos >= 0) {
+                    logger.debug("Dropped an audio packet for {}, because the send buffer is full", connection);
+                    return;
+                }
+                LockSupport.parkNanos(SEND_BUFFER_RETRY_NANOS);
+            }
+            connection.getSendStatistics().recordFrame(System.nanoTime() - deadlineNanos);
+        } catch (ClosedByInterruptException e) {
+            throw e;
+        } catch (IOException e) {
+            logger.error("Failed to send audio packet for {}", connection);
+        }
+    }
+
+    /**
+     * Receives packets until the given selector is no longer the selector of the socket.
+     *
+     * @param selector The selector of this receive loop.
+     */
+    private void receive(Selector selector) {
+        ByteBuffer buffer = ByteBuffer.allocate(2048);
+        DatagramChannel registeredChannel = null;
+        try {
+            while (receiveSelector == selector) {
+                DatagramChannel currentChannel = channel;
+                if (currentChannel != registeredChannel && currentChannel.isOpen()) {
+                    // The channel is replaced if the send thread got interrupted while writing a packet
+                    currentChannel.configureBlocking(false);
+                    currentChannel.register(selector, SelectionKey.OP_READ);
+                    registeredChannel = currentChannel;
+                }
+                selector.select(RECEIVE_SELECT_TIMEOUT_MILLIS);
+                selector.selectedKeys().clear();
+
+                AudioReceiver receiver = connection.getAudioReceiver().orElse(null);
+                if (receiver == null) {
+                    continue;
+                }
+                Integer removedSsrc;
+                while ((removedSsrc = removedSsrcs.poll()) != null) {
+                    int ssrcToRemove = removedSsrc;
+                    jitterBuffers.removeIf(jitterBuffer -> jitterBuffer.getSsrc() == ssrcToRemove);
+                }
+                if (registeredChannel != null && registeredChannel.isOpen()) {
+                    readPackets(registeredChannel, buffer, receiver);
+                }
+                long now = System.nanoTime();
+                for (AudioJitterBuffer jitterBuffer : jitterBuffers) {
+                    jitterBuffer.flush(now, receiver);
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Failed to receive audio for {}", connection, e);
+        } catch (Throwable t) {
+            logger.error("Audio receiver threw an exception for {}", connection, t);
+        } finally {
+            try {
+                selector.close();
+            } catch (IOException e) {
+                logger.debug("Failed to close the audio receive selector for {}", connection, e);
+            }
+        }
+    }
+
+    /**
+     * Reads all available packets from the channel and adds their frames to the jitter buffers.
+     *
+     * @param channel The channel to read from.
+     * @param buffer A reused buffer for the packets.
+     * @param receiver The receiver of the frames.
+     * @throws IOException If an I/O error occurs.
+     */
+    private void readPackets(DatagramChannel channel, ByteBuffer buffer, AudioReceiver receiver) throws IOException {
+        while (true) {
+            ((Buffer) buffer).clear();
+            if (channel.read(buffer) <= 0) {
+                return;
+            }
+            ((Buffer) buffer).flip();
+            if (!decoder.decrypt(buffer)) {
+                continue;
+            }
+            int packetSsrc = AudioPacketDecoder.getSsrc(buffer);
+            AudioJitterBuffer jitterBuffer = getJitterBuffer(packetSsrc);
+            if (jitterBuffer.getUserId() == 0) {
+                jitterBuffer.setUserId(connection.getUserIdOfSsrc(packetSsrc));
+            }
+            jitterBuffer.add(AudioPacketDecoder.getSequence(buffer), AudioPacketDecoder.getTimestamp(buffer), buffer,
+                    System.nanoTime(), receiver);
+        }
+    }
+
+    /**
+     * Gets the jitter buffer of a ssrc, or creates one if it does not exist yet.
+     *
+     * @param ssrc The ssrc.
+     * @return The jitter buffer.
+     */
+    private AudioJitterBuffer getJitterBuffer(int ssrc) {
+        // There are only a few users per voice channel, so a linear search is faster than a map of boxed integers
+        for (AudioJitterBuffer jitterBuffer : jitterBuffers) {
+            if (jitterBuffer.getSsrc() == ssrc) {
+                return jitterBuffer;
+            }
+        }
+        AudioJitterBuffer jitterBuffer =
+                new AudioJitterBuffer(connection, ssrc, JITTER_BUFFER_CAPACITY, JITTER_BUFFER_MAX_DELAY_NANOS);
+        jitterBuffers.add(jitterBuffer);
+        return jitterBuffer;
     }
 
 }
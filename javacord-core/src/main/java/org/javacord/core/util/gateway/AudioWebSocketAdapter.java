@@ -46,7 +46,7 @@ public class AudioWebSocketAdapter extends WebSocketAdapter {
 
     private final Heart heart;
 
-    private AudioUdpSocket socket;
+    private volatile AudioUdpSocket socket;
     private int ssrc;
 
     /**
@@ -125,12 +125,27 @@ public class AudioWebSocketAdapter extends WebSocketAdapter {
                 byte[] secretKey = api.getObjectMapper().convertValue(data.get("secret_key"), byte[].class);
                 socket.setSecretKey(secretKey);
                 socket.startSending();
+                if (connection.getAudioReceiver().isPresent()) {
+                    socket.startReceiving();
+                }
                 // We established a connection with the udp socket. Now we are ready to send audio! :-)
                 connection.getReadyFuture().complete(connection);
                 break;
+            case SPEAKING:
+                data = packet.get("d");
+                connection.setUserIdOfSsrc(data.get("ssrc").asInt(), data.get("user_id").asLong());
+                break;
             case HEARTBEAT_ACK:
                 // Handled in the heart
                 break;
+            case CLIENT_DISCONNECT:
+                data = packet.get("d");
+                for (int removedSsrc : connection.removeSsrcsOfUser(data.get("user_id").asLong())) {
+                    if (socket != null) {
+                        socket.removeReceiveStream(removedSsrc);
+                    }
+                }
+                break;
             case RESUMED:
                 resuming = false;
                 reconnectAttempt.set(0);
@@ -159,6 +174,9 @@ public class AudioWebSocketAdapter extends WebSocketAdapter {
         if (resuming) {
             sendResume(websocket);
             socket.startSending();
+            if (connection.getAudioReceiver().isPresent()) {
+                socket.startReceiving();
+            }
         }
     }
 
@@ -186,8 +204,9 @@ public class AudioWebSocketAdapter extends WebSocketAdapter {
 
         // Squash heart, until it stops beating
         heart.squash();
-        //Pause UDP sending
+        //Pause UDP sending and receiving
         socket.stopSending();
+        socket.stopReceiving();
 
         if (resuming) {
             logger.info("Could not resume, reconnecting in {} seconds", api.getReconnectDelay(reconnectAttempt.get()));
@@ -303,11 +322,30 @@ public class AudioWebSocketAdapter extends WebSocketAdapter {
     public void disconnect() {
         reconnect = false;
         socket.stopSending();
+        socket.stopReceiving();
         websocket.get().sendClose(WebSocketCloseReason.DISCONNECT.getNumericCloseCode());
         // cancel heartbeat timer if within one minute no disconnect event was dispatched
         api.getThreadPool().getDaemonScheduler().schedule(heart::squash, 1, TimeUnit.MINUTES);
     }
 
+    /**
+     * Starts receiving audio if the udp socket is already connected.
+     */
+    public void startReceiving() {
+        if (socket != null && connection.getReadyFuture().isDone()) {
+            socket.startReceiving();
+        }
+    }
+
+    /**
+     * Stops receiving audio.
+     */
+    public void stopReceiving() {
+        if (socket != null) {
+            socket.stopReceiving();
+        }
+    }
+
     /**
      * Sends the resume packet.
      *
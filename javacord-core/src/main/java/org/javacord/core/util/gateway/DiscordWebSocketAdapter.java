@@ -1,7 +1,7 @@
 package org.javacord.core.util.gateway;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.neovisionaries.ws.client.ProxySettings;
@@ -80,6 +80,7 @@ import org.javacord.core.util.logging.WebSocketLogger;
 import org.javacord.core.util.rest.RestEndpoint;
 import org.javacord.core.util.rest.RestMethod;
 import org.javacord.core.util.rest.RestRequest;
+import org.javacord.core.util.rest.RestRequestResult;
 
 import java.net.InetSocketAddress;
 import java.net.PasswordAuthentication;
@@ -88,6 +89,7 @@ import java.net.ProxySelector;
 import java.net.SocketAddress;
 import java.net.URI;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -160,6 +162,9 @@ public class DiscordWebSocketAdapter extends WebSocketAdapter {
     // A queue which contains server ids for the "request guild members" packet
     private final BlockingQueue<Long> requestGuildMembersQueue = new LinkedBlockingQueue<>();
 
+    // The "request guild members" packets for specific users which wait for their member chunks
+    private final GuildMembersRequests guildMembersRequests;
+
     // A queue which contains web socket frame sending requests
     private BlockingQueue<WebSocketFrameSendingQueueEntry> webSocketFrameSendingQueue = new PriorityBlockingQueue<>();
     private AtomicReference<Thread> webSocketFrameSenderThread = new AtomicReference<>();
@@ -187,7 +192,9 @@ public class DiscordWebSocketAdapter extends WebSocketAdapter {
                 api,
                 heartbeatFrame -> sendFrame(websocket.get(), heartbeatFrame, true, true),
                 (code, reason) -> sendCloseFrame(websocket.get(), code, reason),
+                this::createFrame,
                 false);
+        this.guildMembersRequests = new GuildMembersRequests(this::sendPacket, api.getThreadPool().getScheduler());
 
         registerHandlers();
         connect();
@@ -217,7 +224,7 @@ public class DiscordWebSocketAdapter extends WebSocketAdapter {
                                 data.put("guild_id", Long.toUnsignedString(serverId));
                                 logger.debug("Sending request guild members packet {}",
                                              requestGuildMembersPacket);
-                                sendTextFrame(requestGuildMembersPacket.toString());
+                                sendPacket(requestGuildMembersPacket);
                             });
                     Thread.sleep(1000);
                 } catch (InterruptedException ignored) {
@@ -323,7 +330,15 @@ public class DiscordWebSocketAdapter extends WebSocketAdapter {
             gatewayReadLock.unlock();
             gatewayWriteLock.lock();
             try {
-                if (gateway == null) {
+                if (gateway == null && api.getTotalShards() > 1) {
+                    // The bot gateway also tells how many shards can identify at the same time
+                    JsonNode botGateway = new RestRequest<JsonNode>(api, RestMethod.GET, RestEndpoint.GATEWAY_BOT)
+                            .execute(RestRequestResult::getJsonBody)
+                            .join();
+                    api.setMaxIdentifyConcurrency(
+                            botGateway.path("session_start_limit").path("max_concurrency").asInt(1));
+                    gateway = botGateway.get("url").asText();
+                } else if (gateway == null) {
                     gateway = new RestRequest<String>(api, RestMethod.GET, RestEndpoint.GATEWAY)
                             .includeAuthorizationHeader(false)
                             .execute(result -> result.getJsonBody().get("url").asText())
@@ -370,9 +385,13 @@ public class DiscordWebSocketAdapter extends WebSocketAdapter {
      * Connects the websocket.
      */
     private void connect() {
+        ZlibStreamListener zlibStreamListener = null;
         try {
             WebSocketFactory factory = new WebSocketFactory();
-            String webSocketUri = getGateway(api) + "?encoding=json&v=" + Javacord.DISCORD_GATEWAY_VERSION;
+            String webSocketUri = getGateway(api)
+                    + "?encoding=" + (api.isEtfGatewayEncodingEnabled() ? "etf" : "json")
+                    + "&v=" + Javacord.DISCORD_GATEWAY_VERSION
+                    + "&compress=zlib-stream";
             Proxy proxy = api.getProxy().orElseGet(() -> {
                 List<Proxy> proxies = api.getProxySelector().orElseGet(ProxySelector::getDefault).select(URI.create(
                         webSocketUri.replace("wss://", "https://").replace("ws://", "http://")));
@@ -453,6 +472,9 @@ public class DiscordWebSocketAdapter extends WebSocketAdapter {
             websocket.addHeader("Accept-Encoding", "gzip");
             websocket.addListener(this);
             websocket.addListener(new WebSocketLogger());
+            // Every connection starts a new zlib stream
+            zlibStreamListener = new ZlibStreamListener();
+            websocket.addListener(zlibStreamListener);
 
             if (sessionId == null) {
                 api.getGatewayIdentifyRatelimiter().requestQuota();
@@ -460,6 +482,10 @@ public class DiscordWebSocketAdapter extends WebSocketAdapter {
             websocket.connect();
         } catch (Throwable t) {
             logger.warn("An error occurred while connecting to websocket", t);
+            if (zlibStreamListener != null) {
+                // The socket never connected, so it is not disconnected either
+                zlibStreamListener.close();
+            }
             if (reconnect) {
                 reconnectingOrResumingLock.lock();
                 try {
@@ -533,27 +559,90 @@ public class DiscordWebSocketAdapter extends WebSocketAdapter {
 
     @Override
     public void onTextMessage(WebSocket websocket, String text) throws Exception {
-        ObjectMapper mapper = api.getObjectMapper();
-        JsonNode packet = mapper.readTree(text);
+        try (JsonParser parser = api.getObjectMapper().getFactory().createParser(text)) {
+            handlePacket(websocket, GatewayPayload.read(parser, this::isDataRequired));
+        }
+    }
+
+    /**
+     * Handles a decompressed payload which was received as a binary message.
+     *
+     * @param websocket The websocket the payload was received from.
+     * @param buffer The buffer which contains the payload.
+     * @param length The length of the payload.
+     * @throws Exception If the payload could not be handled.
+     */
+    private void handleBinaryPayload(WebSocket websocket, byte[] buffer, int length) throws Exception {
+        GatewayPayload payload;
+        if (api.isEtfGatewayEncodingEnabled()) {
+            JsonNode packet = EtfDecoder.decode(buffer, 0, length);
+            logger.trace("onTextMessage: text='{}'", packet);
+            payload = GatewayPayload.of(packet);
+        } else {
+            logger.trace("onTextMessage: text='{}'", () -> new String(buffer, 0, length, StandardCharsets.UTF_8));
+            // Let Jackson read the bytes directly instead of creating a string first
+            try (JsonParser parser = api.getObjectMapper().getFactory().createParser(buffer, 0, length)) {
+                payload = GatewayPayload.read(parser, this::isDataRequired);
+            }
+        }
+        handlePacket(websocket, payload);
+    }
+
+    /**
+     * Checks if the data of a dispatch with the given type is required.
+     *
+     * @param type The type of the dispatch.
+     * @return Whether the data of a dispatch with the given type is required.
+     * @see #isDataRequired(Map, String)
+     */
+    private boolean isDataRequired(String type) {
+        return isDataRequired(handlers, type);
+    }
 
-        heart.handlePacket(packet);
+    /**
+     * Checks if the data of a dispatch with the given type is required.
+     * The data of dispatches without a handler, or whose handler is not {@link PacketHandler#isRequired() required}
+     * right now, is skipped instead of being parsed.
+     *
+     * @param handlers The packet handlers by their type.
+     * @param type The type of the dispatch.
+     * @return Whether the data of a dispatch with the given type is required.
+     */
+    static boolean isDataRequired(Map<String, PacketHandler> handlers, String type) {
+        if (type.equals("READY")) {
+            return true;
+        }
+        PacketHandler handler = handlers.get(type);
+        return handler != null && handler.isRequired();
+    }
+
+    /**
+     * Handles a packet received from the gateway.
+     *
+     * @param websocket The websocket the packet was received from.
+     * @param payload The payload.
+     * @throws InterruptedException If interrupted while waiting for the gateway identify ratelimit.
+     */
+    private void handlePacket(WebSocket websocket, GatewayPayload payload) throws InterruptedException {
+        heart.handlePacket(payload);
 
-        int op = packet.get("op").asInt();
+        int op = payload.getOp();
         Optional<GatewayOpcode> opcode = GatewayOpcode.fromCode(op);
         if (!opcode.isPresent()) {
-            logger.debug("Received unknown packet (op: {}, content: {})", op, packet);
+            logger.debug("Received unknown packet (op: {}, content: {})", op, payload);
             return;
         }
 
         switch (opcode.get()) {
             case DISPATCH:
-                lastSeq = packet.get("s").asInt();
-                String type = packet.get("t").asText();
+                lastSeq = payload.getSequence();
+                String type = payload.getType().orElse("");
                 PacketHandler handler = handlers.get(type);
-                if (handler != null) {
-                    handler.handlePacket(packet.get("d"));
-                } else {
-                    logger.debug("Received unknown packet of type {} (packet: {})", type, packet);
+                if (handler == null) {
+                    logger.debug("Received unknown packet of type {} (packet: {})", type, payload);
+                } else if (!payload.isDataSkipped()) {
+                    // Skipped data belongs to packets which were not required when they were received
+                    handler.handlePacket(payload.getData());
                 }
 
                 if (type.equals("GUILD_MEMBERS_CHUNK")) {
@@ -580,7 +669,7 @@ public class DiscordWebSocketAdapter extends WebSocketAdapter {
                     } finally {
                         reconnectingOrResumingLock.unlock();
                     }
-                    sessionId = packet.get("d").get("session_id").asText();
+                    sessionId = payload.getData().get("session_id").asText();
                     // Discord sends us GUILD_CREATE packets after logging in. We will wait for them.
                     api.getThreadPool().getSingleThreadExecutorService("Startup Servers Wait Thread").submit(() -> {
                         boolean allUsersLoaded = false;
@@ -651,7 +740,7 @@ public class DiscordWebSocketAdapter extends WebSocketAdapter {
             case HELLO:
                 logger.debug("Received HELLO packet");
 
-                JsonNode data = packet.get("d");
+                JsonNode data = payload.getData();
                 int heartbeatInterval = data.get("heartbeat_interval").asInt();
 
                 // calculate reserved places for heartbeats
@@ -668,24 +757,11 @@ public class DiscordWebSocketAdapter extends WebSocketAdapter {
                 // Handled by the heart
                 break;
             default:
-                logger.debug("Received unknown packet (op: {}, content: {})", op, packet);
+                logger.debug("Received unknown packet (op: {}, content: {})", op, payload);
                 break;
         }
     }
 
-    @Override
-    public void onBinaryMessage(WebSocket websocket, byte[] binary) throws Exception {
-        String message;
-        try {
-            message = BinaryMessageDecompressor.decompress(binary);
-        } catch (DataFormatException e) {
-            logger.warn("An error occurred while decompressing data", e);
-            return;
-        }
-        logger.trace("onTextMessage: text='{}'", message);
-        onTextMessage(websocket, message);
-    }
-
     /**
      * Sends the resume packet.
      *
@@ -699,7 +775,7 @@ public class DiscordWebSocketAdapter extends WebSocketAdapter {
                 .put("session_id", sessionId)
                 .put("seq", lastSeq);
         logger.debug("Sending resume packet");
-        sendLifecycleTextFrame(websocket, resumePacket.toString());
+        sendLifecycleFrame(websocket, createFrame(resumePacket));
     }
 
     /**
@@ -713,7 +789,6 @@ public class DiscordWebSocketAdapter extends WebSocketAdapter {
         ObjectNode data = identifyPacket.putObject("d");
         String token = api.getPrefixedToken();
         data.put("token", token)
-                .put("compress", true)
                 .put("large_threshold", 250)
                 .putObject("properties")
                 .put("$os", System.getProperty("os.name"))
@@ -732,7 +807,7 @@ public class DiscordWebSocketAdapter extends WebSocketAdapter {
             websocket.removeListeners(identifyFrameListeners);
             identifyFrameListeners.clear();
         }
-        WebSocketFrame identifyFrame = WebSocketFrame.createTextFrame(identifyPacket.toString());
+        WebSocketFrame identifyFrame = createFrame(identifyPacket);
         lastSentFrameWasIdentify.set(identifyFrame, false);
         WebSocketAdapter identifyFrameListener = new WebSocketAdapter() {
             @Override
@@ -782,7 +857,7 @@ public class DiscordWebSocketAdapter extends WebSocketAdapter {
                 .put("self_mute", (selfMuted == null) ? server.isSelfMuted(yourself) : selfMuted)
                 .put("self_deaf", (selfDeafened == null) ? server.isSelfDeafened(yourself) : selfDeafened);
         logger.debug("Sending VOICE_STATE_UPDATE packet for {} on {}", channel, server);
-        sendTextFrame(updateVoiceStatePacket.toString());
+        sendPacket(updateVoiceStatePacket);
     }
 
     /**
@@ -910,7 +985,7 @@ public class DiscordWebSocketAdapter extends WebSocketAdapter {
         }).orElse(0));
         activity.flatMap(Activity::getStreamingUrl).ifPresent(url -> activityJson.put("url", url));
         logger.debug("Updating status (content: {})", updateStatus);
-        sendTextFrame(updateStatus.toString());
+        sendPacket(updateStatus);
     }
 
     /**
@@ -972,6 +1047,28 @@ public class DiscordWebSocketAdapter extends WebSocketAdapter {
         sendLifecycleFrame(webSocket, WebSocketFrame.createTextFrame(message));
     }
 
+    /**
+     * Creates a frame for the given packet in the encoding of the gateway connection.
+     *
+     * @param packet The packet.
+     * @return The frame for the packet.
+     */
+    private WebSocketFrame createFrame(JsonNode packet) {
+        if (api.isEtfGatewayEncodingEnabled()) {
+            return WebSocketFrame.createBinaryFrame(EtfEncoder.encode(packet));
+        }
+        return WebSocketFrame.createTextFrame(packet.toString());
+    }
+
+    /**
+     * Send the given packet in the encoding of the gateway connection after ratelimit allows.
+     *
+     * @param packet The packet to send.
+     */
+    public void sendPacket(JsonNode packet) {
+        sendFrame(null, createFrame(packet), false, false);
+    }
+
     /**
      * Send a text frame with the given message after ratelimit allows.
      *
@@ -1041,6 +1138,15 @@ public class DiscordWebSocketAdapter extends WebSocketAdapter {
         requestGuildMembersQueue.add(server.getId());
     }
 
+    /**
+     * Gets the "request guild members" packets for specific users which wait for their member chunks.
+     *
+     * @return The pending guild members requests.
+     */
+    public GuildMembersRequests getGuildMembersRequests() {
+        return guildMembersRequests;
+    }
+
     @Override
     public void onError(WebSocket websocket, WebSocketException cause) {
         switch (cause.getMessage()) {
@@ -1071,4 +1177,58 @@ public class DiscordWebSocketAdapter extends WebSocketAdapter {
     public void onConnectError(WebSocket websocket, WebSocketException exception) {
         logger.warn("Websocket onConnect error!", exception);
     }
+
+    /**
+     * Decompresses the binary messages of a single websocket connection.
+     *
+     * <p>Every connection has its own zlib stream, so the decompressor belongs to the connection and is closed when
+     * the connection is closed. Late messages of an old connection therefore never reach the decompressor of a new
+     * connection.
+     */
+    private class ZlibStreamListener extends WebSocketAdapter {
+
+        private final ZlibStreamDecompressor decompressor = new ZlibStreamDecompressor();
+
+        /**
+         * Whether the zlib stream is corrupted. Only accessed by the reading thread of the connection.
+         */
+        private boolean corrupted = false;
+
+        @Override
+        public void onBinaryMessage(WebSocket websocket, byte[] binary) throws Exception {
+            if (corrupted) {
+                // The stream cannot recover, so ignore everything until the connection is closed
+                return;
+            }
+            try {
+                if (!decompressor.decompress(binary)) {
+                    // The payload is split into multiple messages
+                    return;
+                }
+            } catch (DataFormatException e) {
+                corrupted = true;
+                logger.warn("The compressed data of the websocket is corrupted. Trying to reconnect/resume!", e);
+                WebSocketCloseReason reason = WebSocketCloseReason.DECOMPRESSION_FAILED;
+                sendCloseFrame(websocket, reason.getNumericCloseCode(), reason.getCloseReason());
+                return;
+            }
+            handleBinaryPayload(websocket, decompressor.getBuffer(), decompressor.getLength());
+        }
+
+        @Override
+        public void onDisconnected(WebSocket websocket, WebSocketFrame serverCloseFrame,
+                                   WebSocketFrame clientCloseFrame, boolean closedByServer) {
+            // Called after the reading thread finished, so no message is decompressed anymore
+            close();
+        }
+
+        /**
+         * Releases the native resources of the decompressor.
+         */
+        private void close() {
+            decompressor.close();
+        }
+
+    }
+
 }
@@ -0,0 +1,280 @@
+package org.javacord.core.util.gateway;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Decodes gateway payloads in the Erlang External Term Format ({@code encoding=etf}).
+ *
+ * <p>The payloads are decoded to the same {@link JsonNode} structure as JSON payloads, so packet handlers do not have
+ * to care about the encoding:
+ * <ul>
+ *     <li>Maps become object nodes, lists and tuples become array nodes.</li>
+ *     <li>Binaries become text nodes.</li>
+ *     <li>The atoms {@code nil}, {@code true} and {@code false} become null and boolean nodes, other atoms become
+ *     text nodes.</li>
+ *     <li>Integers become int or long nodes. Discord sends snowflakes as integers when using ETF, so they are decoded
+ *     to long nodes directly instead of text nodes that have to be parsed.</li>
+ * </ul>
+ */
+public class EtfDecoder {
+
+    private static final JsonNodeFactory nodeFactory = JsonNodeFactory.instance;
+
+    private final byte[] data;
+
+    /**
+     * The end of the payload in the buffer. The buffer may be reused and larger than the payload.
+     */
+    private final int limit;
+    private int position;
+
+    private EtfDecoder(byte[] data, int position, int limit) {
+        this.data = data;
+        this.position = position;
+        this.limit = limit;
+    }
+
+    /**
+     * Decodes the given payload.
+     *
+     * @param data The buffer which contains the payload.
+     * @param offset The offset of the payload in the buffer.
+     * @param length The length of the payload.
+     * @return The decoded payload.
+     * @throws IOException If the payload is not a valid ETF term.
+     */
+    public static JsonNode decode(byte[] data, int offset, int length) throws IOException {
+        if (offset < 0 || length < 1 || length > data.length - offset || (data[offset] & 0xff) != EtfTag.VERSION) {
+            throw new IOException("The payload does not start with the ETF version byte");
+        }
+        try {
+            return new EtfDecoder(data, offset + 1, offset + length).readTerm();
+        } catch (IndexOutOfBoundsException e) {
+            throw new IOException("The ETF payload is truncated", e);
+        }
+    }
+
+    /**
+     * Decodes the given payload.
+     *
+     * @param data The payload.
+     * @return The decoded payload.
+     * @throws IOException If the payload is not a valid ETF term.
+     */
+    public static JsonNode decode(byte[] data) throws IOException {
+        return decode(data, 0, data.length);
+    }
+
+    private JsonNode readTerm() throws IOException {
+        int tag = readUnsignedByte();
+        switch (tag) {
+            case EtfTag.SMALL_INTEGER_EXT:
+                return nodeFactory.numberNode(readUnsignedByte());
+            case EtfTag.INTEGER_EXT:
+                return nodeFactory.numberNode(readInt());
+            case EtfTag.SMALL_BIG_EXT:
+                return readBig(readUnsignedByte());
+            case EtfTag.LARGE_BIG_EXT:
+                return readBig(readLength());
+            case EtfTag.NEW_FLOAT_EXT:
+                return nodeFactory.numberNode(Double.longBitsToDouble(readLong()));
+            case EtfTag.FLOAT_EXT:
+                checkAvailable(31);
+                String floatString = new String(data, position, 31, StandardCharsets.ISO_8859_1).trim();
+                position += 31;
+                return nodeFactory.numberNode(Double.parseDouble(floatString));
+            case EtfTag.BINARY_EXT:
+                return nodeFactory.textNode(readString(readLength(), StandardCharsets.UTF_8));
+            case EtfTag.ATOM_EXT:
+                return readAtom(readUnsignedShort(), StandardCharsets.ISO_8859_1);
+            case EtfTag.SMALL_ATOM_EXT:
+                return readAtom(readUnsignedByte(), StandardCharsets.ISO_8859_1);
+            case EtfTag.ATOM_UTF8_EXT:
+                return readAtom(readUnsignedShort(), StandardCharsets.UTF_8);
+            case EtfTag.SMALL_ATOM_UTF8_EXT:
+                return readAtom(readUnsignedByte(), StandardCharsets.UTF_8);
+            case EtfTag.MAP_EXT:
+                return readMap(readLength());
+            case EtfTag.NIL_EXT:
+                return nodeFactory.arrayNode();
+            case EtfTag.LIST_EXT:
+                return readList(readLength());
+            case EtfTag.SMALL_TUPLE_EXT:
+                return readTuple(readUnsignedByte());
+            case EtfTag.LARGE_TUPLE_EXT:
+                return readTuple(readLength());
+            case EtfTag.STRING_EXT:
+                // Erlang encodes lists of small integers as strings
+                int stringLength = readUnsignedShort();
+                checkAvailable(stringLength);
+                ArrayNode characters = nodeFactory.arrayNode(stringLength);
+                for (int i = 0; i < stringLength; i++) {
+                    characters.add(readUnsignedByte());
+                }
+                return characters;
+            case EtfTag.COMPRESSED:
+                return readCompressed();
+            default:
+                throw new IOException("Unsupported ETF tag " + tag + " at position " + (position - 1));
+        }
+    }
+
+    private JsonNode readBig(int byteCount) {
+        boolean negative = readUnsignedByte() != 0;
+        checkAvailable(byteCount);
+        if (byteCount <= 8) {
+            long value = 0;
+            for (int i = 0; i < byteCount; i++) {
+                value |= (data[position + i] & 0xffL) << (8 * i);
+            }
+            position += byteCount;
+            if (value >= 0) {
+                return nodeFactory.numberNode(negative ? -value : value);
+            }
+            // The value does not fit into a signed long
+            BigInteger unsignedValue = new BigInteger(Long.toUnsignedString(value));
+            return nodeFactory.numberNode(negative ? unsignedValue.negate() : unsignedValue);
+        }
+        byte[] bigEndian = new byte[byteCount];
+        for (int i = 0; i < byteCount; i++) {
+            bigEndian[byteCount - 1 - i] = data[position + i];
+        }
+        position += byteCount;
+        BigInteger value = new BigInteger(1, bigEndian);
+        return nodeFactory.numberNode(negative ? value.negate() : value);
+    }
+
+    private JsonNode readAtom(int length, Charset charset) {
+        checkAvailable(length);
+        if (length == 3 && data[position] == 'n' && data[position + 1] == 'i' && data[position + 2] == 'l') {
+            position += 3;
+            return nodeFactory.nullNode();
+        }
+        String atom = readString(length, charset);
+        switch (atom) {
+            case "true":
+                return nodeFactory.booleanNode(true);
+            case "false":
+                return nodeFactory.booleanNode(false);
+            case "null":
+                return nodeFactory.nullNode();
+            default:
+                return nodeFactory.textNode(atom);
+        }
+    }
+
+    private ObjectNode readMap(int arity) throws IOException {
+        ObjectNode map = nodeFactory.objectNode();
+        for (int i = 0; i < arity; i++) {
+            JsonNode key = readTerm();
+            map.set(key.asText(), readTerm());
+        }
+        return map;
+    }
+
+    private ArrayNode readList(int length) throws IOException {
+        // Every element and the tail take at least one byte
+        checkAvailable(length + 1L);
+        ArrayNode list = nodeFactory.arrayNode(length);
+        for (int i = 0; i < length; i++) {
+            list.add(readTerm());
+        }
+        // Proper lists end with an empty list as tail
+        checkAvailable(1);
+        if ((data[position] & 0xff) == EtfTag.NIL_EXT) {
+            position++;
+        } else {
+            list.add(readTerm());
+        }
+        return list;
+    }
+
+    private ArrayNode readTuple(int arity) throws IOException {
+        checkAvailable(arity);
+        ArrayNode tuple = nodeFactory.arrayNode(arity);
+        for (int i = 0; i < arity; i++) {
+            tuple.add(readTerm());
+        }
+        return tuple;
+    }
+
+    private JsonNode readCompressed() throws IOException {
+        int uncompressedSize = readLength();
+        byte[] uncompressed = new byte[uncompressedSize];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data, position, limit - position);
+            int inflated = 0;
+            while (inflated < uncompressedSize && !inflater.finished()) {
+                int count = inflater.inflate(uncompressed, inflated, uncompressedSize - inflated);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IOException("The compressed ETF term is truncated");
+                }
+                inflated += count;
+            }
+            position += (int) inflater.getBytesRead();
+        } catch (DataFormatException e) {
+            throw new IOException("The compressed ETF term is invalid", e);
+        } finally {
+            inflater.end();
+        }
+        return new EtfDecoder(uncompressed, 0, uncompressedSize).readTerm();
+    }
+
+    private String readString(int length, Charset charset) {
+        checkAvailable(length);
+        String string = new String(data, position, length, charset);
+        position += length;
+        return string;
+    }
+
+    private int readUnsignedByte() {
+        checkAvailable(1);
+        return data[position++] & 0xff;
+    }
+
+    /**
+     * Checks that the given amount of bytes is left in the payload.
+     * Like reads past the end of the buffer, this fails with an exception that {@link #decode(byte[], int, int)}
+     * reports as a truncated payload.
+     *
+     * @param count The amount of bytes.
+     */
+    private void checkAvailable(long count) {
+        if (count > limit - position) {
+            throw new IndexOutOfBoundsException(
+                    "Needed " + count + " bytes, but only " + (limit - position) + " are left");
+        }
+    }
+
+    private int readUnsignedShort() {
+        return (readUnsignedByte() << 8) | readUnsignedByte();
+    }
+
+    private int readInt() {
+        return (readUnsignedByte() << 24) | (readUnsignedByte() << 16) | (readUnsignedByte() << 8) | readUnsignedByte();
+    }
+
+    private int readLength() throws IOException {
+        int length = readInt();
+        if (length < 0) {
+            throw new IOException("Unsupported ETF length " + Integer.toUnsignedString(length));
+        }
+        return length;
+    }
+
+    private long readLong() {
+        return ((long) readInt() << 32) | (readInt() & 0xffffffffL);
+    }
+
+}
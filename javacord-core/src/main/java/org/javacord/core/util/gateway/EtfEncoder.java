@@ -0,0 +1,132 @@
+package org.javacord.core.util.gateway;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Encodes gateway payloads in the Erlang External Term Format ({@code encoding=etf}).
+ *
+ * <p>This is the counterpart of the {@link EtfDecoder}. Objects are encoded as maps with binary keys, arrays as
+ * lists, texts as binaries, and {@code null} as the atom {@code nil}.
+ */
+public class EtfEncoder {
+
+    private static final byte[] NIL = "nil".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TRUE = "true".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] FALSE = "false".getBytes(StandardCharsets.US_ASCII);
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+
+    private EtfEncoder() {
+    }
+
+    /**
+     * Encodes the given payload.
+     *
+     * @param payload The payload to encode.
+     * @return The encoded payload.
+     */
+    public static byte[] encode(JsonNode payload) {
+        EtfEncoder encoder = new EtfEncoder();
+        encoder.out.write(EtfTag.VERSION);
+        encoder.writeTerm(payload);
+        return encoder.out.toByteArray();
+    }
+
+    private void writeTerm(JsonNode node) {
+        switch (node.getNodeType()) {
+            case OBJECT:
+                out.write(EtfTag.MAP_EXT);
+                writeInt(node.size());
+                Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+                while (fields.hasNext()) {
+                    Map.Entry<String, JsonNode> field = fields.next();
+                    writeBinary(field.getKey());
+                    writeTerm(field.getValue());
+                }
+                break;
+            case ARRAY:
+                if (node.size() > 0) {
+                    out.write(EtfTag.LIST_EXT);
+                    writeInt(node.size());
+                    for (JsonNode element : node) {
+                        writeTerm(element);
+                    }
+                }
+                // Lists end with an empty list as tail
+                out.write(EtfTag.NIL_EXT);
+                break;
+            case STRING:
+                writeBinary(node.textValue());
+                break;
+            case NUMBER:
+                writeNumber(node);
+                break;
+            case BOOLEAN:
+                writeAtom(node.booleanValue() ? TRUE : FALSE);
+                break;
+            case NULL:
+            case MISSING:
+                writeAtom(NIL);
+                break;
+            default:
+                throw new IllegalArgumentException("Cannot encode nodes of type " + node.getNodeType());
+        }
+    }
+
+    private void writeNumber(JsonNode node) {
+        if (node.isFloatingPointNumber()) {
+            out.write(EtfTag.NEW_FLOAT_EXT);
+            long bits = Double.doubleToLongBits(node.doubleValue());
+            writeInt((int) (bits >>> 32));
+            writeInt((int) bits);
+        } else if (node.canConvertToInt()) {
+            int value = node.intValue();
+            if (value >= 0 && value <= 255) {
+                out.write(EtfTag.SMALL_INTEGER_EXT);
+                out.write(value);
+            } else {
+                out.write(EtfTag.INTEGER_EXT);
+                writeInt(value);
+            }
+        } else {
+            BigInteger value = node.bigIntegerValue();
+            byte[] bigEndian = value.abs().toByteArray();
+            // Skip the sign byte of the two's complement representation
+            int start = bigEndian[0] == 0 ? 1 : 0;
+            int byteCount = bigEndian.length - start;
+            out.write(EtfTag.SMALL_BIG_EXT);
+            out.write(byteCount);
+            out.write(value.signum() < 0 ? 1 : 0);
+            for (int i = bigEndian.length - 1; i >= start; i--) {
+                out.write(bigEndian[i]);
+            }
+        }
+    }
+
+    private void writeBinary(String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        out.write(EtfTag.BINARY_EXT);
+        writeInt(bytes.length);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    private void writeAtom(byte[] name) {
+        out.write(EtfTag.SMALL_ATOM_UTF8_EXT);
+        out.write(name.length);
+        out.write(name, 0, name.length);
+    }
+
+    private void writeInt(int value) {
+        out.write(value >>> 24);
+        out.write(value >>> 16);
+        out.write(value >>> 8);
+        out.write(value);
+    }
+
+}
@@ -0,0 +1,161 @@
+package org.javacord.core.util.gateway;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * The envelope of a gateway payload, i.e. its opcode, sequence number, event type and data.
+ *
+ * <p>JSON payloads are read with a streaming parser. The data ({@code d}) of a dispatch is only turned into a tree
+ * if its type is required, otherwise it is skipped without materializing it.
+ */
+public class GatewayPayload {
+
+    private final int op;
+    private final int sequence;
+    private final boolean sequencePresent;
+    private final String type;
+    private final JsonNode data;
+    private final boolean dataSkipped;
+
+    private GatewayPayload(int op, int sequence, boolean sequencePresent, String type, JsonNode data,
+                           boolean dataSkipped) {
+        this.op = op;
+        this.sequence = sequence;
+        this.sequencePresent = sequencePresent;
+        this.type = type;
+        this.data = data;
+        this.dataSkipped = dataSkipped;
+    }
+
+    /**
+     * Reads a payload with the given parser.
+     *
+     * <p>The data of a dispatch is skipped if the given predicate does not require its type. Discord sends the event
+     * type before the data, but if the data happens to come first, it is always read.
+     *
+     * @param parser The parser to read the payload with. It must have a codec to read trees.
+     * @param dataRequired A predicate that decides if the data of a dispatch with the given type is required.
+     * @return The payload.
+     * @throws IOException If the payload is not valid.
+     */
+    public static GatewayPayload read(JsonParser parser, Predicate<String> dataRequired) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "Expected the gateway payload to be an object");
+        }
+        int op = -1;
+        int sequence = 0;
+        boolean sequencePresent = false;
+        String type = null;
+        JsonNode data = null;
+        boolean dataSkipped = false;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "op":
+                    op = parser.getIntValue();
+                    break;
+                case "s":
+                    sequencePresent = value != JsonToken.VALUE_NULL;
+                    sequence = sequencePresent ? parser.getIntValue() : 0;
+                    break;
+                case "t":
+                    type = value == JsonToken.VALUE_NULL ? null : parser.getText();
+                    break;
+                case "d":
+                    if (op == GatewayOpcode.DISPATCH.getCode() && type != null && !dataRequired.test(type)) {
+                        parser.skipChildren();
+                        dataSkipped = true;
+                    } else {
+                        data = parser.readValueAsTree();
+                    }
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
+        return new GatewayPayload(op, sequence, sequencePresent, type, data, dataSkipped);
+    }
+
+    /**
+     * Creates a payload from an already materialized packet.
+     *
+     * @param packet The packet.
+     * @return The payload.
+     */
+    public static GatewayPayload of(JsonNode packet) {
+        JsonNode sequence = packet.path("s");
+        JsonNode type = packet.path("t");
+        return new GatewayPayload(packet.path("op").asInt(-1), sequence.asInt(), sequence.isNumber(),
+                type.isTextual() ? type.textValue() : null, packet.get("d"), false);
+    }
+
+    /**
+     * Gets the opcode of the payload.
+     *
+     * @return The opcode of the payload or {@code -1} if it has none.
+     */
+    public int getOp() {
+        return op;
+    }
+
+    /**
+     * Checks if the payload has a sequence number.
+     *
+     * @return Whether the payload has a sequence number.
+     */
+    public boolean hasSequence() {
+        return sequencePresent;
+    }
+
+    /**
+     * Gets the sequence number of the payload.
+     *
+     * @return The sequence number of the payload or {@code 0} if it has none.
+     */
+    public int getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Gets the event type of the payload.
+     *
+     * @return The event type of the payload.
+     */
+    public Optional<String> getType() {
+        return Optional.ofNullable(type);
+    }
+
+    /**
+     * Gets the data of the payload.
+     *
+     * @return The data of the payload or {@code null} if it has none or it was skipped.
+     */
+    public JsonNode getData() {
+        return data;
+    }
+
+    /**
+     * Checks if the data of the payload was skipped, because it was not required.
+     *
+     * @return Whether the data of the payload was skipped.
+     */
+    public boolean isDataSkipped() {
+        return dataSkipped;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("GatewayPayload (op: %s, s: %s, t: %s, d: %s)",
+                op, sequencePresent ? sequence : null, type, dataSkipped ? "<skipped>" : data);
+    }
+
+}
@@ -0,0 +1,163 @@
+package org.javacord.core.util.gateway;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.logging.log4j.Logger;
+import org.javacord.core.entity.user.Member;
+import org.javacord.core.util.logging.LoggerUtil;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Sends "request guild members" packets for specific users and correlates the received member chunks by their nonce.
+ */
+public class GuildMembersRequests {
+
+    /**
+     * The logger of this class.
+     */
+    private static final Logger logger = LoggerUtil.getLogger(GuildMembersRequests.class);
+
+    /**
+     * The maximum amount of user ids in one "request guild members" packet.
+     */
+    public static final int MAX_USER_IDS_PER_PACKET = 100;
+
+    /**
+     * The time in seconds after which a request without a complete response fails.
+     */
+    public static final long TIMEOUT_SECONDS = 30;
+
+    /**
+     * The pending requests by their nonce.
+     */
+    private final Map<String, PendingRequest> pendingRequests = new ConcurrentHashMap<>();
+
+    /**
+     * The counter which is used to create unique nonces.
+     */
+    private final AtomicLong nonceCounter = new AtomicLong();
+
+    private final Consumer<ObjectNode> packetSender;
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * Creates a new instance of this class.
+     *
+     * @param packetSender Sends a packet to the gateway.
+     * @param scheduler The scheduler which fails requests after the timeout.
+     */
+    public GuildMembersRequests(Consumer<ObjectNode> packetSender, ScheduledExecutorService scheduler) {
+        this.packetSender = packetSender;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Requests the members with the given user ids.
+     *
+     * <p>The ids are split into packets of at most {@value #MAX_USER_IDS_PER_PACKET} ids, which are sent at once.
+     *
+     * @param serverId The id of the server.
+     * @param userIds The ids of the users.
+     * @return The members of the server with the given ids. Users which are no member of the server are not included.
+     */
+    public CompletableFuture<List<Member>> request(long serverId, Collection<Long> userIds) {
+        List<Long> distinctUserIds = userIds.stream().distinct().collect(Collectors.toList());
+        List<CompletableFuture<List<Member>>> futures = new ArrayList<>();
+        for (int i = 0; i < distinctUserIds.size(); i += MAX_USER_IDS_PER_PACKET) {
+            int end = Math.min(i + MAX_USER_IDS_PER_PACKET, distinctUserIds.size());
+            futures.add(sendRequest(serverId, distinctUserIds.subList(i, end)));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> futures.stream()
+                        .flatMap(future -> future.join().stream())
+                        .collect(Collectors.toList()));
+    }
+
+    /**
+     * Handles a received member chunk.
+     *
+     * @param nonce The nonce of the chunk.
+     * @param members The members of the chunk.
+     * @param chunkCount The total amount of chunks for the request.
+     */
+    public void handleChunk(String nonce, List<Member> members, int chunkCount) {
+        PendingRequest request = pendingRequests.get(nonce);
+        if (request == null) {
+            return;
+        }
+        synchronized (request) {
+            request.members.addAll(members);
+            request.receivedChunks++;
+            if (request.receivedChunks < chunkCount) {
+                return;
+            }
+        }
+        pendingRequests.remove(nonce, request);
+        request.future.complete(request.members);
+    }
+
+    /**
+     * Gets the amount of requests which are waiting for member chunks.
+     *
+     * @return The amount of pending requests.
+     */
+    public int getPendingRequestCount() {
+        return pendingRequests.size();
+    }
+
+    /**
+     * Sends one "request guild members" packet.
+     *
+     * @param serverId The id of the server.
+     * @param userIds At most {@value #MAX_USER_IDS_PER_PACKET} user ids.
+     * @return The members of the response.
+     */
+    private CompletableFuture<List<Member>> sendRequest(long serverId, List<Long> userIds) {
+        String nonce = Long.toString(nonceCounter.incrementAndGet());
+        PendingRequest request = new PendingRequest();
+        pendingRequests.put(nonce, request);
+
+        ObjectNode packet = JsonNodeFactory.instance.objectNode()
+                .put("op", GatewayOpcode.REQUEST_GUILD_MEMBERS.getCode());
+        ObjectNode data = packet.putObject("d")
+                .put("guild_id", Long.toUnsignedString(serverId))
+                .put("nonce", nonce);
+        ArrayNode userIdsJson = data.putArray("user_ids");
+        userIds.forEach(userId -> userIdsJson.add(Long.toUnsignedString(userId)));
+        logger.debug("Sending request guild members packet {}", packet);
+        packetSender.accept(packet);
+
+        scheduler.schedule(() -> {
+            if (pendingRequests.remove(nonce, request)) {
+                request.future.completeExceptionally(new TimeoutException(
+                        "Did not receive the requested members within " + TIMEOUT_SECONDS + " seconds"));
+            }
+        }, TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        return request.future;
+    }
+
+    /**
+     * A request which waits for its member chunks.
+     */
+    private static final class PendingRequest {
+
+        private final CompletableFuture<List<Member>> future = new CompletableFuture<>();
+        private final List<Member> members = new ArrayList<>();
+        private int receivedChunks = 0;
+
+    }
+
+}
@@ -14,6 +14,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * Every animal has a heart.
@@ -29,6 +30,7 @@ public class Heart {
     private final DiscordApiImpl api;
     private final Consumer<WebSocketFrame> heartbeatFrameSender;
     private final BiConsumer<Integer, String> closeFrameSender;
+    private final Function<JsonNode, WebSocketFrame> frameFactory;
     private final boolean voice;
 
     private final AtomicReference<Future<?>> heartbeatTimer = new AtomicReference<>();
@@ -48,9 +50,27 @@ public class Heart {
      */
     public Heart(DiscordApiImpl api, Consumer<WebSocketFrame> heartbeatFrameSender,
                  BiConsumer<Integer, String> closeFrameSender, boolean voice) {
+        this(api, heartbeatFrameSender, closeFrameSender,
+                packet -> WebSocketFrame.createTextFrame(packet.toString()), voice);
+    }
+
+    /**
+     * Ba boom, ba boom, ba boom, ba boom, ...
+     *
+     * @param api                  The heart of every Javacord bot.
+     * @param heartbeatFrameSender A consumer that forwards the given frame to the corresponding web socket.
+     * @param closeFrameSender     A bi consumer that sends a close frame with the given code and reason.
+     * @param frameFactory         A function that creates the frame for the given packet in the encoding of the
+     *                             web socket.
+     * @param voice                Voice websocket hearts beat differently.
+     */
+    public Heart(DiscordApiImpl api, Consumer<WebSocketFrame> heartbeatFrameSender,
+                 BiConsumer<Integer, String> closeFrameSender, Function<JsonNode, WebSocketFrame> frameFactory,
+                 boolean voice) {
         this.api = api;
         this.heartbeatFrameSender = heartbeatFrameSender;
         this.closeFrameSender = closeFrameSender;
+        this.frameFactory = frameFactory;
         this.voice = voice;
     }
 
@@ -61,20 +81,30 @@ public class Heart {
      * @param packet The packet to handle.
      */
     public void handlePacket(JsonNode packet) {
+        handlePacket(GatewayPayload.of(packet));
+    }
+
+    /**
+     * Handles the given payload.
+     * Usually used to update the last sequence number and listen for acks.
+     *
+     * @param payload The payload to handle.
+     */
+    public void handlePacket(GatewayPayload payload) {
         if (!voice) {
             // For normal websockets, the last sequence number is sent in the heartbeat
-            if (packet.has("s") && !packet.get("s").isNull()) {
-                lastSeq = packet.get("s").asInt();
+            if (payload.hasSequence()) {
+                lastSeq = payload.getSequence();
             }
         }
         int heartbeatAckOp = voice ? VoiceGatewayOpcode.HEARTBEAT_ACK.getCode() : GatewayOpcode.HEARTBEAT_ACK.getCode();
-        if (packet.get("op").asInt() == heartbeatAckOp) {
+        if (payload.getOp() == heartbeatAckOp) {
             long gatewayLatency = System.nanoTime() - lastHeartbeatSentTimeNanos;
             if (!voice) {
                 api.setLatestGatewayLatencyNanos(gatewayLatency);
             }
             stethoscope.debug("Heartbeat ACK received (voice: {}, packet: {}). Took {} ms to receive ACK",
-                    voice, packet, TimeUnit.NANOSECONDS.toMillis(gatewayLatency));
+                    voice, payload, TimeUnit.NANOSECONDS.toMillis(gatewayLatency));
             heartbeatAckReceived.set(true);
         }
     }
@@ -117,7 +147,7 @@ public class Heart {
         ObjectNode heartbeatPacket = JsonNodeFactory.instance.objectNode()
                 .put("op", voice ? VoiceGatewayOpcode.HEARTBEAT.getCode() : GatewayOpcode.HEARTBEAT.getCode())
                 .put("d", voice ? (int) (Math.random() * Integer.MAX_VALUE) : lastSeq);
-        WebSocketFrame heartbeatFrame = WebSocketFrame.createTextFrame(heartbeatPacket.toString());
+        WebSocketFrame heartbeatFrame = frameFactory.apply(heartbeatPacket);
         heartbeatFrameSender.accept(heartbeatFrame);
         lastHeartbeatSentTimeNanos = System.nanoTime();
         // Ba boom, ba boom, ba boom, ba boom, ...
@@ -6,8 +6,6 @@ import org.javacord.api.DiscordApi;
 import org.javacord.core.DiscordApiImpl;
 import org.javacord.core.util.logging.LoggerUtil;
 
-import java.util.concurrent.ExecutorService;
-
 /**
  * This class is extended by all PacketHandlers.
  */
@@ -21,7 +19,6 @@ public abstract class PacketHandler {
     protected final DiscordApiImpl api;
     private final String type;
     private final boolean async;
-    private ExecutorService executorService;
 
     /**
      * Creates a new instance of this class.
@@ -34,9 +31,6 @@ public abstract class PacketHandler {
         this.api = (DiscordApiImpl) api;
         this.async = async;
         this.type = type;
-        if (async) {
-            executorService = api.getThreadPool().getSingleThreadExecutorService("Handlers Processor");
-        }
     }
 
     /**
@@ -46,7 +40,7 @@ public abstract class PacketHandler {
      */
     public void handlePacket(final JsonNode packet) {
         if (async) {
-            executorService.submit(() -> {
+            api.getPacketHandlerExecutor().submit(getPartitionKey(packet), () -> {
                 try {
                     handle(packet);
                 } catch (Throwable t) {
@@ -64,6 +58,19 @@ public abstract class PacketHandler {
         }
     }
 
+    /**
+     * Checks whether packets of this type currently have to be handled.
+     *
+     * <p>Only handlers of packets which do not update any cached state may override this method. Such packets are only
+     * required for their events, so the handler returns {@code false} while events cannot be dispatched or nobody
+     * listens to them. The gateway then skips the data of these packets instead of parsing it.
+     *
+     * @return Whether packets of this type currently have to be handled.
+     */
+    public boolean isRequired() {
+        return true;
+    }
+
     /**
      * This method is called by the super class to handle the packet.
      *
@@ -71,6 +78,26 @@ public abstract class PacketHandler {
      */
     protected abstract void handle(JsonNode packet);
 
+    /**
+     * Gets the key which is used to determine the lane an asynchronous packet is handled on.
+     * Packets with the same key are handled sequentially in the order they were received.
+     *
+     * <p>By default, this is the id of the server, or the id of the channel if the packet does not belong to a
+     * server. Packets with neither of them share the partition key {@code 0}.
+     *
+     * @param packet The packet (the "d"-object).
+     * @return The partition key of the packet.
+     */
+    protected long getPartitionKey(JsonNode packet) {
+        if (packet.hasNonNull("guild_id")) {
+            return packet.get("guild_id").asLong();
+        }
+        if (packet.hasNonNull("channel_id")) {
+            return packet.get("channel_id").asLong();
+        }
+        return 0;
+    }
+
     /**
      * Gets the type of packet the handler handles.
      *
@@ -0,0 +1,91 @@
+package org.javacord.core.util.gateway;
+
+import org.javacord.api.util.concurrent.ThreadPool;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Executes asynchronous packet handlers on a fixed amount of ordered lanes.
+ *
+ * <p>Every packet is assigned to a lane by its partition key (usually the id of the server, or the id of the channel
+ * for packets without a server). Packets with the same partition key are always handled on the same lane, and
+ * therefore sequentially in the order they were received, while packets with different partition keys may be handled
+ * in parallel.
+ */
+public class PacketHandlerExecutor {
+
+    /**
+     * The thread name of the only lane if there is just a single lane.
+     */
+    private static final String SINGLE_LANE_THREAD_NAME = "Handlers Processor";
+
+    /**
+     * The thread name pattern of the lanes if there are multiple lanes.
+     */
+    private static final String LANE_THREAD_NAME_PATTERN = "Handlers Processor - Lane %d";
+
+    /**
+     * A 64-bit golden ratio constant which is used to spread the partition keys.
+     */
+    private static final long SPREAD_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    /**
+     * The single threaded executor services, one for each lane.
+     */
+    private final ExecutorService[] lanes;
+
+    /**
+     * Creates a new packet handler executor.
+     *
+     * @param threadPool The thread pool which provides the single threaded executor services of the lanes.
+     * @param laneCount The amount of lanes.
+     */
+    public PacketHandlerExecutor(ThreadPool threadPool, int laneCount) {
+        if (laneCount < 1) {
+            throw new IllegalArgumentException("laneCount cannot be less than 1!");
+        }
+        lanes = new ExecutorService[laneCount];
+        if (laneCount == 1) {
+            lanes[0] = threadPool.getSingleThreadExecutorService(SINGLE_LANE_THREAD_NAME);
+        } else {
+            for (int i = 0; i < laneCount; i++) {
+                lanes[i] = threadPool.getSingleThreadExecutorService(String.format(LANE_THREAD_NAME_PATTERN, i + 1));
+            }
+        }
+    }
+
+    /**
+     * Gets the amount of lanes.
+     *
+     * @return The amount of lanes.
+     */
+    public int getLaneCount() {
+        return lanes.length;
+    }
+
+    /**
+     * Gets the index of the lane which handles packets with the given partition key.
+     *
+     * @param partitionKey The partition key.
+     * @return The index of the lane.
+     */
+    public int getLaneIndex(long partitionKey) {
+        if (lanes.length == 1) {
+            return 0;
+        }
+        // Snowflakes share most of their bits, so spread them before reducing them to the lane count
+        long spread = partitionKey * SPREAD_MULTIPLIER;
+        return (int) ((spread >>> 32) % lanes.length);
+    }
+
+    /**
+     * Submits the given task to the lane of the given partition key.
+     *
+     * @param partitionKey The partition key.
+     * @param task The task to execute.
+     */
+    public void submit(long partitionKey, Runnable task) {
+        lanes[getLaneIndex(partitionKey)].submit(task);
+    }
+
+}
@@ -0,0 +1,50 @@
+package org.javacord.core.util.gateway;
+
+import org.bouncycastle.crypto.engines.Salsa20Engine;
+import org.bouncycastle.crypto.engines.XSalsa20Engine;
+import org.bouncycastle.util.Pack;
+
+/**
+ * An XSalsa20 engine that does not allocate when it is initialized with a new nonce.
+ *
+ * <p>It is identical to {@link XSalsa20Engine}, but derives the subkey in the working buffer of the engine instead
+ * of a new array.
+ */
+class ReusableXSalsa20Engine extends Salsa20Engine {
+
+    @Override
+    public String getAlgorithmName() {
+        return "XSalsa20";
+    }
+
+    @Override
+    protected int getNonceSize() {
+        return 24;
+    }
+
+    @Override
+    protected void setKey(byte[] keyBytes, byte[] ivBytes) {
+        if (keyBytes == null || keyBytes.length != 32) {
+            throw new IllegalArgumentException(getAlgorithmName() + " requires a 256 bit key");
+        }
+
+        // Set key for HSalsa20
+        super.setKey(keyBytes, ivBytes);
+        Pack.littleEndianToInt(ivBytes, 8, engineState, 8, 2);
+
+        // Process engine state to generate the Salsa20 key. The working buffer is overwritten on reset anyway.
+        salsaCore(20, engineState, x);
+        engineState[1] = x[0] - engineState[0];
+        engineState[2] = x[5] - engineState[5];
+        engineState[3] = x[10] - engineState[10];
+        engineState[4] = x[15] - engineState[15];
+        engineState[11] = x[6] - engineState[6];
+        engineState[12] = x[7] - engineState[7];
+        engineState[13] = x[8] - engineState[8];
+        engineState[14] = x[9] - engineState[9];
+
+        // Last 64 bits of the input nonce
+        Pack.littleEndianToInt(ivBytes, 16, engineState, 6, 2);
+    }
+
+}
@@ -7,7 +7,8 @@ public enum WebSocketCloseReason {
 
     DISCONNECT(WebSocketCloseCode.NORMAL),
     HEARTBEAT_NOT_PROPERLY_ANSWERED(WebSocketCloseCode.UNKNOWN_ERROR, "Heartbeat was not answered properly"),
-    COMMANDED_RECONNECT(WebSocketCloseCode.COMMANDED_RECONNECT, "Discord commanded a reconnect (Received opcode 7)");
+    COMMANDED_RECONNECT(WebSocketCloseCode.COMMANDED_RECONNECT, "Discord commanded a reconnect (Received opcode 7)"),
+    DECOMPRESSION_FAILED(WebSocketCloseCode.UNKNOWN_ERROR, "The compressed data could not be decompressed");
 
     /**
      * The web socket close code.
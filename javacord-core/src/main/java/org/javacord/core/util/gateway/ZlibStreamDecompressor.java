@@ -0,0 +1,146 @@
+package org.javacord.core.util.gateway;
+
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Decompresses the binary messages of a gateway connection with {@code compress=zlib-stream} transport compression.
+ *
+ * <p>All messages of a connection are part of one zlib stream, so a single {@link Inflater} is used for the whole
+ * lifetime of the connection. A payload is complete once the received data ends with the {@code Z_SYNC_FLUSH} suffix
+ * {@code 00 00 ff ff}. The decompressed payload is written to a reused, growable buffer that can be passed to Jackson
+ * directly without creating a string first.
+ *
+ * <p>Instances of this class are not thread-safe. They are meant to be used by the reading thread of a single
+ * websocket connection.
+ */
+public class ZlibStreamDecompressor implements AutoCloseable {
+
+    /**
+     * The initial size of the input and output buffers.
+     */
+    private static final int INITIAL_BUFFER_SIZE = 8 * 1024;
+
+    /**
+     * The maximum size of a buffer that is kept for the next payload.
+     * Larger buffers (e.g. for the {@code GUILD_CREATE} of a huge server) are released after being used once.
+     */
+    private static final int MAX_RETAINED_BUFFER_SIZE = 1024 * 1024;
+
+    private final Inflater inflater = new Inflater();
+
+    private byte[] input = new byte[0];
+    private int inputLength = 0;
+
+    private byte[] output = new byte[INITIAL_BUFFER_SIZE];
+    private int outputLength = 0;
+
+    /**
+     * Decompresses the given binary message.
+     *
+     * <p>If the message does not complete a payload, it is buffered until the rest of the payload is received.
+     *
+     * @param data The binary message.
+     * @return Whether a complete payload was decompressed. If {@code true}, it can be accessed with
+     *     {@link #getBuffer()} and {@link #getLength()} until the next call of this method.
+     * @throws DataFormatException If the compressed data format is invalid.
+     */
+    public boolean decompress(byte[] data) throws DataFormatException {
+        if (output.length > MAX_RETAINED_BUFFER_SIZE) {
+            output = new byte[INITIAL_BUFFER_SIZE];
+        }
+        outputLength = 0;
+
+        if (inputLength == 0 && endsWithSyncFlushSuffix(data, data.length)) {
+            // The usual case: One message contains exactly one payload, so there's no need to copy it
+            inflate(data, data.length);
+            return true;
+        }
+
+        if (inputLength + data.length > input.length) {
+            input = Arrays.copyOf(input, Math.max(input.length * 2, inputLength + data.length));
+        }
+        System.arraycopy(data, 0, input, inputLength, data.length);
+        inputLength += data.length;
+        if (!endsWithSyncFlushSuffix(input, inputLength)) {
+            return false;
+        }
+
+        inflate(input, inputLength);
+        inputLength = 0;
+        if (input.length > MAX_RETAINED_BUFFER_SIZE) {
+            input = new byte[0];
+        }
+        return true;
+    }
+
+    /**
+     * Gets the buffer which contains the last decompressed payload.
+     *
+     * @return The buffer which contains the last decompressed payload.
+     * @see #getLength()
+     */
+    public byte[] getBuffer() {
+        return output;
+    }
+
+    /**
+     * Gets the length of the last decompressed payload.
+     *
+     * @return The length of the last decompressed payload.
+     * @see #getBuffer()
+     */
+    public int getLength() {
+        return outputLength;
+    }
+
+    /**
+     * Releases the native resources of the inflater.
+     */
+    @Override
+    public void close() {
+        inflater.end();
+    }
+
+    /**
+     * Inflates the given data into the output buffer, growing it if required.
+     *
+     * @param data The compressed data.
+     * @param length The length of the compressed data.
+     * @throws DataFormatException If the compressed data format is invalid.
+     */
+    private void inflate(byte[] data, int length) throws DataFormatException {
+        inflater.setInput(data, 0, length);
+        while (true) {
+            if (outputLength == output.length) {
+                output = Arrays.copyOf(output, output.length * 2);
+            }
+            int inflated = inflater.inflate(output, outputLength, output.length - outputLength);
+            outputLength += inflated;
+            // If the output buffer is not full, the inflater produced everything it could from the input
+            if (outputLength < output.length && (inflater.needsInput() || inflater.finished())) {
+                return;
+            }
+            if (inflated == 0 && inflater.needsDictionary()) {
+                throw new DataFormatException("A preset dictionary is not supported");
+            }
+        }
+    }
+
+    /**
+     * Checks if the given data ends with the {@code Z_SYNC_FLUSH} suffix.
+     *
+     * @param data The data.
+     * @param length The length of the data.
+     * @return Whether the data ends with the {@code Z_SYNC_FLUSH} suffix.
+     */
+    private static boolean endsWithSyncFlushSuffix(byte[] data, int length) {
+        return length >= 4
+                && data[length - 4] == 0x00
+                && data[length - 3] == 0x00
+                && data[length - 2] == (byte) 0xff
+                && data[length - 1] == (byte) 0xff;
+    }
+
+}
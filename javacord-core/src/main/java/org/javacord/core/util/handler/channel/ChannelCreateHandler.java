@@ -40,6 +40,12 @@ public class ChannelCreateHandler extends PacketHandler {
         super(api, true, "CHANNEL_CREATE");
     }
 
+    @Override
+    protected long getPartitionKey(JsonNode packet) {
+        // Private channels don't have a server, so use the channel itself
+        return packet.hasNonNull("guild_id") ? super.getPartitionKey(packet) : packet.get("id").asLong();
+    }
+
     @Override
     public void handle(JsonNode packet) {
         ChannelType type = ChannelType.fromId(packet.get("type").asInt());
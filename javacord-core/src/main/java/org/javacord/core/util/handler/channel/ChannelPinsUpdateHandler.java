@@ -35,6 +35,11 @@ public class ChannelPinsUpdateHandler extends PacketHandler {
         super(api, true, "CHANNEL_PINS_UPDATE");
     }
 
+    @Override
+    public boolean isRequired() {
+        return api.canDispatchEvents() && api.getEventDispatcher().hasChannelPinsUpdateListeners();
+    }
+
     @Override
     public void handle(JsonNode packet) {
         long channelId = packet.get("channel_id").asLong();
@@ -75,6 +75,12 @@ public class ChannelUpdateHandler extends PacketHandler {
         super(api, true, "CHANNEL_UPDATE");
     }
 
+    @Override
+    protected long getPartitionKey(JsonNode packet) {
+        // Private channels don't have a server, so use the channel itself
+        return packet.hasNonNull("guild_id") ? super.getPartitionKey(packet) : packet.get("id").asLong();
+    }
+
     @Override
     public void handle(JsonNode packet) {
         ChannelType type = ChannelType.fromId(packet.get("type").asInt());
@@ -31,6 +31,11 @@ public class WebhooksUpdateHandler extends PacketHandler {
         super(api, true, "WEBHOOKS_UPDATE");
     }
 
+    @Override
+    public boolean isRequired() {
+        return api.canDispatchEvents() && api.getEventDispatcher().hasWebhooksUpdateListeners();
+    }
+
     @Override
     public void handle(JsonNode packet) {
         long channelId = packet.get("channel_id").asLong();
@@ -20,6 +20,11 @@ public class InviteCreateHandler extends PacketHandler {
         super(api, true, "INVITE_CREATE");
     }
 
+    @Override
+    public boolean isRequired() {
+        return api.canDispatchEvents() && api.getEventDispatcher().hasServerChannelInviteCreateListeners();
+    }
+
     @Override
     protected void handle(JsonNode packet) {
         InviteImpl invite = new InviteImpl(api, packet);
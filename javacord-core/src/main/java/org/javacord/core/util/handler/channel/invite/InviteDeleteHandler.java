@@ -20,6 +20,11 @@ public class InviteDeleteHandler extends PacketHandler {
         super(api, true, "INVITE_DELETE");
     }
 
+    @Override
+    public boolean isRequired() {
+        return api.canDispatchEvents() && api.getEventDispatcher().hasServerChannelInviteDeleteListeners();
+    }
+
     @Override
     protected void handle(JsonNode packet) {
         String code = packet.get("code").asText();
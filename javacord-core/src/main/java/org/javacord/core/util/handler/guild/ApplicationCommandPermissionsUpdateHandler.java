@@ -26,6 +26,11 @@ public class ApplicationCommandPermissionsUpdateHandler extends PacketHandler {
         super(api, true, "APPLICATION_COMMAND_PERMISSIONS_UPDATE");
     }
 
+    @Override
+    public boolean isRequired() {
+        return api.canDispatchEvents() && api.getEventDispatcher().hasApplicationCommandPermissionsUpdateListeners();
+    }
+
     @Override
     public void handle(JsonNode packet) {
         api.getPossiblyUnreadyServerById(packet.get("guild_id").asLong())
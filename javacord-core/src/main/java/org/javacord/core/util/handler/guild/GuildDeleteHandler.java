@@ -24,6 +24,11 @@ public class GuildDeleteHandler extends PacketHandler {
         super(api, true, "GUILD_DELETE");
     }
 
+    @Override
+    protected long getPartitionKey(JsonNode packet) {
+        return packet.get("id").asLong();
+    }
+
     @Override
     public void handle(JsonNode packet) {
         long serverId = packet.get("id").asLong();
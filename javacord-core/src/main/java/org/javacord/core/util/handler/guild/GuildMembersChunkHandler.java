@@ -34,6 +34,10 @@ public class GuildMembersChunkHandler extends PacketHandler {
                             members.stream().map(Member::getUser).collect(Collectors.toSet())
                     );
                     api.getEventDispatcher().dispatchServerMembersChunkEvent(server, server, event);
+                    if (packet.hasNonNull("nonce")) {
+                        api.getWebSocketAdapter().getGuildMembersRequests().handleChunk(
+                                packet.get("nonce").asText(), members, packet.path("chunk_count").asInt(1));
+                    }
                 });
     }
 }
\ No newline at end of file
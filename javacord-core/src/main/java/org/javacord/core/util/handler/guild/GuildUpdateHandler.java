@@ -87,6 +87,11 @@ public class GuildUpdateHandler extends PacketHandler {
         super(api, true, "GUILD_UPDATE");
     }
 
+    @Override
+    protected long getPartitionKey(JsonNode packet) {
+        return packet.get("id").asLong();
+    }
+
     @Override
     public void handle(JsonNode packet) {
         if (packet.has("unavailable") && packet.get("unavailable").asBoolean()) {
@@ -81,6 +81,9 @@ public class MessageCreateHandler extends PacketHandler {
 
     private void handle(TextChannel channel, JsonNode packet) {
         Message message = api.getOrCreateMessage(channel, packet);
+        if (!api.getEventDispatcher().hasMessageCreateListeners()) {
+            return;
+        }
         MessageCreateEvent event = new MessageCreateEventImpl(message);
 
         Optional<Server> optionalServer = channel.asServerChannel().map(ServerChannel::getServer);
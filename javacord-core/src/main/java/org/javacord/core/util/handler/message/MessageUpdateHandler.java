@@ -74,6 +74,7 @@ public class MessageUpdateHandler extends PacketHandler {
 
         TextChannel channel = optionalChannel.get();
         Optional<MessageImpl> message = api.getCachedMessageById(messageId).map(msg -> (MessageImpl) msg);
+        api.getCompactMessageStore().merge(messageId, packet);
 
         message.ifPresent(msg -> {
             boolean newPinnedFlag = packet.hasNonNull("pinned") ? packet.get("pinned").asBoolean() : msg.isPinned();
@@ -76,6 +76,7 @@ public class MessageReactionAddHandler extends PacketHandler {
         }
 
         message.ifPresent(msg -> ((MessageImpl) msg).addReaction(emoji, userId == api.getYourself().getId()));
+        api.getCompactMessageStore().addReaction(messageId, emojiJson, userId == api.getYourself().getId());
 
         ReactionAddEvent event = new ReactionAddEventImpl(api, messageId, channel, emoji, userId, member);
 
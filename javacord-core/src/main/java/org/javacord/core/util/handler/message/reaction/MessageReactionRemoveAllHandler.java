@@ -42,6 +42,7 @@ public class MessageReactionRemoveAllHandler extends PacketHandler {
         Optional<Message> message = api.getCachedMessageById(messageId);
 
         message.ifPresent(msg -> ((MessageImpl) msg).removeAllReactionsFromCache());
+        api.getCompactMessageStore().removeAllReactions(messageId);
 
         long channelId = packet.get("channel_id").asLong();
         TextChannel channel = api.getTextChannelById(channelId).orElse(null);
@@ -66,6 +66,7 @@ public class MessageReactionRemoveHandler extends PacketHandler {
         }
 
         message.ifPresent(msg -> ((MessageImpl) msg).removeReaction(emoji, userId == api.getYourself().getId()));
+        api.getCompactMessageStore().removeReaction(messageId, emojiJson, userId == api.getYourself().getId());
 
         ReactionRemoveEvent event = new ReactionRemoveEventImpl(api, messageId, channel, emoji, userId);
 
@@ -43,7 +43,7 @@ public class PresenceUpdateHandler extends PacketHandler {
         long userId = packet.get("user").get("id").asLong();
 
         AtomicReference<UserPresence> presence = new AtomicReference<>(
-                api.getEntityCache().get().getUserPresenceCache().getPresenceByUserId(userId)
+                api.getEntityCache().getUserPresenceCache().getPresenceByUserId(userId)
                         .orElseGet(() -> new UserPresence(userId, null, null, io.vavr.collection.HashMap.empty()))
         );
 
@@ -54,7 +54,7 @@ public class PresenceUpdateHandler extends PacketHandler {
                     newActivities.add(new ActivityImpl(api, activityJson));
                 }
             }
-            Set<Activity> oldActivities = api.getEntityCache().get()
+            Set<Activity> oldActivities = api.getEntityCache()
                     .getUserPresenceCache()
                     .getPresenceByUserId(userId)
                     .map(UserPresence::getActivities)
@@ -66,7 +66,7 @@ public class PresenceUpdateHandler extends PacketHandler {
             }
         }
 
-        UserStatus oldStatus = api.getEntityCache().get().getUserPresenceCache().getPresenceByUserId(userId)
+        UserStatus oldStatus = api.getEntityCache().getUserPresenceCache().getPresenceByUserId(userId)
                 .map(UserPresence::getStatus)
                 .orElse(UserStatus.OFFLINE);
         UserStatus newStatus;
@@ -76,7 +76,7 @@ public class PresenceUpdateHandler extends PacketHandler {
         } else {
             newStatus = oldStatus;
         }
-        Map<DiscordClient, UserStatus> oldClientStatus = api.getEntityCache().get().getUserPresenceCache()
+        Map<DiscordClient, UserStatus> oldClientStatus = api.getEntityCache().getUserPresenceCache()
                 .getPresenceByUserId(userId)
                 .map(UserPresence::getClientStatus)
                 .orElse(HashMap.empty());
@@ -92,7 +92,7 @@ public class PresenceUpdateHandler extends PacketHandler {
                 }
             }
         }
-        Map<DiscordClient, UserStatus> newClientStatus = api.getEntityCache().get().getUserPresenceCache()
+        Map<DiscordClient, UserStatus> newClientStatus = api.getEntityCache().getUserPresenceCache()
                 .getPresenceByUserId(userId)
                 .map(UserPresence::getClientStatus)
                 .orElse(HashMap.empty());
@@ -104,6 +104,9 @@ public class PresenceUpdateHandler extends PacketHandler {
 
     private void dispatchUserActivityChangeEvent(long userId, Set<Activity> newActivities,
                                                  Set<Activity> oldActivities) {
+        if (!api.getEventDispatcher().hasUserChangeActivityListeners()) {
+            return;
+        }
         UserImpl user = api.getCachedUserById(userId).map(UserImpl.class::cast).orElse(null);
         UserChangeActivityEvent event = new UserChangeActivityEventImpl(api, userId, newActivities, oldActivities);
 
@@ -118,6 +121,9 @@ public class PresenceUpdateHandler extends PacketHandler {
     private void dispatchUserStatusChangeEventIfChangeDetected(long userId, UserStatus newStatus, UserStatus oldStatus,
                                                                Map<DiscordClient, UserStatus> newClientStatus,
                                                                Map<DiscordClient, UserStatus> oldClientStatus) {
+        if (!api.getEventDispatcher().hasUserChangeStatusListeners()) {
+            return;
+        }
         UserImpl user = api.getCachedUserById(userId).map(UserImpl.class::cast).orElse(null);
         // Only dispatch the event if something changed
         boolean shouldDispatch = false;
@@ -23,8 +23,17 @@ public class TypingStartHandler extends PacketHandler {
         super(api, true, "TYPING_START");
     }
 
+    @Override
+    public boolean isRequired() {
+        return api.canDispatchEvents() && api.getEventDispatcher().hasUserStartTypingListeners();
+    }
+
     @Override
     public void handle(JsonNode packet) {
+        // The packet does not change any cached state, so there is nothing to do without listeners
+        if (!api.getEventDispatcher().hasUserStartTypingListeners()) {
+            return;
+        }
         long userId = packet.get("user_id").asLong();
         long channelId = packet.get("channel_id").asLong();
         TextChannel channel = api.getTextChannelById(channelId).orElse(null);
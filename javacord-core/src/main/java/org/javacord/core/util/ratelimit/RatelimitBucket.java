@@ -1,60 +1,124 @@
 package org.javacord.core.util.ratelimit;
 
-import org.javacord.api.DiscordApi;
-import org.javacord.core.DiscordApiImpl;
 import org.javacord.core.util.rest.RestEndpoint;
 import org.javacord.core.util.rest.RestRequest;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Predicate;
 
 public class RatelimitBucket {
 
     // The key is the token, as global ratelimits are shared across the same account.
     private static final Map<String, Long> globalRatelimitResetTimestamp = new ConcurrentHashMap<>();
 
-    private final DiscordApiImpl api;
+    private final RatelimitManager ratelimitManager;
 
     private final ConcurrentLinkedQueue<RestRequest<?>> requestQueue = new ConcurrentLinkedQueue<>();
 
     private final RestEndpoint endpoint;
     private final String majorUrlParameter;
+    private final String bucketHash;
+    private final String key;
 
     private volatile long ratelimitResetTimestamp = 0;
     private volatile int ratelimitRemaining = 1;
 
+    // Guarded by the ratelimit manager, which only changes it while computing the bucket's entry in its bucket map
+    private boolean busy = false;
+
     /**
      * Creates a RatelimitBucket for the given endpoint / parameter combination.
      *
-     * @param api The api/shard to use.
+     * @param ratelimitManager The ratelimit manager of the bucket.
      * @param endpoint The REST endpoint the ratelimit is tracked for.
      */
-    public RatelimitBucket(DiscordApi api, RestEndpoint endpoint) {
-        this(api, endpoint, null);
+    public RatelimitBucket(RatelimitManager ratelimitManager, RestEndpoint endpoint) {
+        this(ratelimitManager, endpoint, null);
     }
 
     /**
      * Creates a RatelimitBucket for the given endpoint / parameter combination.
      *
-     * @param api The api/shard to use.
+     * @param ratelimitManager The ratelimit manager of the bucket.
      * @param endpoint The REST endpoint the ratelimit is tracked for.
      * @param majorUrlParameter The url parameter this bucket is specific for. May be null.
      */
-    public RatelimitBucket(DiscordApi api, RestEndpoint endpoint, String majorUrlParameter) {
-        this.api = (DiscordApiImpl) api;
+    public RatelimitBucket(RatelimitManager ratelimitManager, RestEndpoint endpoint, String majorUrlParameter) {
+        this(ratelimitManager, endpoint, majorUrlParameter, null);
+    }
+
+    /**
+     * Creates a RatelimitBucket for the given endpoint / parameter combination.
+     *
+     * @param ratelimitManager The ratelimit manager of the bucket.
+     * @param endpoint The REST endpoint the ratelimit is tracked for.
+     * @param majorUrlParameter The url parameter this bucket is specific for. May be null.
+     * @param bucketHash The bucket hash Discord sent in the {@code X-RateLimit-Bucket} header. May be null if it is
+     *                   not known yet.
+     */
+    public RatelimitBucket(RatelimitManager ratelimitManager, RestEndpoint endpoint, String majorUrlParameter,
+                           String bucketHash) {
+        this.ratelimitManager = ratelimitManager;
         this.endpoint = endpoint;
         this.majorUrlParameter = majorUrlParameter;
+        this.bucketHash = bucketHash;
+        this.key = getKey(endpoint, majorUrlParameter, bucketHash);
+    }
+
+    /**
+     * Gets the key which identifies a bucket.
+     *
+     * <p>Endpoints with the same bucket hash share their bucket. As long as the bucket hash of an endpoint is not
+     * known, the endpoint itself is used instead.
+     *
+     * @param endpoint The endpoint.
+     * @param majorUrlParameter The major url parameter. May be null.
+     * @param bucketHash The bucket hash. May be null.
+     * @return The key of the bucket.
+     */
+    public static String getKey(RestEndpoint endpoint, String majorUrlParameter, String bucketHash) {
+        String route;
+        if (bucketHash != null) {
+            route = "#" + bucketHash;
+        } else {
+            route = endpoint == null ? "global" : endpoint.name();
+        }
+        return majorUrlParameter == null ? route : route + ":" + majorUrlParameter;
+    }
+
+    /**
+     * Gets the key of this bucket.
+     *
+     * @return The key of this bucket.
+     * @see #getKey(RestEndpoint, String, String)
+     */
+    public String getKey() {
+        return key;
     }
 
     /**
      * Sets a global ratelimit.
      *
-     * @param api A discord api instance.
+     * @param token The token of the bot.
      * @param resetTimestamp The reset timestamp of the global ratelimit.
      */
-    public static void setGlobalRatelimitResetTimestamp(DiscordApi api, long resetTimestamp) {
-        globalRatelimitResetTimestamp.put(api.getToken(), resetTimestamp);
+    public static void setGlobalRatelimitResetTimestamp(String token, long resetTimestamp) {
+        globalRatelimitResetTimestamp.put(token, resetTimestamp);
+    }
+
+    /**
+     * Gets the bucket hash Discord sent in the {@code X-RateLimit-Bucket} header.
+     *
+     * @return The bucket hash.
+     */
+    public Optional<String> getBucketHash() {
+        return Optional.ofNullable(bucketHash);
     }
 
     /**
@@ -75,6 +139,25 @@ public class RatelimitBucket {
         return requestQueue.poll();
     }
 
+    /**
+     * Removes all requests which match the given filter from the bucket's queue.
+     *
+     * @param filter The filter for the requests to remove.
+     * @return The removed requests in the order they were queued.
+     */
+    public List<RestRequest<?>> removeRequestsFromQueue(Predicate<RestRequest<?>> filter) {
+        List<RestRequest<?>> removedRequests = new ArrayList<>();
+        Iterator<RestRequest<?>> iterator = requestQueue.iterator();
+        while (iterator.hasNext()) {
+            RestRequest<?> request = iterator.next();
+            if (filter.test(request)) {
+                iterator.remove();
+                removedRequests.add(request);
+            }
+        }
+        return removedRequests;
+    }
+
     /**
      * Peeks a request from the bucket's queue.
      *
@@ -102,6 +185,34 @@ public class RatelimitBucket {
         this.ratelimitResetTimestamp = ratelimitResetTimestamp;
     }
 
+    /**
+     * Checks if a request of this bucket is currently being executed or waits for space in the bucket.
+     *
+     * @return Whether the bucket is being worked on.
+     */
+    boolean isBusy() {
+        return busy;
+    }
+
+    /**
+     * Sets whether a request of this bucket is currently being executed or waits for space in the bucket.
+     *
+     * @param busy Whether the bucket is being worked on.
+     */
+    void setBusy(boolean busy) {
+        this.busy = busy;
+    }
+
+    /**
+     * Gets the time in milliseconds till the ratelimit of this bucket resets, ignoring global ratelimits.
+     *
+     * @return The time in milliseconds till the ratelimit of this bucket resets. Not positive if it already reset.
+     */
+    long getTimeTillReset() {
+        Long timeOffset = ratelimitManager.getTimeOffset();
+        return ratelimitResetTimestamp - (System.currentTimeMillis() + (timeOffset == null ? 0 : timeOffset));
+    }
+
     /**
      * Gets the time in seconds how long you have to wait till there's space in the bucket again.
      *
@@ -109,55 +220,34 @@ public class RatelimitBucket {
      */
     public int getTimeTillSpaceGetsAvailable() {
         long globalRatelimitResetTimestamp =
-                RatelimitBucket.globalRatelimitResetTimestamp.getOrDefault(api.getToken(), 0L);
-        long timestamp = System.currentTimeMillis() + (api.getTimeOffset() == null ? 0 : api.getTimeOffset());
+                RatelimitBucket.globalRatelimitResetTimestamp.getOrDefault(ratelimitManager.getToken(), 0L);
+        Long timeOffset = ratelimitManager.getTimeOffset();
+        long timestamp = System.currentTimeMillis() + (timeOffset == null ? 0 : timeOffset);
         if (ratelimitRemaining > 0 && (globalRatelimitResetTimestamp - timestamp) <= 0) {
             return 0;
         }
         return (int) (Math.max(ratelimitResetTimestamp, globalRatelimitResetTimestamp) - timestamp);
     }
 
-    /**
-     * Checks if a bucket created with the given parameters would equal this bucket.
-     *
-     * @param endpoint The endpoint.
-     * @param majorUrlParameter The major url parameter.
-     * @return Whether a bucket created with the given parameters would equal this bucket or not.
-     */
-    public boolean equals(RestEndpoint endpoint, String majorUrlParameter) {
-        boolean endpointSame = this.endpoint == endpoint;
-        boolean majorUrlParameterBothNull = this.majorUrlParameter == null && majorUrlParameter == null;
-        boolean majorUrlParameterEqual =
-                this.majorUrlParameter != null && this.majorUrlParameter.equals(majorUrlParameter);
-
-        return endpointSame && (majorUrlParameterBothNull || majorUrlParameterEqual);
-    }
-
-
     @Override
     public boolean equals(Object obj) {
         if (!(obj instanceof RatelimitBucket)) {
             return false;
         }
         RatelimitBucket otherBucket = (RatelimitBucket) obj;
-        return equals(otherBucket.endpoint, otherBucket.majorUrlParameter);
+        return key.equals(otherBucket.key);
     }
 
     @Override
     public int hashCode() {
-        int hash = 42;
-        int urlParamHash = majorUrlParameter == null ? 0 : majorUrlParameter.hashCode();
-        int endpointHash = endpoint == null ? 0 : endpoint.hashCode();
-
-        hash = hash * 11 + urlParamHash;
-        hash = hash * 17 + endpointHash;
-        return hash;
+        return key.hashCode();
     }
 
     @Override
     public String toString() {
         String str = "Endpoint: " + (endpoint == null ? "global" : endpoint.getEndpointUrl());
         str += ", Major url parameter:" + (majorUrlParameter == null ? "none" : majorUrlParameter);
+        str += ", Bucket:" + (bucketHash == null ? "unknown" : bucketHash);
         return str;
     }
 }
@@ -3,17 +3,27 @@ package org.javacord.core.util.ratelimit;
 import okhttp3.Response;
 import org.apache.logging.log4j.Logger;
 import org.javacord.api.exception.DiscordException;
+import org.javacord.api.util.concurrent.ThreadPool;
 import org.javacord.core.DiscordApiImpl;
 import org.javacord.core.util.logging.LoggerUtil;
+import org.javacord.core.util.rest.RestEndpoint;
 import org.javacord.core.util.rest.RestRequest;
 import org.javacord.core.util.rest.RestRequestResponseInformationImpl;
 import org.javacord.core.util.rest.RestRequestResult;
 
 import java.time.OffsetDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 
 /**
@@ -27,22 +37,94 @@ public class RatelimitManager {
     private static final Logger logger = LoggerUtil.getLogger(RatelimitManager.class);
 
     /**
-     * The discord api instance for this ratelimit manager.
+     * The thread pool which executes the requests and schedules delayed requests.
      */
-    private final DiscordApiImpl api;
+    private final ThreadPool threadPool;
 
     /**
-     * All buckets.
+     * The token of the bot. Global ratelimits are shared by all requests with the same token.
      */
-    private final Set<RatelimitBucket> buckets = new HashSet<>();
+    private final String token;
 
     /**
-     * Creates a new ratelimit manager.
+     * Whether REST requests are executed asynchronously.
+     */
+    private final boolean asyncRestRequests;
+
+    /**
+     * The time offset between the Discord time and our local time, or {@code null} if it has to be calculated.
+     */
+    private volatile Long timeOffset = null;
+
+    /**
+     * All known buckets, mapped by their key.
+     *
+     * <p>A bucket stays in this map while it has queued requests and afterwards until its ratelimit reset, so that
+     * the remaining requests and the reset timestamp Discord sent are not lost between two bursts of requests.
+     * Changing the queue and the state of a bucket happens atomically per key, so there is no global lock.
+     *
+     * @see RatelimitBucket#getKey(RestEndpoint, String, String)
+     */
+    private final ConcurrentHashMap<String, RatelimitBucket> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * The bucket hashes Discord sent in the {@code X-RateLimit-Bucket} header, mapped by the route (method and
+     * endpoint) of the request.
+     */
+    private final ConcurrentHashMap<String, String> bucketHashes = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new ratelimit manager for a single shard.
      *
      * @param api The discord api instance for this ratelimit manager.
      */
     public RatelimitManager(DiscordApiImpl api) {
-        this.api = api;
+        this(api.getThreadPool(), api.getToken(), api.isAsyncRestRequestsEnabled());
+    }
+
+    /**
+     * Creates a new ratelimit manager.
+     *
+     * <p>The ratelimit manager does not depend on a shard, so it can be shared by several shards and keeps working
+     * when some of them disconnect.
+     *
+     * @param threadPool The thread pool which executes the requests. It must not be shut down before all requests
+     *                   are done.
+     * @param token The token of the bot.
+     * @param asyncRestRequests Whether REST requests are executed asynchronously.
+     */
+    public RatelimitManager(ThreadPool threadPool, String token, boolean asyncRestRequests) {
+        this.threadPool = threadPool;
+        this.token = token;
+        this.asyncRestRequests = asyncRestRequests;
+    }
+
+    /**
+     * Gets the token of the bot.
+     *
+     * @return The token of the bot.
+     */
+    String getToken() {
+        return token;
+    }
+
+    /**
+     * Gets the time offset between the Discord time and our local time.
+     * Might be <code>null</code> if it hasn't been calculated yet.
+     *
+     * @return The time offset between the Discord time and our local time.
+     */
+    public Long getTimeOffset() {
+        return timeOffset;
+    }
+
+    /**
+     * Sets the time offset between the Discord time and our local time.
+     *
+     * @param timeOffset The time offset to set. If <code>null</code>, it is recalculated with the next response.
+     */
+    public void setTimeOffset(Long timeOffset) {
+        this.timeOffset = timeOffset;
     }
 
     /**
@@ -50,8 +132,30 @@ public class RatelimitManager {
      *
      * @return All ratelimit buckets.
      */
-    public Set<RatelimitBucket> getBuckets() {
-        return buckets;
+    public Collection<RatelimitBucket> getBuckets() {
+        return Collections.unmodifiableCollection(buckets.values());
+    }
+
+    /**
+     * Gets the bucket hash Discord sent for the route of the given request.
+     *
+     * @param request The request.
+     * @return The bucket hash of the route.
+     */
+    public Optional<String> getBucketHash(RestRequest<?> request) {
+        return Optional.ofNullable(bucketHashes.get(getRoute(request)));
+    }
+
+    /**
+     * Gets the route of the given request.
+     *
+     * <p>Discord assigns its bucket hashes per route, i.e. per combination of method and endpoint.
+     *
+     * @param request The request.
+     * @return The route of the request.
+     */
+    private static String getRoute(RestRequest<?> request) {
+        return request.getMethod() + " " + request.getEndpoint();
     }
 
     /**
@@ -61,101 +165,195 @@ public class RatelimitManager {
      * @param request The request to queue.
      */
     public void queueRequest(RestRequest<?> request) {
-        final RatelimitBucket bucket;
-        final boolean alreadyInQueue;
-        synchronized (buckets) {
-            // Search for a bucket that fits to this request
-            bucket = buckets.stream()
-                    .filter(b -> b.equals(request.getEndpoint(), request.getMajorUrlParameter().orElse(null)))
-                    .findAny()
-                    .orElseGet(() -> new RatelimitBucket(
-                            api, request.getEndpoint(), request.getMajorUrlParameter().orElse(null)));
-
-            // Must be executed BEFORE adding the request to the queue
-            alreadyInQueue = bucket.peekRequestFromQueue() != null;
-
-            // Add the bucket to the set of buckets (does nothing if it's already in the set)
-            buckets.add(bucket);
-
-            // Add the request to the bucket's queue
-            bucket.addRequestToQueue(request);
-        }
+        RestEndpoint endpoint = request.getEndpoint();
+        String majorUrlParameter = request.getMajorUrlParameter().orElse(null);
+        String bucketHash = bucketHashes.get(getRoute(request));
+        AtomicBoolean startWorking = new AtomicBoolean();
+        RatelimitBucket bucket = buckets.compute(
+                RatelimitBucket.getKey(endpoint, majorUrlParameter, bucketHash), (key, existingBucket) -> {
+                    RatelimitBucket b = existingBucket;
+                    if (b == null) {
+                        b = new RatelimitBucket(this, endpoint, majorUrlParameter, bucketHash);
+                    }
+                    b.addRequestToQueue(request);
+                    // A busy bucket is already being worked on and executes the request after the queued ones
+                    if (!b.isBusy()) {
+                        b.setBusy(true);
+                        startWorking.set(true);
+                    }
+                    return b;
+                });
 
-        // If the bucket is already in the queue, there's nothing more to do
-        if (alreadyInQueue) {
+        if (!startWorking.get()) {
             return;
         }
 
-        // Start working of the queue
-        api.getThreadPool().getExecutorService().submit(() -> {
-            RestRequest<?> currentRequest = bucket.peekRequestFromQueue();
-            RestRequestResult result = null;
-            long responseTimestamp = System.currentTimeMillis();
-            while (currentRequest != null) {
-                try {
-                    int sleepTime = bucket.getTimeTillSpaceGetsAvailable();
-                    if (sleepTime > 0) {
-                        logger.debug("Delaying requests to {} for {}ms to prevent hitting ratelimits",
-                                bucket, sleepTime);
-                    }
+        startWorking(bucket, request);
+    }
 
-                    // Sleep until space is available
-                    while (sleepTime > 0) {
-                        try {
-                            Thread.sleep(sleepTime);
-                        } catch (InterruptedException e) {
-                            logger.warn("We got interrupted while waiting for a rate limit!", e);
-                        }
-                        // Update in case something changed (e.g. because we hit a global ratelimit)
-                        sleepTime = bucket.getTimeTillSpaceGetsAvailable();
-                    }
+    /**
+     * Starts working off the queue of a bucket which was marked as busy.
+     *
+     * @param bucket The bucket.
+     * @param request The first request in the queue of the bucket.
+     */
+    private void startWorking(RatelimitBucket bucket, RestRequest<?> request) {
+        if (asyncRestRequests) {
+            scheduleRequestAsync(bucket, request);
+        } else {
+            threadPool.getExecutorService().submit(() -> executeRequestsBlocking(bucket));
+        }
+    }
 
-                    // Execute the request
-                    result = currentRequest.executeBlocking();
+    /**
+     * Executes all requests of the given bucket on the current thread, sleeping while the bucket is ratelimited.
+     *
+     * @param bucket The bucket.
+     */
+    private void executeRequestsBlocking(RatelimitBucket bucket) {
+        RestRequest<?> currentRequest = bucket.peekRequestFromQueue();
+        while (currentRequest != null) {
+            int sleepTime = bucket.getTimeTillSpaceGetsAvailable();
+            if (sleepTime > 0) {
+                logger.debug("Delaying requests to {} for {}ms to prevent hitting ratelimits", bucket, sleepTime);
+            }
 
-                    // Calculate the time offset, if it wasn't done before
-                    responseTimestamp = System.currentTimeMillis();
-                } catch (Throwable t) {
-                    responseTimestamp = System.currentTimeMillis();
-                    if (currentRequest.getResult().isDone()) {
-                        logger.warn("Received exception for a request that is already done. "
-                                + "This should not be able to happen!", t);
-                    }
-                    // Try to get the response from the exception if it exists
-                    if (t instanceof DiscordException) {
-                        result = ((DiscordException) t).getResponse()
-                                .map(RestRequestResponseInformationImpl.class::cast)
-                                .map(RestRequestResponseInformationImpl::getRestRequestResult)
-                                .orElse(null);
-                    }
-                    // Complete the request
-                    currentRequest.getResult().completeExceptionally(t);
-                } finally {
-                    try {
-                        // Calculate offset
-                        calculateOffset(responseTimestamp, result);
-                        // Handle the response
-                        handleResponse(currentRequest, result, bucket, responseTimestamp);
-                    } catch (Throwable t) {
-                        logger.warn("Encountered unexpected exception.", t);
-                    }
+            // Sleep until space is available
+            while (sleepTime > 0) {
+                try {
+                    Thread.sleep(sleepTime);
+                } catch (InterruptedException e) {
+                    logger.warn("We got interrupted while waiting for a rate limit!", e);
+                }
+                // Update in case something changed (e.g. because we hit a global ratelimit)
+                sleepTime = bucket.getTimeTillSpaceGetsAvailable();
+            }
 
-                    // The request didn't finish, so let's try again
-                    if (!currentRequest.getResult().isDone()) {
-                        continue;
-                    }
+            RestRequestResult result = null;
+            Throwable throwable = null;
+            try {
+                // Execute the request
+                result = currentRequest.executeBlocking();
+            } catch (Throwable t) {
+                throwable = t;
+            }
+            currentRequest = handleOutcome(bucket, currentRequest, result, throwable, System.currentTimeMillis());
+        }
+    }
 
-                    // Poll a new quest
-                    synchronized (buckets) {
-                        bucket.pollRequestFromQueue();
-                        currentRequest = bucket.peekRequestFromQueue();
-                        if (currentRequest == null) {
-                            buckets.remove(bucket);
-                        }
-                    }
+    /**
+     * Executes the given request of the given bucket asynchronously as soon as the bucket has space available.
+     *
+     * <p>While the bucket is ratelimited, no thread is blocked. Instead, the check is rescheduled on the scheduler.
+     * Once the request finished, the next request of the bucket is scheduled the same way.
+     *
+     * @param bucket The bucket.
+     * @param request The request to execute.
+     */
+    private void scheduleRequestAsync(RatelimitBucket bucket, RestRequest<?> request) {
+        int delay = bucket.getTimeTillSpaceGetsAvailable();
+        if (delay > 0) {
+            logger.debug("Delaying requests to {} for {}ms to prevent hitting ratelimits", bucket, delay);
+            // Check again afterwards in case something changed (e.g. because we hit a global ratelimit)
+            threadPool.getScheduler().schedule(
+                    () -> scheduleRequestAsync(bucket, request), delay, TimeUnit.MILLISECONDS);
+            return;
+        }
+
+        // The global ratelimit is awaited without blocking, but building the request serializes its body, so don't
+        // do it on the scheduler or on OkHttp's threads
+        threadPool.getExecutorService().submit(() -> {
+            CompletableFuture<RestRequestResult> future;
+            try {
+                future = request.executeAsync();
+            } catch (Throwable t) {
+                future = new CompletableFuture<>();
+                future.completeExceptionally(t);
+            }
+            future.whenComplete((result, throwable) -> {
+                if (throwable instanceof CompletionException && throwable.getCause() != null) {
+                    throwable = throwable.getCause();
                 }
+                RestRequest<?> nextRequest =
+                        handleOutcome(bucket, request, result, throwable, System.currentTimeMillis());
+                if (nextRequest != null) {
+                    scheduleRequestAsync(bucket, nextRequest);
+                }
+            });
+        });
+    }
+
+    /**
+     * Handles the outcome of an executed request and determines which request of the bucket is executed next.
+     *
+     * @param bucket The bucket the request belongs to.
+     * @param request The executed request.
+     * @param result The result of the request. May be null if the execution failed.
+     * @param throwable The throwable the execution failed with. May be null if the execution did not fail.
+     * @param responseTimestamp The timestamp directly after the response finished.
+     * @return The next request to execute. This is the same request if it has to be retried, or null if the queue of
+     *     the bucket is empty.
+     */
+    private RestRequest<?> handleOutcome(RatelimitBucket bucket, RestRequest<?> request, RestRequestResult result,
+                                         Throwable throwable, long responseTimestamp) {
+        if (throwable != null) {
+            if (request.getResult().isDone()) {
+                logger.warn("Received exception for a request that is already done. "
+                        + "This should not be able to happen!", throwable);
+            }
+            // Try to get the response from the exception if it exists
+            if (throwable instanceof DiscordException) {
+                result = ((DiscordException) throwable).getResponse()
+                        .map(RestRequestResponseInformationImpl.class::cast)
+                        .map(RestRequestResponseInformationImpl::getRestRequestResult)
+                        .orElse(null);
             }
+            // Complete the request
+            request.getResult().completeExceptionally(throwable);
+        }
+
+        try {
+            // Calculate offset
+            calculateOffset(responseTimestamp, result);
+            // Handle the response
+            handleResponse(request, result, bucket, responseTimestamp);
+        } catch (Throwable t) {
+            logger.warn("Encountered unexpected exception.", t);
+        }
+
+        // The request didn't finish, so let's try again
+        if (!request.getResult().isDone()) {
+            return request;
+        }
+
+        // Poll a new quest
+        AtomicReference<RestRequest<?>> nextRequest = new AtomicReference<>();
+        buckets.computeIfPresent(bucket.getKey(), (key, b) -> {
+            b.pollRequestFromQueue();
+            nextRequest.set(b.peekRequestFromQueue());
+            // Once the bucket is idle, the next queued request starts working on it again
+            if (nextRequest.get() == null) {
+                b.setBusy(false);
+                scheduleExpiry(b);
+            }
+            return b;
         });
+        return nextRequest.get();
+    }
+
+    /**
+     * Removes the given bucket once its ratelimit reset passed and it is still idle.
+     *
+     * <p>After the reset, Discord grants the full amount of requests again, so the bucket does not hold any
+     * information worth keeping. If the bucket is used again in the meantime, it is kept and a new expiry is
+     * scheduled as soon as it is idle again.
+     *
+     * @param bucket The idle bucket.
+     */
+    private void scheduleExpiry(RatelimitBucket bucket) {
+        long delay = Math.max(0, bucket.getTimeTillReset());
+        threadPool.getScheduler().schedule(() -> buckets.computeIfPresent(bucket.getKey(),
+                (key, b) -> b.isBusy() || b.getTimeTillReset() > 0 ? b : null), delay, TimeUnit.MILLISECONDS);
     }
 
     /**
@@ -175,6 +373,13 @@ public class RatelimitManager {
         boolean global = response.header("X-RateLimit-Global", "false").equalsIgnoreCase("true");
         int remaining = Integer.parseInt(response.header("X-RateLimit-Remaining", "1"));
         long reset =  (long) (Double.parseDouble(response.header("X-RateLimit-Reset", "0")) * 1000);
+        String bucketHash = response.header("X-RateLimit-Bucket");
+
+        // Remember the bucket of the route, so that following requests share the bucket with all routes of the same
+        // bucket. Requests which are already queued in the old bucket are moved once the bucket is updated.
+        if (bucketHash != null) {
+            bucketHashes.put(getRoute(request), bucketHash);
+        }
 
         // Check if we received a 429 response
         if (result.getResponse().code() == 429) {
@@ -182,7 +387,7 @@ public class RatelimitManager {
                 logger.warn("Hit a CloudFlare API ban! This means you were sending a very large "
                         + "amount of invalid requests.");
                 long retryAfter = Long.parseLong(response.header("Retry-after")) * 1000;
-                RatelimitBucket.setGlobalRatelimitResetTimestamp(api, responseTimestamp + retryAfter);
+                RatelimitBucket.setGlobalRatelimitResetTimestamp(token, responseTimestamp + retryAfter);
                 return;
             }
             long retryAfter =
@@ -193,15 +398,14 @@ public class RatelimitManager {
                 // We hit a global ratelimit. Time to panic!
                 logger.warn("Hit a global ratelimit! This means you were sending a very large "
                         + "amount within a very short time frame.");
-                RatelimitBucket.setGlobalRatelimitResetTimestamp(api, responseTimestamp + retryAfter);
+                RatelimitBucket.setGlobalRatelimitResetTimestamp(token, responseTimestamp + retryAfter);
             } else {
                 logger.debug("Received a 429 response from Discord! Recalculating time offset...");
                 // Setting the offset to null causes a recalculate for the next request
-                api.setTimeOffset(null);
+                timeOffset = null;
 
                 // Update the bucket information
-                bucket.setRatelimitRemaining(0);
-                bucket.setRatelimitResetTimestamp(responseTimestamp + retryAfter);
+                updateBucket(request, bucket, bucketHash, 0, responseTimestamp + retryAfter);
             }
         } else {
             // Check if we didn't already complete it exceptionally.
@@ -211,8 +415,66 @@ public class RatelimitManager {
             }
 
             // Update bucket information
-            bucket.setRatelimitRemaining(remaining);
-            bucket.setRatelimitResetTimestamp(reset);
+            updateBucket(request, bucket, bucketHash, remaining, reset);
+        }
+    }
+
+    /**
+     * Updates the ratelimit information of the given bucket.
+     *
+     * <p>If the request revealed a different bucket hash, following requests of the route use the bucket of that
+     * hash, so its information is updated, too. The requests of the route which are still queued in the old bucket
+     * are moved to the bucket of the hash, as both buckets would otherwise use the same ratelimit of Discord in
+     * parallel.
+     *
+     * @param request The request.
+     * @param bucket The bucket the request belongs to.
+     * @param bucketHash The bucket hash Discord sent. May be null.
+     * @param remaining The remaining requests till ratelimit.
+     * @param resetTimestamp The ratelimit reset timestamp.
+     */
+    private void updateBucket(
+            RestRequest<?> request, RatelimitBucket bucket, String bucketHash, int remaining, long resetTimestamp) {
+        bucket.setRatelimitRemaining(remaining);
+        bucket.setRatelimitResetTimestamp(resetTimestamp);
+
+        if (bucketHash == null || bucket.getBucketHash().filter(bucketHash::equals).isPresent()) {
+            return;
+        }
+        // The request itself is still at the head of the old queue and is polled once it is done
+        String route = getRoute(request);
+        List<RestRequest<?>> movedRequests = new ArrayList<>();
+        buckets.computeIfPresent(bucket.getKey(), (key, b) -> {
+            movedRequests.addAll(b.removeRequestsFromQueue(
+                    queuedRequest -> queuedRequest != request && getRoute(queuedRequest).equals(route)));
+            return b;
+        });
+
+        RestEndpoint endpoint = request.getEndpoint();
+        String majorUrlParameter = request.getMajorUrlParameter().orElse(null);
+        AtomicBoolean startWorking = new AtomicBoolean();
+        RatelimitBucket hashBucket = buckets.compute(
+                RatelimitBucket.getKey(endpoint, majorUrlParameter, bucketHash), (key, existingBucket) -> {
+                    RatelimitBucket b = existingBucket;
+                    if (b == null) {
+                        b = new RatelimitBucket(this, endpoint, majorUrlParameter, bucketHash);
+                    }
+                    b.setRatelimitRemaining(remaining);
+                    b.setRatelimitResetTimestamp(resetTimestamp);
+                    movedRequests.forEach(b::addRequestToQueue);
+                    if (!b.isBusy()) {
+                        if (movedRequests.isEmpty()) {
+                            scheduleExpiry(b);
+                        } else {
+                            b.setBusy(true);
+                            startWorking.set(true);
+                        }
+                    }
+                    return b;
+                });
+
+        if (startWorking.get()) {
+            startWorking(hashBucket, movedRequests.get(0));
         }
     }
 
@@ -224,19 +486,19 @@ public class RatelimitManager {
      */
     private void calculateOffset(long currentTime, RestRequestResult result) {
         // Double-checked locking for better performance
-        if ((api.getTimeOffset() != null) || (result == null) || (result.getResponse() == null)) {
+        if ((timeOffset != null) || (result == null) || (result.getResponse() == null)) {
             return;
         }
-        synchronized (api) {
-            if (api.getTimeOffset() == null) {
+        synchronized (this) {
+            if (timeOffset == null) {
                 // Discord sends the date in their header in the format RFC_1123_DATE_TIME
                 // We use this header to calculate a possible offset between our local time and the discord time
                 String date = result.getResponse().header("Date");
                 if (date != null) {
                     long discordTimestamp = OffsetDateTime.parse(date, DateTimeFormatter.RFC_1123_DATE_TIME)
                             .toInstant().toEpochMilli();
-                    api.setTimeOffset((discordTimestamp - currentTime));
-                    logger.debug("Calculated an offset of {} to the Discord time.", api::getTimeOffset);
+                    timeOffset = discordTimestamp - currentTime;
+                    logger.debug("Calculated an offset of {} to the Discord time.", timeOffset);
                 }
             }
         }
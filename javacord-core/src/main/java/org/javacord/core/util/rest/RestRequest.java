@@ -1,6 +1,8 @@
 package org.javacord.core.util.rest;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import okhttp3.Call;
+import okhttp3.Callback;
 import okhttp3.HttpUrl;
 import okhttp3.MediaType;
 import okhttp3.MultipartBody;
@@ -10,11 +12,13 @@ import okhttp3.Response;
 import org.apache.logging.log4j.Logger;
 import org.javacord.api.DiscordApi;
 import org.javacord.api.exception.DiscordException;
+import org.javacord.api.util.ratelimit.Ratelimiter;
 import org.javacord.api.util.rest.RestRequestInformation;
 import org.javacord.api.util.rest.RestRequestResponseInformation;
 import org.javacord.core.DiscordApiImpl;
 import org.javacord.core.util.logging.LoggerUtil;
 
+import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.net.MalformedURLException;
 import java.net.URL;
@@ -325,6 +329,68 @@ public class RestRequest<T> {
      * @throws Exception If something went wrong while executing the request.
      */
     public RestRequestResult executeBlocking() throws Exception {
+        try (Response response = getApi().getHttpClient().newCall(prepareRequest()).execute()) {
+            return processResponse(response);
+        }
+    }
+
+    /**
+     * Executes the request asynchronously using OkHttp's own dispatcher.
+     *
+     * <p>In contrast to {@link #executeBlocking()}, no thread waits for the global ratelimit or the response. The
+     * returned future is completed from one of OkHttp's threads and fails with the same exceptions
+     * {@link #executeBlocking()} would throw.
+     *
+     * @return The result of the request.
+     */
+    public CompletableFuture<RestRequestResult> executeAsync() {
+        Optional<Ratelimiter> globalRatelimiter = consumeGlobalRatelimit
+                ? api.getGlobalRatelimiter()
+                : Optional.empty();
+        if (!globalRatelimiter.isPresent()) {
+            return sendAsync();
+        }
+        return globalRatelimiter.get().requestQuotaAsync(api.getThreadPool()).thenCompose(nothing -> sendAsync());
+    }
+
+    /**
+     * Sends the request using OkHttp's own dispatcher.
+     *
+     * @return The result of the request.
+     */
+    private CompletableFuture<RestRequestResult> sendAsync() {
+        CompletableFuture<RestRequestResult> future = new CompletableFuture<>();
+        Request request;
+        try {
+            request = buildRequest();
+        } catch (Throwable t) {
+            future.completeExceptionally(t);
+            return future;
+        }
+        getApi().getHttpClient().newCall(request).enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                future.completeExceptionally(e);
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                try (Response closeableResponse = response) {
+                    future.complete(processResponse(closeableResponse));
+                } catch (Throwable t) {
+                    future.completeExceptionally(t);
+                }
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Consumes the global ratelimit if required and builds the OkHttp request.
+     *
+     * @return The OkHttp request.
+     */
+    private Request prepareRequest() {
         if (consumeGlobalRatelimit) {
             api.getGlobalRatelimiter().ifPresent(ratelimiter -> {
                 try {
@@ -334,6 +400,15 @@ public class RestRequest<T> {
                 }
             });
         }
+        return buildRequest();
+    }
+
+    /**
+     * Builds the OkHttp request.
+     *
+     * @return The OkHttp request.
+     */
+    private Request buildRequest() {
         Request.Builder requestBuilder = new Request.Builder();
         HttpUrl.Builder httpUrlBuilder = endpoint.getOkHttpUrl(urlParameters).newBuilder();
         queryParameters.forEach(httpUrlBuilder::addQueryParameter);
@@ -373,69 +448,77 @@ public class RestRequest<T> {
         headers.forEach(requestBuilder::addHeader);
         logger.debug("Trying to send {} request to {}{}",
                 method::name, () -> endpoint.getFullUrl(urlParameters), () -> body != null ? " with body " + body : "");
+        return requestBuilder.build();
+    }
 
-        try (Response response = getApi().getHttpClient().newCall(requestBuilder.build()).execute()) {
-            RestRequestResult result = new RestRequestResult(this, response);
-            logger.debug("Sent {} request to {} and received status code {} with{} body{}",
-                    method::name, () -> endpoint.getFullUrl(urlParameters), response::code,
-                    () -> result.getBody().map(b -> "").orElse(" empty"),
-                    () -> result.getStringBody().map(s -> " " + s).orElse(""));
-
-            if (response.code() >= 300 || response.code() < 200) {
-
-                RestRequestInformation requestInformation = asRestRequestInformation();
-                RestRequestResponseInformation responseInformation = new RestRequestResponseInformationImpl(
-                        requestInformation, result);
-                Optional<RestRequestHttpResponseCode> responseCode = RestRequestHttpResponseCode
-                        .fromCode(response.code());
-
-                // Check if the response body contained a know error code
-                if (!result.getJsonBody().isNull() && result.getJsonBody().has("code")) {
-                    int code = result.getJsonBody().get("code").asInt();
-                    String message = result.getJsonBody().has("message")
-                            ? result.getJsonBody().get("message").asText()
-                            : null;
-                    Optional<? extends DiscordException> discordException =
-                            RestRequestResultErrorCode.fromCode(code, responseCode.orElse(null))
-                                    .flatMap(restRequestResultCode -> restRequestResultCode.getDiscordException(
-                                            origin, (message == null) ? restRequestResultCode.getMeaning() : message,
-                                            requestInformation, responseInformation));
-                    // There's an exception for this specific response code
+    /**
+     * Processes the response of the request.
+     *
+     * @param response The response.
+     * @return The result of the request.
+     * @throws Exception If the response is an error response.
+     */
+    private RestRequestResult processResponse(Response response) throws Exception {
+        RestRequestResult result = new RestRequestResult(this, response);
+        logger.debug("Sent {} request to {} and received status code {} with{} body{}",
+                method::name, () -> endpoint.getFullUrl(urlParameters), response::code,
+                () -> result.getBody().map(b -> "").orElse(" empty"),
+                () -> result.getStringBody().map(s -> " " + s).orElse(""));
+
+        if (response.code() >= 300 || response.code() < 200) {
+
+            RestRequestInformation requestInformation = asRestRequestInformation();
+            RestRequestResponseInformation responseInformation = new RestRequestResponseInformationImpl(
+                    requestInformation, result);
+            Optional<RestRequestHttpResponseCode> responseCode = RestRequestHttpResponseCode
+                    .fromCode(response.code());
+
+            // Check if the response body contained a know error code
+            if (!result.getJsonBody().isNull() && result.getJsonBody().has("code")) {
+                int code = result.getJsonBody().get("code").asInt();
+                String message = result.getJsonBody().has("message")
+                        ? result.getJsonBody().get("message").asText()
+                        : null;
+                Optional<? extends DiscordException> discordException =
+                        RestRequestResultErrorCode.fromCode(code, responseCode.orElse(null))
+                                .flatMap(restRequestResultCode -> restRequestResultCode.getDiscordException(
+                                        origin, (message == null) ? restRequestResultCode.getMeaning() : message,
+                                        requestInformation, responseInformation));
+                // There's an exception for this specific response code
+                if (discordException.isPresent()) {
+                    throw discordException.get();
+                }
+            }
+
+            switch (response.code()) {
+                case 429:
+                    // A 429 will be handled in the RatelimitManager class
+                    return result;
+                default:
+                    // There are specific exceptions for specific response codes (e.g. NotFoundException for 404)
+                    Optional<? extends DiscordException> discordException = responseCode
+                            .flatMap(restRequestHttpResponseCode ->
+                                             restRequestHttpResponseCode.getDiscordException(
+                                                     origin,
+                                                     "Received a " + response.code() + " response from Discord with"
+                                                     + (result.getBody().isPresent() ? "" : " empty")
+                                                     + " body"
+                                                     + result.getStringBody().map(s -> " " + s).orElse("")
+                                                     + "!",
+                                                     requestInformation, responseInformation));
                     if (discordException.isPresent()) {
                         throw discordException.get();
+                    } else {
+                        // No specific exception was defined for the response code, so throw a "normal"
+                        throw new DiscordException(
+                                origin, "Received a " + response.code() + " response from Discord with"
+                                        + (result.getBody().isPresent() ? "" : " empty") + " body"
+                                        + result.getStringBody().map(s -> " " + s).orElse("") + "!",
+                                requestInformation, responseInformation);
                     }
-                }
-
-                switch (response.code()) {
-                    case 429:
-                        // A 429 will be handled in the RatelimitManager class
-                        return result;
-                    default:
-                        // There are specific exceptions for specific response codes (e.g. NotFoundException for 404)
-                        Optional<? extends DiscordException> discordException = responseCode
-                                .flatMap(restRequestHttpResponseCode ->
-                                                 restRequestHttpResponseCode.getDiscordException(
-                                                         origin,
-                                                         "Received a " + response.code() + " response from Discord with"
-                                                         + (result.getBody().isPresent() ? "" : " empty")
-                                                         + " body"
-                                                         + result.getStringBody().map(s -> " " + s).orElse("")
-                                                         + "!",
-                                                         requestInformation, responseInformation));
-                        if (discordException.isPresent()) {
-                            throw discordException.get();
-                        } else {
-                            // No specific exception was defined for the response code, so throw a "normal"
-                            throw new DiscordException(
-                                    origin, "Received a " + response.code() + " response from Discord with"
-                                            + (result.getBody().isPresent() ? "" : " empty") + " body"
-                                            + result.getStringBody().map(s -> " " + s).orElse("") + "!",
-                                    requestInformation, responseInformation);
-                        }
-                }
             }
-            return result;
         }
+        return result;
     }
 
 }
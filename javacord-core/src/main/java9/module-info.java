@@ -2,6 +2,7 @@
 module org.javacord.core {
     requires okhttp3.logging;
     requires com.codahale.xsalsa20poly1305;
+    requires org.bouncycastle.provider;
 
     requires java.logging;
 
@@ -0,0 +1,122 @@
+package org.javacord.api.audio
+
+import org.javacord.api.DiscordApi
+import org.javacord.api.util.concurrent.ThreadPool
+import spock.lang.Specification
+import spock.lang.Subject
+import spock.util.concurrent.PollingConditions
+
+import java.util.concurrent.Executors
+
+@Subject(PrefetchingAudioSource)
+class PrefetchingAudioSourceTest extends Specification {
+
+    def executor = Executors.newSingleThreadExecutor()
+
+    def api = Stub(DiscordApi) {
+        getThreadPool() >> Stub(ThreadPool) {
+            getExecutorService() >> executor
+        }
+    }
+
+    def conditions = new PollingConditions(timeout: 5)
+
+    def cleanup() {
+        executor.shutdownNow()
+    }
+
+    def 'frames are prefetched and transformed ahead of time'() {
+        given:
+            def source = new FrameListAudioSource(api, 3)
+            def prefetchingSource = new PrefetchingAudioSource(source, 4)
+            prefetchingSource.addTransformer { audioSource, frame -> [frame[0] * 2] as byte[] }
+
+        expect:
+            source.polledFrames == 0
+
+        when:
+            prefetchingSource.hasNextFrame()
+            conditions.eventually {
+                assert prefetchingSource.bufferedFrames == 3
+            }
+
+        then:
+            source.polledFrames == 3
+            (0..<3).collect { prefetchingSource.nextFrame[0] } == [0, 2, 4]
+            prefetchingSource.hasFinished()
+    }
+
+    def 'the buffer is bounded'() {
+        given:
+            def source = new FrameListAudioSource(api, 100)
+            def prefetchingSource = new PrefetchingAudioSource(source, 4)
+
+        when:
+            prefetchingSource.hasNextFrame()
+            conditions.eventually {
+                assert prefetchingSource.bufferedFrames == 4
+            }
+
+        then:
+            source.polledFrames == 4
+            !prefetchingSource.hasFinished()
+
+        when:
+            prefetchingSource.nextFrame
+
+        then:
+            conditions.eventually {
+                assert source.polledFrames == 5
+                assert prefetchingSource.bufferedFrames == 4
+            }
+    }
+
+    def 'a source without available frames is not finished'() {
+        given:
+            def source = new FrameListAudioSource(api, 0, false)
+            def prefetchingSource = new PrefetchingAudioSource(source, 4)
+
+        expect:
+            !prefetchingSource.hasNextFrame()
+            !prefetchingSource.hasFinished()
+            prefetchingSource.nextFrame == null
+    }
+
+    /**
+     * An audio source which provides a fixed amount of one byte frames.
+     */
+    static class FrameListAudioSource extends AudioSourceBase {
+
+        final int frames
+        final boolean finishes
+        volatile int polledFrames = 0
+
+        FrameListAudioSource(DiscordApi api, int frames, boolean finishes = true) {
+            super(api)
+            this.frames = frames
+            this.finishes = finishes
+        }
+
+        @Override
+        byte[] getNextFrame() {
+            [polledFrames++] as byte[]
+        }
+
+        @Override
+        boolean hasNextFrame() {
+            polledFrames < frames
+        }
+
+        @Override
+        boolean hasFinished() {
+            finishes && !hasNextFrame()
+        }
+
+        @Override
+        AudioSource copy() {
+            new FrameListAudioSource(api, frames, finishes)
+        }
+
+    }
+
+}
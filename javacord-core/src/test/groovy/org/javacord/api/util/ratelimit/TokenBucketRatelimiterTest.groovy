@@ -0,0 +1,101 @@
+package org.javacord.api.util.ratelimit
+
+import org.javacord.core.util.concurrent.ThreadPoolImpl
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.time.Duration
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+@Subject(TokenBucketRatelimiter)
+class TokenBucketRatelimiterTest extends Specification {
+
+    def 'a full bucket allows a burst of its amount'() {
+        given:
+            def ratelimiter = new TokenBucketRatelimiter(5, Duration.ofSeconds(10))
+
+        when:
+            def start = System.nanoTime()
+            5.times { ratelimiter.requestQuota() }
+
+        then:
+            System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5)
+    }
+
+    def 'an empty bucket refills one token per interval'() {
+        given:
+            def ratelimiter = new TokenBucketRatelimiter(5, Duration.ofMillis(250))
+
+        when:
+            def start = System.nanoTime()
+            15.times { ratelimiter.requestQuota() }
+
+        then:
+            // 10 tokens have to be refilled, one every 50 ms
+            System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(500)
+    }
+
+    def 'a bucket with an amount of 1 does not allow bursts'() {
+        given:
+            def ratelimiter = new TokenBucketRatelimiter(1, Duration.ofMillis(100))
+
+        when:
+            def start = System.nanoTime()
+            3.times { ratelimiter.requestQuota() }
+
+        then:
+            // only the first token is available immediately
+            System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(200)
+    }
+
+    def 'concurrent callers get one token each'() {
+        given:
+            def ratelimiter = new TokenBucketRatelimiter(10, Duration.ofMillis(100))
+            def executor = Executors.newFixedThreadPool(16)
+
+        when:
+            def start = System.nanoTime()
+            (0..<50).collect { executor.submit { ratelimiter.requestQuota() } }*.get()
+
+        then:
+            // 40 tokens have to be refilled, one every 10 ms
+            System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(400)
+
+        cleanup:
+            executor?.shutdown()
+    }
+
+    def 'asynchronous requests wait without blocking the caller'() {
+        given:
+            def ratelimiter = new TokenBucketRatelimiter(1, Duration.ofMillis(200))
+            def threadPool = new ThreadPoolImpl()
+
+        when:
+            def first = ratelimiter.requestQuotaAsync(threadPool)
+            def second = ratelimiter.requestQuotaAsync(threadPool)
+
+        then:
+            first.done
+            !second.done
+
+        when:
+            second.get(5, TimeUnit.SECONDS)
+
+        then:
+            noExceptionThrown()
+
+        cleanup:
+            threadPool?.shutdown()
+    }
+
+    def 'amounts less than 1 are rejected'() {
+        when:
+            new TokenBucketRatelimiter(0, Duration.ofSeconds(1))
+
+        then:
+            IllegalArgumentException e = thrown()
+            e.message == 'amount cannot be less than 1!'
+    }
+
+}
@@ -1,11 +1,15 @@
 package org.javacord.core
 
+import com.fasterxml.jackson.databind.ObjectMapper
 import io.netty.handler.codec.http.HttpHeaderNames
 import okhttp3.Credentials
 import org.apache.logging.log4j.Level
 import org.apache.logging.log4j.test.appender.ListAppender
 import org.javacord.api.entity.server.Server
 import org.javacord.api.exception.NotFoundException
+import org.javacord.api.listener.message.MessageCreateListener
+import org.javacord.api.listener.user.UserStartTypingListener
+import org.javacord.core.entity.server.ServerImpl
 import org.javacord.test.MockProxyManager
 import org.mockserver.configuration.ConfigurationProperties
 import org.mockserver.model.HttpRequest
@@ -37,6 +41,89 @@ class DiscordApiImplTest extends Specification {
             }
     }
 
+    def 'shards identify concurrently by their ratelimit key'() {
+        given:
+            def shards = [0, 1, 16].collectEntries { shard ->
+                [(shard): new DiscordApiImpl('identifyToken', shard, 32, Collections.emptySet(), false, false, false,
+                        null, null, null, null, null, false, null, null, [:], [], false, true, 1, false, false, false,
+                        0, null)]
+            }
+
+        when:
+            shards[0].maxIdentifyConcurrency = 16
+
+        then:
+            shards.values().every { it.maxIdentifyConcurrency == 16 }
+            !shards[0].gatewayIdentifyRatelimiter.is(shards[1].gatewayIdentifyRatelimiter)
+            shards[0].gatewayIdentifyRatelimiter.is shards[16].gatewayIdentifyRatelimiter
+
+        cleanup:
+            shards?.values()*.disconnect()
+    }
+
+    def 'hasListeners reflects globally and object attached listeners'() {
+        given:
+            MessageCreateListener listener = Stub()
+
+        expect:
+            !api.hasListeners(MessageCreateListener)
+
+        when:
+            def globalManager = api.addListener(MessageCreateListener, listener)
+            api.addObjectListener(Server, 1, MessageCreateListener, listener)
+
+        then:
+            api.hasListeners(MessageCreateListener)
+            !api.hasListeners(UserStartTypingListener)
+
+        when:
+            globalManager.remove()
+
+        then:
+            api.hasListeners(MessageCreateListener)
+
+        when:
+            api.removeObjectListeners(Server, 1)
+
+        then:
+            !api.hasListeners(MessageCreateListener)
+    }
+
+    def 'messages inflated from the compact message store are not cached again'() {
+        given:
+            def mapper = new ObjectMapper()
+            def server = new ServerImpl(api, mapper.readTree('''{
+                "id": "1", "name": "Server", "region": "europe", "large": false, "member_count": 0, "owner_id": "2",
+                "verification_level": 0, "explicit_content_filter": 0, "default_message_notifications": 0,
+                "mfa_level": 0, "premium_tier": 0, "nsfw_level": 0, "preferred_locale": "en-US", "roles": []
+            }'''))
+            def channel = server.getOrCreateServerTextChannel(mapper.readTree(
+                    '{"id": "3", "name": "general", "type": 0, "position": 0}'))
+            api.compactMessageCacheBudget = 1024 * 1024
+            def fields = '''"pinned": false, "tts": false, "mention_everyone": false, "mentions": [],
+                "mention_roles": [], "attachments": [], "embeds": [], "timestamp": "2021-01-01T00:00:00+00:00",
+                "author": {"id": "2", "username": "user", "discriminator": "0001", "avatar": null}'''
+            api.compactMessageStore.store(mapper.readTree("""{
+                "id": "10", "channel_id": "3", "content": "reply", "type": 19, $fields,
+                "referenced_message": {
+                    "id": "9", "channel_id": "3", "content": "original", "type": 0, $fields
+                }
+            }"""))
+
+        when:
+            def message = api.getCachedMessageById(10)
+
+        then:
+            message.get().content == 'reply'
+            message.get().referencedMessage.get().content == 'original'
+            api.cachedMessages.empty
+            channel.messageCache.messages.size() == 0
+            api.messageCacheStatistics.estimatedMemoryUsage == 0
+
+        cleanup:
+            api.threadPool.shutdown()
+    }
+
     @Unroll
     def '#collectionGetter returns unmodifiable collection'() {
         when:
@@ -0,0 +1,113 @@
+package org.javacord.core
+
+import org.javacord.api.entity.server.Server
+import org.javacord.core.util.concurrent.ThreadPoolImpl
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.util.concurrent.TimeUnit
+
+@Subject(ShardGroup)
+class ShardGroupTest extends Specification {
+
+    def group = new ShardGroup(2)
+
+    def shards = (0..1).collect { newShard(it) }
+
+    def cleanup() {
+        shards*.disconnect()
+        group.release()
+    }
+
+    def newShard(int shard) {
+        new DiscordApiImpl('fakeBotToken', shard, 2, Collections.emptySet(), false, false, false, null, null, null,
+                null, null, false, null, null, [:], [], false, true, 1, false, false, false, 0, group)
+    }
+
+    def 'shards of a group share their resources'() {
+        expect:
+            shards[0].threadPool.executorService.is shards[1].threadPool.executorService
+            shards[0].httpClient.is shards[1].httpClient
+            shards[0].objectMapper.is shards[1].objectMapper
+            shards[0].ratelimitManager.is shards[1].ratelimitManager
+            group.shards == shards
+    }
+
+    def 'shutting down a shard only cancels its own periodic tasks'() {
+        given:
+            def ownTask = shards[0].threadPool.scheduler.scheduleAtFixedRate({ }, 1, 1, TimeUnit.HOURS)
+            def otherTask = shards[1].threadPool.scheduler.scheduleAtFixedRate({ }, 1, 1, TimeUnit.HOURS)
+
+        when:
+            (shards[0].threadPool as ThreadPoolImpl).shutdown()
+
+        then:
+            ownTask.cancelled
+            !otherTask.cancelled
+            !shards[1].threadPool.executorService.shutdown
+            group.shards == [shards[1]]
+    }
+
+    def 'the shared resources are released with the last holder'() {
+        given:
+            def executorService = shards[0].threadPool.executorService
+
+        when:
+            shards.each { (it.threadPool as ThreadPoolImpl).shutdown() }
+
+        then:
+            !executorService.shutdown
+
+        when:
+            group.release()
+
+        then:
+            executorService.shutdown
+            shards[0].httpClient.dispatcher().executorService().shutdown
+    }
+
+    def 'shards are only visible to the group once they are published'() {
+        given:
+            def otherGroup = new ShardGroup(1)
+            DiscordApiImpl shard = Stub {
+                getCurrentShard() >> 0
+            }
+
+        when:
+            def threadPool = otherGroup.addShard(shard)
+
+        then:
+            otherGroup.shards.empty
+
+        when:
+            otherGroup.publishShard(shard, threadPool)
+
+        then:
+            otherGroup.shards == [shard]
+
+        when:
+            threadPool.shutdown()
+            otherGroup.publishShard(shard, threadPool)
+
+        then:
+            // a shard which was shut down during its construction is not published
+            otherGroup.shards.empty
+
+        cleanup:
+            otherGroup.release()
+    }
+
+    def 'servers are looked up on the shard that receives their events'() {
+        given:
+            // shard id = (server id >> 22) % total shards
+            def serverId = 3L << 22
+            Server server = Stub()
+            shards[1].@servers << [(serverId): server]
+
+        expect:
+            shards[0].getServerById(serverId) == Optional.of(server)
+            shards[1].getServerById(serverId) == Optional.of(server)
+            !shards[0].getServerById(2L << 22).present
+    }
+
+}
@@ -0,0 +1,96 @@
+package org.javacord.core.audio
+
+import org.javacord.api.audio.AudioConnection
+import org.javacord.api.audio.AudioReceiver
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.nio.ByteBuffer
+import java.util.concurrent.TimeUnit
+
+@Subject(AudioJitterBuffer)
+class AudioJitterBufferTest extends Specification {
+
+    static final long MAX_DELAY = TimeUnit.MILLISECONDS.toNanos(40)
+
+    def receiver = new RecordingReceiver()
+
+    def jitterBuffer = new AudioJitterBuffer(null, 42, 4, MAX_DELAY)
+
+    def add(int sequence, long now = 0) {
+        jitterBuffer.add(sequence as char, sequence * 960, ByteBuffer.wrap([sequence] as byte[]), now, receiver)
+    }
+
+    def 'frames in order are passed immediately'() {
+        when:
+            (0..3).each { add(it) }
+
+        then:
+            receiver.events == ['0', '1', '2', '3']
+    }
+
+    def 'reordered frames are passed in order'() {
+        when:
+            [0, 2, 1, 3].each { add(it) }
+
+        then:
+            receiver.events == ['0', '1', '2', '3']
+    }
+
+    def 'a missing frame is reported as lost after the maximum delay'() {
+        when:
+            add(0)
+            add(2)
+            jitterBuffer.flush(MAX_DELAY - 1, receiver)
+
+        then:
+            receiver.events == ['0']
+
+        when:
+            jitterBuffer.flush(MAX_DELAY, receiver)
+
+        then:
+            receiver.events == ['0', 'lost 960', '2']
+    }
+
+    def 'a missing frame is reported as lost when the buffer is full'() {
+        when:
+            [0, 2, 3, 4, 5].each { add(it) }
+
+        then:
+            receiver.events == ['0', 'lost 960', '2', '3', '4', '5']
+    }
+
+    def 'late and duplicate frames are dropped'() {
+        when:
+            [0, 1, 1, 0].each { add(it) }
+
+        then:
+            receiver.events == ['0', '1']
+    }
+
+    def 'sequence numbers wrap around'() {
+        when:
+            [65534, 65535, 0, 1].each { add(it) }
+
+        then:
+            receiver.events == ['-2', '-1', '0', '1']
+    }
+
+    static class RecordingReceiver implements AudioReceiver {
+
+        def events = []
+
+        @Override
+        void receiveFrame(AudioConnection connection, long userId, int ssrc, int timestamp, ByteBuffer opusFrame) {
+            events << "${opusFrame.get(opusFrame.position())}".toString()
+        }
+
+        @Override
+        void receiveLostFrame(AudioConnection connection, long userId, int ssrc, int timestamp) {
+            events << "lost $timestamp".toString()
+        }
+
+    }
+
+}
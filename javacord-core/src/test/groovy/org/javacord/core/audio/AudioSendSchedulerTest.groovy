@@ -0,0 +1,101 @@
+package org.javacord.core.audio
+
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.nio.ByteBuffer
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.TimeUnit
+
+@Subject(AudioSendScheduler)
+class AudioSendSchedulerTest extends Specification {
+
+    def scheduler = new AudioSendScheduler(2)
+
+    def cleanup() {
+        scheduler.shutdown()
+    }
+
+    def 'senders are polled every 20 ms'() {
+        given:
+            def sender = new RecordingSender()
+
+        when:
+            scheduler.add(sender)
+            Thread.sleep(300)
+
+        then:
+            // The first frames may be delayed while the thread starts
+            def deadlines = sender.deadlines.drop(2)
+            deadlines.size() >= 5
+            deadlines.collate(2, 1, false).every { it[1] - it[0] == TimeUnit.MILLISECONDS.toNanos(20) }
+    }
+
+    def 'senders of a thread are spread over the frame duration'() {
+        given:
+            def singleThreadScheduler = new AudioSendScheduler(1)
+            def senders = (0..<20).collect { new RecordingSender() }
+
+        when:
+            senders.each { singleThreadScheduler.add(it) }
+            Thread.sleep(200)
+            // The first frames may be delayed while the thread starts
+            def deadlines = senders.collect { it.deadlines.toList()[3] }
+
+        then:
+            deadlines.every { it != null }
+            // One sender per millisecond slot
+            deadlines.collect { (it - deadlines.min()) % TimeUnit.MILLISECONDS.toNanos(20) } as Set ==
+                    (0..<20).collect { TimeUnit.MILLISECONDS.toNanos(it) } as Set
+
+        cleanup:
+            singleThreadScheduler?.shutdown()
+    }
+
+    def 'removed senders are no longer polled'() {
+        given:
+            def sender = new RecordingSender()
+            scheduler.add(sender)
+            Thread.sleep(100)
+
+        when:
+            scheduler.remove(sender)
+            def polls = sender.polls
+            Thread.sleep(100)
+
+        then:
+            sender.polls == polls
+    }
+
+    def 'senders cannot be added after shutdown'() {
+        given:
+            scheduler.shutdown()
+
+        when:
+            scheduler.add(new RecordingSender())
+
+        then:
+            thrown(RejectedExecutionException)
+    }
+
+    static class RecordingSender implements ScheduledAudioSender {
+
+        volatile int polls
+
+        def deadlines = new ConcurrentLinkedQueue<Long>()
+
+        @Override
+        ByteBuffer pollPacket() {
+            polls++
+            ByteBuffer.allocate(0)
+        }
+
+        @Override
+        void send(ByteBuffer packet, long deadlineNanos) {
+            deadlines << deadlineNanos
+        }
+
+    }
+
+}
@@ -0,0 +1,138 @@
+package org.javacord.core.entity.channel
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import org.javacord.api.entity.permission.PermissionState
+import org.javacord.api.entity.permission.PermissionType
+import org.javacord.core.DiscordApiImpl
+import org.javacord.core.entity.permission.PermissionsImpl
+import org.javacord.core.entity.permission.RoleImpl
+import org.javacord.core.entity.server.ServerImpl
+import org.javacord.core.entity.user.MemberImpl
+import spock.lang.Specification
+import spock.lang.Subject
+
+import static org.javacord.api.entity.permission.PermissionType.ADMINISTRATOR
+import static org.javacord.api.entity.permission.PermissionType.KICK_MEMBERS
+import static org.javacord.api.entity.permission.PermissionType.MANAGE_MESSAGES
+import static org.javacord.api.entity.permission.PermissionType.SEND_MESSAGES
+import static org.javacord.api.entity.permission.PermissionType.VIEW_CHANNEL
+
+@Subject(RegularServerChannelImpl)
+class RegularServerChannelImplTest extends Specification {
+
+    def mapper = new ObjectMapper()
+
+    def api = new DiscordApiImpl(null, null, null, null, null, null, false)
+
+    def server = new ServerImpl(api, mapper.readTree("""{
+        "id": "1", "name": "Server", "region": "europe", "large": false, "member_count": 0, "owner_id": "3",
+        "verification_level": 0, "explicit_content_filter": 0, "default_message_notifications": 0,
+        "mfa_level": 0, "premium_tier": 0, "nsfw_level": 0, "preferred_locale": "en-US",
+        "roles": [${role(1, VIEW_CHANNEL, SEND_MESSAGES)}, ${role(10, MANAGE_MESSAGES)}, ${role(20)}]
+    }"""))
+
+    def member = new MemberImpl(api, server, mapper.readTree('''{
+        "user": {"id": "2", "username": "user", "discriminator": "0"},
+        "roles": ["10", "20"],
+        "joined_at": "2015-04-26T06:26:56.936000+00:00"
+    }'''), null)
+
+    def user = member.user
+
+    def channel = new RegularServerChannelImpl(api, server, mapper.readTree("""{
+        "id": "100", "name": "channel", "type": 0, "position": 0,
+        "permission_overwrites": [
+            ${overwrite(1, 0, [], [SEND_MESSAGES])},
+            ${overwrite(10, 0, [SEND_MESSAGES], [MANAGE_MESSAGES])},
+            ${overwrite(20, 0, [MANAGE_MESSAGES], [])},
+            ${overwrite(30, 0, [KICK_MEMBERS], [])},
+            ${overwrite(2, 1, [], [VIEW_CHANNEL])}
+        ]
+    }"""))
+
+    def cleanup() {
+        api.threadPool.shutdown()
+    }
+
+    static mask(PermissionType... types) {
+        types.inject(0L) { mask, type -> mask | type.value }
+    }
+
+    static role(long id, PermissionType... permissions) {
+        """{"id": "$id", "name": "role $id", "position": 0, "color": 0, "hoist": false, "mentionable": false,
+            "managed": false, "permissions": "${mask(permissions)}"}"""
+    }
+
+    static overwrite(long id, int type, List<PermissionType> allow, List<PermissionType> deny) {
+        """{"id": "$id", "type": $type, "allow": "${mask(allow as PermissionType[])}",
+            "deny": "${mask(deny as PermissionType[])}"}"""
+    }
+
+    def 'server permissions are the union of the role permissions'() {
+        expect:
+            server.getAllowedPermissions(user) == [VIEW_CHANNEL, SEND_MESSAGES, MANAGE_MESSAGES] as Set
+            server.hasPermissions(user, VIEW_CHANNEL, MANAGE_MESSAGES)
+            !server.hasPermissions(user, VIEW_CHANNEL, KICK_MEMBERS)
+            server.hasAnyPermission(user, KICK_MEMBERS, SEND_MESSAGES)
+            !server.hasPermission(user, ADMINISTRATOR)
+            server.getPermissions(user).getState(MANAGE_MESSAGES) == PermissionState.ALLOWED
+            server.getPermissions(user).getState(KICK_MEMBERS) == PermissionState.UNSET
+    }
+
+    def 'overwrites are applied in the order everyone role, other roles, user'() {
+        expect:
+            channel.getEffectiveAllowedPermissions(user) == [SEND_MESSAGES, MANAGE_MESSAGES] as Set
+            channel.getEffectivePermissions(user).getState(VIEW_CHANNEL) == PermissionState.DENIED
+            channel.getEffectivePermissions(user).getState(KICK_MEMBERS) == PermissionState.DENIED
+            channel.getEffectivePermissions(user).getUnsetPermissions().isEmpty()
+            channel.hasPermissions(user, SEND_MESSAGES, MANAGE_MESSAGES)
+            !channel.hasAnyPermission(user, VIEW_CHANNEL, KICK_MEMBERS)
+    }
+
+    def 'the owner has all permissions'() {
+        given:
+            def owner = new MemberImpl(api, server, mapper.readTree('''{
+                "user": {"id": "3", "username": "owner", "discriminator": "0"},
+                "roles": [],
+                "joined_at": "2015-04-26T06:26:56.936000+00:00"
+            }'''), null).user
+
+        expect:
+            server.getAllowedPermissions(owner) == PermissionType.values() as Set
+            channel.hasPermissions(owner, PermissionType.values())
+    }
+
+    def 'cached permissions are invalidated when a role changes'() {
+        given:
+            server.hasPermission(user, KICK_MEMBERS)
+
+        when:
+            (server.getRoleById(20).get() as RoleImpl).setPermissions(new PermissionsImpl(mask(KICK_MEMBERS), 0))
+
+        then:
+            server.hasPermission(user, KICK_MEMBERS)
+
+        when:
+            server.removeRole(20)
+
+        then:
+            !server.hasPermission(user, KICK_MEMBERS)
+            !channel.hasPermission(user, MANAGE_MESSAGES)
+    }
+
+    def 'cached permissions are invalidated when the member changes'() {
+        given:
+            server.hasPermission(user, MANAGE_MESSAGES)
+
+        when:
+            def updatedUser = new MemberImpl(api, server, mapper.readTree('''{
+                "user": {"id": "2", "username": "user", "discriminator": "0"},
+                "roles": ["20"],
+                "joined_at": "2015-04-26T06:26:56.936000+00:00"
+            }'''), null).user
+
+        then:
+            !server.hasPermission(updatedUser, MANAGE_MESSAGES)
+    }
+
+}
@@ -0,0 +1,92 @@
+package org.javacord.core.entity.server
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import org.javacord.core.DiscordApiImpl
+import org.javacord.core.entity.channel.ServerTextChannelImpl
+import org.javacord.core.entity.permission.RoleImpl
+import spock.lang.Specification
+import spock.lang.Subject
+
+@Subject(ServerImpl)
+class ServerImplTest extends Specification {
+
+    def mapper = new ObjectMapper()
+
+    def api = new DiscordApiImpl(null, null, null, null, null, null, false)
+
+    def server = new ServerImpl(api, mapper.readTree("""{
+        "id": "1", "name": "Server", "region": "europe", "large": false, "member_count": 0, "owner_id": "2",
+        "verification_level": 0, "explicit_content_filter": 0, "default_message_notifications": 0,
+        "mfa_level": 0, "premium_tier": 0, "nsfw_level": 0, "preferred_locale": "en-US",
+        "roles": [${role(1, 0)}, ${role(10, 2)}, ${role(20, 1)}]
+    }"""))
+
+    def cleanup() {
+        api.threadPool.shutdown()
+    }
+
+    static role(long id, int position) {
+        """{"id": "$id", "name": "role $id", "position": $position, "color": 0, "hoist": false,
+            "mentionable": false, "managed": false, "permissions": "0"}"""
+    }
+
+    def channel(long id, int type, int position, Long parentId = null) {
+        mapper.readTree("""{"id": "$id", "name": "channel $id", "type": $type, "position": $position,
+            "parent_id": ${parentId == null ? 'null' : "\"$parentId\""}, "bitrate": 64000, "user_limit": 0}""")
+    }
+
+    def 'the sorted roles are reused until the roles change'() {
+        expect:
+            server.roles*.id == [1L, 20L, 10L]
+            server.roles.is(server.roles)
+            server.getRoleById(10).get().position == 2
+
+        when:
+            (server.getRoleById(20).get() as RoleImpl).setRawPosition(3)
+
+        then:
+            server.roles*.id == [1L, 10L, 20L]
+            server.getRoleById(10).get().position == 1
+
+        when:
+            server.removeRole(10)
+            server.getOrCreateRole(mapper.readTree(role(30, 5)))
+
+        then:
+            server.roles*.id == [1L, 20L, 30L]
+    }
+
+    def 'the sorted channels are reused until the channels change'() {
+        given:
+            def category = server.getOrCreateChannelCategory(channel(100, 4, 1))
+            def otherCategory = server.getOrCreateChannelCategory(channel(101, 4, 0))
+            def voiceChannel = server.getOrCreateServerVoiceChannel(channel(200, 2, 0, 100))
+            def textChannel = server.getOrCreateServerTextChannel(channel(201, 0, 1, 100))
+            def uncategorizedChannel = server.getOrCreateServerTextChannel(channel(202, 0, 5))
+
+        expect:
+            server.channels == [uncategorizedChannel, otherCategory, category, textChannel, voiceChannel]
+            server.channels.is(server.channels)
+            server.channelCategories == [otherCategory, category]
+            server.textChannels == [textChannel, uncategorizedChannel]
+            category.channels == [textChannel, voiceChannel]
+            textChannel.position == 3
+
+        when:
+            (textChannel as ServerTextChannelImpl).setParentId(101)
+
+        then:
+            server.channels == [uncategorizedChannel, otherCategory, textChannel, category, voiceChannel]
+            otherCategory.channels == [textChannel]
+            textChannel.position == 2
+
+        when:
+            api.removeChannelFromCache(200)
+
+        then:
+            category.channels.empty
+            server.voiceChannels.empty
+            server.regularChannels == [otherCategory, category, textChannel, uncategorizedChannel]
+    }
+
+}
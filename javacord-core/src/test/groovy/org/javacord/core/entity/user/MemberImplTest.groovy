@@ -0,0 +1,122 @@
+package org.javacord.core.entity.user
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import org.javacord.api.entity.permission.Role
+import org.javacord.api.entity.user.UserFlag
+import org.javacord.core.DiscordApiImpl
+import org.javacord.core.entity.server.ServerImpl
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.time.Instant
+
+@Subject(MemberImpl)
+class MemberImplTest extends Specification {
+
+    def mapper = new ObjectMapper()
+
+    def api = new DiscordApiImpl(null, null, null, null, null, null, false)
+
+    def server = new ServerImpl(api, mapper.readTree('''{
+        "id": "1", "name": "Server", "region": "europe", "large": false, "member_count": 0, "owner_id": "2",
+        "verification_level": 0, "explicit_content_filter": 0, "default_message_notifications": 0,
+        "mfa_level": 0, "premium_tier": 0, "nsfw_level": 0, "preferred_locale": "en-US",
+        "roles": [{"id": "1", "name": "@everyone", "position": 0, "color": 0, "hoist": false,
+                   "mentionable": false, "managed": false, "permissions": "0"}]
+    }'''))
+
+    def member = new MemberImpl(api, server, mapper.readTree('''{
+        "user": {"id": "2", "username": "user", "discriminator": "0", "public_flags": 64},
+        "nick": "nick",
+        "roles": ["30", "10", "1", "30", "20"],
+        "joined_at": "2015-04-26T06:26:56.936123+00:00",
+        "premium_since": "2020-01-01T00:00:00+00:00",
+        "communication_disabled_until": "2030-01-01T00:00:00.5+00:00",
+        "deaf": true,
+        "mute": false
+    }'''), null)
+
+    def cleanup() {
+        api.threadPool.shutdown()
+    }
+
+    def role(long id) {
+        Stub(Role) {
+            getId() >> id
+        }
+    }
+
+    def 'role ids are sorted and deduplicated and always include the everyone role'() {
+        expect:
+            member.roleIds == [10L, 20L, 30L, 1L]
+            member.hasRole(role(1))
+            member.hasRole(role(20))
+            !member.hasRole(role(40))
+
+        when:
+            def updated = member.setRoleIds([40L, 1L])
+
+        then:
+            updated.roleIds == [40L, 1L]
+            updated.hasRole(role(40))
+            !updated.hasRole(role(10))
+    }
+
+    def 'timestamps keep their microsecond precision'() {
+        expect:
+            member.joinedAtTimestamp == Instant.parse('2015-04-26T06:26:56.936123Z')
+            member.serverBoostingSinceTimestamp.get() == Instant.parse('2020-01-01T00:00:00Z')
+            member.timeout.get() == Instant.parse('2030-01-01T00:00:00.5Z')
+            !member.setTimeout(null).timeout.present
+            !member.setServerBoostingSince(null).serverBoostingSinceTimestamp.present
+    }
+
+    def 'members without a join date can be created'() {
+        when:
+            def partialMember = new MemberImpl(api, server, mapper.readTree('''{
+                "user": {"id": "3", "username": "other", "discriminator": "0"},
+                "nick": null,
+                "roles": ["10"],
+                "joined_at": null,
+                "premium_since": null
+            }'''), null)
+
+        then:
+            partialMember.roleIds == [10L, 1L]
+            !partialMember.serverBoostingSinceTimestamp.present
+
+        when:
+            partialMember.joinedAtTimestamp
+
+        then:
+            thrown(IllegalStateException)
+    }
+
+    def 'flags can be changed independently'() {
+        expect:
+            member.deafened
+            !member.muted
+            !member.pending
+
+        when:
+            def updated = member.setMuted(true).setSelfDeafened(true).setDeafened(false)
+
+        then:
+            !updated.deafened
+            updated.muted
+            updated.selfDeafened
+            !updated.selfMuted
+            updated.nickname.get() == 'nick'
+    }
+
+    def 'the user flags are kept when the user is updated'() {
+        when:
+            def updated = member.setPartialUser(mapper.readTree('{"id": "2", "username": "renamed"}'))
+
+        then:
+            updated.user.name == 'renamed'
+            updated.user.userFlags == member.user.userFlags
+            updated.user.userFlags.contains(UserFlag.HOUSE_BRAVERY)
+    }
+
+}
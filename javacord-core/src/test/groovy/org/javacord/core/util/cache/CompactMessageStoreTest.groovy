@@ -0,0 +1,116 @@
+package org.javacord.core.util.cache
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import spock.lang.Specification
+import spock.lang.Subject
+
+@Subject(CompactMessageStore)
+class CompactMessageStoreTest extends Specification {
+
+    def mapper = new ObjectMapper()
+
+    def store = new CompactMessageStore(mapper)
+
+    def newMessage(long id, String content = 'Hello World') {
+        mapper.readTree("""{"id": "$id", "channel_id": "42", "content": "$content"}""")
+    }
+
+    def 'stored messages can be loaded again'() {
+        given:
+            store.budget = 1024 * 1024
+            def message = newMessage(1)
+
+        when:
+            store.store(message)
+
+        then:
+            store.load(1) == message
+            store.load(2) == null
+    }
+
+    def 'messages can be compressed before they are stored'() {
+        given:
+            store.budget = 1024 * 1024
+            def message = newMessage(1)
+
+        when:
+            def compressedData = store.compress(message)
+            store.store(1, compressedData)
+
+        then:
+            store.load(1) == message
+            store.size > compressedData.length
+    }
+
+    def 'nothing is stored if the store is disabled'() {
+        when:
+            store.store(newMessage(1))
+
+        then:
+            store.load(1) == null
+            store.compress(newMessage(1)) == null
+            store.size == 0
+    }
+
+    def 'the least recently used messages are dropped when the budget is exceeded'() {
+        given:
+            store.budget = 1024 * 1024
+            (1..3).each { store.store(newMessage(it)) }
+            def size = store.size
+
+        when:
+            store.load(1)
+            store.budget = size - 1
+
+        then:
+            store.load(2) == null
+            store.load(1) != null
+            store.load(3) != null
+    }
+
+    def 'message updates are merged into the stored message'() {
+        given:
+            store.budget = 1024 * 1024
+            store.store(newMessage(1))
+
+        when:
+            store.merge(1, mapper.readTree('{"id": "1", "content": "edited", "pinned": true}'))
+
+        then:
+            with(store.load(1)) {
+                get('content').asText() == 'edited'
+                get('pinned').asBoolean()
+                get('channel_id').asText() == '42'
+            }
+    }
+
+    def 'reactions of stored messages are updated'() {
+        given:
+            store.budget = 1024 * 1024
+            store.store(newMessage(1))
+            def unicode = mapper.readTree('{"id": null, "name": "❤"}')
+            def custom = mapper.readTree('{"id": "7", "name": "custom"}')
+
+        when:
+            store.addReaction(1, unicode, true)
+            store.addReaction(1, unicode, false)
+            store.addReaction(1, custom, false)
+            store.removeReaction(1, custom, false)
+            store.removeReaction(1, unicode, true)
+
+        then:
+            with(store.load(1).get('reactions')) {
+                size() == 1
+                get(0).get('count').asInt() == 1
+                !get(0).get('me').asBoolean()
+                get(0).get('emoji') == unicode
+            }
+
+        when:
+            store.removeAllReactions(1)
+
+        then:
+            !store.load(1).has('reactions')
+    }
+
+}
@@ -0,0 +1,77 @@
+package org.javacord.core.util.cache
+
+import org.javacord.api.entity.server.Server
+import org.javacord.api.entity.user.User
+import org.javacord.core.entity.user.Member
+import spock.lang.Specification
+import spock.lang.Subject
+
+@Subject(ConcurrentEntityCache)
+class ConcurrentEntityCacheTest extends Specification {
+
+    def cache = new ConcurrentEntityCache()
+
+    def newMember(long userId, long serverId) {
+        Server server = Stub { getId() >> serverId }
+        User user = Stub { getId() >> userId }
+        return Stub(Member) {
+            getId() >> userId
+            getServer() >> server
+            getUser() >> user
+        }
+    }
+
+    def 'adding a member replaces the member with the same id in the same server'() {
+        given:
+            def oldMember = newMember(1, 10)
+            def newMember = newMember(1, 10)
+
+        when:
+            cache.addMember(oldMember)
+            cache.addMember(newMember)
+
+        then:
+            cache.memberCache.getMemberByIdAndServer(1, 10).get().is(newMember)
+            cache.memberCache.getMembersById(1) == [newMember] as Set
+            cache.memberCache.getMembersByServer(10) == [newMember] as Set
+            cache.memberCache.userCache.getUserById(1).get().is(newMember.user)
+    }
+
+    def 'the user is only removed with the last member of the user'() {
+        given:
+            def member = newMember(1, 10)
+            def otherServerMember = newMember(1, 20)
+            cache.addMember(member)
+            cache.addMember(otherServerMember)
+
+        when:
+            cache.removeMember(1, 10)
+
+        then:
+            cache.memberCache.getMembersByServer(10).empty
+            cache.memberCache.getServers(1) == [otherServerMember.server] as Set
+            cache.memberCache.userCache.getUserById(1).present
+
+        when:
+            cache.removeMember(1, 20)
+
+        then:
+            cache.memberCache.members.empty
+            !cache.memberCache.userCache.getUserById(1).present
+    }
+
+    def 'updating the members of a user updates all indexes'() {
+        given:
+            def member = newMember(1, 10)
+            def updatedMember = newMember(1, 10)
+            cache.addMember(member)
+
+        when:
+            cache.updateMembersById(1) { updatedMember }
+
+        then:
+            cache.memberCache.getMembersByServer(10) == [updatedMember] as Set
+            cache.memberCache.userCache.getUserById(1).get().is(updatedMember.user)
+    }
+
+}
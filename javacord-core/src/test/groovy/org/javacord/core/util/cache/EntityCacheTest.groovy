@@ -0,0 +1,68 @@
+package org.javacord.core.util.cache
+
+import org.javacord.api.entity.server.Server
+import org.javacord.api.entity.user.User
+import org.javacord.core.entity.user.Member
+import spock.lang.Specification
+import spock.lang.Subject
+import spock.lang.Unroll
+
+@Subject(EntityCache)
+class EntityCacheTest extends Specification {
+
+    def newNamedMember(long userId, long serverId, String name, String nickname) {
+        Server server = Stub { getId() >> serverId }
+        User user = Stub {
+            getId() >> userId
+            getName() >> name
+        }
+        return Stub(Member) {
+            getId() >> userId
+            getServer() >> server
+            getUser() >> user
+            getNickname() >> Optional.ofNullable(nickname)
+            getDisplayName() >> (nickname ?: name)
+        }
+    }
+
+    @Unroll
+    def 'name lookups of the #cache.class.simpleName use the current names of the members'() {
+        given:
+            def alice = newNamedMember(1, 10, 'Alice', null)
+            def bob = newNamedMember(2, 10, 'bob', 'Alfred')
+            def otherServerBob = newNamedMember(2, 20, 'bob', null)
+            cache.addMembers([alice, bob, otherServerBob])
+
+        expect:
+            cache.memberCache.userCache.getUsersByName('bob')*.id == [2L]
+            cache.memberCache.userCache.getUsersByName('BOB').empty
+            cache.memberCache.userCache.getUsersByNameIgnoreCase('BOB')*.id == [2L]
+            cache.memberCache.userCache.getUsersByNamePrefix('', 10)*.id == [1L, 2L]
+            cache.memberCache.getMembersByNickname('Alfred', 10) == [bob] as Set
+            cache.memberCache.getMembersByNickname('Alfred', 20).empty
+            cache.memberCache.getMembersByDisplayNameIgnoreCase('BOB', 20) == [otherServerBob] as Set
+            cache.memberCache.getMembersByDisplayNamePrefix('al', 10, 10) == [bob, alice]
+            cache.memberCache.getMembersByDisplayNamePrefix('al', 10, 1) == [bob]
+
+        when:
+            def renamedAlice = newNamedMember(1, 10, 'Carol', null)
+            cache.updateMembersById(1) { renamedAlice }
+
+        then:
+            cache.memberCache.userCache.getUsersByNameIgnoreCase('alice').empty
+            cache.memberCache.userCache.getUsersByNamePrefix('c', 10)*.id == [1L]
+            cache.memberCache.getMembersByDisplayNamePrefix('al', 10, 10) == [bob]
+
+        when:
+            cache.removeMember(2, 10)
+
+        then:
+            cache.memberCache.getMembersByNickname('Alfred', 10).empty
+            cache.memberCache.getMembersByDisplayNamePrefix('', 10, 10) == [renamedAlice]
+            cache.memberCache.userCache.getUsersByName('bob')*.id == [2L]
+
+        where:
+            cache << [new ConcurrentEntityCache(), new ImmutableEntityCache()]
+    }
+
+}
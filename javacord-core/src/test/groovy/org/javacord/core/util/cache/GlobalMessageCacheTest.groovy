@@ -0,0 +1,161 @@
+package org.javacord.core.util.cache
+
+import org.javacord.api.entity.message.Message
+import org.javacord.api.entity.message.Reaction
+import spock.lang.Specification
+import spock.lang.Subject
+
+@Subject(GlobalMessageCache)
+class GlobalMessageCacheTest extends Specification {
+
+    def evicted = []
+
+    def cache = new GlobalMessageCache({ long id -> evicted << id; true })
+
+    def newMessage(long id, boolean cachedForever = false) {
+        Stub(Message) {
+            getId() >> id
+            getContent() >> ''
+            getEmbeds() >> []
+            getAttachments() >> []
+            getReactions() >> []
+            isCachedForever() >> cachedForever
+        }
+    }
+
+    def messageSize = GlobalMessageCache.estimateSize(newMessage(0))
+
+    def 'the least recently used messages are evicted when the budget is exceeded'() {
+        given:
+            cache.budget = 3 * messageSize
+
+        when:
+            (1..3).each { cache.add(newMessage(it)) }
+            cache.touch(1)
+            cache.add(newMessage(4))
+
+        then:
+            evicted == [2L]
+            cache.estimatedMemoryUsage == 3 * messageSize
+            cache.evictionCount == 1
+    }
+
+    def 'messages which are cached forever are not counted'() {
+        given:
+            cache.budget = messageSize
+
+        when:
+            cache.add(newMessage(1, true))
+            cache.add(newMessage(2))
+
+        then:
+            evicted == []
+            cache.estimatedMemoryUsage == messageSize
+    }
+
+    def 'messages which were already reclaimed are not counted as evicted'() {
+        given:
+            def reclaimingCache = new GlobalMessageCache({ long id -> false })
+            reclaimingCache.budget = messageSize
+
+        when:
+            reclaimingCache.add(newMessage(1))
+            reclaimingCache.add(newMessage(2))
+
+        then:
+            reclaimingCache.evictionCount == 0
+            reclaimingCache.estimatedMemoryUsage == messageSize
+    }
+
+    def 'removed messages are not evicted'() {
+        given:
+            cache.budget = 2 * messageSize
+            cache.add(newMessage(1))
+            cache.add(newMessage(2))
+
+        when:
+            cache.remove(1)
+            cache.add(newMessage(3))
+
+        then:
+            evicted == []
+            cache.estimatedMemoryUsage == 2 * messageSize
+    }
+
+    def 'lowering the budget evicts messages and a budget of 0 disables the cache'() {
+        given:
+            cache.budget = 3 * messageSize
+            (1..3).each { cache.add(newMessage(it)) }
+
+        when:
+            cache.budget = messageSize
+
+        then:
+            evicted == [1L, 2L]
+
+        when:
+            cache.budget = 0
+            cache.add(newMessage(4))
+
+        then:
+            cache.estimatedMemoryUsage == 0
+            evicted == [1L, 2L]
+    }
+
+    def 'the content is part of the estimated size'() {
+        given:
+            def message = Stub(Message) {
+                getContent() >> 'a' * 100
+                getEmbeds() >> []
+                getAttachments() >> []
+                getReactions() >> []
+            }
+
+        expect:
+            GlobalMessageCache.estimateSize(message) == messageSize + 200
+    }
+
+    def 'changed messages are estimated again'() {
+        given:
+            def reactions = []
+            def message = Stub(Message) {
+                getId() >> 1
+                getContent() >> ''
+                getEmbeds() >> []
+                getAttachments() >> []
+                getReactions() >> reactions
+            }
+            cache.budget = 2 * messageSize
+            cache.add(newMessage(2))
+            cache.add(message)
+
+        when:
+            reactions << Stub(Reaction)
+            cache.update(message)
+
+        then:
+            GlobalMessageCache.estimateSize(message) > messageSize
+            evicted == [2L]
+            cache.estimatedMemoryUsage == GlobalMessageCache.estimateSize(message)
+
+        when:
+            cache.update(newMessage(3))
+
+        then:
+            cache.estimatedMemoryUsage == GlobalMessageCache.estimateSize(message)
+    }
+
+    def 'lookups are counted'() {
+        when:
+            cache.recordLookup(true)
+            cache.recordLookup(true)
+            cache.recordLookup(true)
+            cache.recordLookup(false)
+
+        then:
+            cache.hitCount == 3
+            cache.missCount == 1
+            cache.hitRate == 0.75d
+    }
+
+}
@@ -0,0 +1,45 @@
+package org.javacord.core.util.cache
+
+import org.javacord.api.entity.server.Server
+import org.javacord.api.entity.user.User
+import org.javacord.core.entity.user.Member
+import spock.lang.Specification
+import spock.lang.Subject
+
+@Subject(ImmutableEntityCache)
+class ImmutableEntityCacheTest extends Specification {
+
+    def cache = new ImmutableEntityCache()
+
+    def newMember(long userId, long serverId) {
+        Server server = Stub { getId() >> serverId }
+        User user = Stub { getId() >> userId }
+        return Stub(Member) {
+            getId() >> userId
+            getServer() >> server
+            getUser() >> user
+        }
+    }
+
+    def 'adding members in bulk replaces the members with the same id in the same server'() {
+        given:
+            def oldMember = newMember(1, 10)
+            def otherServerMember = newMember(1, 20)
+            cache.addMember(oldMember)
+            cache.addMember(otherServerMember)
+            def replacingMember = newMember(1, 10)
+            def secondMember = newMember(2, 10)
+            def duplicateSecondMember = newMember(2, 10)
+
+        when:
+            cache.addMembers([replacingMember, secondMember, duplicateSecondMember])
+
+        then:
+            cache.memberCache.getMembersByServer(10) == [replacingMember, duplicateSecondMember] as Set
+            cache.memberCache.getMembersById(1) == [replacingMember, otherServerMember] as Set
+            cache.memberCache.getServers(1) == [replacingMember.server, otherServerMember.server] as Set
+            cache.memberCache.userCache.getUserById(1).get().is(replacingMember.user)
+            cache.memberCache.userCache.getUserById(2).get().is(duplicateSecondMember.user)
+    }
+
+}
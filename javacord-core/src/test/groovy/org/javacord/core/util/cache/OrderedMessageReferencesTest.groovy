@@ -0,0 +1,98 @@
+package org.javacord.core.util.cache
+
+import org.javacord.api.entity.message.Message
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.lang.ref.ReferenceQueue
+import java.time.Instant
+import java.util.function.LongConsumer
+
+@Subject(OrderedMessageReferences)
+class OrderedMessageReferencesTest extends Specification {
+
+    def removedIds = []
+
+    def references = new OrderedMessageReferences(new ReferenceQueue<Message>(), { removedIds << it } as LongConsumer)
+
+    def newMessage(long id, boolean cachedForever = false) {
+        Stub(Message) {
+            getId() >> id
+            getCreationTimestamp() >> Instant.ofEpochSecond(id)
+            isCachedForever() >> cachedForever
+        }
+    }
+
+    def 'messages with the same id are only added once'() {
+        given:
+            def message = newMessage(1)
+
+        expect:
+            references.add(message)
+            !references.add(message)
+            !references.add(newMessage(1))
+            references.size() == 1
+    }
+
+    def 'the oldest messages are removed first, regardless of the insertion order'() {
+        given:
+            def messages = (1..6).collect { newMessage(it) }
+            [messages[3], messages[4], messages[1], messages[0], messages[5], messages[2]].each { references.add(it) }
+
+        when:
+            references.trimToCapacity(2)
+
+        then:
+            references.size() == 2
+            removedIds == [1L, 2L, 3L, 4L]
+            !references.remove(1)
+            !references.remove(4)
+            references.remove(5)
+            references.remove(6)
+            references.size() == 0
+    }
+
+    def 'messages which are cached forever are not removed and not counted'() {
+        given:
+            references.add(newMessage(1, true))
+            references.add(newMessage(2))
+            references.add(newMessage(3, true))
+            references.add(newMessage(4))
+
+        when:
+            references.trimToCapacity(1)
+
+        then:
+            references.size() == 3
+            !references.remove(2)
+    }
+
+    def 'outdated messages are removed'() {
+        given:
+            (1..5).each { references.add(newMessage(it, it == 2)) }
+
+        when:
+            references.removeCreatedBefore(Instant.ofEpochSecond(4))
+
+        then:
+            references.size() == 3
+            references.remove(2)
+            references.remove(4)
+            references.remove(5)
+    }
+
+    def 'removed messages can be added again'() {
+        given:
+            def message = newMessage(1)
+            references.add(newMessage(2))
+            references.add(message)
+
+        when:
+            references.remove(1)
+
+        then:
+            references.add(message)
+            references.size() == 2
+    }
+
+}
@@ -0,0 +1,62 @@
+package org.javacord.core.util.cache
+
+import spock.lang.Specification
+import spock.lang.Subject
+
+@Subject(SortedIndex)
+class SortedIndexTest extends Specification {
+
+    def index = new SortedIndex<String>({ String element ->
+        def (scope, name, id) = element.split('/')
+        new NameKey(scope as long, name, id as long)
+    })
+
+    def 'elements are found by their name and name prefix within their scope'() {
+        given:
+            ['1/alice/3', '1/alice/2', '1/alfred/1', '1/bob/4', '2/alice/5'].each { index = index.addElement(it) }
+
+        expect:
+            index.find(1, 'alice') == ['1/alice/2', '1/alice/3']
+            index.find(1, 'ali').empty
+            index.findByPrefix(1, 'al', 10) == ['1/alfred/1', '1/alice/2', '1/alice/3']
+            index.findByPrefix(1, 'al', 2) == ['1/alfred/1', '1/alice/2']
+            index.findByPrefix(2, '', 10) == ['2/alice/5']
+            index.findByPrefix(3, '', 10).empty
+    }
+
+    def 'the index stays sorted after random modifications and keeps old versions unchanged'() {
+        given:
+            def random = new Random(42)
+            def expected = new TreeSet<String>()
+            def snapshot = null
+            def snapshotElements = null
+
+        when:
+            2000.times { i ->
+                def element = "1/${(char) ('a' as char) + random.nextInt(5)}${random.nextInt(20)}/${random.nextInt(300)}"
+                if (random.nextInt(3) == 0) {
+                    index = index.removeElement(element)
+                    expected.remove(element)
+                } else {
+                    index = index.addElement(element)
+                    expected.add(element)
+                }
+                if (i == 1000) {
+                    snapshot = index
+                    snapshotElements = index.findByPrefix(1, '', Integer.MAX_VALUE)
+                }
+            }
+
+        then:
+            index.findByPrefix(1, '', Integer.MAX_VALUE) == expected.sort { a, b -> key(a) <=> key(b) }
+            index.findByPrefix(1, 'c1', Integer.MAX_VALUE) == expected.findAll { it.startsWith('1/c1') }
+                    .sort { a, b -> key(a) <=> key(b) }
+            snapshot.findByPrefix(1, '', Integer.MAX_VALUE) == snapshotElements
+    }
+
+    static key(String element) {
+        def (scope, name, id) = element.split('/')
+        new NameKey(scope as long, name, id as long)
+    }
+
+}
@@ -0,0 +1,88 @@
+package org.javacord.core.util.event
+
+import org.javacord.core.DiscordApiImpl
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+@Subject(EventDispatcherBase)
+class EventDispatcherBaseTest extends Specification {
+
+    def api = new DiscordApiImpl(null, null, null, null, null, null, false)
+
+    def dispatcher = new EventDispatcherBase(api) {}
+
+    def cleanup() {
+        api.threadPool.shutdown()
+    }
+
+    def newQueueSelector() {
+        def queue = new DispatchQueue()
+        return { queue } as DispatchQueueSelector
+    }
+
+    def 'events with the same queue selector are dispatched in order'() {
+        given:
+            def queueSelector = newQueueSelector()
+            def dispatched = new CopyOnWriteArrayList<String>()
+            def done = new CountDownLatch(2000)
+
+        when:
+            (0..<1000).each { i ->
+                dispatcher.dispatchEvent(queueSelector, ['a', 'b']) {
+                    dispatched << "$i$it".toString()
+                    done.countDown()
+                }
+            }
+
+        then:
+            done.await(1, TimeUnit.MINUTES)
+            dispatched == (0..<1000).collectMany { ["${it}a".toString(), "${it}b".toString()] }
+    }
+
+    def 'events without queue selector are dispatched after earlier and before later events'() {
+        given:
+            def queueSelectors = (0..<10).collect { newQueueSelector() }
+            def dispatched = new CopyOnWriteArrayList<String>()
+            def done = new CountDownLatch(201)
+
+        when:
+            (0..<100).each { i ->
+                dispatcher.dispatchEvent(queueSelectors[i % 10], [null]) {
+                    dispatched << 'before'
+                    done.countDown()
+                }
+            }
+            dispatcher.dispatchEvent(null, [null]) {
+                dispatched << 'barrier'
+                done.countDown()
+            }
+            (0..<100).each { i ->
+                dispatcher.dispatchEvent(queueSelectors[i % 10], [null]) {
+                    dispatched << 'after'
+                    done.countDown()
+                }
+            }
+
+        then:
+            done.await(1, TimeUnit.MINUTES)
+            dispatched == ['before'] * 100 + ['barrier'] + ['after'] * 100
+    }
+
+    def 'an exception in a listener does not stop the queue'() {
+        given:
+            def queueSelector = newQueueSelector()
+            def done = new CountDownLatch(1)
+
+        when:
+            dispatcher.dispatchEvent(queueSelector, [null]) { throw new RuntimeException('expected') }
+            dispatcher.dispatchEvent(queueSelector, [null]) { done.countDown() }
+
+        then:
+            done.await(1, TimeUnit.MINUTES)
+    }
+
+}
@@ -0,0 +1,80 @@
+package org.javacord.core.util.gateway
+
+import com.codahale.xsalsa20poly1305.SecretBox
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.nio.ByteBuffer
+
+@Subject(AudioPacketDecoder)
+class AudioPacketDecoderTest extends Specification {
+
+    def secretKey = (0..<32).collect { it as byte } as byte[]
+
+    def encoder = new AudioPacketEncoder(42)
+
+    def decoder = new AudioPacketDecoder()
+
+    def setup() {
+        encoder.secretKey = secretKey
+        decoder.secretKey = secretKey
+    }
+
+    def received(ByteBuffer packet) {
+        def data = new byte[packet.remaining()]
+        packet.duplicate().get(data)
+        ByteBuffer.wrap(data)
+    }
+
+    def bytes(ByteBuffer buffer) {
+        def result = new byte[buffer.remaining()]
+        buffer.duplicate().get(result)
+        result
+    }
+
+    def 'encoded packets are decrypted to the original frame'() {
+        given:
+            def frame = (0..<200).collect { it as byte } as byte[]
+            def packet = received(encoder.encode(frame, 7 as char, 7 * 960))
+
+        expect:
+            decoder.decrypt(packet)
+            bytes(packet) == frame
+            AudioPacketDecoder.getSsrc(packet) == 42
+            AudioPacketDecoder.getSequence(packet) == 7 as char
+            AudioPacketDecoder.getTimestamp(packet) == 7 * 960
+    }
+
+    def 'packets with a wrong mac are rejected'() {
+        given:
+            def packet = received(encoder.encode([1, 2, 3] as byte[], 0 as char, 0))
+            packet.put(packet.limit() - 1, (packet.get(packet.limit() - 1) ^ 1) as byte)
+
+        expect:
+            !decoder.decrypt(packet)
+    }
+
+    def 'packets which are not opus packets are rejected'() {
+        given:
+            def packet = received(encoder.encode([1, 2, 3] as byte[], 0 as char, 0))
+            packet.put(1, 0xC8 as byte)
+
+        expect:
+            !decoder.decrypt(packet)
+    }
+
+    def 'the rtp header extension is skipped'() {
+        given:
+            def frame = [1, 2, 3]
+            def extension = [0xBE, 0xDE, 0, 1, 9, 9, 9, 9]
+            def header = [0x90, 0x78, 0, 0, 0, 0, 0, 0, 0, 0, 0, 42]
+            def nonce = Arrays.copyOf(header as byte[], 24)
+            def payload = new SecretBox(secretKey).seal(nonce, (extension + frame) as byte[])
+            def packet = ByteBuffer.wrap((header + payload.toList()) as byte[])
+
+        expect:
+            decoder.decrypt(packet)
+            bytes(packet) == frame as byte[]
+    }
+
+}
@@ -0,0 +1,62 @@
+package org.javacord.core.util.gateway
+
+import spock.lang.Specification
+import spock.lang.Subject
+
+@Subject(AudioPacketEncoder)
+class AudioPacketEncoderTest extends Specification {
+
+    def secretKey = (0..<32).collect { it as byte } as byte[]
+
+    def encoder = new AudioPacketEncoder(42)
+
+    def setup() {
+        encoder.secretKey = secretKey
+    }
+
+    def bytes(buffer) {
+        def result = new byte[buffer.remaining()]
+        buffer.duplicate().get(result)
+        result
+    }
+
+    def expectedPacket(byte[] frame, char sequence, int timestamp) {
+        def packet = new AudioPacket(frame, 42, sequence, timestamp)
+        packet.encrypt(secretKey)
+        packet.asUdpPacket(new InetSocketAddress(0)).data
+    }
+
+    def 'encoded packets are identical to encrypted audio packets'() {
+        expect:
+            bytes(encoder.encode(frame, sequence as char, sequence * 960)) ==
+                    expectedPacket(frame, sequence as char, sequence * 960)
+
+        where:
+            frame                                      | sequence
+            null                                       | 0
+            [1, 2, 3] as byte[]                        | 1
+            (0..<200).collect { it as byte } as byte[] | 65535
+    }
+
+    def 'the buffer is reused for consecutive packets'() {
+        given:
+            def frames = (1..3).collect { length -> (0..<length * 100).collect { it as byte } as byte[] }
+
+        when:
+            def buffers = frames.withIndex().collect { frame, i -> encoder.encode(frame, i as char, i * 960) }
+            def lastPacket = bytes(buffers.last())
+
+        then:
+            buffers.every { it.is buffers.first() }
+            lastPacket == expectedPacket(frames.last(), 2 as char, 2 * 960)
+    }
+
+    def 'frames larger than an opus packet let the buffer grow'() {
+        given:
+            def frame = new byte[4000]
+
+        expect:
+            bytes(encoder.encode(frame, 7 as char, 0)) == expectedPacket(frame, 7 as char, 0)
+    }
+
+}
@@ -0,0 +1,99 @@
+package org.javacord.core.util.gateway
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.util.zip.Deflater
+
+@Subject(EtfDecoder)
+class EtfDecoderTest extends Specification {
+
+    def mapper = new ObjectMapper()
+
+    def etf(Object... parts) {
+        def out = new ByteArrayOutputStream()
+        parts.each { it instanceof String ? out.write(it.bytes) : out.write(it as int) }
+        return out.toByteArray()
+    }
+
+    def 'encoded payloads are decoded to the same structure'() {
+        given:
+            def packet = mapper.readTree('''{"op":0,"s":1482,"t":"MESSAGE_CREATE","d":{"content":"Hello ❤",
+                "id":983035728261439518,"tts":false,"nonce":null,"embeds":[],"mention_roles":[1,2,300],
+                "ratio":0.5,"flags":-1,"author":{"username":"Bastian","public_flags":131072}}}''')
+
+        expect:
+            EtfDecoder.decode(EtfEncoder.encode(packet)) == packet
+    }
+
+    def 'snowflakes are decoded to longs'() {
+        given:
+            // 983035728261439518 as SMALL_BIG_EXT with 8 little endian bytes
+            def data = etf(131, 110, 8, 0, 0x1e, 0x60, 0x8a, 0x58, 0xc9, 0x71, 0xa4, 0x0d)
+
+        when:
+            def node = EtfDecoder.decode(data)
+
+        then:
+            node.isLong()
+            node.longValue() == 983035728261439518L
+            node.asText() == '983035728261439518'
+    }
+
+    def 'atoms and erlang strings are decoded like their JSON counterparts'() {
+        expect:
+            EtfDecoder.decode(etf(131, 115, 3, 'nil')).isNull()
+            EtfDecoder.decode(etf(131, 100, 0, 4, 'true')).booleanValue()
+            EtfDecoder.decode(etf(131, 119, 5, 'okay!')).textValue() == 'okay!'
+            EtfDecoder.decode(etf(131, 107, 0, 3, 1, 2, 3)) == mapper.readTree('[1,2,3]')
+    }
+
+    def 'compressed terms are decoded'() {
+        given:
+            def term = EtfEncoder.encode(mapper.readTree('{"a":"b"}'))
+            def deflater = new Deflater()
+            deflater.setInput(term, 1, term.length - 1)
+            deflater.finish()
+            def compressed = new byte[100]
+            int compressedLength = deflater.deflate(compressed)
+            deflater.end()
+            def uncompressedLength = term.length - 1
+            def data = new ByteArrayOutputStream()
+            data.write(131)
+            data.write(80)
+            data.write([uncompressedLength >>> 24, uncompressedLength >>> 16, uncompressedLength >>> 8,
+                        uncompressedLength] as byte[])
+            data.write(compressed, 0, compressedLength)
+
+        expect:
+            EtfDecoder.decode(data.toByteArray()) == mapper.readTree('{"a":"b"}')
+    }
+
+    def 'payloads in a larger buffer are only read up to their length'() {
+        given:
+            def payload = EtfEncoder.encode(mapper.readTree('{"op":0,"d":{"content":"Hello World"}}'))
+            // a reused buffer which still contains the complete payload after the truncated one
+            def buffer = new byte[payload.length + 20]
+            System.arraycopy(payload, 0, buffer, 5, payload.length)
+
+        expect:
+            EtfDecoder.decode(buffer, 5, payload.length) == mapper.readTree('{"op":0,"d":{"content":"Hello World"}}')
+
+        when:
+            EtfDecoder.decode(buffer, 5, payload.length - 3)
+
+        then:
+            IOException e = thrown()
+            e.message == 'The ETF payload is truncated'
+    }
+
+    def 'payloads without version byte are rejected'() {
+        when:
+            EtfDecoder.decode(etf(97, 1))
+
+        then:
+            thrown IOException
+    }
+
+}
@@ -0,0 +1,108 @@
+package org.javacord.core.util.gateway
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import org.javacord.api.listener.user.UserStartTypingListener
+import org.javacord.core.DiscordApiImpl
+import org.javacord.core.util.handler.channel.ChannelCreateHandler
+import org.javacord.core.util.handler.user.TypingStartHandler
+import spock.lang.Specification
+import spock.lang.Subject
+
+@Subject(GatewayPayload)
+class GatewayPayloadTest extends Specification {
+
+    def mapper = new ObjectMapper()
+
+    def read(String json, Closure<Boolean> dataRequired) {
+        def parser = mapper.factory.createParser(json)
+        try {
+            return GatewayPayload.read(parser, dataRequired)
+        } finally {
+            parser.close()
+        }
+    }
+
+    def 'the data of required dispatches is read'() {
+        when:
+            def payload = read('{"t":"MESSAGE_CREATE","s":42,"op":0,"d":{"id":"1","embeds":[]}}') { true }
+
+        then:
+            payload.op == 0
+            payload.hasSequence()
+            payload.sequence == 42
+            payload.type == Optional.of('MESSAGE_CREATE')
+            payload.data == mapper.readTree('{"id":"1","embeds":[]}')
+            !payload.dataSkipped
+    }
+
+    def 'the data of dispatches that are not required is skipped'() {
+        when:
+            def payload = read('{"t":"TYPING_START","s":7,"op":0,"d":{"a":[{"b":null}],"c":1},"x":[]}') {
+                it != 'TYPING_START'
+            }
+
+        then:
+            payload.sequence == 7
+            payload.type == Optional.of('TYPING_START')
+            payload.data == null
+            payload.dataSkipped
+    }
+
+    def 'the data of dispatches which only create events is skipped while nobody listens'() {
+        given:
+            def api = new DiscordApiImpl(null, null, null, null, null, null, false)
+            def handlers = [
+                    TYPING_START  : new TypingStartHandler(api),
+                    CHANNEL_CREATE: new ChannelCreateHandler(api)
+            ]
+            def typingStart = '{"t":"TYPING_START","s":7,"op":0,"d":{"user_id":"1","channel_id":"2"}}'
+            def channelCreate = '{"t":"CHANNEL_CREATE","s":8,"op":0,"d":{"id":"3"}}'
+
+        expect:
+            read(typingStart) { DiscordWebSocketAdapter.isDataRequired(handlers, it) }.dataSkipped
+            !read(channelCreate) { DiscordWebSocketAdapter.isDataRequired(handlers, it) }.dataSkipped
+            read('{"t":"UNKNOWN","s":9,"op":0,"d":{}}') { DiscordWebSocketAdapter.isDataRequired(handlers, it) }
+                    .dataSkipped
+
+        when:
+            api.addUserStartTypingListener({} as UserStartTypingListener)
+
+        then:
+            !read(typingStart) { DiscordWebSocketAdapter.isDataRequired(handlers, it) }.dataSkipped
+
+        cleanup:
+            api.threadPool.shutdown()
+    }
+
+    def 'the data is read if it comes before the type'() {
+        when:
+            def payload = read('{"d":{"c":1},"op":0,"t":"TYPING_START","s":7}') { false }
+
+        then:
+            payload.data == mapper.readTree('{"c":1}')
+            !payload.dataSkipped
+    }
+
+    def 'the data of other opcodes is always read'() {
+        when:
+            def payload = read('{"t":null,"s":null,"op":10,"d":{"heartbeat_interval":41250}}') { false }
+
+        then:
+            payload.op == 10
+            !payload.hasSequence()
+            payload.type == Optional.empty()
+            payload.data.get('heartbeat_interval').asInt() == 41250
+    }
+
+    def 'materialized packets are wrapped'() {
+        when:
+            def payload = GatewayPayload.of(mapper.readTree('{"t":"READY","s":1,"op":0,"d":{"v":9}}'))
+
+        then:
+            payload.op == 0
+            payload.sequence == 1
+            payload.type == Optional.of('READY')
+            payload.data.get('v').asInt() == 9
+    }
+
+}
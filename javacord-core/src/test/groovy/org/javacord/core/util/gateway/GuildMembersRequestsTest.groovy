@@ -0,0 +1,84 @@
+package org.javacord.core.util.gateway
+
+import org.javacord.core.entity.user.Member
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.TimeoutException
+
+@Subject(GuildMembersRequests)
+class GuildMembersRequestsTest extends Specification {
+
+    def packets = []
+
+    def timeouts = []
+
+    def scheduler = Stub(ScheduledExecutorService) {
+        schedule(_ as Runnable, _, _) >> { Runnable task, long delay, TimeUnit unit -> timeouts << task; null }
+    }
+
+    def requests = new GuildMembersRequests({ packets << it }, scheduler)
+
+    def 'user ids are sent in batches of at most 100 ids with unique nonces'() {
+        when:
+            requests.request(42, (1L..250L) + [1L, 2L])
+
+        then:
+            packets.size() == 3
+            packets*.get('op')*.asInt() == [GatewayOpcode.REQUEST_GUILD_MEMBERS.code] * 3
+            packets*.get('d')*.get('user_ids')*.size() == [100, 100, 50]
+            packets*.get('d')*.get('guild_id')*.asText() == ['42'] * 3
+            packets*.get('d')*.get('nonce')*.asText().unique().size() == 3
+    }
+
+    def 'the future is completed when all chunks of all batches were received'() {
+        given:
+            def future = requests.request(42, 1L..150L)
+            def nonces = packets*.get('d')*.get('nonce')*.asText()
+            def members = (1..3).collect { Stub(Member) }
+
+        when:
+            requests.handleChunk(nonces[0], [members[0]], 2)
+            requests.handleChunk(nonces[1], [members[1]], 1)
+
+        then:
+            !future.done
+
+        when:
+            requests.handleChunk(nonces[0], [members[2]], 2)
+
+        then:
+            future.done
+            future.join() as Set == members as Set
+            requests.pendingRequestCount == 0
+    }
+
+    def 'chunks with an unknown nonce are ignored'() {
+        given:
+            def future = requests.request(42, [1L])
+
+        when:
+            requests.handleChunk('unknown', [Stub(Member)], 1)
+
+        then:
+            !future.done
+            requests.pendingRequestCount == 1
+    }
+
+    def 'requests without a response time out'() {
+        given:
+            def future = requests.request(42, [1L])
+
+        when:
+            timeouts.each { it.run() }
+            future.join()
+
+        then:
+            def e = thrown(Exception)
+            e.cause instanceof TimeoutException
+            requests.pendingRequestCount == 0
+    }
+
+}
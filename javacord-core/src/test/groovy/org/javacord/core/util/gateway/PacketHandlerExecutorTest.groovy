@@ -0,0 +1,66 @@
+package org.javacord.core.util.gateway
+
+import org.javacord.core.util.concurrent.ThreadPoolImpl
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+@Subject(PacketHandlerExecutor)
+class PacketHandlerExecutorTest extends Specification {
+
+    def threadPool = new ThreadPoolImpl()
+
+    def cleanup() {
+        threadPool.shutdown()
+    }
+
+    def 'a lane count less than 1 is rejected'() {
+        when:
+            new PacketHandlerExecutor(threadPool, 0)
+
+        then:
+            thrown IllegalArgumentException
+    }
+
+    def 'packets with the same partition key always use the same lane'() {
+        given:
+            def executor = new PacketHandlerExecutor(threadPool, 8)
+
+        expect:
+            (0..1000).every {
+                long key = 151037227802279936L + it * 4194304L
+                executor.getLaneIndex(key) == executor.getLaneIndex(key)
+            }
+    }
+
+    def 'snowflakes are spread over all lanes'() {
+        given:
+            def executor = new PacketHandlerExecutor(threadPool, 8)
+
+        expect:
+            (0..1000).collect { executor.getLaneIndex(151037227802279936L + it * 4194304L) }.toSet() == (0..7).toSet()
+    }
+
+    def 'packets with the same partition key are handled in order'() {
+        given:
+            def executor = new PacketHandlerExecutor(threadPool, 4)
+            def handled = new CopyOnWriteArrayList<Integer>()
+            def done = new CountDownLatch(1000)
+
+        when:
+            (0..<1000).each { i ->
+                executor.submit(42L) {
+                    handled << i
+                    done.countDown()
+                }
+            }
+
+        then:
+            done.await(1, TimeUnit.MINUTES)
+            handled == (0..<1000).toList()
+    }
+
+}
@@ -0,0 +1,65 @@
+package org.javacord.core.util.gateway
+
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.nio.charset.StandardCharsets
+import java.util.zip.Deflater
+
+@Subject(ZlibStreamDecompressor)
+class ZlibStreamDecompressorTest extends Specification {
+
+    def deflater = new Deflater()
+
+    def decompressor = new ZlibStreamDecompressor()
+
+    def cleanup() {
+        deflater.end()
+        decompressor.close()
+    }
+
+    def compress(String payload) {
+        deflater.setInput(payload.getBytes(StandardCharsets.UTF_8))
+        def out = new ByteArrayOutputStream()
+        def buffer = new byte[1024]
+        int count
+        while ((count = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH)) > 0) {
+            out.write(buffer, 0, count)
+        }
+        return out.toByteArray()
+    }
+
+    def decompressed() {
+        return new String(decompressor.buffer, 0, decompressor.length, StandardCharsets.UTF_8)
+    }
+
+    def 'payloads of the same stream are decompressed one after another'() {
+        expect:
+            decompressor.decompress(compress('{"op":10}'))
+            decompressed() == '{"op":10}'
+            decompressor.decompress(compress('{"op":11}'))
+            decompressed() == '{"op":11}'
+    }
+
+    def 'payloads split into multiple messages are buffered until the payload is complete'() {
+        given:
+            def compressed = compress('{"op":0,"t":"READY"}')
+
+        expect:
+            !decompressor.decompress(Arrays.copyOfRange(compressed, 0, 5))
+            decompressor.decompress(Arrays.copyOfRange(compressed, 5, compressed.length))
+            decompressed() == '{"op":0,"t":"READY"}'
+    }
+
+    def 'payloads larger than the buffer are decompressed completely'() {
+        given:
+            def payload = (0..<100_000).collect { it.toString() }.join(',')
+
+        expect:
+            decompressor.decompress(compress(payload))
+            decompressed() == payload
+            decompressor.decompress(compress('{}'))
+            decompressed() == '{}'
+    }
+
+}
@@ -1,15 +1,25 @@
 package org.javacord.core.util.ratelimit
 
+import okhttp3.Protocol
+import okhttp3.Request
+import okhttp3.Response
 import org.apache.logging.log4j.test.appender.ListAppender
 import org.javacord.api.exception.DiscordException
 import org.javacord.core.DiscordApiImpl
+import org.javacord.core.ShardGroup
 import org.javacord.core.util.concurrent.ThreadPoolImpl
+import org.javacord.core.util.rest.RestEndpoint
+import org.javacord.core.util.rest.RestMethod
 import org.javacord.core.util.rest.RestRequest
+import org.javacord.core.util.rest.RestRequestResult
 import spock.lang.Specification
 import spock.lang.Subject
+import spock.util.concurrent.PollingConditions
 
 import java.util.concurrent.CompletableFuture
 import java.util.concurrent.CompletionException
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.CountDownLatch
 import java.util.concurrent.TimeUnit
 
 @Subject(RatelimitManager)
@@ -47,4 +57,249 @@ class RatelimitManagerTest extends Specification {
             threadPool?.shutdown()
     }
 
+    def 'routes with the same bucket hash share their bucket'() {
+        given:
+            def threadPool = new ThreadPoolImpl()
+            DiscordApiImpl api = Stub {
+                getThreadPool() >> threadPool
+                getTimeOffset() >> null
+            }
+            def ratelimitManager = new RatelimitManager(api)
+            def latch = new CountDownLatch(1)
+
+        when:
+            def firstRequests = [
+                    newRequest(RestMethod.POST, RestEndpoint.MESSAGE, null),
+                    newRequest(RestMethod.DELETE, RestEndpoint.MESSAGE_DELETE, null)
+            ]
+            firstRequests.each { ratelimitManager.queueRequest it }
+            firstRequests.each { it.result.join() }
+
+        then:
+            firstRequests.every { ratelimitManager.getBucketHash(it) == Optional.of('abc') }
+
+        when:
+            def secondRequests = [
+                    newRequest(RestMethod.POST, RestEndpoint.MESSAGE, latch),
+                    newRequest(RestMethod.DELETE, RestEndpoint.MESSAGE_DELETE, latch)
+            ]
+            secondRequests.each { ratelimitManager.queueRequest it }
+
+        then:
+            // buckets of the first requests may not be removed yet
+            ratelimitManager.buckets.findAll { it.bucketHash.present }*.key == ['#abc:42']
+
+        when:
+            latch.countDown()
+            secondRequests.each { it.result.join() }
+
+        then:
+            new PollingConditions(timeout: 10).eventually {
+                assert ratelimitManager.buckets.empty
+            }
+
+        cleanup:
+            latch.countDown()
+            threadPool?.shutdown()
+    }
+
+    def 'queued requests of a route move to the bucket of its hash once the hash is known'() {
+        given:
+            def threadPool = new ThreadPoolImpl()
+            DiscordApiImpl api = Stub {
+                getThreadPool() >> threadPool
+                getTimeOffset() >> null
+            }
+            def ratelimitManager = new RatelimitManager(api)
+            def firstLatch = new CountDownLatch(1)
+            def secondLatch = new CountDownLatch(1)
+            def requests = [
+                    newRequest(RestMethod.POST, RestEndpoint.MESSAGE, firstLatch),
+                    newRequest(RestMethod.POST, RestEndpoint.MESSAGE, secondLatch),
+                    newRequest(RestMethod.POST, RestEndpoint.MESSAGE, null)
+            ]
+
+        when:
+            requests.each { ratelimitManager.queueRequest it }
+
+        then:
+            ratelimitManager.buckets*.key == ['MESSAGE:42']
+
+        when:
+            firstLatch.countDown()
+            requests[0].result.join()
+
+        then:
+            // the old bucket is done, the bucket of the hash executes the remaining requests one after another
+            new PollingConditions(timeout: 10).eventually {
+                def bucketsByKey = ratelimitManager.buckets.collectEntries { [it.key, it] }
+                assert bucketsByKey['#abc:42'].peekRequestFromQueue().is(requests[1])
+                assert bucketsByKey['MESSAGE:42'] == null || bucketsByKey['MESSAGE:42'].peekRequestFromQueue() == null
+            }
+            !requests[2].result.done
+
+        when:
+            secondLatch.countDown()
+            requests*.result*.join()
+
+        then:
+            noExceptionThrown()
+
+        cleanup:
+            firstLatch.countDown()
+            secondLatch.countDown()
+            threadPool?.shutdown()
+    }
+
+    def 'asynchronous requests of a bucket are executed one after another'() {
+        given:
+            def threadPool = new ThreadPoolImpl()
+            DiscordApiImpl api = Stub {
+                getThreadPool() >> threadPool
+                getTimeOffset() >> null
+                isAsyncRestRequestsEnabled() >> true
+            }
+            def ratelimitManager = new RatelimitManager(api)
+            def executed = new CopyOnWriteArrayList<Integer>()
+            def requests = (0..<10).collect { i ->
+                Stub(RestRequest) {
+                    getMethod() >> RestMethod.POST
+                    getEndpoint() >> RestEndpoint.MESSAGE
+                    getMajorUrlParameter() >> Optional.of('42')
+                    executeAsync() >> {
+                        executed << i
+                        def future = new CompletableFuture<RestRequestResult>()
+                        if (i == 5) {
+                            future.completeExceptionally(new DiscordException(null, null, null, null))
+                        } else {
+                            future.complete(newResult())
+                        }
+                        future
+                    }
+                    getResult() >> new CompletableFuture<>()
+                }
+            }
+
+        when:
+            requests.each { ratelimitManager.queueRequest it }
+            requests.each { it.result.handle { result, throwable -> null }.join() }
+
+        then:
+            executed == (0..<10).toList()
+            requests[5].result.completedExceptionally
+            requests.findAll { !it.result.completedExceptionally }.size() == 9
+
+        cleanup:
+            threadPool?.shutdown()
+    }
+
+    def 'the state of an idle bucket is kept until its ratelimit resets'() {
+        given:
+            def threadPool = new ThreadPoolImpl()
+            DiscordApiImpl api = Stub {
+                getThreadPool() >> threadPool
+                getTimeOffset() >> null
+                isAsyncRestRequestsEnabled() >> true
+            }
+            def ratelimitManager = new RatelimitManager(api)
+            def resetTimestamp = System.currentTimeMillis() + 500
+            def reset = String.format(Locale.ROOT, '%.3f', resetTimestamp / 1000)
+            def executionTimestamps = new CopyOnWriteArrayList<Long>()
+            def requests = (0..<2).collect {
+                Stub(RestRequest) {
+                    getMethod() >> RestMethod.POST
+                    getEndpoint() >> RestEndpoint.MESSAGE
+                    getMajorUrlParameter() >> Optional.of('42')
+                    executeAsync() >> {
+                        executionTimestamps << System.currentTimeMillis()
+                        CompletableFuture.completedFuture(
+                                newResult('X-RateLimit-Remaining': '0', 'X-RateLimit-Reset': reset))
+                    }
+                    getResult() >> new CompletableFuture<>()
+                }
+            }
+
+        when:
+            ratelimitManager.queueRequest requests[0]
+            requests[0].result.get(10, TimeUnit.SECONDS)
+
+        then:
+            new PollingConditions(timeout: 10).eventually {
+                assert ratelimitManager.buckets.every { !it.busy }
+            }
+            // the following requests of the route use the bucket of the bucket hash
+            ratelimitManager.buckets*.key.toSorted() == ['#abc:42', 'MESSAGE:42']
+
+        when:
+            ratelimitManager.queueRequest requests[1]
+            requests[1].result.get(10, TimeUnit.SECONDS)
+
+        then:
+            // the second request waited for the reset, although the queue of the bucket was empty in between
+            executionTimestamps[1] >= resetTimestamp - 10
+            new PollingConditions(timeout: 10).eventually {
+                assert ratelimitManager.buckets.empty
+            }
+
+        cleanup:
+            threadPool?.shutdown()
+    }
+
+    def 'the ratelimit manager of a shard group keeps working when the shard which created it disconnects'() {
+        given:
+            def shardGroup = new ShardGroup(2)
+            DiscordApiImpl firstShard = Stub {
+                getCurrentShard() >> 0
+            }
+            def firstShardThreadPool = shardGroup.addShard(firstShard)
+            def ratelimitManager = shardGroup.getRatelimitManager('token', true)
+            firstShardThreadPool.shutdown()
+            def reset = String.format(Locale.ROOT, '%.3f', (System.currentTimeMillis() + 200) / 1000)
+            def requests = (0..<2).collect {
+                Stub(RestRequest) {
+                    getMethod() >> RestMethod.POST
+                    getEndpoint() >> RestEndpoint.MESSAGE
+                    getMajorUrlParameter() >> Optional.of('42')
+                    executeAsync() >> CompletableFuture.completedFuture(
+                            newResult('X-RateLimit-Remaining': '0', 'X-RateLimit-Reset': reset))
+                    getResult() >> new CompletableFuture<>()
+                }
+            }
+
+        when:
+            requests.each { ratelimitManager.queueRequest it }
+            requests.each { it.result.get(10, TimeUnit.SECONDS) }
+
+        then:
+            // the second request had to wait on the scheduler for the reset of the bucket
+            noExceptionThrown()
+
+        cleanup:
+            shardGroup.release()
+    }
+
+    def newResult(Map<String, String> headers = [:]) {
+        def responseBuilder = new Response.Builder()
+                .request(new Request.Builder().url('https://discord.com').build())
+                .protocol(Protocol.HTTP_1_1)
+                .code(200)
+                .message('OK')
+                .header('X-RateLimit-Bucket', 'abc')
+        headers.each { name, value -> responseBuilder.header(name, value) }
+        def response = responseBuilder.build()
+        return Stub(RestRequestResult) { getResponse() >> response }
+    }
+
+    def newRequest(RestMethod method, RestEndpoint endpoint, CountDownLatch latch) {
+        def result = newResult()
+        // Not a stub, because Spock handles all interactions of a specification one after another
+        return new RestRequest<Object>(null, method, endpoint) {
+            @Override
+            RestRequestResult executeBlocking() throws Exception {
+                latch?.await()
+                return result
+            }
+        }.setUrlParameters('42')
+    }
+
 }